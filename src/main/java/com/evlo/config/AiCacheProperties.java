@@ -0,0 +1,22 @@
+package com.evlo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 응답 캐시 (Redis + 로컬 L1)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ai.cache")
+public class AiCacheProperties {
+
+    private boolean enabled = true;
+    /** Redis 보관 기간 (시간) */
+    private long ttlHours = 168;
+    /** 로컬 L1 최대 항목 수 (LRU) */
+    private int l1MaxEntries = 500;
+    /** 로컬 L1 보관 기간 (분) */
+    private long l1TtlMinutes = 60;
+}
@@ -0,0 +1,33 @@
+package com.evlo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM upstream 호출 (동시 호출 제한, 부하 테스트용 stub 모델)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ai.client")
+public class AiClientProperties {
+
+    /** 동시에 진행할 수 있는 LLM 호출 수 */
+    private int maxConcurrent = 4;
+    /** 대기열 길이. 초과하거나 대기 시간이 지나면 503 */
+    private int maxQueued = 100;
+    private long queueTimeoutSeconds = 30;
+    private Stub stub = new Stub();
+
+    /**
+     * stub 모델: OpenAI 대신 고정 응답을 지연을 흉내 내며 스트리밍 (부하 테스트용)
+     */
+    @Data
+    public static class Stub {
+        private boolean enabled = false;
+        /** 첫 토큰까지 지연 (ms) */
+        private long firstTokenMs = 500;
+        private int tokensPerSecond = 40;
+        private int tokens = 200;
+    }
+}
@@ -0,0 +1,22 @@
+package com.evlo.config;
+
+import com.evlo.support.StubChatClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * app.ai.client.stub.enabled=true 면 OpenAI 대신 로컬 stub 모델 사용 (부하 테스트)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.ai.client.stub", name = "enabled", havingValue = "true")
+public class AiStubConfig {
+
+    @Bean
+    @Primary
+    public StubChatClient stubChatClient(AiClientProperties properties) {
+        AiClientProperties.Stub stub = properties.getStub();
+        return new StubChatClient(stub.getFirstTokenMs(), stub.getTokensPerSecond(), stub.getTokens());
+    }
+}
@@ -0,0 +1,31 @@
+package com.evlo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 요약 입력 구성 (집계 기반 map-reduce)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ai.summary")
+public class AiSummaryProperties {
+
+    /** 프롬프트 1회당 입력 데이터 토큰 한도 (추정치) */
+    private int tokenBudget = 3000;
+    /** 이 시간(시간 단위)보다 긴 범위는 구간별로 나눠 부분 요약 후 합침 */
+    private int windowHours = 24;
+    private int maxWindows = 8;
+    /** 부분 요약 동시 LLM 호출 수 */
+    private int concurrency = 3;
+    private int topEventIds = 15;
+    /** 대표 이벤트 표본 최대 수 (실제 수는 남은 토큰 한도에 따라 정해짐) */
+    private int samples = 40;
+    /** 표본 층을 나누는 시간 구간 수 */
+    private int sampleBuckets = 4;
+    /** 표본 층 후보 조회 행 수 ((eventId, level, 시간)별 건수 상위) */
+    private int sampleStrataRows = 500;
+    /** 표본 메시지 최대 길이 (문자) */
+    private int messageChars = 200;
+}
@@ -0,0 +1,24 @@
+package com.evlo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.correlation")
+public class CorrelationProperties {
+
+    private int maxMatches = 1000;
+    private int maxEventsPerMatch = 50;
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String expression;
+    }
+}
@@ -4,15 +4,30 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "evtx.service")
 public class EvtxServiceProperties {
 
     private String url = "http://localhost:8081";
+    /** 여러 인스턴스로 부하 분산할 때의 주소 목록. 비어 있으면 url 하나만 사용 */
+    private List<String> urls = new ArrayList<>();
     private int timeoutMs = 30000;
+    /** 파싱 응답으로 먼저 요청할 인코딩 (smile | cbor | json). JSON 은 항상 대체 형식으로 함께 협상 */
+    private String wireFormat = "smile";
     private Retry retry = new Retry();
     private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Concurrency concurrency = new Concurrency();
+    private Balancer balancer = new Balancer();
+
+    /** 실제로 사용할 인스턴스 주소 (urls 가 비어 있으면 url) */
+    public List<String> instanceUrls() {
+        List<String> result = urls.stream().filter(u -> u != null && !u.isBlank()).map(String::trim).distinct().toList();
+        return result.isEmpty() ? List.of(url) : result;
+    }
 
     @Data
     public static class Retry {
@@ -26,5 +41,34 @@ public class EvtxServiceProperties {
         private int failureRateThreshold = 50;
         private int waitDurationInOpenState = 10000;
         private int slidingWindowSize = 10;
+        /** HALF_OPEN 에서 허용하는 시험 호출 수 (모두 성공해야 CLOSED) */
+        private int permittedCallsInHalfOpenState = 2;
+    }
+
+    /**
+     * 인스턴스별 진행 중 파싱 요청 수의 AIMD 적응형 한도. 모든 인스턴스가 한도에 닿으면 대기 없이 503
+     */
+    @Data
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 4;
+        private int minLimit = 1;
+        private int maxLimit = 32;
+        /** 과부하 신호(타임아웃, 5xx, 429, 연결 실패) 시 한도에 곱하는 비율 */
+        private double backoffRatio = 0.5;
+    }
+
+    /**
+     * 인스턴스 선택과 헬스 체크. 연속 unhealthyThreshold 회 실패한 인스턴스는 다시 성공할 때까지 선택에서 제외
+     */
+    @Data
+    public static class Balancer {
+        private String healthPath = "/healthz";
+        /** 0 이하이면 헬스 체크 안 함 */
+        private long healthCheckIntervalMs = 10000;
+        private long healthTimeoutMs = 2000;
+        private int unhealthyThreshold = 2;
+        /** 이 크기 이상의 파일은 큰 파일을 처리 중인 인스턴스를 피해 배정 */
+        private long largeFileBytes = 50L * 1024 * 1024;
     }
 }
@@ -1,5 +1,7 @@
 package com.evlo.config;
 
+import com.evlo.parser.EvtxInstancePool;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,10 +13,15 @@ public class EvtxWebClientConfig {
 
     private final EvtxServiceProperties props;
 
-    @Bean(name = "evtxWebClient")
-    public WebClient evtxWebClient() {
+    /** evtx-service 인스턴스마다 WebClient 하나 */
+    @Bean
+    public EvtxInstancePool evtxInstancePool(MeterRegistry meterRegistry) {
+        return new EvtxInstancePool(props, this::evtxWebClient, meterRegistry);
+    }
+
+    private WebClient evtxWebClient(String baseUrl) {
         return WebClient.builder()
-                .baseUrl(props.getUrl())
+                .baseUrl(baseUrl)
                 .codecs(c -> c.defaultCodecs().maxInMemorySize(100 * 1024 * 1024))
                 .build();
     }
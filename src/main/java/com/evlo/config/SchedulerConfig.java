@@ -0,0 +1,59 @@
+package com.evlo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Blocking JDBC(JPA) 조회 전용 Scheduler.
+ * Netty 이벤트 루프에서 Repository를 직접 호출하지 않도록 분리하고,
+ * 스레드 수를 제한(bulkhead)해 느린 쿼리가 다른 요청을 막지 않도록 함.
+ * 커넥션 풀(spring.datasource.hikari.maximum-pool-size)은 jdbc / export / export-job 스레드 합계에
+ * 업로드·진행률 조회(boundedElastic) 여유분을 더한 크기로 잡아, 내보내기가 분석 조회의 커넥션을 빼앗지 않도록 함.
+ * 스케줄러 스레드 수를 늘리면 풀 크기도 함께 늘려야 함.
+ */
+@Configuration
+public class SchedulerConfig {
+
+    @Value("${app.jdbc.scheduler.thread-cap:10}")
+    private int threadCap;
+
+    @Value("${app.jdbc.scheduler.queue-cap:500}")
+    private int queueCap;
+
+    @Value("${app.export.scheduler.thread-cap:2}")
+    private int exportThreadCap;
+
+    @Value("${app.export.scheduler.queue-cap:20}")
+    private int exportQueueCap;
+
+    @Value("${app.export.jobs.workers:2}")
+    private int exportJobWorkers;
+
+    @Value("${app.export.jobs.queue-cap:50}")
+    private int exportJobQueueCap;
+
+    @Bean(name = "jdbcScheduler", destroyMethod = "dispose")
+    public Scheduler jdbcScheduler() {
+        return Schedulers.newBoundedElastic(threadCap, queueCap, "jdbc");
+    }
+
+    /**
+     * PDF 렌더링처럼 스레드를 오래 점유하는 내보내기 전용 Scheduler.
+     * 동시 렌더링 수를 작게 제한해 jdbcScheduler 와 CPU 를 다른 요청과 나눠 쓰도록 함.
+     */
+    @Bean(name = "exportScheduler", destroyMethod = "dispose")
+    public Scheduler exportScheduler() {
+        return Schedulers.newBoundedElastic(exportThreadCap, exportQueueCap, "export");
+    }
+
+    /**
+     * 비동기 내보내기 작업 워커. 요청과 무관하게 끝까지 실행되므로 스트리밍 내보내기(exportScheduler)와 분리.
+     */
+    @Bean(name = "exportJobScheduler", destroyMethod = "dispose")
+    public Scheduler exportJobScheduler() {
+        return Schedulers.newBoundedElastic(exportJobWorkers, exportJobQueueCap, "export-job");
+    }
+}
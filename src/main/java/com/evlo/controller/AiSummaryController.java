@@ -1,71 +1,115 @@
 package com.evlo.controller;
 
+import com.evlo.dto.AiStreamEvent;
 import com.evlo.dto.AiSummaryRequest;
 import com.evlo.dto.AiSummaryResponse;
-import com.evlo.entity.Event;
-import com.evlo.entity.enums.EventLevel;
-import com.evlo.repository.EventRepository;
 import com.evlo.service.AiSummaryService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/ai")
-@RequiredArgsConstructor
 public class AiSummaryController {
 
+    private static final String SESSION_COOKIE_NAME = "EVLO_SESSION";
     private final AiSummaryService aiSummaryService;
-    private final EventRepository eventRepository;
+
+    public AiSummaryController(AiSummaryService aiSummaryService) {
+        this.aiSummaryService = aiSummaryService;
+    }
+
+    private static String getSessionId(ServerWebExchange exchange) {
+        var cookie = exchange.getRequest().getCookies().getFirst(SESSION_COOKIE_NAME);
+        return cookie != null && cookie.getValue() != null ? cookie.getValue() : null;
+    }
 
     /**
-     * 전체 로그 요약
+     * 전체 로그 요약 (세션 범위, logFileId/startTime/endTime/eventIds 로 좁힐 수 있음)
      */
     @PostMapping("/summarize")
-    public ResponseEntity<AiSummaryResponse> summarizeEvents(
+    public Mono<ResponseEntity<AiSummaryResponse>> summarizeEvents(
+            ServerWebExchange exchange,
             @RequestBody(required = false) AiSummaryRequest request) {
-        
-        List<Event> events;
-        if (request != null && request.getEventIds() != null && !request.getEventIds().isEmpty()) {
-            // 특정 Event ID 목록으로 필터링
-            Pageable pageable = PageRequest.of(0, 100);
-            Page<Event> eventPage = eventRepository.findByEventIdIn(request.getEventIds(), pageable);
-            events = eventPage.getContent();
-        } else {
-            // 최근 100개 이벤트
-            Pageable pageable = PageRequest.of(0, 100);
-            Page<Event> eventPage = eventRepository.findAll(pageable);
-            events = eventPage.getContent();
-        }
-
-        AiSummaryResponse response = aiSummaryService.summarizeEvents(events);
-        return ResponseEntity.ok(response);
+        return aiSummaryService.summarize(getSessionId(exchange), request, false)
+                .map(ResponseEntity::ok);
     }
 
     /**
      * Error/Critical 이벤트 중심 요약
      */
     @PostMapping("/summarize-errors")
-    public ResponseEntity<AiSummaryResponse> summarizeErrors() {
-        Pageable pageable = PageRequest.of(0, 50);
-        Page<Event> errorPage = eventRepository.findTopErrorsAndCritical(pageable);
-        List<Event> errorEvents = errorPage.getContent();
+    public Mono<ResponseEntity<AiSummaryResponse>> summarizeErrors(
+            ServerWebExchange exchange,
+            @RequestBody(required = false) AiSummaryRequest request) {
+        return aiSummaryService.summarize(getSessionId(exchange), request, true)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 전체 로그 요약 스트리밍 (SSE). 최종 요약이 생성되는 대로 token 이벤트로 전달
+     */
+    @GetMapping(value = "/summarize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AiStreamEvent>> summarizeEventsStream(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) Long logFileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) List<Long> eventIds) {
+        AiSummaryRequest request = streamRequest(logFileId, startTime, endTime, eventIds);
+        return toServerSentEvents(aiSummaryService.summarizeStream(getSessionId(exchange), request, false));
+    }
+
+    /**
+     * Error/Critical 이벤트 중심 요약 스트리밍 (SSE)
+     */
+    @GetMapping(value = "/summarize-errors/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AiStreamEvent>> summarizeErrorsStream(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) Long logFileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) List<Long> eventIds) {
+        AiSummaryRequest request = streamRequest(logFileId, startTime, endTime, eventIds);
+        return toServerSentEvents(aiSummaryService.summarizeStream(getSessionId(exchange), request, true));
+    }
+
+    /**
+     * 특정 Event ID 설명 스트리밍 (SSE)
+     */
+    @GetMapping(value = "/explain/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AiStreamEvent>> explainEventIdStream(@PathVariable Long eventId) {
+        return toServerSentEvents(aiSummaryService.explainEventIdStream(eventId));
+    }
+
+    /** EventSource 는 GET 만 지원하므로 스트리밍 요청 조건은 쿼리 파라미터로 받음 */
+    private static AiSummaryRequest streamRequest(Long logFileId, LocalDateTime startTime, LocalDateTime endTime, List<Long> eventIds) {
+        return AiSummaryRequest.builder()
+                .logFileId(logFileId)
+                .startTime(startTime)
+                .endTime(endTime)
+                .eventIds(eventIds)
+                .build();
+    }
 
-        AiSummaryResponse response = aiSummaryService.summarizeErrors(errorEvents);
-        return ResponseEntity.ok(response);
+    private static Flux<ServerSentEvent<AiStreamEvent>> toServerSentEvents(Flux<AiStreamEvent> events) {
+        return events.map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
     }
 
     /**
      * 특정 Event ID 설명 생성 (초보자용)
      */
     @GetMapping("/explain/{eventId}")
-    public ResponseEntity<AiSummaryResponse> explainEventId(@PathVariable Long eventId) {
-        AiSummaryResponse response = aiSummaryService.explainEventId(eventId);
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<AiSummaryResponse>> explainEventId(@PathVariable Long eventId) {
+        return aiSummaryService.explainEventId(eventId)
+                .map(ResponseEntity::ok);
     }
 }
@@ -1,32 +1,99 @@
 package com.evlo.controller;
 
+import com.evlo.dto.AnomalyResponse;
+import com.evlo.dto.CardinalityResponse;
+import com.evlo.dto.CompareResponse;
+import com.evlo.dto.CorrelationResponse;
+import com.evlo.dto.DetectionResponse;
 import com.evlo.dto.EventFrequencyResponse;
+import com.evlo.dto.EventRowResponse;
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.FacetResponse;
+import com.evlo.dto.HeavyHitterResponse;
+import com.evlo.dto.HistogramResponse;
+import com.evlo.dto.TimeGranularity;
 import com.evlo.dto.TimeBasedAnalysisResponse;
-import com.evlo.entity.Event;
+import com.evlo.repository.DetectionRepository;
+import com.evlo.repository.DetectionSpecifications;
 import com.evlo.repository.EventRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import com.evlo.repository.EventRollupRepository;
+import com.evlo.repository.LogFileAnomalyRepository;
+import com.evlo.repository.LogFileAnomalySpecifications;
+import com.evlo.entity.enums.AnomalyType;
+import com.evlo.entity.enums.DetectionSeverity;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.entity.enums.SketchType;
+import com.evlo.service.CompareService;
+import com.evlo.service.CorrelationService;
+import com.evlo.service.FacetService;
+import com.evlo.service.HistogramService;
+import com.evlo.service.SampleAnalysisService;
+import com.evlo.service.SketchService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/analysis")
-@RequiredArgsConstructor
 public class AnalysisController {
 
     private static final String SESSION_COOKIE_NAME = "EVLO_SESSION";
 
+    private static final DateTimeFormatter TIME_SLOT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00:00");
+
     private final EventRepository eventRepository;
+    private final EventRollupRepository eventRollupRepository;
+    private final LogFileAnomalyRepository logFileAnomalyRepository;
+    private final DetectionRepository detectionRepository;
+    private final HistogramService histogramService;
+    private final FacetService facetService;
+    private final SketchService sketchService;
+    private final CorrelationService correlationService;
+    private final CompareService compareService;
+    private final SampleAnalysisService sampleAnalysisService;
+    private final Scheduler jdbcScheduler;
+
+    public AnalysisController(
+            EventRepository eventRepository,
+            EventRollupRepository eventRollupRepository,
+            LogFileAnomalyRepository logFileAnomalyRepository,
+            DetectionRepository detectionRepository,
+            HistogramService histogramService,
+            FacetService facetService,
+            SketchService sketchService,
+            CorrelationService correlationService,
+            CompareService compareService,
+            SampleAnalysisService sampleAnalysisService,
+            @Qualifier("jdbcScheduler") Scheduler jdbcScheduler) {
+        this.eventRepository = eventRepository;
+        this.eventRollupRepository = eventRollupRepository;
+        this.logFileAnomalyRepository = logFileAnomalyRepository;
+        this.detectionRepository = detectionRepository;
+        this.histogramService = histogramService;
+        this.facetService = facetService;
+        this.sketchService = sketchService;
+        this.correlationService = correlationService;
+        this.compareService = compareService;
+        this.sampleAnalysisService = sampleAnalysisService;
+        this.jdbcScheduler = jdbcScheduler;
+    }
 
     private static String getSessionId(ServerWebExchange exchange) {
         var cookie = exchange.getRequest().getCookies().getFirst(SESSION_COOKIE_NAME);
@@ -35,54 +102,63 @@ public class AnalysisController {
 
     /**
      * Event ID별 발생 빈도 통계 (비회원: 현재 세션 로그만)
+     * approximate=true 여도 표본이 없는 파일이 세션에 있으면 정확한 집계로 응답 (error 없음)
      */
     @GetMapping("/event-frequency")
-    public ResponseEntity<List<EventFrequencyResponse>> getEventFrequency(
+    public Mono<ResponseEntity<List<EventFrequencyResponse>>> getEventFrequency(
             ServerWebExchange exchange,
-            @RequestParam(required = false) Integer limit) {
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean approximate) {
 
         String sessionId = getSessionId(exchange);
         if (sessionId == null || sessionId.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
 
-        List<Object[]> results = eventRepository.findEventIdFrequencyBySessionId(sessionId);
+        Pageable top = PageRequest.of(0, limit != null ? limit : 100);
+        return Mono.fromCallable(() -> {
+                    if (approximate && sampleAnalysisService.coversSession(sessionId)) {
+                        return ResponseEntity.ok(sampleAnalysisService.eventFrequency(sessionId, top.getPageSize()));
+                    }
+                    List<Object[]> results = eventRollupRepository.findEventIdFrequencyBySessionId(sessionId, top);
 
-        List<EventFrequencyResponse> response = results.stream()
-                .limit(limit != null ? limit : 100)
-                .map(result -> EventFrequencyResponse.builder()
-                        .eventId(((Number) result[0]).longValue())
-                        .count(((Number) result[1]).longValue())
-                        .build())
-                .collect(Collectors.toList());
+                    List<EventFrequencyResponse> response = results.stream()
+                            .map(result -> EventFrequencyResponse.builder()
+                                    .eventId(((Number) result[0]).longValue())
+                                    .count(((Number) result[1]).longValue())
+                                    .build())
+                            .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+                    return ResponseEntity.ok(response);
+                })
+                .subscribeOn(jdbcScheduler);
     }
 
     /**
      * Error/Critical Top N 조회 (비회원: 현재 세션 로그만)
      */
     @GetMapping("/errors-top")
-    public ResponseEntity<List<Event>> getTopErrorsAndCritical(
+    public Mono<ResponseEntity<List<EventRowResponse>>> getTopErrorsAndCritical(
             ServerWebExchange exchange,
             @RequestParam(defaultValue = "10") int n) {
 
         String sessionId = getSessionId(exchange);
         if (sessionId == null || sessionId.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
 
-        Pageable pageable = PageRequest.of(0, n, Sort.by(Sort.Direction.DESC, "timeCreated"));
-        Page<Event> eventPage = eventRepository.findTopErrorsAndCriticalBySessionId(sessionId, pageable);
-
-        return ResponseEntity.ok(eventPage.getContent());
+        Pageable pageable = PageRequest.of(0, n);
+        return Mono.fromCallable(() -> ResponseEntity.ok(
+                        eventRepository.findTopErrorsAndCriticalBySessionId(sessionId, pageable)))
+                .subscribeOn(jdbcScheduler);
     }
 
     /**
      * 시간대별 집중 발생 이벤트 분석 (비회원: 현재 세션 로그만)
+     * startTime ~ endTime (양 끝 포함, 분 단위) 의 UTC 시간별 건수. 정시가 아닌 경계 시간은 범위 안의 분만 셈
      */
     @GetMapping("/time-based")
-    public ResponseEntity<List<TimeBasedAnalysisResponse>> getTimeBasedAnalysis(
+    public Mono<ResponseEntity<List<TimeBasedAnalysisResponse>>> getTimeBasedAnalysis(
             ServerWebExchange exchange,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
@@ -90,31 +166,19 @@ public class AnalysisController {
 
         String sessionId = getSessionId(exchange);
         if (sessionId == null || sessionId.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
-        }
-
-        List<Object[]> results;
-        if (eventId != null) {
-            results = eventRepository.findEventCountByHourForEventIdBySessionId(sessionId, eventId, startTime, endTime);
-        } else {
-            results = eventRepository.findEventCountByHourBySessionId(sessionId, startTime, endTime);
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
 
-        List<TimeBasedAnalysisResponse> response = results.stream()
-                .map(result -> TimeBasedAnalysisResponse.builder()
-                        .timeSlot((String) result[0])
-                        .count(((Number) result[1]).longValue())
-                        .build())
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        return Mono.fromCallable(() -> ResponseEntity.ok(toTimeBasedResponse(
+                        histogramService.hourlyCounts(sessionId, startTime, endTime, eventId))))
+                .subscribeOn(jdbcScheduler);
     }
 
     /**
-     * 특정 Event ID의 시간대별 발생 빈도 (비회원: 현재 세션 로그만)
+     * 특정 Event ID의 시간대별 발생 빈도 (비회원: 현재 세션 로그만, 범위는 /time-based 와 같음)
      */
     @GetMapping("/time-based/{eventId}")
-    public ResponseEntity<List<TimeBasedAnalysisResponse>> getTimeBasedAnalysisByEventId(
+    public Mono<ResponseEntity<List<TimeBasedAnalysisResponse>>> getTimeBasedAnalysisByEventId(
             ServerWebExchange exchange,
             @PathVariable Long eventId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
@@ -122,18 +186,274 @@ public class AnalysisController {
 
         String sessionId = getSessionId(exchange);
         if (sessionId == null || sessionId.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
 
-        List<Object[]> results = eventRepository.findEventCountByHourForEventIdBySessionId(sessionId, eventId, startTime, endTime);
+        return Mono.fromCallable(() -> ResponseEntity.ok(toTimeBasedResponse(
+                        histogramService.hourlyCounts(sessionId, startTime, endTime, eventId))))
+                .subscribeOn(jdbcScheduler);
+    }
 
-        List<TimeBasedAnalysisResponse> response = results.stream()
-                .map(result -> TimeBasedAnalysisResponse.builder()
-                        .timeSlot((String) result[0])
-                        .count(((Number) result[1]).longValue())
+    /**
+     * 다중 해상도 시간 히스토그램 (epoch ms 버킷, 비회원: 현재 세션 로그만)
+     * from/to: epoch ms [from, to), granularity: MINUTE | FIVE_MINUTES | HOUR | DAY, timeZone: IANA ID
+     * approximate=true 여도 표본이 없는 파일이 세션에 있으면 정확한 집계로 응답 (응답 approximate=false)
+     */
+    @GetMapping("/histogram")
+    public Mono<ResponseEntity<HistogramResponse>> getHistogram(
+            ServerWebExchange exchange,
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "HOUR") TimeGranularity granularity,
+            @RequestParam(defaultValue = "UTC") String timeZone,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(defaultValue = "false") boolean approximate) {
+
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + timeZone);
+        }
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(HistogramResponse.builder()
+                    .granularity(granularity)
+                    .timeZone(zone.getId())
+                    .from(from)
+                    .to(to)
+                    .buckets(Collections.emptyList())
+                    .build()));
+        }
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(approximate && sampleAnalysisService.coversSession(sessionId)
+                        ? histogramService.approximateHistogram(sessionId, from, to, granularity, zone, eventId)
+                        : histogramService.histogram(sessionId, from, to, granularity, zone, eventId)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 검색 조건별 facet 건수 (level, channel, eventId, provider / 비회원: 현재 세션 로그만)
+     */
+    @GetMapping("/facets")
+    public Mono<ResponseEntity<FacetResponse>> getFacets(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String[] levels,
+            @RequestParam(required = false) String[] channels,
+            @RequestParam(required = false) Long[] eventIds,
+            @RequestParam(required = false) Long logFileId) {
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(FacetResponse.builder()
+                    .total(0L)
+                    .levels(Collections.emptyMap())
+                    .channels(Collections.emptyMap())
+                    .eventIds(Collections.emptyList())
+                    .providers(Collections.emptyList())
+                    .build()));
+        }
+
+        EventSearchRequest searchRequest = EventSearchRequest.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .levels(levels != null ? Arrays.stream(levels)
+                        .map(EventLevel::valueOf)
+                        .collect(Collectors.toList()) : null)
+                .channels(channels != null ? Arrays.stream(channels)
+                        .map(LogChannel::valueOf)
+                        .collect(Collectors.toList()) : null)
+                .eventIds(eventIds != null ? Arrays.asList(eventIds) : null)
+                .logFileId(logFileId)
+                .build();
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(facetService.facets(sessionId, searchRequest)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 상위 K 추정 (파일별 Space-Saving 스케치 병합 / 비회원: 현재 세션 로그만)
+     * dimension: EVENT_ID | PROVIDER
+     */
+    @GetMapping("/heavy-hitters")
+    public Mono<ResponseEntity<List<HeavyHitterResponse>>> getHeavyHitters(
+            ServerWebExchange exchange,
+            @RequestParam(defaultValue = "EVENT_ID") String dimension,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        SketchType type = switch (dimension.toUpperCase()) {
+            case "EVENT_ID" -> SketchType.EVENT_ID_TOP_K;
+            case "PROVIDER" -> SketchType.PROVIDER_TOP_K;
+            default -> throw new IllegalArgumentException("Unsupported dimension: " + dimension);
+        };
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(sketchService.heavyHitters(sessionId, type, limit)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 고유 computer / provider 수 추정 (파일별 HyperLogLog 병합 / 비회원: 현재 세션 로그만)
+     */
+    @GetMapping("/cardinality")
+    public Mono<ResponseEntity<CardinalityResponse>> getCardinality(ServerWebExchange exchange) {
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(CardinalityResponse.builder()
+                    .distinctComputers(0L)
+                    .distinctProviders(0L)
+                    .build()));
+        }
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(sketchService.cardinality(sessionId)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 업로드 시 탐지한 버스트/침묵 구간 (비회원: 현재 세션 로그만)
+     */
+    @GetMapping("/anomalies")
+    public Mono<ResponseEntity<List<AnomalyResponse>>> getAnomalies(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) AnomalyType type,
+            @RequestParam(required = false) Long eventId) {
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+
+        return Mono.fromCallable(() -> {
+            List<AnomalyResponse> response = logFileAnomalyRepository
+                    .findAll(LogFileAnomalySpecifications.matches(sessionId, type, eventId), LogFileAnomalySpecifications.ORDER)
+                    .stream()
+                    .map(AnomalyResponse::from)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(response);
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 순서 패턴 매칭 (비회원: 현재 세션 로그만)
+     * rule 미지정 시 설정된 규칙 전체. 예: rule=4625{5,} -> 4624 within 10m by computer
+     * 매치가 max-matches 를 넘으면 잘라내고 truncated=true
+     */
+    @GetMapping("/correlations")
+    public Mono<ResponseEntity<CorrelationResponse>> getCorrelations(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) String rule,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(CorrelationResponse.builder()
+                    .matches(Collections.emptyList())
+                    .build()));
+        }
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(
+                        correlationService.correlate(sessionId, rule, startTime, endTime)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 업로드 시 탐지 규칙에 일치한 이벤트 (비회원: 현재 세션 로그만, 최신순)
+     */
+    @GetMapping("/detections")
+    public Mono<ResponseEntity<List<DetectionResponse>>> getDetections(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) String ruleId,
+            @RequestParam(required = false) DetectionSeverity severity,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+
+        return Mono.fromCallable(() -> {
+            List<DetectionResponse> response = detectionRepository
+                    .findLatest(DetectionSpecifications.matches(sessionId, ruleId, severity), limit).stream()
+                    .map(detection -> DetectionResponse.builder()
+                            .ruleId(detection.getRuleId())
+                            .ruleTitle(detection.getRuleTitle())
+                            .severity(detection.getSeverity())
+                            .id(detection.getEventRowId())
+                            .eventId(detection.getEventId())
+                            .timeCreated(detection.getTimeCreated())
+                            .build())
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(response);
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 규칙별 탐지 건수 (비회원: 현재 세션 로그만)
+     */
+    @GetMapping("/detections/summary")
+    public Mono<ResponseEntity<List<DetectionResponse>>> getDetectionSummary(ServerWebExchange exchange) {
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+
+        return Mono.fromCallable(() -> {
+            List<DetectionResponse> response = detectionRepository.countByRuleBySessionId(sessionId).stream()
+                    .map(row -> DetectionResponse.builder()
+                            .ruleId((String) row[0])
+                            .ruleTitle((String) row[1])
+                            .severity((DetectionSeverity) row[2])
+                            .count(((Number) row[3]).longValue())
+                            .build())
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(response);
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 두 파일(leftFileId, rightFileId) 또는 두 시간 구간(leftFrom~leftTo, rightFrom~rightTo) 비교
+     * (비회원: 현재 세션 로그만, 업로드 시 집계/스케치 기반)
+     */
+    @GetMapping("/compare")
+    public Mono<ResponseEntity<CompareResponse>> compare(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) Long leftFileId,
+            @RequestParam(required = false) Long rightFileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime leftFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime leftTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rightFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rightTo,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        boolean byFile = leftFileId != null || rightFileId != null;
+        if (byFile && (leftFileId == null || rightFileId == null)) {
+            return Mono.error(new IllegalArgumentException("Both leftFileId and rightFileId are required"));
+        }
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(byFile
+                        ? compareService.compareFiles(sessionId, leftFileId, rightFileId, limit)
+                        : compareService.compareRanges(sessionId, leftFrom, leftTo, rightFrom, rightTo, limit)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    private static List<TimeBasedAnalysisResponse> toTimeBasedResponse(Map<LocalDateTime, Long> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> TimeBasedAnalysisResponse.builder()
+                        .timeSlot(entry.getKey().format(TIME_SLOT_FORMAT))
+                        .count(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
     }
 }
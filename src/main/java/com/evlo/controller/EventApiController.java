@@ -0,0 +1,82 @@
+package com.evlo.controller;
+
+import com.evlo.dto.TimelineResponse;
+import com.evlo.entity.Event;
+import com.evlo.repository.EventRepository;
+import com.evlo.service.TimelineService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventApiController {
+
+    private static final String SESSION_COOKIE_NAME = "EVLO_SESSION";
+
+    private final EventRepository eventRepository;
+    private final TimelineService timelineService;
+    private final Scheduler jdbcScheduler;
+
+    public EventApiController(
+            EventRepository eventRepository,
+            TimelineService timelineService,
+            @Qualifier("jdbcScheduler") Scheduler jdbcScheduler) {
+        this.eventRepository = eventRepository;
+        this.timelineService = timelineService;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    private static String getSessionId(ServerWebExchange exchange) {
+        var cookie = exchange.getRequest().getCookies().getFirst(SESSION_COOKIE_NAME);
+        return cookie != null && cookie.getValue() != null ? cookie.getValue() : null;
+    }
+
+    /**
+     * 이벤트 상세 조회 (전체 message 포함, 비회원: 현재 세션 로그만)
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Event>> getEvent(ServerWebExchange exchange, @PathVariable Long id) {
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+
+        return Mono.fromCallable(() -> eventRepository.findByIdAndLogFile_SessionId(id, sessionId))
+                .subscribeOn(jdbcScheduler)
+                .map(event -> event.map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    /**
+     * 세션 파일들을 시간 순으로 병합한 타임라인 (비회원: 현재 세션 로그만)
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+     */
+    @GetMapping("/timeline")
+    public Mono<ResponseEntity<TimelineResponse>> getTimeline(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int size) {
+
+        String sessionId = getSessionId(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            return Mono.just(ResponseEntity.ok(TimelineResponse.builder().events(Collections.emptyList()).build()));
+        }
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(timelineService.timeline(sessionId, cursor, from, to, size)))
+                .subscribeOn(jdbcScheduler);
+    }
+}
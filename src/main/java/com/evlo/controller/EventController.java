@@ -1,12 +1,13 @@
 package com.evlo.controller;
 
+import com.evlo.dto.EventRowResponse;
 import com.evlo.dto.EventSearchRequest;
-import com.evlo.entity.Event;
 import com.evlo.entity.enums.EventLevel;
 import com.evlo.entity.enums.LogChannel;
 import com.evlo.repository.EventRepository;
+import com.evlo.repository.EventSpecifications;
 import com.evlo.service.CacheService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -19,6 +20,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -27,11 +30,20 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Controller
-@RequiredArgsConstructor
 public class EventController {
 
     private final EventRepository eventRepository;
     private final CacheService cacheService;
+    private final Scheduler jdbcScheduler;
+
+    public EventController(
+            EventRepository eventRepository,
+            CacheService cacheService,
+            @Qualifier("jdbcScheduler") Scheduler jdbcScheduler) {
+        this.eventRepository = eventRepository;
+        this.cacheService = cacheService;
+        this.jdbcScheduler = jdbcScheduler;
+    }
 
     /**
      * 홈 페이지
@@ -78,7 +90,7 @@ public class EventController {
      * 이벤트 리스트 페이지 (검색/필터링 + 분석 통합)
      */
     @GetMapping("/events")
-    public String eventsPage(
+    public Mono<String> eventsPage(
             ServerWebExchange exchange,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
@@ -123,64 +135,47 @@ public class EventController {
         Pageable pageable = PageRequest.of(searchRequest.getPage(), searchRequest.getSize(), sort);
 
         // 검색 실행: 비회원은 현재 세션에서 업로드한 로그만 조회 (logFileId 있으면 해당 파일만)
-        Page<Event> eventPage;
-        if (searchRequest.getLogFileId() != null) {
-            eventPage = eventRepository.findByLogFileId(searchRequest.getLogFileId(), pageable);
-        } else if (sessionId == null || sessionId.isBlank()) {
-            eventPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-        } else if (hasFilters(searchRequest)) {
-            eventPage = eventRepository.findByFiltersAndSessionId(
-                    sessionId,
-                    searchRequest.getStartTime(),
-                    searchRequest.getEndTime(),
-                    searchRequest.getLevels(),
-                    searchRequest.getChannels(),
-                    searchRequest.getEventIds(),
-                    searchRequest.getKeyword(),
-                    pageable
-            );
-        } else {
-            eventPage = eventRepository.findByLogFile_SessionId(sessionId, pageable);
-        }
-
-        // 캐시 저장 (비동기로 처리, 세션별 키)
-        cacheService.cacheSearchResult(searchRequest, pageable, eventPage, sessionId)
-                .subscribe();
-        
-        // 검색 카운트 증가 (통계용)
-        cacheService.incrementSearchCount(searchRequest)
-                .subscribe();
-
-        // 모델에 데이터 추가
-        model.addAttribute("title", "이벤트 조회 - EVLO");
-        model.addAttribute("contentTemplate", "events");
-        model.addAttribute("contentFragment", "content");
-        model.addAttribute("showEventsNav", false);
-        model.addAttribute("events", eventPage.getContent());
-        model.addAttribute("currentPage", eventPage.getNumber());
-        model.addAttribute("totalPages", eventPage.getTotalPages());
-        model.addAttribute("totalElements", eventPage.getTotalElements());
-        model.addAttribute("pageSize", searchRequest.getSize());
-        model.addAttribute("sortBy", searchRequest.getSortBy());
-        model.addAttribute("sortDir", searchRequest.getSortDir());
-        
-        // 검색 조건
-        model.addAttribute("searchRequest", searchRequest);
-        model.addAttribute("allLevels", EventLevel.values());
-        model.addAttribute("allChannels", LogChannel.values());
-
-        return "layout/base";
+        // Repository 호출은 blocking이므로 이벤트 루프가 아닌 jdbcScheduler에서 실행
+        return Mono.fromCallable(() -> searchEvents(searchRequest, sessionId, pageable))
+                .subscribeOn(jdbcScheduler)
+                .map(eventPage -> {
+                    // 캐시 저장 (비동기로 처리, 세션별 키)
+                    cacheService.cacheSearchResult(searchRequest, pageable, eventPage, sessionId)
+                            .subscribe();
+
+                    // 검색 카운트 증가 (통계용)
+                    cacheService.incrementSearchCount(searchRequest)
+                            .subscribe();
+
+                    // 모델에 데이터 추가
+                    model.addAttribute("title", "이벤트 조회 - EVLO");
+                    model.addAttribute("contentTemplate", "events");
+                    model.addAttribute("contentFragment", "content");
+                    model.addAttribute("showEventsNav", false);
+                    model.addAttribute("events", eventPage.getContent());
+                    model.addAttribute("currentPage", eventPage.getNumber());
+                    model.addAttribute("totalPages", eventPage.getTotalPages());
+                    model.addAttribute("totalElements", eventPage.getTotalElements());
+                    model.addAttribute("pageSize", searchRequest.getSize());
+                    model.addAttribute("sortBy", searchRequest.getSortBy());
+                    model.addAttribute("sortDir", searchRequest.getSortDir());
+
+                    // 검색 조건
+                    model.addAttribute("searchRequest", searchRequest);
+                    model.addAttribute("allLevels", EventLevel.values());
+                    model.addAttribute("allChannels", LogChannel.values());
+
+                    return "layout/base";
+                });
     }
 
     /**
-     * 필터가 있는지 확인
+     * 검색 조건에 맞는 이벤트 페이지 조회 (blocking)
      */
-    private boolean hasFilters(EventSearchRequest searchRequest) {
-        return searchRequest.getStartTime() != null
-                || searchRequest.getEndTime() != null
-                || (searchRequest.getLevels() != null && !searchRequest.getLevels().isEmpty())
-                || (searchRequest.getChannels() != null && !searchRequest.getChannels().isEmpty())
-                || (searchRequest.getEventIds() != null && !searchRequest.getEventIds().isEmpty())
-                || (searchRequest.getKeyword() != null && !searchRequest.getKeyword().isEmpty());
+    private Page<EventRowResponse> searchEvents(EventSearchRequest searchRequest, String sessionId, Pageable pageable) {
+        if (searchRequest.getLogFileId() == null && (sessionId == null || sessionId.isBlank())) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        return eventRepository.findRows(EventSpecifications.matches(searchRequest, sessionId), pageable);
     }
 }
@@ -1,40 +1,86 @@
 package com.evlo.controller;
 
 import com.evlo.dto.EventSearchRequest;
-import com.evlo.entity.Event;
+import com.evlo.dto.ExportFormat;
+import com.evlo.dto.ExportJobResponse;
+import com.evlo.service.CsvEventEncoder;
+import com.evlo.service.ExportJobService;
 import com.evlo.service.ExportService;
-import lombok.RequiredArgsConstructor;
+import com.evlo.service.JsonEventEncoder;
+import com.evlo.support.ParquetWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/export")
-@RequiredArgsConstructor
 public class ExportController {
 
     private static final String SESSION_COOKIE_NAME = "EVLO_SESSION";
     private final ExportService exportService;
+    private final ExportJobService exportJobService;
+    private final ObjectMapper objectMapper;
+    private final Scheduler jdbcScheduler;
+    private final Scheduler exportScheduler;
+    /** PDF / Parquet 스트리밍 출력 DataBuffer 크기 */
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+    private static final MediaType PARQUET = MediaType.parseMediaType(ExportFormat.PARQUET.getMediaType());
     private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
 
+    public ExportController(
+            ExportService exportService,
+            ExportJobService exportJobService,
+            ObjectMapper objectMapper,
+            @Qualifier("jdbcScheduler") Scheduler jdbcScheduler,
+            @Qualifier("exportScheduler") Scheduler exportScheduler) {
+        this.exportService = exportService;
+        this.exportJobService = exportJobService;
+        this.objectMapper = objectMapper;
+        this.jdbcScheduler = jdbcScheduler;
+        this.exportScheduler = exportScheduler;
+    }
+
     private static String getSessionId(ServerWebExchange exchange) {
         var cookie = exchange.getRequest().getCookies().getFirst(SESSION_COOKIE_NAME);
         return cookie != null && cookie.getValue() != null ? cookie.getValue() : null;
     }
 
+    /**
+     * CSV 스트리밍 내보내기. size 미지정 시 조건에 맞는 전체를 청크 단위로 내려보냄
+     */
     @GetMapping("/csv")
-    public ResponseEntity<byte[]> exportCsv(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportCsv(
             ServerWebExchange exchange,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String sortBy,
@@ -48,18 +94,29 @@ public class ExportController {
             @RequestParam(required = false) Long logFileId
     ) {
         EventSearchRequest searchRequest = exportService.buildSearchRequest(size, sortBy, sortDir, startTime, endTime, levels, channels, eventIds, keyword, logFileId);
-        List<Event> events = exportService.fetchEvents(searchRequest, getSessionId(exchange));
-        byte[] csvBytes = exportService.exportCsv(events);
+        String sessionId = getSessionId(exchange);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        CsvEventEncoder encoder = new CsvEventEncoder();
+
+        Flux<DataBuffer> body = Flux.concat(
+                Mono.fromSupplier(() -> encoder.header(bufferFactory)),
+                exportService.scanEvents(searchRequest, sessionId, size)
+                        .subscribeOn(jdbcScheduler)
+                        .map(chunk -> encoder.encode(chunk, bufferFactory)));
 
         String filename = "evlo_events_" + LocalDateTime.now().format(FILE_TIME) + ".csv";
-        return ResponseEntity.ok()
+        return Mono.just(ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(filename))
                 .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
-                .body(csvBytes);
+                .body(body));
     }
 
+    /**
+     * JSON 스트리밍 내보내기. format=array(기본, JSON 배열) | ndjson, gzip=true 면 응답을 즉시 압축.
+     * 클라이언트가 연결을 끊으면 다음 청크 조회 없이 중단
+     */
     @GetMapping("/json")
-    public ResponseEntity<List<Event>> exportJson(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportJson(
             ServerWebExchange exchange,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String sortBy,
@@ -70,15 +127,48 @@ public class ExportController {
             @RequestParam(required = false) String[] channels,
             @RequestParam(required = false) Long[] eventIds,
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) Long logFileId
+            @RequestParam(required = false) Long logFileId,
+            @RequestParam(defaultValue = "array") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
     ) {
+        boolean ndjson = switch (format.toLowerCase()) {
+            case "array" -> false;
+            case "ndjson" -> true;
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
         EventSearchRequest searchRequest = exportService.buildSearchRequest(size, sortBy, sortDir, startTime, endTime, levels, channels, eventIds, keyword, logFileId);
-        List<Event> events = exportService.fetchEvents(searchRequest, getSessionId(exchange));
-        return ResponseEntity.ok(events);
+        String sessionId = getSessionId(exchange);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        JsonEventEncoder encoder = new JsonEventEncoder(objectMapper, ndjson, gzip);
+        long started = System.nanoTime();
+
+        Flux<DataBuffer> body = Flux.concat(
+                        Mono.fromSupplier(() -> encoder.begin(bufferFactory)),
+                        exportService.scanEvents(searchRequest, sessionId, size)
+                                .subscribeOn(jdbcScheduler)
+                                .map(chunk -> encoder.encode(chunk, bufferFactory)),
+                        Mono.fromSupplier(() -> encoder.end(bufferFactory)))
+                .doFinally(signal -> {
+                    encoder.release();
+                    logThroughput("JSON", signal.toString(), encoder.uncompressedBytes(), encoder.writtenBytes(), started);
+                });
+
+        String filename = "evlo_events_" + LocalDateTime.now().format(FILE_TIME) + (ndjson ? ".ndjson" : ".json");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(filename))
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return Mono.just(response.body(body));
     }
 
+    /**
+     * PDF 보고서 스트리밍. exportScheduler 스레드에서 렌더링하며 페이지가 채워지는 대로 응답으로 흘려보냄.
+     * 클라이언트 수신 속도만큼만 렌더링하고(backpressure), 연결이 끊기면 다음 쓰기에서 중단
+     */
     @GetMapping("/pdf")
-    public ResponseEntity<byte[]> exportPdf(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportPdf(
             ServerWebExchange exchange,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String sortBy,
@@ -92,17 +182,172 @@ public class ExportController {
             @RequestParam(required = false) Long logFileId
     ) {
         EventSearchRequest searchRequest = exportService.buildSearchRequest(size, sortBy, sortDir, startTime, endTime, levels, channels, eventIds, keyword, logFileId);
-        List<Event> events = exportService.fetchEvents(searchRequest, getSessionId(exchange));
-        byte[] pdfBytes = exportService.exportPdf(events);
+        String sessionId = getSessionId(exchange);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+
+        Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            long started = System.nanoTime();
+            CountingOutputStream counting = new CountingOutputStream(out);
+            String signal = "onError";
+            try {
+                long rows = exportService.writePdf(searchRequest, sessionId, size, counting);
+                signal = "onComplete(" + rows + " rows)";
+            } finally {
+                logThroughput("PDF", signal, counting.count, counting.count, started);
+            }
+        }, bufferFactory, exportScheduler::schedule, STREAM_BUFFER_SIZE));
 
         String filename = "evlo_report_" + LocalDateTime.now().format(FILE_TIME) + ".pdf";
-        return ResponseEntity.ok()
+        return Mono.just(ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(filename))
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfBytes);
+                .body(body));
+    }
+
+    /**
+     * Parquet 내보내기 (Spark / DuckDB 등 분석 도구용). compression=gzip(기본) | none.
+     * PDF 와 같이 exportScheduler 에서 행 그룹 단위로 응답에 흘려보냄
+     */
+    @GetMapping("/parquet")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportParquet(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortDir,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String[] levels,
+            @RequestParam(required = false) String[] channels,
+            @RequestParam(required = false) Long[] eventIds,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long logFileId,
+            @RequestParam(defaultValue = "gzip") String compression
+    ) {
+        ParquetWriter.Codec codec = switch (compression.toLowerCase()) {
+            case "gzip" -> ParquetWriter.Codec.GZIP;
+            case "none" -> ParquetWriter.Codec.UNCOMPRESSED;
+            default -> throw new IllegalArgumentException("Unsupported compression: " + compression);
+        };
+        EventSearchRequest searchRequest = exportService.buildSearchRequest(size, sortBy, sortDir, startTime, endTime, levels, channels, eventIds, keyword, logFileId);
+        String sessionId = getSessionId(exchange);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+
+        Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            long started = System.nanoTime();
+            CountingOutputStream counting = new CountingOutputStream(out);
+            String signal = "onError";
+            try {
+                long rows = exportService.writeParquet(searchRequest, sessionId, size, codec, counting);
+                signal = "onComplete(" + rows + " rows)";
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                logThroughput("Parquet", signal, counting.count, counting.count, started);
+            }
+        }, bufferFactory, exportScheduler::schedule, STREAM_BUFFER_SIZE));
+
+        String filename = "evlo_events_" + LocalDateTime.now().format(FILE_TIME) + ".parquet";
+        return Mono.just(ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(filename))
+                .contentType(PARQUET)
+                .body(body));
+    }
+
+    /**
+     * 비동기 내보내기 작업 제출. format=csv|json|ndjson|pdf|parquet, 필터 조건은 동기 내보내기와 동일.
+     * 같은 세션·데이터·조건의 결과물이 있거나 진행 중이면 그 작업을 반환
+     */
+    @PostMapping("/jobs")
+    public Mono<ExportJobResponse> submitJob(
+            ServerWebExchange exchange,
+            @RequestParam String format,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortDir,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String[] levels,
+            @RequestParam(required = false) String[] channels,
+            @RequestParam(required = false) Long[] eventIds,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long logFileId
+    ) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        EventSearchRequest searchRequest = exportService.buildSearchRequest(size, sortBy, sortDir, startTime, endTime, levels, channels, eventIds, keyword, logFileId);
+        String sessionId = getSessionId(exchange);
+        return Mono.fromCallable(() -> exportJobService.submit(exportFormat, searchRequest, sessionId, size))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public Mono<ResponseEntity<ExportJobResponse>> getJob(ServerWebExchange exchange, @PathVariable String jobId) {
+        String sessionId = getSessionId(exchange);
+        return Mono.fromCallable(() -> exportJobService.find(jobId, sessionId)
+                        .map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build()))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 완료된 작업 결과물 다운로드. Range 요청(206)을 지원해 중단된 다운로드를 이어받을 수 있음.
+     * 작업이 아직 끝나지 않았으면 409
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public Mono<ResponseEntity<Resource>> downloadJob(ServerWebExchange exchange, @PathVariable String jobId) {
+        String sessionId = getSessionId(exchange);
+        return Mono.fromCallable(() -> {
+                    Optional<ExportJobResponse> job = exportJobService.find(jobId, sessionId);
+                    if (job.isEmpty()) {
+                        return ResponseEntity.notFound().<Resource>build();
+                    }
+                    Optional<Path> artifact = exportJobService.artifact(jobId, sessionId);
+                    if (artifact.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).<Resource>build();
+                    }
+                    ExportFormat exportFormat = job.get().getFormat();
+                    String filename = "evlo_events_" + LocalDateTime.now().format(FILE_TIME) + "." + exportFormat.getExtension();
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(filename))
+                            .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                            .<Resource>body(new FileSystemResource(artifact.get()));
+                })
+                .subscribeOn(jdbcScheduler);
+    }
+
+    private static void logThroughput(String type, String signal, long uncompressedBytes, long writtenBytes, long startedNanos) {
+        double seconds = Math.max((System.nanoTime() - startedNanos) / 1_000_000_000.0, 1e-9);
+        log.info("{} export {}: {} bytes ({} bytes sent) in {} ms, {} MB/s",
+                type, signal, uncompressedBytes, writtenBytes, Math.round(seconds * 1000),
+                String.format("%.1f", uncompressedBytes / seconds / (1024 * 1024)));
     }
 
     private String contentDisposition(String filename) {
         return "attachment; filename=\"" + filename + "\"";
     }
+
+    /** PDF 렌더링 출력 바이트 수 집계 */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.evlo.correlation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 파싱된 순서 패턴 규칙. 같은 그룹 키(computer 등) 안에서 steps 가 순서대로,
+ * 첫 이벤트로부터 window 안에 모두 충족되면 매치.
+ */
+public record CorrelationRule(String name, String expression, List<Step> steps, Duration window, GroupBy groupBy) {
+
+    /** eventIds 중 하나가 minCount 번 이상 */
+    public record Step(Set<Long> eventIds, int minCount) {
+
+        public boolean matches(long eventId) {
+            return eventIds.contains(eventId);
+        }
+    }
+
+    public enum GroupBy {
+        COMPUTER,
+        PROVIDER,
+        NONE;
+
+        public String key(String computer, String provider) {
+            return switch (this) {
+                case COMPUTER -> computer != null ? computer : "";
+                case PROVIDER -> provider != null ? provider : "";
+                case NONE -> "";
+            };
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.evlo.correlation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 순서 패턴 DSL 파서.
+ * <pre>
+ *   4625{5,} -> 4624 within 10m by computer
+ *   4720 -> 4728|4732|4756 within 30m
+ * </pre>
+ * step: eventId('|'eventId)* 뒤에 선택적으로 {n,} 또는 {n} (최소 n회),
+ * within: 숫자 + s|m|h (필수), by: computer(기본) | provider | none
+ */
+public final class CorrelationRuleParser {
+
+    private static final Pattern RULE = Pattern.compile(
+            "^(?<steps>.+?)\\s+within\\s+(?<amount>\\d+)\\s*(?<unit>[smh])(?:\\s+by\\s+(?<by>\\w+))?$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern STEP = Pattern.compile("^(?<ids>\\d+(?:\\s*\\|\\s*\\d+)*)\\s*(?:\\{(?<min>\\d+),?\\})?$");
+
+    private static final int MAX_STEPS = 10;
+    private static final int MAX_MIN_COUNT = 10_000;
+
+    private CorrelationRuleParser() {
+    }
+
+    public static CorrelationRule parse(String name, String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Correlation rule is empty");
+        }
+        Matcher rule = RULE.matcher(expression.trim());
+        if (!rule.matches()) {
+            throw new IllegalArgumentException("Invalid correlation rule: " + expression);
+        }
+
+        String[] rawSteps = rule.group("steps").split("->", -1);
+        if (rawSteps.length > MAX_STEPS) {
+            throw new IllegalArgumentException("Correlation rule has too many steps (max " + MAX_STEPS + "): " + expression);
+        }
+        List<CorrelationRule.Step> steps = new ArrayList<>(rawSteps.length);
+        for (String rawStep : rawSteps) {
+            steps.add(parseStep(rawStep.trim(), expression));
+        }
+
+        long amount = Long.parseLong(rule.group("amount"));
+        Duration window = switch (rule.group("unit").toLowerCase(Locale.ROOT)) {
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            default -> Duration.ofHours(amount);
+        };
+        if (window.isZero()) {
+            throw new IllegalArgumentException("Correlation window must be positive: " + expression);
+        }
+
+        CorrelationRule.GroupBy groupBy = CorrelationRule.GroupBy.COMPUTER;
+        if (rule.group("by") != null) {
+            try {
+                groupBy = CorrelationRule.GroupBy.valueOf(rule.group("by").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported correlation key: " + rule.group("by"));
+            }
+        }
+
+        return new CorrelationRule(name, expression.trim(), List.copyOf(steps), window, groupBy);
+    }
+
+    private static CorrelationRule.Step parseStep(String rawStep, String expression) {
+        Matcher step = STEP.matcher(rawStep);
+        if (!step.matches()) {
+            throw new IllegalArgumentException("Invalid correlation step '" + rawStep + "' in: " + expression);
+        }
+        Set<Long> eventIds = new LinkedHashSet<>();
+        for (String id : step.group("ids").split("\\|")) {
+            eventIds.add(Long.parseLong(id.trim()));
+        }
+        int minCount = step.group("min") != null ? Integer.parseInt(step.group("min")) : 1;
+        if (minCount < 1 || minCount > MAX_MIN_COUNT) {
+            throw new IllegalArgumentException("Step count must be between 1 and " + MAX_MIN_COUNT + ": " + rawStep);
+        }
+        return new CorrelationRule.Step(Set.copyOf(eventIds), minCount);
+    }
+}
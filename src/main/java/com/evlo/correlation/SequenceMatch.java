@@ -0,0 +1,11 @@
+package com.evlo.correlation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 규칙 하나에 대한 매치 결과. eventIds 는 events.id (최대 maxEventsPerMatch 개, 나머지는 eventCount 에만 반영)
+ */
+public record SequenceMatch(String ruleName, String key, LocalDateTime startTime, LocalDateTime endTime,
+                            int eventCount, List<Long> eventIds) {
+}
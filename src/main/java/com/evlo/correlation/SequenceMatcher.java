@@ -0,0 +1,173 @@
+package com.evlo.correlation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 규칙 하나를 시간 순 이벤트 스트림에 적용하는 그룹 키별 상태 기계.
+ * 첫 단계는 window 안의 이벤트만 남기는 슬라이딩 방식, 다음 단계로 넘어가면 시작 시각이 고정된다.
+ * 규칙과 무관한 이벤트는 상태를 바꾸지 않으며(끼어들기 허용) thread-safe 하지 않음.
+ */
+public class SequenceMatcher {
+
+    /** 만료 상태 정리 주기 (처리 이벤트 수) */
+    private static final int PRUNE_INTERVAL = 10_000;
+
+    private final CorrelationRule rule;
+    private final int maxEventsPerMatch;
+    private final Set<Long> ruleEventIds = new HashSet<>();
+    private final Map<String, Partial> partials = new HashMap<>();
+    private long accepted;
+
+    public SequenceMatcher(CorrelationRule rule, int maxEventsPerMatch) {
+        this.rule = rule;
+        this.maxEventsPerMatch = maxEventsPerMatch;
+        rule.steps().forEach(step -> ruleEventIds.addAll(step.eventIds()));
+    }
+
+    public CorrelationRule getRule() {
+        return rule;
+    }
+
+    /**
+     * 이벤트 하나를 반영하고, 마지막 단계가 충족되면 매치를 반환 (없으면 null).
+     * timeCreated 는 비내림차순으로 들어와야 함
+     */
+    public SequenceMatch accept(long id, long eventId, LocalDateTime timeCreated, String computer, String provider) {
+        if (++accepted % PRUNE_INTERVAL == 0) {
+            LocalDateTime threshold = timeCreated.minus(rule.window());
+            partials.values().removeIf(partial -> partial.isExpired(threshold));
+        }
+        if (!ruleEventIds.contains(eventId)) {
+            return null;
+        }
+
+        String key = rule.groupBy().key(computer, provider);
+        List<CorrelationRule.Step> steps = rule.steps();
+        LocalDateTime threshold = timeCreated.minus(rule.window());
+        Partial partial = partials.get(key);
+
+        if (partial != null) {
+            partial.slide(threshold);
+            if (partial.isExpired(threshold)) {
+                partials.remove(key);
+                partial = null;
+            }
+        }
+
+        if (partial == null) {
+            if (!steps.get(0).matches(eventId)) {
+                return null;
+            }
+            partial = new Partial(Math.max(steps.get(0).minCount(), maxEventsPerMatch));
+            partials.put(key, partial);
+        }
+
+        boolean advance = partial.step + 1 < steps.size()
+                && partial.stepCount() >= steps.get(partial.step).minCount()
+                && steps.get(partial.step + 1).matches(eventId);
+        if (advance) {
+            partial.advance();
+        } else if (!steps.get(partial.step).matches(eventId)) {
+            return null;
+        }
+        partial.add(id, timeCreated);
+
+        int last = steps.size() - 1;
+        if (partial.step == last && partial.stepCount() >= steps.get(last).minCount()) {
+            partials.remove(key);
+            return partial.toMatch(key, timeCreated);
+        }
+        return null;
+    }
+
+    /**
+     * 그룹 키별 진행 상태.
+     * 첫 단계는 window 안의 (시각, id)를 슬라이딩으로 유지하고, 폭주 시에는 오래된 항목을 건수로만 남긴다.
+     * 다음 단계로 넘어가면 시작 시각이 고정된다.
+     */
+    private final class Partial {
+        private final int firstStepCapacity;
+        private final ArrayDeque<LocalDateTime> firstStepTimes = new ArrayDeque<>();
+        private final ArrayDeque<Long> firstStepIds = new ArrayDeque<>();
+        private int firstStepDropped;
+        private int firstStepTotal;
+        private final List<Long> laterIds = new ArrayList<>();
+        private int laterTotal;
+        private int step;
+        private int currentStepCount;
+        private LocalDateTime fixedStart;
+
+        Partial(int firstStepCapacity) {
+            this.firstStepCapacity = firstStepCapacity;
+        }
+
+        int stepCount() {
+            return step == 0 ? firstStepTimes.size() + firstStepDropped : currentStepCount;
+        }
+
+        boolean isExpired(LocalDateTime threshold) {
+            LocalDateTime start = fixedStart != null ? fixedStart : firstStepTimes.peekFirst();
+            return start == null || start.isBefore(threshold);
+        }
+
+        /** 첫 단계에서만 window 밖 항목 제거 (버려진 항목은 더 오래됐으므로 함께 만료) */
+        void slide(LocalDateTime threshold) {
+            if (step != 0) {
+                return;
+            }
+            while (!firstStepTimes.isEmpty() && firstStepTimes.peekFirst().isBefore(threshold)) {
+                firstStepTimes.pollFirst();
+                firstStepIds.pollFirst();
+                firstStepDropped = 0;
+            }
+        }
+
+        void advance() {
+            if (step == 0) {
+                fixedStart = firstStepTimes.peekFirst();
+                firstStepTotal = firstStepTimes.size() + firstStepDropped;
+            }
+            step++;
+            currentStepCount = 0;
+        }
+
+        void add(long id, LocalDateTime time) {
+            if (step == 0) {
+                firstStepTimes.addLast(time);
+                firstStepIds.addLast(id);
+                if (firstStepTimes.size() > firstStepCapacity) {
+                    firstStepTimes.pollFirst();
+                    firstStepIds.pollFirst();
+                    firstStepDropped++;
+                }
+                return;
+            }
+            currentStepCount++;
+            laterTotal++;
+            if (laterIds.size() < maxEventsPerMatch) {
+                laterIds.add(id);
+            }
+        }
+
+        SequenceMatch toMatch(String key, LocalDateTime endTime) {
+            if (step == 0) {
+                firstStepTotal = firstStepTimes.size() + firstStepDropped;
+                fixedStart = firstStepTimes.peekFirst();
+            }
+            // 이후 단계 id를 우선 포함하고, 남는 자리는 첫 단계의 최근 항목으로 채움
+            List<Long> ids = new ArrayList<>();
+            int firstStepSlots = Math.max(0, maxEventsPerMatch - laterIds.size());
+            firstStepIds.stream().skip(Math.max(0, firstStepIds.size() - firstStepSlots)).forEach(ids::add);
+            ids.addAll(laterIds);
+            return new SequenceMatch(rule.name(), key, fixedStart, endTime,
+                    firstStepTotal + laterTotal, List.copyOf(ids));
+        }
+    }
+}
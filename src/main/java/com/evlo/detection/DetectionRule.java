@@ -0,0 +1,76 @@
+package com.evlo.detection;
+
+import com.evlo.entity.Event;
+import com.evlo.entity.enums.DetectionSeverity;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 컴파일된 탐지 규칙. 빈 집합 조건은 "제한 없음".
+ * 문자열 조건은 규칙 집합 공용 Aho-Corasick 패턴 id 로 보관하며, 정규식은 명시한 규칙에만 사용.
+ * 평가 순서: channel/level → provider/computer → 문자열 → 정규식 (저렴한 조건 우선)
+ */
+public record DetectionRule(
+        String id,
+        String title,
+        DetectionSeverity severity,
+        Set<Long> eventIds,
+        Set<LogChannel> channels,
+        Set<EventLevel> levels,
+        Set<String> providers,
+        Set<String> computers,
+        int[] containsAny,
+        int[] containsAll,
+        int[] excludes,
+        Pattern regex) {
+
+    public boolean needsText() {
+        return containsAny.length > 0 || containsAll.length > 0 || excludes.length > 0;
+    }
+
+    boolean matchesFields(Event event) {
+        if (!channels.isEmpty() && !channels.contains(event.getChannel())) {
+            return false;
+        }
+        if (!levels.isEmpty() && !levels.contains(event.getLevel())) {
+            return false;
+        }
+        if (!providers.isEmpty() && !containsIgnoreCase(providers, event.getProvider())) {
+            return false;
+        }
+        return computers.isEmpty() || containsIgnoreCase(computers, event.getComputer());
+    }
+
+    /** found: 공용 패턴 id 별 메시지 등장 여부 */
+    boolean matchesText(Event event, boolean[] found) {
+        if (containsAny.length > 0 && !anyFound(containsAny, found)) {
+            return false;
+        }
+        for (int id : containsAll) {
+            if (!found[id]) {
+                return false;
+            }
+        }
+        if (anyFound(excludes, found)) {
+            return false;
+        }
+        return regex == null || (event.getMessage() != null && regex.matcher(event.getMessage()).find());
+    }
+
+    private static boolean anyFound(int[] ids, boolean[] found) {
+        for (int id : ids) {
+            if (found[id]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(Set<String> lowerCaseValues, String value) {
+        return value != null && lowerCaseValues.contains(value.toLowerCase(Locale.ROOT));
+    }
+}
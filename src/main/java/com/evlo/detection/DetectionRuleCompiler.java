@@ -0,0 +1,185 @@
+package com.evlo.detection;
+
+import com.evlo.entity.enums.DetectionSeverity;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.support.AhoCorasick;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * YAML 에서 읽은 규칙 정의(Map)를 DetectionRuleSet 으로 컴파일.
+ * <pre>
+ * - id: security-log-cleared
+ *   title: Security log cleared
+ *   severity: high                      # informational | low | medium | high | critical
+ *   eventIds: [1102]                    # 생략 시 모든 eventId
+ *   channels: [SECURITY]
+ *   levels: [INFORMATION]
+ *   providers: [Microsoft-Windows-Eventlog]
+ *   computers: [DC01]
+ *   message:
+ *     containsAny: [...]                # 대소문자 무시 부분 문자열
+ *     containsAll: [...]
+ *     excludes: [...]
+ *     regex: "..."                      # 부분 문자열로 표현할 수 없을 때만
+ * </pre>
+ * 잘못된 규칙은 건너뛰고 경고 로그를 남긴다.
+ */
+@Slf4j
+public final class DetectionRuleCompiler {
+
+    private DetectionRuleCompiler() {
+    }
+
+    public static DetectionRuleSet compile(List<Map<String, Object>> definitions) {
+        Map<String, Integer> patternIds = new LinkedHashMap<>();
+        Map<Long, List<DetectionRule>> byEventId = new HashMap<>();
+        List<DetectionRule> anyEventId = new ArrayList<>();
+        Set<String> ruleIds = new HashSet<>();
+        int size = 0;
+
+        for (Map<String, Object> definition : definitions) {
+            DetectionRule rule;
+            try {
+                rule = compileRule(definition, patternIds);
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping detection rule {}: {}", definition.get("id"), e.getMessage());
+                continue;
+            }
+            if (!ruleIds.add(rule.id())) {
+                log.warn("Skipping duplicate detection rule id: {}", rule.id());
+                continue;
+            }
+            if (rule.eventIds().isEmpty()) {
+                anyEventId.add(rule);
+            } else {
+                rule.eventIds().forEach(eventId -> byEventId.computeIfAbsent(eventId, k -> new ArrayList<>()).add(rule));
+            }
+            size++;
+        }
+
+        Map<Long, DetectionRule[]> dispatch = new HashMap<>(byEventId.size() * 2);
+        byEventId.forEach((eventId, rules) -> dispatch.put(eventId, rules.toArray(new DetectionRule[0])));
+        return new DetectionRuleSet(dispatch, anyEventId.toArray(new DetectionRule[0]),
+                new AhoCorasick(new ArrayList<>(patternIds.keySet())), size);
+    }
+
+    private static DetectionRule compileRule(Map<String, Object> definition, Map<String, Integer> patternIds) {
+        String id = requiredString(definition, "id");
+        String title = definition.get("title") != null ? definition.get("title").toString() : id;
+        DetectionSeverity severity = enumValue(DetectionSeverity.class,
+                definition.getOrDefault("severity", "medium").toString());
+
+        Set<Long> eventIds = new HashSet<>();
+        for (Object value : list(definition, "eventIds")) {
+            try {
+                eventIds.add(Long.parseLong(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid eventId: " + value);
+            }
+        }
+
+        Set<LogChannel> channels = EnumSet.noneOf(LogChannel.class);
+        list(definition, "channels").forEach(value -> channels.add(enumValue(LogChannel.class, value.toString())));
+        Set<EventLevel> levels = EnumSet.noneOf(EventLevel.class);
+        list(definition, "levels").forEach(value -> levels.add(enumValue(EventLevel.class, value.toString())));
+
+        Map<String, Object> message = map(definition, "message");
+        Pattern regex = null;
+        if (message.get("regex") != null) {
+            try {
+                regex = Pattern.compile(message.get("regex").toString());
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid regex: " + e.getDescription());
+            }
+        }
+
+        DetectionRule rule = new DetectionRule(
+                id,
+                title,
+                severity,
+                Set.copyOf(eventIds),
+                channels,
+                levels,
+                lowerCase(list(definition, "providers")),
+                lowerCase(list(definition, "computers")),
+                patternIds(list(message, "containsAny"), patternIds),
+                patternIds(list(message, "containsAll"), patternIds),
+                patternIds(list(message, "excludes"), patternIds),
+                regex);
+        if (rule.eventIds().isEmpty() && rule.channels().isEmpty() && rule.levels().isEmpty()
+                && rule.providers().isEmpty() && rule.computers().isEmpty()
+                && !rule.needsText() && rule.regex() == null) {
+            throw new IllegalArgumentException("Rule has no conditions");
+        }
+        return rule;
+    }
+
+    private static int[] patternIds(List<Object> values, Map<String, Integer> patternIds) {
+        int[] ids = new int[values.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String pattern = values.get(i) != null ? values.get(i).toString().toLowerCase(Locale.ROOT) : "";
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Empty string condition");
+            }
+            ids[i] = patternIds.computeIfAbsent(pattern, k -> patternIds.size());
+        }
+        return ids;
+    }
+
+    private static Set<String> lowerCase(Collection<Object> values) {
+        Set<String> result = new HashSet<>();
+        values.forEach(value -> result.add(value.toString().toLowerCase(Locale.ROOT)));
+        return Set.copyOf(result);
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported " + type.getSimpleName() + ": " + value);
+        }
+    }
+
+    private static String requiredString(Map<String, Object> definition, String key) {
+        Object value = definition.get(key);
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException("Missing '" + key + "'");
+        }
+        return value.toString().trim();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> list(Map<String, Object> definition, String key) {
+        Object value = definition.get(key);
+        if (value == null) {
+            return List.of();
+        }
+        return value instanceof List<?> values ? (List<Object>) values : List.of(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Map<String, Object> definition, String key) {
+        Object value = definition.get(key);
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("'" + key + "' must be a mapping");
+        }
+        return (Map<String, Object>) value;
+    }
+}
@@ -0,0 +1,68 @@
+package com.evlo.detection;
+
+import com.evlo.entity.Event;
+import com.evlo.support.AhoCorasick;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 규칙 집합. eventId 로 후보 규칙을 먼저 고르고(eventId 미지정 규칙은 항상 후보),
+ * 후보 중 문자열 조건이 있는 규칙이 필드 조건을 통과한 경우에만 메시지를 한 번 스캔한다.
+ * 생성 후 불변이므로 동시 업로드에서 공유 가능.
+ */
+public final class DetectionRuleSet {
+
+    private static final DetectionRule[] NONE = new DetectionRule[0];
+
+    private final Map<Long, DetectionRule[]> rulesByEventId;
+    private final DetectionRule[] anyEventIdRules;
+    private final AhoCorasick automaton;
+    private final int size;
+
+    DetectionRuleSet(Map<Long, DetectionRule[]> rulesByEventId, DetectionRule[] anyEventIdRules,
+                     AhoCorasick automaton, int size) {
+        this.rulesByEventId = rulesByEventId;
+        this.anyEventIdRules = anyEventIdRules;
+        this.automaton = automaton;
+        this.size = size;
+    }
+
+    public static DetectionRuleSet empty() {
+        return new DetectionRuleSet(Map.of(), NONE, new AhoCorasick(List.of()), 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<DetectionRule> evaluate(Event event) {
+        DetectionRule[] byEventId = rulesByEventId.getOrDefault(event.getEventId(), NONE);
+        if (byEventId.length == 0 && anyEventIdRules.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<DetectionRule> hits = null;
+        boolean[] found = null;
+        for (DetectionRule[] candidates : new DetectionRule[][]{byEventId, anyEventIdRules}) {
+            for (DetectionRule rule : candidates) {
+                if (!rule.matchesFields(event)) {
+                    continue;
+                }
+                if (rule.needsText() && found == null) {
+                    found = new boolean[automaton.patternCount()];
+                    automaton.search(event.getMessage(), found);
+                }
+                if (rule.matchesText(event, found)) {
+                    if (hits == null) {
+                        hits = new ArrayList<>(2);
+                    }
+                    hits.add(rule);
+                }
+            }
+        }
+        return hits != null ? hits : Collections.emptyList();
+    }
+}
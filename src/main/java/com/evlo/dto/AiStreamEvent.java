@@ -0,0 +1,26 @@
+package com.evlo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AI 스트리밍 응답(SSE) 이벤트. type 이 SSE event 이름
+ * meta(요약 범위) → progress(구간 부분 요약 완료, map-reduce 시) → token(응답 조각) … → done | error
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AiStreamEvent {
+    private String type;
+    private String summaryType;
+    private String content;
+    private Long inputEvents;
+    private Integer windows;
+    private Integer completedWindows;
+    private String errorMessage;
+}
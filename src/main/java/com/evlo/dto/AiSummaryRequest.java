@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -15,4 +16,8 @@ public class AiSummaryRequest {
     private List<Long> eventIds;
     private String summaryType; // "full", "error", "explain"
     private Long eventIdForExplanation;
+    /** 요약 대상 파일 (미지정 시 세션 전체) */
+    private Long logFileId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
 }
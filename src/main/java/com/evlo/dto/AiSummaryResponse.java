@@ -13,4 +13,8 @@ public class AiSummaryResponse {
     private String summary;
     private String summaryType;
     private String errorMessage;
+    /** 요약에 반영된 이벤트 수 (집계 기준) */
+    private Long inputEvents;
+    /** 부분 요약 구간 수 (1 이면 단일 호출) */
+    private Integer windows;
 }
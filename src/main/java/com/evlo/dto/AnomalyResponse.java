@@ -0,0 +1,38 @@
+package com.evlo.dto;
+
+import com.evlo.entity.LogFileAnomaly;
+import com.evlo.entity.enums.AnomalyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnomalyResponse {
+    private Long logFileId;
+    private Long eventId;
+    private AnomalyType type;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long observedCount;
+    private Double expectedCount;
+    private Double score;
+
+    public static AnomalyResponse from(LogFileAnomaly anomaly) {
+        return AnomalyResponse.builder()
+                .logFileId(anomaly.getLogFile().getId())
+                .eventId(anomaly.getEventId())
+                .type(anomaly.getAnomalyType())
+                .startTime(anomaly.getStartTime())
+                .endTime(anomaly.getEndTime())
+                .observedCount(anomaly.getObservedCount())
+                .expectedCount(anomaly.getExpectedCount())
+                .score(anomaly.getScore())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * HyperLogLog 고유값 수 추정 (표준 오차 약 1.6%)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardinalityResponse {
+    private Long distinctComputers;
+    private Long distinctProviders;
+}
@@ -0,0 +1,60 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 두 파일 또는 두 시간 구간 비교 (업로드 시 집계/스케치 기반).
+ * rate 는 시간당 건수, delta = right - left.
+ * providers 는 파일 비교에서만 채우며 Space-Saving 추정값 (error 만큼 과대 가능)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompareResponse {
+    private Side left;
+    private Side right;
+    private List<Delta> eventIds;
+    private List<Delta> levels;
+    private List<Delta> providers;
+    /** right 에만 있는 eventId */
+    private List<Long> newEventIds;
+    /** left 에만 있는 eventId */
+    private List<Long> goneEventIds;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Side {
+        private Long logFileId;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private Long total;
+        private Double hours;
+        private Double ratePerHour;
+        /** HyperLogLog 추정 (파일 비교에서만) */
+        private Long distinctComputers;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Delta {
+        private String value;
+        private Long leftCount;
+        private Long rightCount;
+        private Long delta;
+        private Double leftRate;
+        private Double rightRate;
+        /** rightRate / leftRate (left 가 0 이면 null) */
+        private Double rateRatio;
+    }
+}
@@ -0,0 +1,25 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 순서 패턴 매치. ids 는 events.id (상세 조회: /api/events/{id}), eventCount 는 매치에 참여한 전체 이벤트 수
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationMatchResponse {
+    private String rule;
+    private String key;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Integer eventCount;
+    private List<Long> ids;
+}
@@ -0,0 +1,22 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 순서 패턴 매칭 결과. truncated 이면 max-matches 에 닿아 이후 매치는 버리고 스캔을 멈춘 것
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationResponse {
+    private List<CorrelationMatchResponse> matches;
+    private boolean truncated;
+    private Integer maxMatches;
+    private Long scannedEvents;
+}
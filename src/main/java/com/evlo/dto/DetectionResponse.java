@@ -0,0 +1,26 @@
+package com.evlo.dto;
+
+import com.evlo.entity.enums.DetectionSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 탐지 결과. id 는 events.id (상세 조회: /api/events/{id}). 규칙별 건수 응답에서는 count 만 채움
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DetectionResponse {
+    private String ruleId;
+    private String ruleTitle;
+    private DetectionSeverity severity;
+    private Long id;
+    private Long eventId;
+    private LocalDateTime timeCreated;
+    private Long count;
+}
@@ -12,4 +12,6 @@ import lombok.NoArgsConstructor;
 public class EventFrequencyResponse {
     private Long eventId;
     private Long count;
+    /** approximate=true 일 때 95% 신뢰구간 반폭 (정확한 값이면 null) */
+    private Long error;
 }
@@ -0,0 +1,32 @@
+package com.evlo.dto;
+
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 화면용 경량 이벤트 행 (JPQL/Criteria constructor projection).
+ * message는 앞부분 미리보기만 담으며, 전체 메시지는 상세 조회(/api/events/{id})에서 조회.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRowResponse {
+
+    public static final int MESSAGE_PREVIEW_LENGTH = 200;
+
+    private Long id;
+    private Long eventId;
+    private EventLevel level;
+    private LocalDateTime timeCreated;
+    private String provider;
+    private String computer;
+    private LogChannel channel;
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.evlo.dto;
+
+/**
+ * 비동기 내보내기 작업 형식 (파일 확장자, Content-Type)
+ */
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    JSON("json", "application/json"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    PDF("pdf", "application/pdf"),
+    PARQUET("parquet", "application/vnd.apache.parquet");
+
+    private final String extension;
+    private final String mediaType;
+
+    ExportFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
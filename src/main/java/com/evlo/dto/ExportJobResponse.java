@@ -0,0 +1,34 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+    private String jobId;
+    private ExportFormat format;
+    private Status status;
+    /** 디스크에 이미 있던 결과물을 재사용했는지 */
+    private boolean cached;
+    private Long rows;
+    private Long bytes;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    /** DONE 일 때만 */
+    private String downloadUrl;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
@@ -0,0 +1,31 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetResponse {
+    private Long total;
+    private Map<String, Long> levels;
+    private Map<String, Long> channels;
+    private List<FacetCount> eventIds;
+    private List<FacetCount> providers;
+    /** keyword 조건 반영 여부 (컬럼형 스냅샷에는 message가 없어 항상 false) */
+    private boolean keywordApplied;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private Long count;
+    }
+}
@@ -0,0 +1,19 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상위 K 추정 결과. 실제 건수는 [count - error, count] 범위
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeavyHitterResponse {
+    private String value;
+    private Long count;
+    private Long error;
+}
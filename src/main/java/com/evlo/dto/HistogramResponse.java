@@ -0,0 +1,33 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramResponse {
+    private TimeGranularity granularity;
+    private String timeZone;
+    private Long from;
+    private Long to;
+    /** 버킷 시작 시각(epoch ms)과 건수. 빈 버킷은 0으로 채움 */
+    private List<Bucket> buckets;
+    /** 층화 표본 기반 근사값 여부 (approximate=true) */
+    private boolean approximate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private Long start;
+        private Long count;
+        /** 근사값일 때 95% 신뢰구간 반폭 (정확한 값이면 null) */
+        private Long error;
+    }
+}
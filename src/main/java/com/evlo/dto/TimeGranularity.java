@@ -0,0 +1,37 @@
+package com.evlo.dto;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 히스토그램 버킷 크기. 버킷 경계는 요청 time zone의 로컬 시각 기준으로 계산 (DST 반영).
+ */
+public enum TimeGranularity {
+    MINUTE,
+    FIVE_MINUTES,
+    HOUR,
+    DAY;
+
+    /** time 이 속한 버킷의 시작 시각 */
+    public ZonedDateTime truncate(ZonedDateTime time) {
+        return switch (this) {
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+            case FIVE_MINUTES -> {
+                ZonedDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+                yield minute.withMinute(minute.getMinute() - minute.getMinute() % 5);
+            }
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+
+    /** 다음 버킷의 시작 시각 */
+    public ZonedDateTime next(ZonedDateTime bucketStart) {
+        return switch (this) {
+            case MINUTE -> bucketStart.plusMinutes(1);
+            case FIVE_MINUTES -> bucketStart.plusMinutes(5);
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.evlo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 세션 파일들을 (timeCreated, id) 순으로 병합한 타임라인 한 페이지.
+ * nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 조회 (마지막 페이지면 null)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineResponse {
+    private List<EventRowResponse> events;
+    private String nextCursor;
+}
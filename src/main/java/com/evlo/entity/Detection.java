@@ -0,0 +1,51 @@
+package com.evlo.entity;
+
+import com.evlo.entity.enums.DetectionSeverity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 업로드 시 탐지 규칙에 일치한 이벤트. 규칙 제목/심각도는 탐지 시점 값으로 보관
+ */
+@Entity
+@Table(name = "detections", indexes = {
+    @Index(name = "idx_detections_log_file_time", columnList = "log_file_id, timeCreated"),
+    @Index(name = "idx_detections_log_file_rule", columnList = "log_file_id, ruleId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Detection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_file_id", nullable = false)
+    private LogFile logFile;
+
+    /** events.id */
+    @Column(nullable = false)
+    private Long eventRowId;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private LocalDateTime timeCreated;
+
+    @Column(nullable = false, length = 100)
+    private String ruleId;
+
+    @Column(nullable = false)
+    private String ruleTitle;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DetectionSeverity severity;
+}
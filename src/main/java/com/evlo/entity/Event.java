@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
     @Index(name = "idx_time_created", columnList = "timeCreated"),
     @Index(name = "idx_event_id", columnList = "eventId"),
     @Index(name = "idx_level", columnList = "level"),
-    @Index(name = "idx_channel", columnList = "channel")
+    @Index(name = "idx_channel", columnList = "channel"),
+    @Index(name = "idx_events_log_file_time", columnList = "log_file_id, timeCreated"),
+    @Index(name = "idx_events_log_file_event_id", columnList = "log_file_id, eventId, timeCreated"),
+    @Index(name = "idx_events_log_file_level", columnList = "log_file_id, level, timeCreated")
 })
 @Getter
 @Setter
@@ -0,0 +1,37 @@
+package com.evlo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 파일별 분 단위 이벤트 건수. bucketMinute는 UTC epoch minute.
+ * 히스토그램 API가 분/5분/시간/일 버킷으로 합산.
+ */
+@Entity
+@Table(name = "event_minute_counts", indexes = {
+    @Index(name = "uk_event_minute_counts", columnList = "log_file_id, bucketMinute, eventId", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventMinuteCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_file_id", nullable = false)
+    private LogFile logFile;
+
+    @Column(nullable = false)
+    private Long bucketMinute;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long eventCount;
+}
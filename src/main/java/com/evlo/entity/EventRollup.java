@@ -0,0 +1,55 @@
+package com.evlo.entity;
+
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일별 시간 단위 이벤트 집계 (hour, eventId, level, channel).
+ * 업로드 시 한 번 기록되며, 분석 API는 events 테이블 대신 이 집계를 합산.
+ */
+@Entity
+@Table(name = "event_rollups", indexes = {
+    @Index(name = "uk_event_rollups", columnList = "log_file_id, bucketHour, eventId, level, channel", unique = true),
+    @Index(name = "idx_event_rollups_log_file_event_id", columnList = "log_file_id, eventId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_file_id", nullable = false)
+    private LogFile logFile;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketHour;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventLevel level;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private LogChannel channel;
+
+    @Column(nullable = false)
+    private Long eventCount;
+
+    /** 집계 구간의 처음/마지막 events.id (AI 요약 표본의 대표 이벤트) */
+    private Long firstEventId;
+
+    private Long lastEventId;
+}
@@ -0,0 +1,50 @@
+package com.evlo.entity;
+
+import com.evlo.entity.enums.EventLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일×시간 층(stratum)별 reservoir 표본 이벤트 (근사 분석 모드용).
+ * stratumSize 는 해당 층의 전체 이벤트 수, sampleSize 는 층에서 뽑은 표본 수.
+ */
+@Entity
+@Table(name = "event_samples", indexes = {
+    @Index(name = "idx_event_samples_log_file_hour", columnList = "log_file_id, bucketHour")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSample {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_file_id", nullable = false)
+    private LogFile logFile;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketHour;
+
+    @Column(nullable = false)
+    private Long stratumSize;
+
+    @Column(nullable = false)
+    private Integer sampleSize;
+
+    @Column(nullable = false)
+    private LocalDateTime timeCreated;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventLevel level;
+}
@@ -0,0 +1,56 @@
+package com.evlo.entity;
+
+import com.evlo.entity.enums.AnomalyType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 업로드 시 분 단위 건수에서 탐지한 버스트/침묵 구간 (파일 주석).
+ * startTime 포함, endTime 제외 (UTC 기준 LocalDateTime)
+ */
+@Entity
+@Table(name = "log_file_anomalies", indexes = {
+    @Index(name = "idx_log_file_anomalies_log_file_start", columnList = "log_file_id, startTime")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogFileAnomaly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_file_id", nullable = false)
+    private LogFile logFile;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AnomalyType anomalyType;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    /** 구간 내 실제 건수 합 */
+    @Column(nullable = false)
+    private Long observedCount;
+
+    /** 구간 내 기대 건수 합 (EWMA 기준선) */
+    @Column(nullable = false)
+    private Double expectedCount;
+
+    /** 구간 내 최대 z-score (SILENCE는 음수) */
+    @Column(nullable = false)
+    private Double score;
+}
@@ -0,0 +1,36 @@
+package com.evlo.entity;
+
+import com.evlo.entity.enums.SketchType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 파일별 직렬화된 스케치 (SpaceSavingSketch / HyperLogLog)
+ */
+@Entity
+@Table(name = "log_file_sketches", indexes = {
+    @Index(name = "uk_log_file_sketches", columnList = "log_file_id, sketchType", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogFileSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_file_id", nullable = false)
+    private LogFile logFile;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SketchType sketchType;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+}
@@ -0,0 +1,6 @@
+package com.evlo.entity.enums;
+
+public enum AnomalyType {
+    BURST,
+    SILENCE
+}
@@ -0,0 +1,9 @@
+package com.evlo.entity.enums;
+
+public enum DetectionSeverity {
+    INFORMATIONAL,
+    LOW,
+    MEDIUM,
+    HIGH,
+    CRITICAL
+}
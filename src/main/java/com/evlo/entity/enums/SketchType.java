@@ -0,0 +1,8 @@
+package com.evlo.entity.enums;
+
+public enum SketchType {
+    EVENT_ID_TOP_K,
+    PROVIDER_TOP_K,
+    COMPUTER_HLL,
+    PROVIDER_HLL
+}
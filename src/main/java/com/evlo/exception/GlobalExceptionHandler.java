@@ -15,6 +15,7 @@ import org.springframework.web.server.UnsupportedMediaTypeStatusException;
 import org.springframework.web.reactive.resource.NoResourceFoundException;
 
 import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -50,6 +51,16 @@ public class GlobalExceptionHandler {
                 "EVTX 파서 서비스를 사용할 수 없습니다. 관리자에게 문의해 주세요.", exchange);
     }
 
+    /**
+     * jdbcScheduler 대기열 초과(bulkhead). 과부하 시 대기 대신 즉시 503 응답.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex, ServerWebExchange exchange) {
+        log.warn("Request rejected by bounded scheduler: {}", ex.getMessage());
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.", exchange);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex, ServerWebExchange exchange) {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), exchange);
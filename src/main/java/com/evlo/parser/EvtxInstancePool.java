@@ -0,0 +1,284 @@
+package com.evlo.parser;
+
+import com.evlo.config.EvtxServiceProperties;
+import com.evlo.exception.EvtxServiceUnavailableException;
+import com.evlo.support.AimdLimit;
+import com.evlo.support.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * evtx-service 인스턴스 풀 (클라이언트 측 부하 분산).
+ * 요청마다 진행 중 요청이 가장 적은 인스턴스를 고르고, 큰 파일(large-file-bytes 이상)은 큰 파일을 처리 중인 인스턴스를 피함.
+ * 인스턴스마다 회로 차단기와 AIMD 한도를 따로 두며, 회로가 열린 인스턴스와 헬스 체크(/healthz)에 연속 실패한 인스턴스는
+ * 선택에서 빠짐(ejection). 헬스 체크가 다시 성공하면 복귀. 모든 인스턴스가 빠지거나 한도에 닿으면 EvtxServiceUnavailableException.
+ */
+@Slf4j
+public class EvtxInstancePool {
+
+    /** 호출 결과 (회로 차단기/한도 기록용) */
+    public enum Outcome {
+        SUCCESS, OVERLOADED, IGNORED
+    }
+
+    private final EvtxServiceProperties props;
+    private final List<Instance> instances = new ArrayList<>();
+    private Disposable healthChecks;
+
+    /**
+     * 인스턴스 하나. outstanding/outstandingBytes/largeInFlight 접근은 풀 모니터로 동기화
+     */
+    private static final class Instance {
+        private final String url;
+        private final WebClient webClient;
+        private final CircuitBreaker circuitBreaker;
+        private final AimdLimit concurrencyLimit;
+        private final Timer successLatency;
+        private final Timer failureLatency;
+        private int outstanding;
+        private long outstandingBytes;
+        private int largeInFlight;
+        private volatile boolean healthy = true;
+        private int healthFailures;
+
+        private Instance(String url, WebClient webClient, CircuitBreaker circuitBreaker, AimdLimit concurrencyLimit,
+                         MeterRegistry meterRegistry) {
+            this.url = url;
+            this.webClient = webClient;
+            this.circuitBreaker = circuitBreaker;
+            this.concurrencyLimit = concurrencyLimit;
+            this.successLatency = Timer.builder("evlo.evtx.request.latency")
+                    .tag("instance", url).tag("outcome", "success").register(meterRegistry);
+            this.failureLatency = Timer.builder("evlo.evtx.request.latency")
+                    .tag("instance", url).tag("outcome", "failure").register(meterRegistry);
+        }
+    }
+
+    /**
+     * 선택된 인스턴스 사용권. 호출이 끝나면 complete 를 한 번 호출
+     */
+    public final class Lease {
+        private final Instance instance;
+        private final long fileBytes;
+        private final boolean large;
+        /** 회로 차단기 / 동시 요청 한도 허가 (사용하지 않으면 무시) */
+        private final long circuitPermission;
+        private final long concurrencyPermit;
+        private final long startedNanos = System.nanoTime();
+
+        private Lease(Instance instance, long fileBytes, boolean large, long circuitPermission, long concurrencyPermit) {
+            this.instance = instance;
+            this.fileBytes = fileBytes;
+            this.large = large;
+            this.circuitPermission = circuitPermission;
+            this.concurrencyPermit = concurrencyPermit;
+        }
+
+        public WebClient webClient() {
+            return instance.webClient;
+        }
+
+        public String url() {
+            return instance.url;
+        }
+
+        public void complete(Outcome outcome) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedNanos);
+            if (outcome == Outcome.SUCCESS) {
+                instance.successLatency.record(elapsed);
+            } else if (outcome == Outcome.OVERLOADED) {
+                instance.failureLatency.record(elapsed);
+            }
+            release(this, outcome);
+        }
+    }
+
+    public EvtxInstancePool(EvtxServiceProperties props, Function<String, WebClient> webClientFactory,
+                            MeterRegistry meterRegistry) {
+        this.props = props;
+        EvtxServiceProperties.CircuitBreaker cb = props.getCircuitBreaker();
+        EvtxServiceProperties.Concurrency cc = props.getConcurrency();
+        for (String url : props.instanceUrls()) {
+            Instance instance = new Instance(url, webClientFactory.apply(url),
+                    cb.isEnabled()
+                            ? new CircuitBreaker(cb.getSlidingWindowSize(), cb.getFailureRateThreshold(),
+                                    cb.getWaitDurationInOpenState(), cb.getPermittedCallsInHalfOpenState(), System::currentTimeMillis)
+                            : null,
+                    cc.isEnabled()
+                            ? new AimdLimit(cc.getInitialLimit(), cc.getMinLimit(), cc.getMaxLimit(), cc.getBackoffRatio())
+                            : null,
+                    meterRegistry);
+            instances.add(instance);
+            Gauge.builder("evlo.evtx.instance.outstanding", this, pool -> pool.outstanding(instance))
+                    .tag("instance", url).register(meterRegistry);
+            Gauge.builder("evlo.evtx.instance.healthy", instance, i -> i.healthy ? 1 : 0)
+                    .tag("instance", url).register(meterRegistry);
+            if (instance.circuitBreaker != null) {
+                Gauge.builder("evlo.evtx.circuit.state", instance.circuitBreaker, breaker -> breaker.state().ordinal())
+                        .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                        .tag("instance", url).register(meterRegistry);
+            }
+            if (instance.concurrencyLimit != null) {
+                Gauge.builder("evlo.evtx.concurrency.limit", instance.concurrencyLimit, AimdLimit::limit)
+                        .tag("instance", url).register(meterRegistry);
+            }
+        }
+        log.info("Evtx-service instances: {}", props.instanceUrls());
+    }
+
+    @PostConstruct
+    public void startHealthChecks() {
+        EvtxServiceProperties.Balancer balancer = props.getBalancer();
+        if (balancer.getHealthCheckIntervalMs() <= 0) {
+            return;
+        }
+        healthChecks = Flux.interval(Duration.ofMillis(balancer.getHealthCheckIntervalMs()))
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromIterable(instances).flatMap(this::checkHealth))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopHealthChecks() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+    }
+
+    /**
+     * 요청을 보낼 인스턴스 선택. fileBytes 를 모르면 0.
+     * avoid 의 인스턴스(같은 요청에서 이미 실패한 곳)는 다른 인스턴스를 모두 쓸 수 없을 때만 고름
+     */
+    public Lease acquire(long fileBytes, Set<String> avoid) {
+        boolean large = fileBytes >= props.getBalancer().getLargeFileBytes();
+        List<Instance> ranked;
+        synchronized (this) {
+            ranked = new ArrayList<>(instances);
+            Comparator<Instance> order = Comparator.<Instance, Boolean>comparing(i -> avoid.contains(i.url));
+            order = large
+                    ? order.thenComparingInt(i -> i.largeInFlight)
+                            .thenComparingInt(i -> i.outstanding)
+                            .thenComparingLong(i -> i.outstandingBytes)
+                    : order.thenComparingInt(i -> i.outstanding)
+                            .thenComparingLong(i -> i.outstandingBytes);
+            ranked.sort(order);
+        }
+        boolean anyHealthy = false;
+        for (Instance instance : ranked) {
+            if (!instance.healthy) {
+                continue;
+            }
+            anyHealthy = true;
+            long concurrencyPermit = instance.concurrencyLimit != null
+                    ? instance.concurrencyLimit.tryAcquire()
+                    : 0;
+            if (concurrencyPermit == AimdLimit.NO_PERMIT) {
+                continue;
+            }
+            long circuitPermission = instance.circuitBreaker != null
+                    ? instance.circuitBreaker.tryAcquirePermission()
+                    : 0;
+            if (circuitPermission == CircuitBreaker.NO_PERMISSION) {
+                if (instance.concurrencyLimit != null) {
+                    instance.concurrencyLimit.onIgnored();
+                }
+                continue;
+            }
+            synchronized (this) {
+                instance.outstanding++;
+                instance.outstandingBytes += fileBytes;
+                if (large) {
+                    instance.largeInFlight++;
+                }
+            }
+            return new Lease(instance, fileBytes, large, circuitPermission, concurrencyPermit);
+        }
+        throw new EvtxServiceUnavailableException(anyHealthy
+                ? "EVTX 파서 서비스 인스턴스가 모두 회로 차단 중이거나 동시 요청 한도에 닿았습니다."
+                : "EVTX 파서 서비스 인스턴스가 모두 헬스 체크에 실패했습니다.");
+    }
+
+    private void release(Lease lease, Outcome outcome) {
+        Instance instance = lease.instance;
+        synchronized (this) {
+            instance.outstanding--;
+            instance.outstandingBytes -= lease.fileBytes;
+            if (lease.large) {
+                instance.largeInFlight--;
+            }
+        }
+        if (instance.circuitBreaker != null) {
+            CircuitBreaker.State before = instance.circuitBreaker.state();
+            switch (outcome) {
+                case SUCCESS -> instance.circuitBreaker.onSuccess(lease.circuitPermission);
+                case OVERLOADED -> instance.circuitBreaker.onFailure(lease.circuitPermission);
+                case IGNORED -> instance.circuitBreaker.onIgnored(lease.circuitPermission);
+            }
+            CircuitBreaker.State after = instance.circuitBreaker.state();
+            if (before != after) {
+                if (after == CircuitBreaker.State.OPEN) {
+                    log.warn("Evtx-service {} circuit breaker {} -> OPEN", instance.url, before);
+                } else {
+                    log.info("Evtx-service {} circuit breaker {} -> {}", instance.url, before, after);
+                }
+            }
+        }
+        if (instance.concurrencyLimit != null) {
+            switch (outcome) {
+                case SUCCESS -> instance.concurrencyLimit.onSuccess();
+                case OVERLOADED -> instance.concurrencyLimit.onDropped(lease.concurrencyPermit);
+                case IGNORED -> instance.concurrencyLimit.onIgnored();
+            }
+        }
+    }
+
+    private Mono<Void> checkHealth(Instance instance) {
+        EvtxServiceProperties.Balancer balancer = props.getBalancer();
+        return instance.webClient.get()
+                .uri(balancer.getHealthPath())
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(balancer.getHealthTimeoutMs()))
+                .map(response -> true)
+                .onErrorResume(e -> {
+                    log.debug("Evtx-service {} health check failed: {}", instance.url, e.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(ok -> onHealthResult(instance, ok))
+                .then();
+    }
+
+    private void onHealthResult(Instance instance, boolean ok) {
+        synchronized (this) {
+            if (ok) {
+                instance.healthFailures = 0;
+                if (!instance.healthy) {
+                    instance.healthy = true;
+                    log.info("Evtx-service {} passed health check, back in rotation", instance.url);
+                }
+            } else if (++instance.healthFailures >= props.getBalancer().getUnhealthyThreshold() && instance.healthy) {
+                instance.healthy = false;
+                log.warn("Evtx-service {} failed {} health checks, ejected", instance.url, instance.healthFailures);
+            }
+        }
+    }
+
+    private synchronized int outstanding(Instance instance) {
+        return instance.outstanding;
+    }
+}
@@ -9,8 +9,8 @@ import com.evlo.entity.LogFile;
 import com.evlo.entity.enums.EventLevel;
 import com.evlo.entity.enums.LogChannel;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -18,6 +18,8 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.util.retry.Retry;
 
 import java.io.File;
@@ -27,6 +29,11 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,16 +42,46 @@ public class EvtxParserService {
 
     private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_DATE_TIME;
 
-    private final WebClient webClient;
+    private final EvtxInstancePool instancePool;
+    private final EvtxResponseCodec responseCodec;
     private final EvtxServiceProperties props;
 
-    public EvtxParserService(
-            @Qualifier("evtxWebClient") WebClient webClient,
-            EvtxServiceProperties props) {
-        this.webClient = webClient;
+    public EvtxParserService(EvtxInstancePool instancePool, EvtxResponseCodec responseCodec, EvtxServiceProperties props) {
+        this.instancePool = instancePool;
+        this.responseCodec = responseCodec;
         this.props = props;
     }
 
+    /**
+     * evtx-service 호출 1회(재시도 각각)를 풀에서 고른 인스턴스로 보냄. 재시도마다 다시 고르므로 실패한 인스턴스 대신 다른 인스턴스로 감.
+     * 쓸 수 있는 인스턴스가 없으면(회로 차단, 한도 초과, 헬스 체크 실패) 호출 없이 EvtxServiceUnavailableException.
+     * 타임아웃, 연결 실패, 5xx, 429 는 그 인스턴스의 실패(과부하)로, 그 외 응답은 성공으로 기록
+     */
+    private <T> Mono<T> guarded(long fileBytes, Function<WebClient, Mono<T>> call) {
+        Set<String> failedInstances = ConcurrentHashMap.newKeySet();
+        return Mono.defer(() -> {
+            EvtxInstancePool.Lease lease = instancePool.acquire(fileBytes, failedInstances);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return call.apply(lease.webClient())
+                    .doOnError(e -> {
+                        failure.set(e);
+                        failedInstances.add(lease.url());
+                        log.debug("Evtx-service {} call failed: {}", lease.url(), e.getMessage());
+                    })
+                    .doFinally(signal -> lease.complete(outcome(signal, failure.get())));
+        });
+    }
+
+    private static EvtxInstancePool.Outcome outcome(SignalType signal, Throwable failure) {
+        if (signal == SignalType.CANCEL) {
+            return EvtxInstancePool.Outcome.IGNORED;
+        }
+        if (signal == SignalType.ON_ERROR && isOverloadSignal(failure)) {
+            return EvtxInstancePool.Outcome.OVERLOADED;
+        }
+        return EvtxInstancePool.Outcome.SUCCESS;
+    }
+
     /**
      * EVTX 파일을 evtx-service에 전달하여 파싱 후 Event 엔티티 리스트로 변환
      */
@@ -57,13 +94,15 @@ public class EvtxParserService {
         body.add("file", new FileSystemResource(evtxFile));
 
         try {
-            List<EvtxEventDto> dtos = webClient.post()
-                    .uri(ub -> ub.path("/parse").build())
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(body))
-                    .retrieve()
-                    .bodyToMono(EvtxParseResponse.class)
-                    .timeout(Duration.ofMillis(props.getTimeoutMs()))
+            List<EvtxEventDto> dtos = guarded(evtxFile.length(), webClient -> webClient.post()
+                            .uri(ub -> ub.path("/parse").build())
+                            .contentType(MediaType.MULTIPART_FORM_DATA)
+                            .body(BodyInserters.fromMultipartData(body))
+                            .header(HttpHeaders.ACCEPT, responseCodec.acceptHeader())
+                            .retrieve()
+                            .toEntity(byte[].class)
+                            .mapNotNull(response -> responseCodec.decode(response, EvtxParseResponse.class))
+                            .timeout(Duration.ofMillis(props.getTimeoutMs())))
                     .retryWhen(Retry.fixedDelay(
                                     Math.min(3, props.getRetry().getMaxAttempts()),
                                     Duration.ofMillis(props.getRetry().getWaitDuration())
@@ -83,7 +122,13 @@ public class EvtxParserService {
             log.error("Evtx-service error: {} {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new EvtxParsingException(
                     "Evtx-service failed: " + e.getStatusCode() + " " + e.getResponseBodyAsString(), e);
+        } catch (EvtxServiceUnavailableException e) {
+            log.warn("Evtx-service call rejected: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
+            if (e.getCause() instanceof EvtxServiceUnavailableException unavailable) {
+                throw unavailable;
+            }
             if (e.getCause() instanceof EvtxParsingException) {
                 throw (EvtxParsingException) e.getCause();
             }
@@ -101,16 +146,18 @@ public class EvtxParserService {
      */
     public List<Event> parseEvtxFileByPath(String filePath, LogFile logFile, Integer maxEvents, Integer offset) {
         try {
-            List<EvtxEventDto> dtos = webClient.post()
-                    .uri(ub -> {
-                        ub.path("/parse").queryParam("filePath", filePath);
-                        if (maxEvents != null) ub.queryParam("maxEvents", maxEvents);
-                        if (offset != null) ub.queryParam("offset", offset);
-                        return ub.build();
-                    })
-                    .retrieve()
-                    .bodyToMono(EvtxParseResponse.class)
-                    .timeout(Duration.ofMillis(props.getTimeoutMs()))
+            List<EvtxEventDto> dtos = guarded(new File(filePath).length(), webClient -> webClient.post()
+                            .uri(ub -> {
+                                ub.path("/parse").queryParam("filePath", filePath);
+                                if (maxEvents != null) ub.queryParam("maxEvents", maxEvents);
+                                if (offset != null) ub.queryParam("offset", offset);
+                                return ub.build();
+                            })
+                            .header(HttpHeaders.ACCEPT, responseCodec.acceptHeader())
+                            .retrieve()
+                            .toEntity(byte[].class)
+                            .mapNotNull(response -> responseCodec.decode(response, EvtxParseResponse.class))
+                            .timeout(Duration.ofMillis(props.getTimeoutMs())))
                     .map(EvtxParseResponse::getEvents)
                     .map(list -> list != null ? list : List.<EvtxEventDto>of())
                     .blockOptional()
@@ -123,6 +170,9 @@ public class EvtxParserService {
             log.error("Evtx-service error: {} {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new EvtxParsingException(
                     "Evtx-service failed: " + e.getStatusCode() + " " + e.getResponseBodyAsString(), e);
+        } catch (EvtxServiceUnavailableException e) {
+            log.warn("Evtx-service call rejected: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             if (isServiceUnavailable(e)) {
                 log.warn("Evtx-service unavailable: {}", e.getMessage());
@@ -146,7 +196,11 @@ public class EvtxParserService {
         return false;
     }
 
+    /** 회로 차단/한도 초과로 거절된 호출과 응답 디코딩 실패는 재시도하지 않음 (곧바로 실패) */
     private static boolean isRetryable(Throwable t) {
+        if (t instanceof EvtxServiceUnavailableException || t instanceof EvtxParsingException) {
+            return false;
+        }
         if (t instanceof WebClientResponseException e) {
             int code = e.getStatusCode().value();
             return code >= 500;
@@ -154,6 +208,15 @@ public class EvtxParserService {
         return true;
     }
 
+    /** 과부하/장애 신호: 타임아웃, 연결 실패, 5xx, 429 (그 외 4xx 는 요청 문제이므로 서비스는 정상) */
+    private static boolean isOverloadSignal(Throwable t) {
+        if (t instanceof WebClientResponseException e) {
+            int code = e.getStatusCode().value();
+            return code >= 500 || code == 429;
+        }
+        return t instanceof TimeoutException || isServiceUnavailable(t);
+    }
+
     private Event convertToEvent(EvtxEventDto dto, LogFile logFile) {
         return Event.builder()
                 .eventId(dto.getEventId() != null ? dto.getEventId().longValue() : 0L)
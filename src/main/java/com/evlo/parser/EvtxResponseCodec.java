@@ -0,0 +1,132 @@
+package com.evlo.parser;
+
+import com.evlo.config.EvtxServiceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * evtx-service 응답 인코딩 협상과 디코딩.
+ * Accept 에 설정한 바이너리 형식(Smile/CBOR)을 먼저, JSON 을 낮은 q 로 넣어 보내고 응답 Content-Type 에 맞는 ObjectMapper 로 읽음.
+ * Smile 은 반복되는 필드 이름과 짧은 문자열 값(provider, computer, channel)을 앞선 값의 참조로 보내므로 JSON 보다 작고 빠르게 읽힘
+ * (서비스 쪽 인코더가 shared names / shared string values 를 켜야 함). 바이너리 형식 라이브러리가 없으면 JSON 만 협상.
+ * 형식별 응답 크기와 디코딩 시간을 지표로 남겨 형식 간 비교에 사용.
+ */
+@Slf4j
+@Component
+public class EvtxResponseCodec {
+
+    enum WireFormat {
+        SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "com.fasterxml.jackson.dataformat.smile.SmileFactory"),
+        CBOR(MediaType.parseMediaType("application/cbor"), "com.fasterxml.jackson.dataformat.cbor.CBORFactory"),
+        JSON(MediaType.APPLICATION_JSON, "com.fasterxml.jackson.databind.ObjectMapper");
+
+        private final MediaType mediaType;
+        private final String factoryClass;
+
+        WireFormat(MediaType mediaType, String factoryClass) {
+            this.mediaType = mediaType;
+            this.factoryClass = factoryClass;
+        }
+
+        private ObjectMapper newMapper() {
+            return switch (this) {
+                case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+                case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+                case JSON -> Jackson2ObjectMapperBuilder.json().build();
+            };
+        }
+    }
+
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, DistributionSummary> responseBytes = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, Timer> decodeLatency = new EnumMap<>(WireFormat.class);
+    private final String acceptHeader;
+
+    public EvtxResponseCodec(EvtxServiceProperties props, MeterRegistry meterRegistry) {
+        WireFormat preferred = preferredFormat(props.getWireFormat());
+        if (preferred != WireFormat.JSON) {
+            mappers.put(preferred, preferred.newMapper());
+        }
+        mappers.put(WireFormat.JSON, WireFormat.JSON.newMapper());
+        for (WireFormat format : mappers.keySet()) {
+            String tag = format.name().toLowerCase(Locale.ROOT);
+            responseBytes.put(format, DistributionSummary.builder("evlo.evtx.response.bytes")
+                    .baseUnit("bytes")
+                    .tag("format", tag)
+                    .register(meterRegistry));
+            decodeLatency.put(format, Timer.builder("evlo.evtx.response.decode")
+                    .tag("format", tag)
+                    .register(meterRegistry));
+        }
+        this.acceptHeader = preferred == WireFormat.JSON
+                ? MediaType.APPLICATION_JSON_VALUE
+                : preferred.mediaType + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+        log.info("Evtx-service response format: {} (Accept: {})", preferred, acceptHeader);
+    }
+
+    private static WireFormat preferredFormat(String configured) {
+        WireFormat format;
+        try {
+            format = WireFormat.valueOf(configured == null ? "JSON" : configured.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown evtx.service.wireFormat '{}', using JSON", configured);
+            return WireFormat.JSON;
+        }
+        if (!ClassUtils.isPresent(format.factoryClass, EvtxResponseCodec.class.getClassLoader())) {
+            log.warn("{} not on classpath, evtx-service responses negotiated as JSON", format.factoryClass);
+            return WireFormat.JSON;
+        }
+        return format;
+    }
+
+    /** 요청에 넣을 Accept 헤더 값 */
+    public String acceptHeader() {
+        return acceptHeader;
+    }
+
+    /**
+     * 응답 본문을 Content-Type 에 맞게 디코딩. 본문이 없으면 null, Content-Type 이 없으면 JSON 으로 간주
+     */
+    public <T> T decode(ResponseEntity<byte[]> response, Class<T> type) {
+        byte[] body = response.getBody();
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        WireFormat format = formatOf(response.getHeaders().getContentType());
+        responseBytes.get(format).record(body.length);
+        long started = System.nanoTime();
+        try {
+            return mappers.get(format).readValue(body, type);
+        } catch (IOException e) {
+            throw new EvtxParsingException("Failed to decode evtx-service " + format + " response: " + e.getMessage(), e);
+        } finally {
+            decodeLatency.get(format).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private WireFormat formatOf(MediaType contentType) {
+        if (contentType == null) {
+            return WireFormat.JSON;
+        }
+        for (WireFormat format : mappers.keySet()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new EvtxParsingException("Unsupported evtx-service response content type: " + contentType);
+    }
+}
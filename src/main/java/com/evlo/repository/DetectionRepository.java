@@ -0,0 +1,28 @@
+package com.evlo.repository;
+
+import com.evlo.entity.Detection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DetectionRepository extends JpaRepository<Detection, Long>,
+        JpaSpecificationExecutor<Detection> {
+
+    /**
+     * 조건에 맞는 탐지 중 최신 limit 건 (count 쿼리 없이 LIMIT 만 적용)
+     */
+    default List<Detection> findLatest(Specification<Detection> spec, int limit) {
+        return findBy(spec, query -> query.sortBy(DetectionSpecifications.LATEST_FIRST).limit(limit).all());
+    }
+
+    // 규칙별 탐지 건수 (ruleId, ruleTitle, severity, count)
+    @Query("SELECT d.ruleId, d.ruleTitle, d.severity, COUNT(d) as total FROM Detection d JOIN d.logFile lf " +
+           "WHERE lf.sessionId = :sessionId GROUP BY d.ruleId, d.ruleTitle, d.severity ORDER BY total DESC")
+    List<Object[]> countByRuleBySessionId(@Param("sessionId") String sessionId);
+}
@@ -0,0 +1,40 @@
+package com.evlo.repository;
+
+import com.evlo.entity.Detection;
+import com.evlo.entity.enums.DetectionSeverity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 탐지 목록 조회 조건. 지정된 필터(ruleId / severity)만 WHERE 절에 넣어
+ * ruleId 가 있으면 idx_detections_log_file_rule, 없으면 idx_detections_log_file_time 을 탈 수 있게 함
+ */
+public final class DetectionSpecifications {
+
+    /** 최신순 (같은 시각은 id 역순) */
+    public static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("timeCreated"), Sort.Order.desc("id"));
+
+    private DetectionSpecifications() {
+    }
+
+    /**
+     * 세션 내 파일들의 탐지 (ruleId / severity 가 null 이면 조건 없음)
+     */
+    public static Specification<Detection> matches(String sessionId, String ruleId, DetectionSeverity severity) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("logFile").get("sessionId"), sessionId));
+            if (ruleId != null && !ruleId.isBlank()) {
+                predicates.add(cb.equal(root.get("ruleId"), ruleId));
+            }
+            if (severity != null) {
+                predicates.add(cb.equal(root.get("severity"), severity));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.evlo.repository;
+
+import com.evlo.entity.EventMinuteCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventMinuteCountRepository extends JpaRepository<EventMinuteCount, Long> {
+
+    // 분 단위 발생 건수 (bucketMinute, count), [fromMinute, toMinute)
+    @Query("SELECT m.bucketMinute, SUM(m.eventCount) FROM EventMinuteCount m JOIN m.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND m.bucketMinute >= :fromMinute AND m.bucketMinute < :toMinute " +
+           "GROUP BY m.bucketMinute ORDER BY m.bucketMinute")
+    List<Object[]> findCountByMinuteBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("fromMinute") long fromMinute,
+            @Param("toMinute") long toMinute
+    );
+
+    // 특정 Event ID의 분 단위 발생 건수 (bucketMinute, count), [fromMinute, toMinute)
+    @Query("SELECT m.bucketMinute, SUM(m.eventCount) FROM EventMinuteCount m JOIN m.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND m.eventId = :eventId " +
+           "AND m.bucketMinute >= :fromMinute AND m.bucketMinute < :toMinute " +
+           "GROUP BY m.bucketMinute ORDER BY m.bucketMinute")
+    List<Object[]> findCountByMinuteForEventIdBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("eventId") Long eventId,
+            @Param("fromMinute") long fromMinute,
+            @Param("toMinute") long toMinute
+    );
+}
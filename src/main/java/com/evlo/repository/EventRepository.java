@@ -1,24 +1,37 @@
 package com.evlo.repository;
 
+import com.evlo.dto.EventRowResponse;
 import com.evlo.entity.Event;
 import com.evlo.entity.enums.EventLevel;
 import com.evlo.entity.enums.LogChannel;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventRowRepository {
 
     // 기본 조회
     Page<Event> findByLogFileId(Long logFileId, Pageable pageable);
 
+    /** 상세 조회: 해당 세션에서 업로드한 로그의 이벤트만 (전체 message 포함) */
+    Optional<Event> findByIdAndLogFile_SessionId(Long id, String sessionId);
+
     /** 비회원 세션: 해당 세션에서 업로드한 로그의 이벤트만 조회 */
     Page<Event> findByLogFile_SessionId(String sessionId, Pageable pageable);
 
@@ -45,56 +58,41 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e WHERE LOWER(e.message) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Event> findByMessageContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
 
-    // 복합 검색 (기간 + Level + Channel)
-    @Query("SELECT e FROM Event e WHERE " +
-           "(:startTime IS NULL OR e.timeCreated >= :startTime) AND " +
-           "(:endTime IS NULL OR e.timeCreated <= :endTime) AND " +
-           "(:levels IS NULL OR e.level IN :levels) AND " +
-           "(:channels IS NULL OR e.channel IN :channels) AND " +
-           "(:eventIds IS NULL OR e.eventId IN :eventIds) AND " +
-           "(:keyword IS NULL OR LOWER(e.message) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Event> findByFilters(
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime,
-            @Param("levels") List<EventLevel> levels,
-            @Param("channels") List<LogChannel> channels,
-            @Param("eventIds") List<Long> eventIds,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
-
-    /** 복합 검색 + 세션 제한 (비회원: 이번 세션 로그만) */
-    @Query("SELECT e FROM Event e JOIN e.logFile lf WHERE lf.sessionId = :sessionId AND " +
-           "(:startTime IS NULL OR e.timeCreated >= :startTime) AND " +
-           "(:endTime IS NULL OR e.timeCreated <= :endTime) AND " +
-           "(:levels IS NULL OR e.level IN :levels) AND " +
-           "(:channels IS NULL OR e.channel IN :channels) AND " +
-           "(:eventIds IS NULL OR e.eventId IN :eventIds) AND " +
-           "(:keyword IS NULL OR LOWER(e.message) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Event> findByFiltersAndSessionId(
-            @Param("sessionId") String sessionId,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime,
-            @Param("levels") List<EventLevel> levels,
-            @Param("channels") List<LogChannel> channels,
-            @Param("eventIds") List<Long> eventIds,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    // 복합 검색 (기간 + Level + Channel + Event ID + 키워드)은 EventSpecifications.matches + findAll(spec, pageable) 사용
 
     // Error/Critical Top N 조회
     @Query("SELECT e FROM Event e WHERE e.level IN ('ERROR', 'CRITICAL') ORDER BY e.timeCreated DESC")
     Page<Event> findTopErrorsAndCritical(Pageable pageable);
 
-    @Query("SELECT e FROM Event e JOIN e.logFile lf WHERE lf.sessionId = :sessionId AND e.level IN ('ERROR', 'CRITICAL') ORDER BY e.timeCreated DESC")
-    Page<Event> findTopErrorsAndCriticalBySessionId(@Param("sessionId") String sessionId, Pageable pageable);
+    /** 목록 표시용 경량 행 (message는 앞 200자 미리보기) */
+    @Query("SELECT new com.evlo.dto.EventRowResponse(e.id, e.eventId, e.level, e.timeCreated, e.provider, e.computer, " +
+           "e.channel, SUBSTRING(e.message, 1, 200)) FROM Event e JOIN e.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND e.level IN ('ERROR', 'CRITICAL') ORDER BY e.timeCreated DESC")
+    List<EventRowResponse> findTopErrorsAndCriticalBySessionId(@Param("sessionId") String sessionId, Pageable pageable);
+
+    /**
+     * 파일 하나의 (timeCreated, id) 키셋 다음 행들. idx_events_log_file_time (log_file_id, time_created + PK) 순서로
+     * 범위 스캔하므로 filesort 없음 (merged timeline 의 파일별 커서)
+     */
+    @Query("SELECT new com.evlo.dto.EventRowResponse(e.id, e.eventId, e.level, e.timeCreated, e.provider, e.computer, " +
+           "e.channel, SUBSTRING(e.message, 1, 200)) FROM Event e " +
+           "WHERE e.logFile.id = :logFileId " +
+           "AND (e.timeCreated > :afterTime OR (e.timeCreated = :afterTime AND e.id > :afterId)) " +
+           "AND e.timeCreated <= :toTime " +
+           "ORDER BY e.timeCreated, e.id")
+    List<EventRowResponse> findTimelineRows(
+            @Param("logFileId") Long logFileId,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            @Param("toTime") LocalDateTime toTime,
+            Pageable pageable
+    );
 
     // Event ID별 발생 빈도
     @Query("SELECT e.eventId, COUNT(e) as count FROM Event e GROUP BY e.eventId ORDER BY count DESC")
     List<Object[]> findEventIdFrequency();
 
-    @Query("SELECT e.eventId, COUNT(e) as count FROM Event e JOIN e.logFile lf WHERE lf.sessionId = :sessionId GROUP BY e.eventId ORDER BY count DESC")
-    List<Object[]> findEventIdFrequencyBySessionId(@Param("sessionId") String sessionId);
+    // 세션 단위 빈도/시간대 통계는 EventRollupRepository(업로드 시 집계) 사용
 
     // 시간대별 집중 발생 이벤트 (시간 단위)
     @Query("SELECT FUNCTION('DATE_FORMAT', e.timeCreated, '%Y-%m-%d %H:00:00') as timeSlot, " +
@@ -106,15 +104,6 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             @Param("endTime") LocalDateTime endTime
     );
 
-    @Query("SELECT FUNCTION('DATE_FORMAT', e.timeCreated, '%Y-%m-%d %H:00:00') as timeSlot, " +
-           "COUNT(e) as count FROM Event e JOIN e.logFile lf WHERE lf.sessionId = :sessionId " +
-           "AND e.timeCreated BETWEEN :startTime AND :endTime GROUP BY timeSlot ORDER BY timeSlot")
-    List<Object[]> findEventCountByHourBySessionId(
-            @Param("sessionId") String sessionId,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime
-    );
-
     // 특정 Event ID의 시간대별 발생 빈도
     @Query("SELECT FUNCTION('DATE_FORMAT', e.timeCreated, '%Y-%m-%d %H:00:00') as timeSlot, " +
            "COUNT(e) as count FROM Event e " +
@@ -126,16 +115,45 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             @Param("endTime") LocalDateTime endTime
     );
 
-    @Query("SELECT FUNCTION('DATE_FORMAT', e.timeCreated, '%Y-%m-%d %H:00:00') as timeSlot, " +
-           "COUNT(e) as count FROM Event e JOIN e.logFile lf WHERE lf.sessionId = :sessionId " +
-           "AND e.eventId = :eventId AND e.timeCreated BETWEEN :startTime AND :endTime GROUP BY timeSlot ORDER BY timeSlot")
-    List<Object[]> findEventCountByHourForEventIdBySessionId(
-            @Param("sessionId") String sessionId,
-            @Param("eventId") Long eventId,
+    /** 파일 목록의 이벤트 수 */
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.logFile.id IN :logFileIds")
+    long countByLogFileIds(@Param("logFileIds") List<Long> logFileIds);
+
+    /**
+     * 컬럼형 스냅샷 구성용 스트리밍 조회 (logFileId, timeCreated, eventId, level, channel, provider).
+     * 트랜잭션 안에서 소비하고 반드시 close 해야 함
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.logFile.id, e.timeCreated, e.eventId, e.level, e.channel, e.provider FROM Event e " +
+           "WHERE e.logFile.id IN :logFileIds")
+    Stream<Object[]> streamFacetColumnsByLogFileIds(@Param("logFileIds") List<Long> logFileIds);
+
+    /**
+     * 순서 패턴 매칭용 시간 순 스트리밍 조회 (id, eventId, timeCreated, computer, provider).
+     * 트랜잭션 안에서 소비하고 반드시 close 해야 함
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id, e.eventId, e.timeCreated, e.computer, e.provider FROM Event e " +
+           "WHERE e.logFile.id IN :logFileIds AND e.eventId IN :eventIds " +
+           "AND e.timeCreated BETWEEN :startTime AND :endTime " +
+           "ORDER BY e.timeCreated, e.id")
+    Stream<Object[]> streamSequenceColumns(
+            @Param("logFileIds") List<Long> logFileIds,
+            @Param("eventIds") Collection<Long> eventIds,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
 
+    /** 표본 이벤트 조회 (id, provider, timeCreated, message) */
+    @Query("SELECT e.id, e.provider, e.timeCreated, e.message FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findSampleColumnsByIds(@Param("ids") Collection<Long> ids);
+
     // LogFile ID로 삭제
     void deleteByLogFileId(Long logFileId);
 }
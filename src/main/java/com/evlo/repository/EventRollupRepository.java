@@ -0,0 +1,60 @@
+package com.evlo.repository;
+
+import com.evlo.entity.EventRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AI 요약 입력 집계(Event ID 조건이 선택적인 쿼리)는 EventRollupSummaryRepository 프래그먼트에서 Criteria 로 생성
+ */
+@Repository
+public interface EventRollupRepository extends JpaRepository<EventRollup, Long>, EventRollupSummaryRepository {
+
+    // Event ID별 발생 빈도 (세션 내 파일 집계 합산, limit은 Pageable로 DB에서 적용)
+    @Query("SELECT r.eventId, SUM(r.eventCount) as total FROM EventRollup r JOIN r.logFile lf " +
+           "WHERE lf.sessionId = :sessionId GROUP BY r.eventId ORDER BY total DESC")
+    List<Object[]> findEventIdFrequencyBySessionId(@Param("sessionId") String sessionId, Pageable pageable);
+
+    // 시간대별 발생 건수 (bucketHour, count)
+    @Query("SELECT r.bucketHour, SUM(r.eventCount) FROM EventRollup r JOIN r.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND r.bucketHour BETWEEN :startTime AND :endTime " +
+           "GROUP BY r.bucketHour ORDER BY r.bucketHour")
+    List<Object[]> findEventCountByHourBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    // 특정 Event ID의 시간대별 발생 건수 (bucketHour, count)
+    @Query("SELECT r.bucketHour, SUM(r.eventCount) FROM EventRollup r JOIN r.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND r.eventId = :eventId " +
+           "AND r.bucketHour BETWEEN :startTime AND :endTime " +
+           "GROUP BY r.bucketHour ORDER BY r.bucketHour")
+    List<Object[]> findEventCountByHourForEventIdBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("eventId") Long eventId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    // 파일 비교용 (eventId, level, count, 첫 bucketHour, 마지막 bucketHour)
+    @Query("SELECT r.eventId, r.level, SUM(r.eventCount), MIN(r.bucketHour), MAX(r.bucketHour) FROM EventRollup r " +
+           "WHERE r.logFile.id = :logFileId GROUP BY r.eventId, r.level")
+    List<Object[]> findEventIdLevelCountsByLogFileId(@Param("logFileId") Long logFileId);
+
+    // 시간 구간 비교용 (eventId, level, count, 첫 bucketHour, 마지막 bucketHour), [startTime, endTime)
+    @Query("SELECT r.eventId, r.level, SUM(r.eventCount), MIN(r.bucketHour), MAX(r.bucketHour) FROM EventRollup r " +
+           "JOIN r.logFile lf WHERE lf.sessionId = :sessionId " +
+           "AND r.bucketHour >= :startTime AND r.bucketHour < :endTime GROUP BY r.eventId, r.level")
+    List<Object[]> findEventIdLevelCountsBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+}
@@ -0,0 +1,31 @@
+package com.evlo.repository;
+
+import com.evlo.entity.enums.EventLevel;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * EventRollupRepository 커스텀 프래그먼트: AI 요약 입력 집계.
+ * eventIds 가 비어 있으면 Event ID 조건을 WHERE 절에 넣지 않음 (IN 자리 채움 값이나 catch-all 분기 없음)
+ */
+public interface EventRollupSummaryRepository {
+
+    /** 시간대·레벨별 건수 (bucketHour, level, count), [startTime, endTime), 시간 순 */
+    List<Object[]> findHourLevelCountsForSummary(List<Long> logFileIds, Collection<EventLevel> levels,
+                                                 Collection<Long> eventIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    /** Event ID·레벨별 건수 상위 limit 개 (eventId, level, count), [startTime, endTime) */
+    List<Object[]> findEventIdLevelCountsForSummary(List<Long> logFileIds, Collection<EventLevel> levels,
+                                                    Collection<Long> eventIds, LocalDateTime startTime,
+                                                    LocalDateTime endTime, int limit);
+
+    /**
+     * 표본 층 후보: (eventId, level, 시간)별 건수와 처음/마지막 events.id 상위 limit 개
+     * (eventId, level, bucketHour, count, firstEventId, lastEventId), [startTime, endTime), 건수 내림차순
+     */
+    List<Object[]> findSampleStrataForSummary(List<Long> logFileIds, Collection<EventLevel> levels,
+                                              Collection<Long> eventIds, LocalDateTime startTime,
+                                              LocalDateTime endTime, int limit);
+}
@@ -0,0 +1,96 @@
+package com.evlo.repository;
+
+import com.evlo.entity.EventRollup;
+import com.evlo.entity.enums.EventLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public class EventRollupSummaryRepositoryImpl implements EventRollupSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findHourLevelCountsForSummary(List<Long> logFileIds, Collection<EventLevel> levels,
+                                                        Collection<Long> eventIds, LocalDateTime startTime,
+                                                        LocalDateTime endTime) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<EventRollup> root = query.from(EventRollup.class);
+        query.multiselect(root.get("bucketHour"), root.get("level"), cb.sum(root.<Long>get("eventCount")));
+        query.where(summaryScope(cb, root, logFileIds, levels, eventIds, startTime, endTime));
+        query.groupBy(root.get("bucketHour"), root.get("level"));
+        query.orderBy(cb.asc(root.get("bucketHour")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Object[]> findEventIdLevelCountsForSummary(List<Long> logFileIds, Collection<EventLevel> levels,
+                                                           Collection<Long> eventIds, LocalDateTime startTime,
+                                                           LocalDateTime endTime, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<EventRollup> root = query.from(EventRollup.class);
+        Expression<Long> total = cb.sum(root.<Long>get("eventCount"));
+        query.multiselect(root.get("eventId"), root.get("level"), total);
+        query.where(summaryScope(cb, root, logFileIds, levels, eventIds, startTime, endTime));
+        query.groupBy(root.get("eventId"), root.get("level"));
+        query.orderBy(cb.desc(total));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> findSampleStrataForSummary(List<Long> logFileIds, Collection<EventLevel> levels,
+                                                     Collection<Long> eventIds, LocalDateTime startTime,
+                                                     LocalDateTime endTime, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<EventRollup> root = query.from(EventRollup.class);
+        Expression<Long> total = cb.sum(root.<Long>get("eventCount"));
+        query.multiselect(root.get("eventId"), root.get("level"), root.get("bucketHour"), total,
+                cb.min(root.<Long>get("firstEventId")), cb.max(root.<Long>get("lastEventId")));
+        query.where(summaryScope(cb, root, logFileIds, levels, eventIds, startTime, endTime));
+        query.groupBy(root.get("eventId"), root.get("level"), root.get("bucketHour"));
+        query.orderBy(cb.desc(total));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 파일 → 레벨 → (Event ID) → 기간. Event ID 는 지정된 경우에만 조건에 넣음
+     */
+    private static Predicate[] summaryScope(CriteriaBuilder cb, Root<EventRollup> root, List<Long> logFileIds,
+                                            Collection<EventLevel> levels, Collection<Long> eventIds,
+                                            LocalDateTime startTime, LocalDateTime endTime) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(root.get("logFile").get("id").in(logFileIds));
+        predicates.add(root.get("level").in(levels));
+        if (eventIds != null && !eventIds.isEmpty()) {
+            predicates.add(root.get("eventId").in(eventIds));
+        }
+        predicates.add(cb.greaterThanOrEqualTo(root.get("bucketHour"), startTime));
+        predicates.add(cb.lessThan(root.get("bucketHour"), endTime));
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -0,0 +1,25 @@
+package com.evlo.repository;
+
+import com.evlo.dto.EventRowResponse;
+import com.evlo.entity.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * EventRepository 커스텀 프래그먼트: 동적 검색 조건 + 경량 행 projection
+ */
+public interface EventRowRepository {
+
+    /** 목록 화면용 조회. message TEXT 전체 대신 미리보기만 읽고, 영속성 컨텍스트에 엔티티를 올리지 않음 */
+    Page<EventRowResponse> findRows(Specification<Event> spec, Pageable pageable);
+
+    /** 내보내기 키셋 스캔용 청크 조회. COUNT 쿼리 없이 limit 건만 읽음 */
+    List<Event> findSlice(Specification<Event> spec, Sort sort, int limit);
+
+    /** facet 집계용 (level, channel, eventId, provider, count) GROUP BY. 스냅샷을 메모리에 둘 수 없는 큰 세션에서 사용 */
+    List<Object[]> findFacetGroups(Specification<Event> spec);
+}
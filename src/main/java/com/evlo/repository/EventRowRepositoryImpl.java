@@ -0,0 +1,94 @@
+package com.evlo.repository;
+
+import com.evlo.dto.EventRowResponse;
+import com.evlo.entity.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+@Transactional(readOnly = true)
+public class EventRowRepositoryImpl implements EventRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventRowResponse> findRows(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<EventRowResponse> query = cb.createQuery(EventRowResponse.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.construct(EventRowResponse.class,
+                root.get("id"),
+                root.get("eventId"),
+                root.get("level"),
+                root.get("timeCreated"),
+                root.get("provider"),
+                root.get("computer"),
+                root.get("channel"),
+                cb.substring(root.get("message"), 1, EventRowResponse.MESSAGE_PREVIEW_LENGTH)));
+        query.where(spec.toPredicate(root, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<EventRowResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<EventRowResponse> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<Event> findSlice(Specification<Event> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> findFacetGroups(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Event> root = query.from(Event.class);
+        query.multiselect(root.get("level"), root.get("channel"), root.get("eventId"), root.get("provider"),
+                cb.count(root));
+        query.where(spec.toPredicate(root, query, cb));
+        query.groupBy(root.get("level"), root.get("channel"), root.get("eventId"), root.get("provider"));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+        query.where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,46 @@
+package com.evlo.repository;
+
+import com.evlo.entity.EventSample;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventSampleRepository extends JpaRepository<EventSample, Long> {
+
+    // 층(파일×시간)별 eventId 표본 수 (eventId, stratumSize, sampleSize, matched)
+    @Query("SELECT s.eventId, s.stratumSize, s.sampleSize, COUNT(s) FROM EventSample s JOIN s.logFile lf " +
+           "WHERE lf.sessionId = :sessionId " +
+           "GROUP BY s.eventId, lf.id, s.bucketHour, s.stratumSize, s.sampleSize")
+    List<Object[]> countByEventIdAndStratumBySessionId(@Param("sessionId") String sessionId);
+
+    // 이벤트가 있는데 표본이 없는 파싱 완료 파일 수 (표본 기록(V12) 이전 업로드)
+    @Query("SELECT COUNT(lf) FROM LogFile lf WHERE lf.sessionId = :sessionId AND lf.parsingStatus = 'COMPLETED' " +
+           "AND EXISTS (SELECT r.id FROM EventRollup r WHERE r.logFile = lf) " +
+           "AND NOT EXISTS (SELECT s.id FROM EventSample s WHERE s.logFile = lf)")
+    long countUnsampledFilesBySessionId(@Param("sessionId") String sessionId);
+
+    // 범위 내 표본 (logFileId, bucketHour, stratumSize, sampleSize, timeCreated)
+    @Query("SELECT lf.id, s.bucketHour, s.stratumSize, s.sampleSize, s.timeCreated FROM EventSample s JOIN s.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND s.bucketHour BETWEEN :startHour AND :endHour")
+    List<Object[]> findSamplesBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("startHour") LocalDateTime startHour,
+            @Param("endHour") LocalDateTime endHour
+    );
+
+    // 범위 내 특정 eventId 표본 (logFileId, bucketHour, stratumSize, sampleSize, timeCreated)
+    @Query("SELECT lf.id, s.bucketHour, s.stratumSize, s.sampleSize, s.timeCreated FROM EventSample s JOIN s.logFile lf " +
+           "WHERE lf.sessionId = :sessionId AND s.bucketHour BETWEEN :startHour AND :endHour " +
+           "AND s.eventId = :eventId")
+    List<Object[]> findSamplesForEventIdBySessionId(
+            @Param("sessionId") String sessionId,
+            @Param("startHour") LocalDateTime startHour,
+            @Param("endHour") LocalDateTime endHour,
+            @Param("eventId") Long eventId
+    );
+}
@@ -0,0 +1,110 @@
+package com.evlo.repository;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.entity.Event;
+import com.evlo.entity.enums.EventLevel;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EventSearchRequest에 실제로 존재하는 조건만 WHERE 절에 포함하는 동적 검색 조건.
+ * "(:x IS NULL OR ...)" 형태의 고정 쿼리는 옵티마이저가 모든 조합에 대해 최악의 경우로 계획을 세우므로,
+ * 조건 조합마다 인덱스를 탈 수 있는 SQL을 생성한다.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * 검색 조건 + 범위(logFileId 우선, 없으면 sessionId) 제한
+     */
+    public static Specification<Event> matches(EventSearchRequest request, String sessionId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // 선택도가 높은 범위 조건(파일/세션 → 기간 → eventId)을 앞에 두어 복합 인덱스 선두 컬럼과 맞춤
+            if (request.getLogFileId() != null) {
+                predicates.add(cb.equal(root.get("logFile").get("id"), request.getLogFileId()));
+            } else if (sessionId != null && !sessionId.isBlank()) {
+                predicates.add(cb.equal(root.get("logFile").get("sessionId"), sessionId));
+            }
+            if (request.getStartTime() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timeCreated"), request.getStartTime()));
+            }
+            if (request.getEndTime() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("timeCreated"), request.getEndTime()));
+            }
+            if (request.getEventIds() != null && !request.getEventIds().isEmpty()) {
+                predicates.add(request.getEventIds().size() == 1
+                        ? cb.equal(root.get("eventId"), request.getEventIds().get(0))
+                        : root.get("eventId").in(request.getEventIds()));
+            }
+            if (request.getLevels() != null && !request.getLevels().isEmpty()) {
+                predicates.add(root.get("level").in(request.getLevels()));
+            }
+            if (request.getChannels() != null && !request.getChannels().isEmpty()) {
+                predicates.add(root.get("channel").in(request.getChannels()));
+            }
+            // 키워드(LIKE '%..%')는 인덱스를 사용할 수 없으므로 마지막에 평가
+            if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
+                predicates.add(cb.like(cb.lower(root.get("message")),
+                        "%" + request.getKeyword().toLowerCase() + "%"));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * 파일 목록 제한 (세션의 파싱 완료 파일)
+     */
+    public static Specification<Event> inLogFiles(List<Long> logFileIds) {
+        return (root, query, cb) -> logFileIds.size() == 1
+                ? cb.equal(root.get("logFile").get("id"), logFileIds.get(0))
+                : root.get("logFile").get("id").in(logFileIds);
+    }
+
+    /**
+     * 키셋 다음 행: ORDER BY sortBy, id (같은 방향) 에서 (lastValue, lastId) 이후.
+     * level 은 DB ENUM 이 선언 순서로 정렬되지만 문자열과 비교하면 사전순이 되므로, 뒤에 오는 값들의 IN 으로 표현
+     */
+    public static Specification<Event> after(String sortBy, boolean ascending, Object lastValue, Long lastId) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate sameKeyNextId = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            switch (sortBy) {
+                case "id":
+                    return sameKeyNextId;
+                case "level": {
+                    EventLevel last = (EventLevel) lastValue;
+                    List<EventLevel> following = Arrays.stream(EventLevel.values())
+                            .filter(level -> ascending ? level.ordinal() > last.ordinal() : level.ordinal() < last.ordinal())
+                            .toList();
+                    Predicate sameLevel = cb.and(cb.equal(root.get("level"), last), sameKeyNextId);
+                    return following.isEmpty() ? sameLevel : cb.or(root.get("level").in(following), sameLevel);
+                }
+                case "eventId": {
+                    Path<Long> eventId = root.get("eventId");
+                    Long last = (Long) lastValue;
+                    return cb.or(ascending ? cb.greaterThan(eventId, last) : cb.lessThan(eventId, last),
+                            cb.and(cb.equal(eventId, last), sameKeyNextId));
+                }
+                case "timeCreated": {
+                    Path<LocalDateTime> timeCreated = root.get("timeCreated");
+                    LocalDateTime last = (LocalDateTime) lastValue;
+                    return cb.or(ascending ? cb.greaterThan(timeCreated, last) : cb.lessThan(timeCreated, last),
+                            cb.and(cb.equal(timeCreated, last), sameKeyNextId));
+                }
+                default:
+                    throw new IllegalArgumentException("Unsupported sort property: " + sortBy);
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.evlo.repository;
+
+import com.evlo.entity.LogFileAnomaly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 이상 구간 조회는 LogFileAnomalySpecifications 로 조건을 만들어 findAll(spec, sort)
+ */
+@Repository
+public interface LogFileAnomalyRepository extends JpaRepository<LogFileAnomaly, Long>,
+        JpaSpecificationExecutor<LogFileAnomaly> {
+}
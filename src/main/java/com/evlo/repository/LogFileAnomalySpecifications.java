@@ -0,0 +1,40 @@
+package com.evlo.repository;
+
+import com.evlo.entity.LogFileAnomaly;
+import com.evlo.entity.enums.AnomalyType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 이상 구간 조회 조건. 지정된 필터(type / eventId)만 WHERE 절에 넣어
+ * 조합마다 idx_log_file_anomalies_log_file_start 를 탈 수 있는 SQL을 생성 (EventSpecifications 와 같은 이유).
+ */
+public final class LogFileAnomalySpecifications {
+
+    /** 구간 시작 시각, eventId 순 */
+    public static final Sort ORDER = Sort.by("startTime", "eventId");
+
+    private LogFileAnomalySpecifications() {
+    }
+
+    /**
+     * 세션 내 파일들의 이상 구간 (type / eventId 가 null 이면 조건 없음)
+     */
+    public static Specification<LogFileAnomaly> matches(String sessionId, AnomalyType type, Long eventId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("logFile").get("sessionId"), sessionId));
+            if (type != null) {
+                predicates.add(cb.equal(root.get("anomalyType"), type));
+            }
+            if (eventId != null) {
+                predicates.add(cb.equal(root.get("eventId"), eventId));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -49,4 +49,8 @@ public interface LogFileRepository extends JpaRepository<LogFile, Long> {
 
     // 파싱 완료된 파일만 조회
     List<LogFile> findByParsingStatusOrderByUploadedAtDesc(ParsingStatus status);
+
+    /** 세션의 파싱 완료 파일 ID 목록 (세션 데이터 버전 판별용) */
+    @Query("SELECT lf.id FROM LogFile lf WHERE lf.sessionId = :sessionId AND lf.parsingStatus = 'COMPLETED' ORDER BY lf.id")
+    List<Long> findCompletedIdsBySessionId(@Param("sessionId") String sessionId);
 }
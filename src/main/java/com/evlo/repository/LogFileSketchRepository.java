@@ -0,0 +1,22 @@
+package com.evlo.repository;
+
+import com.evlo.entity.LogFileSketch;
+import com.evlo.entity.enums.SketchType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LogFileSketchRepository extends JpaRepository<LogFileSketch, Long> {
+
+    /** 세션 내 파일들의 특정 유형 스케치 (직렬화 데이터만) */
+    @Query("SELECT s.data FROM LogFileSketch s JOIN s.logFile lf WHERE lf.sessionId = :sessionId AND s.sketchType = :type")
+    List<byte[]> findDataBySessionIdAndType(@Param("sessionId") String sessionId, @Param("type") SketchType type);
+
+    /** 특정 파일의 특정 유형 스케치 */
+    @Query("SELECT s.data FROM LogFileSketch s WHERE s.logFile.id = :logFileId AND s.sketchType = :type")
+    List<byte[]> findDataByLogFileIdAndType(@Param("logFileId") Long logFileId, @Param("type") SketchType type);
+}
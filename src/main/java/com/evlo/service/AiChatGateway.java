@@ -0,0 +1,54 @@
+package com.evlo.service;
+
+import com.evlo.config.AiClientProperties;
+import com.evlo.support.ConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * LLM upstream 호출. 스트리밍 API 만 사용하므로 응답을 기다리는 동안 스레드를 점유하지 않고,
+ * 동시 호출 수는 ConcurrencyLimiter 로 제한 (대기열 초과 시 RejectedExecutionException → 503)
+ */
+@Service
+public class AiChatGateway {
+
+    private final StreamingChatClient streamingChatClient;
+    private final ConcurrencyLimiter limiter;
+
+    public AiChatGateway(StreamingChatClient streamingChatClient, AiClientProperties properties, MeterRegistry meterRegistry) {
+        this.streamingChatClient = streamingChatClient;
+        this.limiter = new ConcurrencyLimiter("LLM upstream", properties.getMaxConcurrent(), properties.getMaxQueued(),
+                Duration.ofSeconds(properties.getQueueTimeoutSeconds()));
+        Gauge.builder("evlo.ai.upstream.active", limiter, ConcurrencyLimiter::active).register(meterRegistry);
+        Gauge.builder("evlo.ai.upstream.queued", limiter, ConcurrencyLimiter::queued).register(meterRegistry);
+    }
+
+    /** 생성되는 대로 응답 조각 */
+    public Flux<String> stream(Prompt prompt) {
+        return limiter.limit(() -> streamingChatClient.stream(prompt))
+                .map(AiChatGateway::content)
+                .filter(content -> !content.isEmpty());
+    }
+
+    /** 전체 응답 */
+    public Mono<String> call(Prompt prompt) {
+        return stream(prompt).collect(Collectors.joining());
+    }
+
+    private static String content(ChatResponse response) {
+        if (response.getResult() == null || response.getResult().getOutput() == null) {
+            return "";
+        }
+        String content = response.getResult().getOutput().getContent();
+        return content != null ? content : "";
+    }
+}
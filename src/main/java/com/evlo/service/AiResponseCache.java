@@ -0,0 +1,216 @@
+package com.evlo.service;
+
+import com.evlo.config.AiCacheProperties;
+import com.evlo.config.AiClientProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * LLM 응답 캐시. 키는 프롬프트 템플릿 버전 + (모델, 정규화한 프롬프트) SHA-256 이라
+ * 템플릿을 고치면 버전만 올리면 되고 입력 데이터가 바뀌면 자연히 새 키가 됨.
+ * stub 모델(app.ai.client.stub.enabled)의 응답은 모델 이름에 "stub:" 을 붙여 실제 모델 응답과 다른 키에 저장.
+ * 조회 순서는 로컬 L1(LRU) → Redis → LLM 호출이며, 같은 키의 동시 요청은 진행 중인 조회/호출 하나를 공유 (single-flight).
+ * Redis 장애 시에는 캐시 없이 LLM 을 호출하고, 실패한 호출은 캐시하지 않음.
+ */
+@Slf4j
+@Service
+public class AiResponseCache {
+
+    private static final String KEY_PREFIX = "ai:resp:";
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AiCacheProperties properties;
+    /** 키에 넣는 모델 이름 (stub 모델이면 "stub:" + 모델) */
+    private final String model;
+
+    /** access-order LinkedHashMap = LRU. l1 접근은 l1 모니터로 동기화 */
+    private final LinkedHashMap<String, CachedResponse> l1 = new LinkedHashMap<>(16, 0.75f, true);
+    /** 같은 키로 진행 중인 조회/호출 공유 */
+    private final Map<String, Flux<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Timer savedLatency;
+    private final Timer upstreamLatency;
+
+    /**
+     * 캐시 값. latencyMs 는 원래 LLM 호출 소요 시간 (적중 시 절약한 지연으로 기록)
+     */
+    public record CachedResponse(String content, long latencyMs, long cachedAtMillis) {
+    }
+
+    public AiResponseCache(
+            ReactiveRedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            AiCacheProperties properties,
+            AiClientProperties clientProperties,
+            MeterRegistry meterRegistry,
+            @Value("${spring.ai.openai.chat.options.model:}") String model) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.model = clientProperties.getStub().isEnabled() ? "stub:" + model : model;
+        this.l1Hits = Counter.builder("evlo.ai.cache.requests").tag("result", "l1_hit").register(meterRegistry);
+        this.l2Hits = Counter.builder("evlo.ai.cache.requests").tag("result", "l2_hit").register(meterRegistry);
+        this.misses = Counter.builder("evlo.ai.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("evlo.ai.cache.requests").tag("result", "coalesced").register(meterRegistry);
+        this.savedLatency = Timer.builder("evlo.ai.cache.saved.latency")
+                .description("캐시 적중으로 생략한 LLM 호출의 원래 소요 시간")
+                .register(meterRegistry);
+        this.upstreamLatency = Timer.builder("evlo.ai.upstream.latency").register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 응답 또는 upstream 호출 결과. upstream 은 구독 시점에 LLM 을 호출하는 Mono
+     */
+    public Mono<String> get(String templateVersion, Prompt prompt, Supplier<Mono<String>> upstream) {
+        return stream(templateVersion, prompt, () -> upstream.get().flux())
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * 스트리밍 응답. 적중 시 저장된 응답 전체를 한 조각으로, 미스 시 upstream 조각을 그대로 흘리면서 모아 두었다가 완료 시 저장.
+     * 같은 키를 뒤늦게 구독한 요청은 이미 받은 조각부터 재생. 구독자가 모두 끊어도 upstream 호출은 끝까지 진행해 저장
+     */
+    public Flux<String> stream(String templateVersion, Prompt prompt, Supplier<Flux<String>> upstream) {
+        if (!properties.isEnabled()) {
+            return upstream.get();
+        }
+        String key = key(templateVersion, prompt);
+        return Flux.defer(() -> {
+            CachedResponse local = getLocal(key);
+            if (local != null) {
+                l1Hits.increment();
+                savedLatency.record(Duration.ofMillis(local.latencyMs()));
+                return Flux.just(local.content());
+            }
+            Flux<String> mine = lookupOrLoad(key, upstream)
+                    .doFinally(signal -> inFlight.remove(key))
+                    .cache();
+            Flux<String> existing = inFlight.putIfAbsent(key, mine);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            return mine;
+        });
+    }
+
+    private Flux<String> lookupOrLoad(String key, Supplier<Flux<String>> upstream) {
+        return redisTemplate.opsForValue().get(key)
+                .flatMap(json -> Mono.justOrEmpty(deserialize(key, json)))
+                .onErrorResume(e -> {
+                    log.warn("AI response cache lookup failed ({}): {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .map(cached -> {
+                    l2Hits.increment();
+                    savedLatency.record(Duration.ofMillis(cached.latencyMs()));
+                    putLocal(key, cached);
+                    return cached.content();
+                })
+                .flux()
+                .switchIfEmpty(Flux.defer(() -> {
+                    misses.increment();
+                    long started = System.nanoTime();
+                    StringBuilder content = new StringBuilder();
+                    // 실패하면 concatWith 까지 가지 않으므로 저장되지 않음
+                    return upstream.get()
+                            .doOnNext(content::append)
+                            .concatWith(Mono.defer(() -> {
+                                long latencyMs = (System.nanoTime() - started) / 1_000_000;
+                                upstreamLatency.record(Duration.ofMillis(latencyMs));
+                                CachedResponse cached = new CachedResponse(content.toString(), latencyMs, System.currentTimeMillis());
+                                putLocal(key, cached);
+                                return store(key, cached).then(Mono.<String>empty());
+                            }));
+                }));
+    }
+
+    private Mono<Boolean> store(String key, CachedResponse cached) {
+        try {
+            return redisTemplate.opsForValue()
+                    .set(key, objectMapper.writeValueAsString(cached), Duration.ofHours(properties.getTtlHours()))
+                    .onErrorResume(e -> {
+                        log.warn("AI response cache store failed ({}): {}", key, e.getMessage());
+                        return Mono.just(false);
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing AI response for cache: {}", e.getMessage(), e);
+            return Mono.just(false);
+        }
+    }
+
+    private CachedResponse deserialize(String key, String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable AI response cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private CachedResponse getLocal(String key) {
+        synchronized (l1) {
+            CachedResponse cached = l1.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - cached.cachedAtMillis() > Duration.ofMinutes(properties.getL1TtlMinutes()).toMillis()) {
+                l1.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void putLocal(String key, CachedResponse cached) {
+        synchronized (l1) {
+            // L1 보관 기간은 L1 에 넣은 시점부터
+            l1.put(key, new CachedResponse(cached.content(), cached.latencyMs(), System.currentTimeMillis()));
+            var it = l1.entrySet().iterator();
+            while (l1.size() > properties.getL1MaxEntries() && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /** 템플릿 버전 + SHA-256(모델, 공백을 정규화한 프롬프트 본문) */
+    String key(String templateVersion, Prompt prompt) {
+        String normalized = prompt.getContents().strip().replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + templateVersion + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,237 +1,413 @@
 package com.evlo.service;
 
+import com.evlo.config.AiSummaryProperties;
 import com.evlo.dto.AiSummaryRequest;
+import com.evlo.dto.AiStreamEvent;
 import com.evlo.dto.AiSummaryResponse;
 import com.evlo.entity.Event;
-import com.evlo.entity.enums.EventLevel;
 import com.evlo.repository.EventRepository;
-import lombok.RequiredArgsConstructor;
+import com.evlo.repository.LogFileRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * AI 요약. 세션 요약은 DB 집계 기반 map-reduce 로 구성 (입력 구성은 SummaryDigestService)
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AiSummaryService {
 
-    private final ChatClient chatClient;
+    /** 프롬프트 템플릿 버전 (응답 캐시 키에 포함되므로 템플릿 문구를 바꾸면 올릴 것) */
+    private static final String SUMMARY_PROMPT_VERSION = "summary-v1";
+    private static final String PARTIAL_PROMPT_VERSION = "summary-partial-v1";
+    private static final String MERGE_PROMPT_VERSION = "summary-merge-v1";
+    private static final String EXPLAIN_PROMPT_VERSION = "explain-v1";
+
+    private static final String FULL_INSTRUCTIONS = """
+            요약 시 다음 사항을 포함해주세요:
+            1. 전체 이벤트 개수 및 주요 이벤트 유형
+            2. Error 또는 Critical 레벨의 이벤트가 있다면 강조
+            3. 시간대별 발생 패턴 (있는 경우)
+            4. 주의가 필요한 사항
+            """;
+
+    private static final String ERROR_INSTRUCTIONS = """
+            분석 시 다음 사항을 포함해주세요:
+            1. 주요 에러 유형 및 발생 빈도
+            2. 가능한 장애 원인 추정
+            3. 권장 해결 방안
+            4. 우선순위 (긴급도 기준)
+            """;
+
+    private final AiChatGateway aiChatGateway;
     private final EventRepository eventRepository;
+    private final LogFileRepository logFileRepository;
+    private final SummaryDigestService summaryDigestService;
+    private final AiResponseCache aiResponseCache;
+    private final AiSummaryProperties properties;
+    private final Scheduler jdbcScheduler;
 
     @Value("${spring.ai.openai.api-key:}")
     private String apiKey;
 
+    public AiSummaryService(
+            AiChatGateway aiChatGateway,
+            EventRepository eventRepository,
+            LogFileRepository logFileRepository,
+            SummaryDigestService summaryDigestService,
+            AiResponseCache aiResponseCache,
+            AiSummaryProperties properties,
+            @Qualifier("jdbcScheduler") Scheduler jdbcScheduler) {
+        this.aiChatGateway = aiChatGateway;
+        this.eventRepository = eventRepository;
+        this.logFileRepository = logFileRepository;
+        this.summaryDigestService = summaryDigestService;
+        this.aiResponseCache = aiResponseCache;
+        this.properties = properties;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /**
+     * 세션 로그 요약 (errorsOnly 면 Error/Critical 중심 장애 분석).
+     * 입력은 이벤트 원본이 아닌 DB 집계(상위 Event ID, 시간대별 Error 건수, 템플릿별 대표 메시지)에서 구성.
+     * 범위가 window-hours 보다 길면 구간별 부분 요약(map)을 concurrency 개까지 병렬로 만든 뒤 합치고(reduce),
+     * 모든 프롬프트의 입력 데이터는 token-budget 안에 맞춤.
+     * LLM 호출 대기열이 가득 차면 RejectedExecutionException(503), 그 외 실패는 errorMessage 로 응답
+     */
+    public Mono<AiSummaryResponse> summarize(String sessionId, AiSummaryRequest request, boolean errorsOnly) {
+        String summaryType = errorsOnly ? "error" : "full";
+        return plan(sessionId, request, errorsOnly)
+                .flatMap(plan -> {
+                    if (plan.windows().isEmpty()) {
+                        return Mono.just(AiSummaryResponse.builder()
+                                .summary(noEventsMessage(errorsOnly))
+                                .summaryType(summaryType)
+                                .build());
+                    }
+                    return mapWindows(plan, errorsOnly)
+                            .collectList()
+                            .flatMap(partials -> condense(partials, plan.overview()))
+                            .flatMap(partials -> call(SUMMARY_PROMPT_VERSION, finalPrompt(errorsOnly, plan.overview(), partials)))
+                            .map(text -> AiSummaryResponse.builder()
+                                    .summary(text)
+                                    .summaryType(summaryType)
+                                    .inputEvents(plan.totalEvents())
+                                    .windows(plan.windows().size())
+                                    .build());
+                })
+                .onErrorResume(e -> !(e instanceof RejectedExecutionException), e -> {
+                    log.error("Error generating AI summary: {}", e.getMessage(), e);
+                    return Mono.just(AiSummaryResponse.builder()
+                            .summary(errorsOnly ? "Error 요약 생성 중 오류가 발생했습니다." : "AI 요약 생성 중 오류가 발생했습니다.")
+                            .summaryType(summaryType)
+                            .errorMessage(e.getMessage())
+                            .build());
+                });
+    }
+
     /**
-     * 전체 로그 요약
+     * summarize 의 스트리밍 버전. meta → (구간이 여럿이면) 구간별 progress → 최종 요약 token 조각 → done.
+     * 실패는 error 이벤트로 끝냄
      */
-    public AiSummaryResponse summarizeEvents(List<Event> events) {
-        if (events == null || events.isEmpty()) {
-            return AiSummaryResponse.builder()
-                    .summary("분석할 이벤트가 없습니다.")
-                    .summaryType("full")
-                    .build();
+    public Flux<AiStreamEvent> summarizeStream(String sessionId, AiSummaryRequest request, boolean errorsOnly) {
+        String summaryType = errorsOnly ? "error" : "full";
+        return plan(sessionId, request, errorsOnly)
+                .flatMapMany(plan -> {
+                    if (plan.windows().isEmpty()) {
+                        return Flux.just(
+                                AiStreamEvent.builder().type("token").content(noEventsMessage(errorsOnly)).build(),
+                                AiStreamEvent.builder().type("done").summaryType(summaryType).build());
+                    }
+                    int windowCount = plan.windows().size();
+                    List<String> partials = new ArrayList<>();
+                    Flux<AiStreamEvent> meta = Flux.just(AiStreamEvent.builder()
+                            .type("meta")
+                            .summaryType(summaryType)
+                            .inputEvents(plan.totalEvents())
+                            .windows(windowCount)
+                            .build());
+                    Flux<AiStreamEvent> progress = mapWindows(plan, errorsOnly)
+                            .index()
+                            .map(partial -> {
+                                partials.add(partial.getT2());
+                                return AiStreamEvent.builder()
+                                        .type("progress")
+                                        .windows(windowCount)
+                                        .completedWindows(partial.getT1().intValue() + 1)
+                                        .build();
+                            });
+                    Flux<AiStreamEvent> answer = Mono.defer(() -> condense(partials, plan.overview()))
+                            .flatMapMany(condensed -> stream(SUMMARY_PROMPT_VERSION, finalPrompt(errorsOnly, plan.overview(), condensed)))
+                            .map(token -> tokenEvent(token));
+                    return Flux.concat(meta, progress, answer,
+                            Mono.just(AiStreamEvent.builder().type("done").summaryType(summaryType).build()));
+                })
+                .onErrorResume(e -> Flux.just(errorEvent("Error generating AI summary stream", summaryType, e)));
+    }
+
+    private static String noEventsMessage(boolean errorsOnly) {
+        return errorsOnly ? "Error 또는 Critical 레벨의 이벤트가 없습니다." : "분석할 이벤트가 없습니다.";
+    }
+
+    private static AiStreamEvent tokenEvent(String content) {
+        return AiStreamEvent.builder().type("token").content(content).build();
+    }
+
+    private static AiStreamEvent errorEvent(String logMessage, String summaryType, Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            log.warn("{}: {}", logMessage, e.getMessage());
+        } else {
+            log.error("{}: {}", logMessage, e.getMessage(), e);
         }
+        return AiStreamEvent.builder()
+                .type("error")
+                .summaryType(summaryType)
+                .errorMessage(e.getMessage())
+                .build();
+    }
 
-        try {
-            String eventSummary = buildEventSummary(events);
-            
-            PromptTemplate promptTemplate = new PromptTemplate("""
-                다음은 Windows 이벤트 로그 데이터입니다. 
-                이벤트들을 분석하여 간결하고 명확한 요약을 제공해주세요.
-                
-                요약 시 다음 사항을 포함해주세요:
-                1. 전체 이벤트 개수 및 주요 이벤트 유형
-                2. Error 또는 Critical 레벨의 이벤트가 있다면 강조
-                3. 시간대별 발생 패턴 (있는 경우)
-                4. 주의가 필요한 사항
-                
-                이벤트 데이터:
-                {events}
-                
-                한국어로 요약해주세요.
-                """);
-
-            Prompt prompt = promptTemplate.create(Map.of("events", eventSummary));
-            String response = chatClient.call(prompt).getResult().getOutput().getContent();
-
-            return AiSummaryResponse.builder()
-                    .summary(response)
-                    .summaryType("full")
-                    .build();
-
-        } catch (Exception e) {
-            log.error("Error generating AI summary: {}", e.getMessage(), e);
-            return AiSummaryResponse.builder()
-                    .summary("AI 요약 생성 중 오류가 발생했습니다.")
-                    .summaryType("full")
-                    .errorMessage(e.getMessage())
-                    .build();
+    private Mono<SummaryPlan> plan(String sessionId, AiSummaryRequest request, boolean errorsOnly) {
+        return Mono.fromCallable(() -> loadPlan(sessionId, request, errorsOnly))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /** 요약 범위, 구간 분할, 전체 집계 텍스트 (blocking) */
+    private SummaryPlan loadPlan(String sessionId, AiSummaryRequest request, boolean errorsOnly) {
+        List<Long> logFileIds = sessionId != null ? logFileRepository.findCompletedIdsBySessionId(sessionId) : List.of();
+        if (request != null && request.getLogFileId() != null) {
+            logFileIds = logFileIds.contains(request.getLogFileId()) ? List.of(request.getLogFileId()) : List.of();
+        }
+        SummaryDigestService.Scope scope = new SummaryDigestService.Scope(
+                logFileIds,
+                request != null && request.getEventIds() != null ? request.getEventIds() : List.of(),
+                errorsOnly,
+                request != null && request.getStartTime() != null ? request.getStartTime() : SummaryDigestService.MIN_TIME,
+                request != null && request.getEndTime() != null ? request.getEndTime() : SummaryDigestService.MAX_TIME);
+        List<SummaryDigestService.HourCount> hours = summaryDigestService.hourlyCounts(scope);
+        List<SummaryDigestService.Scope> windows = summaryDigestService.windows(scope, hours);
+        if (windows.isEmpty()) {
+            return new SummaryPlan(hours, windows, "", 0);
         }
+        // 구간이 여러 개면 한도의 절반은 부분 요약 몫
+        int overviewBudget = windows.size() == 1 ? properties.getTokenBudget() : properties.getTokenBudget() / 2;
+        SummaryDigestService.Digest overall = summaryDigestService.digest(scope, hours);
+        return new SummaryPlan(hours, windows, summaryDigestService.render(overall, overviewBudget), overall.total());
     }
 
     /**
-     * Error/Critical 이벤트 중심 요약
+     * 구간별 부분 요약 (map, 구간 순서대로). 구간이 하나면 없음.
+     * 집계 조회는 jdbcScheduler, LLM 호출은 concurrency 개까지 동시 실행
      */
-    public AiSummaryResponse summarizeErrors(List<Event> errorEvents) {
-        if (errorEvents == null || errorEvents.isEmpty()) {
-            return AiSummaryResponse.builder()
-                    .summary("Error 또는 Critical 레벨의 이벤트가 없습니다.")
-                    .summaryType("error")
-                    .build();
+    private Flux<String> mapWindows(SummaryPlan plan, boolean errorsOnly) {
+        if (plan.windows().size() <= 1) {
+            return Flux.empty();
         }
+        int partialChars = Math.max(200, properties.getTokenBudget() / 2 / plan.windows().size());
+        return Flux.fromIterable(plan.windows())
+                .flatMapSequential(window -> Mono.fromCallable(() -> summaryDigestService.render(
+                                        summaryDigestService.digest(window, plan.hours()), properties.getTokenBudget()))
+                                .subscribeOn(jdbcScheduler)
+                                .flatMap(text -> call(PARTIAL_PROMPT_VERSION, mapPrompt(errorsOnly, text, partialChars))),
+                        properties.getConcurrency());
+    }
 
-        try {
-            String eventSummary = buildEventSummary(errorEvents);
-            
-            PromptTemplate promptTemplate = new PromptTemplate("""
-                다음은 Windows 이벤트 로그에서 발생한 Error 및 Critical 레벨의 이벤트들입니다.
-                이 이벤트들을 분석하여 장애 원인을 추정하고 해결 방안을 제시해주세요.
-                
-                분석 시 다음 사항을 포함해주세요:
-                1. 주요 에러 유형 및 발생 빈도
-                2. 가능한 장애 원인 추정
-                3. 권장 해결 방안
-                4. 우선순위 (긴급도 기준)
+    /**
+     * reduce 준비. 부분 요약 합이 한도를 넘으면 인접한 것끼리 묶어 한 단계 더 요약하기를 한도 안에 들 때까지 반복
+     */
+    private Mono<List<String>> condense(List<String> partials, String overview) {
+        int budget = Math.max(properties.getTokenBudget() - SummaryDigestService.estimateTokens(overview), properties.getTokenBudget() / 2);
+        int partialTokens = partials.stream().mapToInt(SummaryDigestService::estimateTokens).sum();
+        if (partialTokens <= budget || partials.size() <= 1) {
+            return Mono.just(partials);
+        }
+        List<List<String>> groups = new ArrayList<>();
+        List<String> group = new ArrayList<>();
+        int groupTokens = 0;
+        for (String partial : partials) {
+            int tokens = SummaryDigestService.estimateTokens(partial);
+            // 한 그룹에 최소 2개는 묶어야 단계마다 개수가 줄어듦
+            if (group.size() >= 2 && groupTokens + tokens > budget) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupTokens = 0;
+            }
+            group.add(partial);
+            groupTokens += tokens;
+        }
+        groups.add(group);
+        int mergedChars = Math.max(200, budget / groups.size());
+        return Flux.fromIterable(groups)
+                .flatMapSequential(g -> g.size() == 1 ? Mono.just(g.get(0)) : call(MERGE_PROMPT_VERSION, mergePrompt(g, mergedChars)),
+                        properties.getConcurrency())
+                .collectList()
+                .flatMap(merged -> condense(merged, overview));
+    }
+
+    private Prompt mapPrompt(boolean errorsOnly, String digest, int maxChars) {
+        return new PromptTemplate("""
+                다음은 Windows 이벤트 로그 중 한 시간 구간의 집계 데이터입니다.
+                이 구간에서 눈에 띄는 이벤트 유형, {focus}, 발생 패턴을 {maxChars}자 이내로 요약해주세요.
                 
-                이벤트 데이터:
+                집계 데이터:
                 {events}
                 
-                한국어로 분석해주세요.
-                """);
-
-            Prompt prompt = promptTemplate.create(Map.of("events", eventSummary));
-            String response = chatClient.call(prompt).getResult().getOutput().getContent();
-
-            return AiSummaryResponse.builder()
-                    .summary(response)
-                    .summaryType("error")
-                    .build();
-
-        } catch (Exception e) {
-            log.error("Error generating error summary: {}", e.getMessage(), e);
-            return AiSummaryResponse.builder()
-                    .summary("Error 요약 생성 중 오류가 발생했습니다.")
-                    .summaryType("error")
-                    .errorMessage(e.getMessage())
-                    .build();
+                한국어로 요약해주세요.
+                """).create(Map.of(
+                "focus", errorsOnly ? "에러 유형과 추정 원인" : "Error/Critical 이벤트",
+                "maxChars", String.valueOf(maxChars),
+                "events", digest));
+    }
+
+    private Prompt mergePrompt(List<String> partials, int maxChars) {
+        return new PromptTemplate("""
+                다음은 Windows 이벤트 로그의 연속된 시간 구간별 요약입니다.
+                시간 순서와 중요한 변화를 유지하면서 {maxChars}자 이내의 하나의 요약으로 합쳐주세요.
+                
+                구간별 요약:
+                {partials}
+                
+                한국어로 요약해주세요.
+                """).create(Map.of(
+                "maxChars", String.valueOf(maxChars),
+                "partials", String.join("\n\n", partials)));
+    }
+
+    private Prompt finalPrompt(boolean errorsOnly, String overview, List<String> partials) {
+        StringBuilder partialText = new StringBuilder();
+        for (int i = 0; i < partials.size(); i++) {
+            partialText.append(String.format("[구간 %d]\n%s\n\n", i + 1, partials.get(i)));
         }
+        String template = errorsOnly
+                ? """
+                다음은 Windows 이벤트 로그에서 발생한 Error 및 Critical 레벨 이벤트의 집계입니다.
+                이 이벤트들을 분석하여 장애 원인을 추정하고 해결 방안을 제시해주세요.
+                
+                {instructions}
+                전체 집계:
+                {events}
+                {partials}
+                한국어로 분석해주세요.
+                """
+                : """
+                다음은 Windows 이벤트 로그 데이터의 집계입니다.
+                이벤트들을 분석하여 간결하고 명확한 요약을 제공해주세요.
+                
+                {instructions}
+                전체 집계:
+                {events}
+                {partials}
+                한국어로 요약해주세요.
+                """;
+        return new PromptTemplate(template).create(Map.of(
+                "instructions", errorsOnly ? ERROR_INSTRUCTIONS : FULL_INSTRUCTIONS,
+                "events", overview,
+                "partials", partials.isEmpty() ? "" : "\n시간 구간별 부분 요약:\n" + partialText));
+    }
+
+    /** 응답 캐시를 거친 LLM 호출 (전체 응답) */
+    private Mono<String> call(String templateVersion, Prompt prompt) {
+        return aiResponseCache.get(templateVersion, prompt, () -> aiChatGateway.call(prompt));
+    }
+
+    /** 응답 캐시를 거친 LLM 호출 (생성되는 대로 조각) */
+    private Flux<String> stream(String templateVersion, Prompt prompt) {
+        return aiResponseCache.stream(templateVersion, prompt, () -> aiChatGateway.stream(prompt));
+    }
+
+    /** 요약 입력 준비 결과 */
+    private record SummaryPlan(List<SummaryDigestService.HourCount> hours, List<SummaryDigestService.Scope> windows,
+                               String overview, long totalEvents) {
     }
 
     /**
      * 특정 Event ID 설명 생성 (초보자용)
      */
-    public AiSummaryResponse explainEventId(Long eventId) {
-        try {
-            List<Event> events = eventRepository.findByEventId(eventId, 
-                    org.springframework.data.domain.PageRequest.of(0, 5)).getContent();
-
-            if (events.isEmpty()) {
-                return AiSummaryResponse.builder()
-                        .summary("Event ID " + eventId + "에 대한 이벤트를 찾을 수 없습니다.")
+    public Mono<AiSummaryResponse> explainEventId(Long eventId) {
+        return explainPrompt(eventId)
+                .flatMap(prompt -> call(EXPLAIN_PROMPT_VERSION, prompt))
+                .map(response -> AiSummaryResponse.builder()
+                        .summary(response)
                         .summaryType("explain")
-                        .build();
-            }
-
-            Event sampleEvent = events.get(0);
-            String eventDescription = String.format(
-                    "Event ID: %d\nLevel: %s\nProvider: %s\nMessage: %s\nComputer: %s",
-                    sampleEvent.getEventId(),
-                    sampleEvent.getLevel(),
-                    sampleEvent.getProvider() != null ? sampleEvent.getProvider() : "N/A",
-                    sampleEvent.getMessage() != null ? sampleEvent.getMessage() : "N/A",
-                    sampleEvent.getComputer() != null ? sampleEvent.getComputer() : "N/A"
-            );
-
-            PromptTemplate promptTemplate = new PromptTemplate("""
-                다음은 Windows 이벤트 로그의 Event ID {eventId}에 대한 정보입니다.
-                비전문가도 이해할 수 있도록 이 이벤트를 간단하고 명확하게 설명해주세요.
-                
-                설명 시 다음 사항을 포함해주세요:
-                1. 이 이벤트가 무엇인지
-                2. 어떤 상황에서 발생하는지
-                3. 주의가 필요한지 (중요도)
-                4. 일반적인 원인 (있는 경우)
-                
-                이벤트 정보:
-                {eventInfo}
-                
-                한국어로 쉽게 설명해주세요.
-                """);
-
-            Prompt prompt = promptTemplate.create(Map.of(
-                    "eventId", eventId.toString(),
-                    "eventInfo", eventDescription
-            ));
-            
-            String response = chatClient.call(prompt).getResult().getOutput().getContent();
-
-            return AiSummaryResponse.builder()
-                    .summary(response)
-                    .summaryType("explain")
-                    .build();
-
-        } catch (Exception e) {
-            log.error("Error generating event explanation: {}", e.getMessage(), e);
-            return AiSummaryResponse.builder()
-                    .summary("Event ID 설명 생성 중 오류가 발생했습니다.")
-                    .summaryType("explain")
-                    .errorMessage(e.getMessage())
-                    .build();
-        }
+                        .build())
+                .switchIfEmpty(Mono.fromSupplier(() -> AiSummaryResponse.builder()
+                        .summary(explainNotFoundMessage(eventId))
+                        .summaryType("explain")
+                        .build()))
+                .onErrorResume(e -> !(e instanceof RejectedExecutionException), e -> {
+                    log.error("Error generating event explanation: {}", e.getMessage(), e);
+                    return Mono.just(AiSummaryResponse.builder()
+                            .summary("Event ID 설명 생성 중 오류가 발생했습니다.")
+                            .summaryType("explain")
+                            .errorMessage(e.getMessage())
+                            .build());
+                });
     }
 
     /**
-     * 이벤트 리스트를 요약 가능한 텍스트로 변환
+     * explainEventId 의 스트리밍 버전 (token 조각 → done)
      */
-    private String buildEventSummary(List<Event> events) {
-        if (events.isEmpty()) {
-            return "이벤트 없음";
-        }
+    public Flux<AiStreamEvent> explainEventIdStream(Long eventId) {
+        return explainPrompt(eventId)
+                .flatMapMany(prompt -> stream(EXPLAIN_PROMPT_VERSION, prompt))
+                .map(AiSummaryService::tokenEvent)
+                .switchIfEmpty(Mono.fromSupplier(() -> tokenEvent(explainNotFoundMessage(eventId))))
+                .concatWith(Mono.just(AiStreamEvent.builder().type("done").summaryType("explain").build()))
+                .onErrorResume(e -> Flux.just(errorEvent("Error generating event explanation stream", "explain", e)));
+    }
+
+    private static String explainNotFoundMessage(Long eventId) {
+        return "Event ID " + eventId + "에 대한 이벤트를 찾을 수 없습니다.";
+    }
+
+    /** Event ID 설명 프롬프트. 해당 Event ID 이벤트가 없으면 empty */
+    private Mono<Prompt> explainPrompt(Long eventId) {
+        return Mono.fromCallable(() -> eventRepository.findByEventId(eventId,
+                        org.springframework.data.domain.PageRequest.of(0, 5)).getContent())
+                .subscribeOn(jdbcScheduler)
+                .filter(events -> !events.isEmpty())
+                .map(events -> {
+                    Event sampleEvent = events.get(0);
+                    String eventDescription = String.format(
+                            "Event ID: %d\nLevel: %s\nProvider: %s\nMessage: %s\nComputer: %s",
+                            sampleEvent.getEventId(),
+                            sampleEvent.getLevel(),
+                            sampleEvent.getProvider() != null ? sampleEvent.getProvider() : "N/A",
+                            sampleEvent.getMessage() != null ? sampleEvent.getMessage() : "N/A",
+                            sampleEvent.getComputer() != null ? sampleEvent.getComputer() : "N/A"
+                    );
+
+                    PromptTemplate promptTemplate = new PromptTemplate("""
+                        다음은 Windows 이벤트 로그의 Event ID {eventId}에 대한 정보입니다.
+                        비전문가도 이해할 수 있도록 이 이벤트를 간단하고 명확하게 설명해주세요.
+                        
+                        설명 시 다음 사항을 포함해주세요:
+                        1. 이 이벤트가 무엇인지
+                        2. 어떤 상황에서 발생하는지
+                        3. 주의가 필요한지 (중요도)
+                        4. 일반적인 원인 (있는 경우)
+                        
+                        이벤트 정보:
+                        {eventInfo}
+                        
+                        한국어로 쉽게 설명해주세요.
+                        """);
 
-        StringBuilder summary = new StringBuilder();
-        summary.append(String.format("총 이벤트 개수: %d\n\n", events.size()));
-
-        // Event ID별 그룹화
-        Map<Long, Long> eventIdCounts = events.stream()
-                .collect(Collectors.groupingBy(Event::getEventId, Collectors.counting()));
-
-        summary.append("Event ID별 발생 빈도:\n");
-        eventIdCounts.entrySet().stream()
-                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
-                .limit(10)
-                .forEach(entry -> 
-                    summary.append(String.format("  Event ID %d: %d회\n", entry.getKey(), entry.getValue()))
-                );
-
-        // Level별 통계
-        Map<EventLevel, Long> levelCounts = events.stream()
-                .collect(Collectors.groupingBy(Event::getLevel, Collectors.counting()));
-
-        summary.append("\nLevel별 통계:\n");
-        levelCounts.forEach((level, count) -> 
-            summary.append(String.format("  %s: %d개\n", level, count))
-        );
-
-        // 샘플 이벤트 (최대 5개)
-        summary.append("\n샘플 이벤트:\n");
-        events.stream().limit(5).forEach(event -> {
-            summary.append(String.format(
-                    "  Event ID %d [%s]: %s\n",
-                    event.getEventId(),
-                    event.getLevel(),
-                    event.getMessage() != null && event.getMessage().length() > 100
-                            ? event.getMessage().substring(0, 100) + "..."
-                            : event.getMessage() != null ? event.getMessage() : "N/A"
-            ));
-        });
-
-        return summary.toString();
+                    return promptTemplate.create(Map.of(
+                            "eventId", eventId.toString(),
+                            "eventInfo", eventDescription
+                    ));
+                });
     }
 }
@@ -1,7 +1,7 @@
 package com.evlo.service;
 
+import com.evlo.dto.EventRowResponse;
 import com.evlo.dto.EventSearchRequest;
-import com.evlo.entity.Event;
 import com.evlo.entity.enums.EventLevel;
 import com.evlo.entity.enums.LogChannel;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -80,7 +80,7 @@ public class CacheService {
     /**
      * 검색 결과 캐시 저장 (sessionId 있으면 세션별 키 사용)
      */
-    public Mono<Boolean> cacheSearchResult(EventSearchRequest searchRequest, Pageable pageable, Page<Event> result, String sessionId) {
+    public Mono<Boolean> cacheSearchResult(EventSearchRequest searchRequest, Pageable pageable, Page<EventRowResponse> result, String sessionId) {
         String cacheKey = generateCacheKey(searchRequest, pageable, sessionId);
         
         try {
@@ -101,7 +101,7 @@ public class CacheService {
     /**
      * 검색 결과 캐시 조회
      */
-    public Mono<Page<Event>> getCachedSearchResult(EventSearchRequest searchRequest, Pageable pageable, String sessionId) {
+    public Mono<Page<EventRowResponse>> getCachedSearchResult(EventSearchRequest searchRequest, Pageable pageable, String sessionId) {
         String cacheKey = generateCacheKey(searchRequest, pageable, sessionId);
         
         return redisTemplate.opsForValue()
@@ -109,7 +109,7 @@ public class CacheService {
                 .flatMap(jsonValue -> {
                     try {
                         @SuppressWarnings("unchecked")
-                        Page<Event> result = objectMapper.readValue(jsonValue, Page.class);
+                        Page<EventRowResponse> result = objectMapper.readValue(jsonValue, Page.class);
                         log.debug("Retrieved cached search result: {}", cacheKey);
                         return Mono.just(result);
                     } catch (JsonProcessingException e) {
@@ -0,0 +1,201 @@
+package com.evlo.service;
+
+import com.evlo.dto.CompareResponse;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.SketchType;
+import com.evlo.repository.EventRollupRepository;
+import com.evlo.repository.LogFileRepository;
+import com.evlo.support.SpaceSavingSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 두 파일 또는 두 시간 구간의 eventId / level / provider 분포 차이.
+ * 업로드 시 기록한 시간 단위 집계(event_rollups)와 파일별 스케치만 읽으므로 파일 크기와 무관하게 응답.
+ * 시간 구간은 시간 단위 집계 경계로 맞춘다 (from 내림, to 올림).
+ */
+@Service
+@RequiredArgsConstructor
+public class CompareService {
+
+    private final EventRollupRepository eventRollupRepository;
+    private final LogFileRepository logFileRepository;
+    private final SketchService sketchService;
+
+    public CompareResponse compareFiles(String sessionId, Long leftFileId, Long rightFileId, int limit) {
+        List<Long> fileIds = logFileRepository.findCompletedIdsBySessionId(sessionId);
+        if (!fileIds.contains(leftFileId) || !fileIds.contains(rightFileId)) {
+            throw new IllegalArgumentException("Log file not found in session");
+        }
+
+        Aggregate left = Aggregate.of(eventRollupRepository.findEventIdLevelCountsByLogFileId(leftFileId));
+        Aggregate right = Aggregate.of(eventRollupRepository.findEventIdLevelCountsByLogFileId(rightFileId));
+        double leftHours = left.spanHours();
+        double rightHours = right.spanHours();
+
+        Map<String, Long> leftProviders = providerCounts(leftFileId);
+        Map<String, Long> rightProviders = providerCounts(rightFileId);
+
+        return build(left, right, leftHours, rightHours, limit)
+                .left(side(left, leftHours).logFileId(leftFileId).from(left.firstHour).to(left.endExclusive())
+                        .distinctComputers(sketchService.fileCardinality(leftFileId, SketchType.COMPUTER_HLL))
+                        .build())
+                .right(side(right, rightHours).logFileId(rightFileId).from(right.firstHour).to(right.endExclusive())
+                        .distinctComputers(sketchService.fileCardinality(rightFileId, SketchType.COMPUTER_HLL))
+                        .build())
+                .providers(deltas(leftProviders, rightProviders, leftHours, rightHours, limit))
+                .build();
+    }
+
+    public CompareResponse compareRanges(String sessionId,
+                                         LocalDateTime leftFrom, LocalDateTime leftTo,
+                                         LocalDateTime rightFrom, LocalDateTime rightTo, int limit) {
+        LocalDateTime[] leftRange = hourRange(leftFrom, leftTo);
+        LocalDateTime[] rightRange = hourRange(rightFrom, rightTo);
+
+        Aggregate left = Aggregate.of(eventRollupRepository.findEventIdLevelCountsBySessionId(
+                sessionId, leftRange[0], leftRange[1]));
+        Aggregate right = Aggregate.of(eventRollupRepository.findEventIdLevelCountsBySessionId(
+                sessionId, rightRange[0], rightRange[1]));
+        double leftHours = Duration.between(leftRange[0], leftRange[1]).toHours();
+        double rightHours = Duration.between(rightRange[0], rightRange[1]).toHours();
+
+        return build(left, right, leftHours, rightHours, limit)
+                .left(side(left, leftHours).from(leftRange[0]).to(leftRange[1]).build())
+                .right(side(right, rightHours).from(rightRange[0]).to(rightRange[1]).build())
+                .providers(List.of())
+                .build();
+    }
+
+    private static CompareResponse.CompareResponseBuilder build(Aggregate left, Aggregate right,
+                                                                double leftHours, double rightHours, int limit) {
+        Comparator<Map.Entry<Long, Long>> byCountDesc = Map.Entry.<Long, Long>comparingByValue().reversed();
+        return CompareResponse.builder()
+                .eventIds(deltas(stringKeys(left.eventIds), stringKeys(right.eventIds), leftHours, rightHours, limit))
+                .levels(deltas(stringKeys(left.levels), stringKeys(right.levels), leftHours, rightHours, Integer.MAX_VALUE))
+                .newEventIds(right.eventIds.entrySet().stream()
+                        .filter(e -> !left.eventIds.containsKey(e.getKey()))
+                        .sorted(byCountDesc)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList()))
+                .goneEventIds(left.eventIds.entrySet().stream()
+                        .filter(e -> !right.eventIds.containsKey(e.getKey()))
+                        .sorted(byCountDesc)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList()));
+    }
+
+    private static CompareResponse.Side.SideBuilder side(Aggregate aggregate, double hours) {
+        return CompareResponse.Side.builder()
+                .total(aggregate.total)
+                .hours(hours)
+                .ratePerHour(rate(aggregate.total, hours));
+    }
+
+    /** 시간당 건수 변화가 큰 순 */
+    private static List<CompareResponse.Delta> deltas(Map<String, Long> left, Map<String, Long> right,
+                                                      double leftHours, double rightHours, int limit) {
+        Set<String> keys = new HashSet<>(left.keySet());
+        keys.addAll(right.keySet());
+        return keys.stream()
+                .map(key -> {
+                    long leftCount = left.getOrDefault(key, 0L);
+                    long rightCount = right.getOrDefault(key, 0L);
+                    double leftRate = rate(leftCount, leftHours);
+                    double rightRate = rate(rightCount, rightHours);
+                    return CompareResponse.Delta.builder()
+                            .value(key)
+                            .leftCount(leftCount)
+                            .rightCount(rightCount)
+                            .delta(rightCount - leftCount)
+                            .leftRate(leftRate)
+                            .rightRate(rightRate)
+                            .rateRatio(leftRate > 0 ? rightRate / leftRate : null)
+                            .build();
+                })
+                .sorted(Comparator.comparingDouble((CompareResponse.Delta d) -> Math.abs(d.getRightRate() - d.getLeftRate()))
+                        .reversed()
+                        .thenComparing(CompareResponse.Delta::getValue))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Long> providerCounts(Long logFileId) {
+        Map<String, Long> counts = new HashMap<>();
+        for (SpaceSavingSketch.Item item : sketchService.fileTopK(logFileId, SketchType.PROVIDER_TOP_K)) {
+            counts.put(item.value(), item.count());
+        }
+        return counts;
+    }
+
+    private static <K> Map<String, Long> stringKeys(Map<K, Long> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((key, count) -> result.put(String.valueOf(key), count));
+        return result;
+    }
+
+    private static double rate(long count, double hours) {
+        return hours > 0 ? count / hours : 0.0;
+    }
+
+    private static LocalDateTime[] hourRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Each time range needs from < to");
+        }
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        if (end.isBefore(to)) {
+            end = end.plusHours(1);
+        }
+        return new LocalDateTime[]{start, end};
+    }
+
+    /** 한쪽 집계: eventId / level 별 건수와 시간 범위 */
+    private static final class Aggregate {
+        private final Map<Long, Long> eventIds = new HashMap<>();
+        private final Map<EventLevel, Long> levels = new LinkedHashMap<>();
+        private long total;
+        private LocalDateTime firstHour;
+        private LocalDateTime lastHour;
+
+        static Aggregate of(List<Object[]> rows) {
+            Aggregate aggregate = new Aggregate();
+            for (Object[] row : rows) {
+                long count = ((Number) row[2]).longValue();
+                aggregate.eventIds.merge((Long) row[0], count, Long::sum);
+                aggregate.levels.merge((EventLevel) row[1], count, Long::sum);
+                aggregate.total += count;
+                LocalDateTime first = (LocalDateTime) row[3];
+                LocalDateTime last = (LocalDateTime) row[4];
+                if (aggregate.firstHour == null || first.isBefore(aggregate.firstHour)) {
+                    aggregate.firstHour = first;
+                }
+                if (aggregate.lastHour == null || last.isAfter(aggregate.lastHour)) {
+                    aggregate.lastHour = last;
+                }
+            }
+            return aggregate;
+        }
+
+        LocalDateTime endExclusive() {
+            return lastHour != null ? lastHour.plusHours(1) : null;
+        }
+
+        /** 파일이 걸친 시간 수 (시간 단위 버킷 기준) */
+        double spanHours() {
+            return firstHour != null ? Duration.between(firstHour, lastHour).toHours() + 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.evlo.service;
+
+import com.evlo.config.CorrelationProperties;
+import com.evlo.correlation.CorrelationRule;
+import com.evlo.correlation.CorrelationRuleParser;
+import com.evlo.correlation.SequenceMatch;
+import com.evlo.correlation.SequenceMatcher;
+import com.evlo.dto.CorrelationMatchResponse;
+import com.evlo.dto.CorrelationResponse;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.LogFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 세션 이벤트를 시간 순으로 한 번 스트리밍하며 순서 패턴 규칙(예: 4625 다수 후 같은 computer 의 4624)을 매칭
+ */
+@Slf4j
+@Service
+public class CorrelationService {
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final EventRepository eventRepository;
+    private final LogFileRepository logFileRepository;
+    private final CorrelationProperties properties;
+    private final List<CorrelationRule> configuredRules;
+
+    public CorrelationService(EventRepository eventRepository,
+                              LogFileRepository logFileRepository,
+                              CorrelationProperties properties) {
+        this.eventRepository = eventRepository;
+        this.logFileRepository = logFileRepository;
+        this.properties = properties;
+        // 설정 규칙은 기동 시 한 번 파싱 (잘못된 규칙은 기동 실패)
+        this.configuredRules = properties.getRules().stream()
+                .map(rule -> CorrelationRuleParser.parse(rule.getName(), rule.getExpression()))
+                .toList();
+    }
+
+    public List<CorrelationRule> getConfiguredRules() {
+        return configuredRules;
+    }
+
+    /**
+     * expression 이 있으면 해당 규칙만, 없으면 설정된 규칙 전체를 적용.
+     * 매치 수는 max-matches 로 제한: 한 행에서 여러 규칙이 동시에 매치되어도 한도를 넘지 않으며,
+     * 한도를 넘는 매치가 나오면 스캔을 멈추고 truncated 로 표시
+     */
+    @Transactional(readOnly = true)
+    public CorrelationResponse correlate(String sessionId, String expression,
+                                         LocalDateTime startTime, LocalDateTime endTime) {
+        List<CorrelationRule> rules = expression != null && !expression.isBlank()
+                ? List.of(CorrelationRuleParser.parse("custom", expression))
+                : configuredRules;
+        int maxMatches = properties.getMaxMatches();
+        List<Long> fileIds = logFileRepository.findCompletedIdsBySessionId(sessionId);
+        if (rules.isEmpty() || fileIds.isEmpty()) {
+            return response(Collections.emptyList(), false, maxMatches, 0);
+        }
+
+        List<SequenceMatcher> matchers = new ArrayList<>(rules.size());
+        Set<Long> eventIds = new HashSet<>();
+        for (CorrelationRule rule : rules) {
+            matchers.add(new SequenceMatcher(rule, properties.getMaxEventsPerMatch()));
+            rule.steps().forEach(step -> eventIds.addAll(step.eventIds()));
+        }
+
+        long started = System.currentTimeMillis();
+        long scanned = 0;
+        boolean truncated = false;
+        List<CorrelationMatchResponse> matches = new ArrayList<>();
+        try (Stream<Object[]> rows = eventRepository.streamSequenceColumns(fileIds, eventIds,
+                startTime != null ? startTime : MIN_TIME, endTime != null ? endTime : MAX_TIME)) {
+            var iterator = rows.iterator();
+            scan:
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                scanned++;
+                for (SequenceMatcher matcher : matchers) {
+                    SequenceMatch match = matcher.accept((Long) row[0], (Long) row[1], (LocalDateTime) row[2],
+                            (String) row[3], (String) row[4]);
+                    if (match == null) {
+                        continue;
+                    }
+                    if (matches.size() >= maxMatches) {
+                        truncated = true;
+                        break scan;
+                    }
+                    matches.add(toResponse(match));
+                }
+            }
+        }
+
+        log.debug("Correlation: {} rules, {} events scanned, {} matches{} in {} ms",
+                rules.size(), scanned, matches.size(), truncated ? " (truncated)" : "",
+                System.currentTimeMillis() - started);
+        return response(matches, truncated, maxMatches, scanned);
+    }
+
+    private static CorrelationResponse response(List<CorrelationMatchResponse> matches, boolean truncated,
+                                                int maxMatches, long scanned) {
+        return CorrelationResponse.builder()
+                .matches(matches)
+                .truncated(truncated)
+                .maxMatches(maxMatches)
+                .scannedEvents(scanned)
+                .build();
+    }
+
+    private static CorrelationMatchResponse toResponse(SequenceMatch match) {
+        return CorrelationMatchResponse.builder()
+                .rule(match.ruleName())
+                .key(match.key())
+                .startTime(match.startTime())
+                .endTime(match.endTime())
+                .eventCount(match.eventCount())
+                .ids(match.eventIds())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.evlo.service;
+
+import com.evlo.entity.Event;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 이벤트 청크를 CSV DataBuffer 로 인코딩. 내부 StringBuilder 를 청크마다 재사용하므로
+ * 내보내기 한 건당 하나씩 생성하고 thread-safe 하지 않음.
+ */
+public class CsvEventEncoder {
+
+    static final String HEADER = "EventID,Level,TimeCreated,Provider,Computer,Message\n";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final StringBuilder line = new StringBuilder(8 * 1024);
+
+    public DataBuffer header(DataBufferFactory bufferFactory) {
+        return bufferFactory.wrap(HEADER.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public DataBuffer encode(List<Event> events, DataBufferFactory bufferFactory) {
+        line.setLength(0);
+        for (Event event : events) {
+            appendEscaped(String.valueOf(event.getEventId())).append(',');
+            appendEscaped(event.getLevel().name()).append(',');
+            appendEscaped(event.getTimeCreated() != null ? event.getTimeCreated().format(TIME_FORMAT) : "").append(',');
+            appendEscaped(event.getProvider()).append(',');
+            appendEscaped(event.getComputer()).append(',');
+            appendEscaped(event.getMessage()).append('\n');
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(line.length() + line.length() / 2);
+        buffer.write(line, StandardCharsets.UTF_8);
+        // 한 청크가 커서 늘어난 경우 다음 청크에 큰 배열을 계속 붙잡지 않도록 축소
+        if (line.capacity() > 1024 * 1024) {
+            line.setLength(0);
+            line.trimToSize();
+        }
+        return buffer;
+    }
+
+    private StringBuilder appendEscaped(String value) {
+        if (value == null) {
+            return line;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0;
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+}
@@ -0,0 +1,68 @@
+package com.evlo.service;
+
+import com.evlo.detection.DetectionRule;
+import com.evlo.detection.DetectionRuleCompiler;
+import com.evlo.detection.DetectionRuleSet;
+import com.evlo.entity.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 탐지 규칙 YAML 을 기동 시 로드/컴파일하고 업로드 중 이벤트마다 평가.
+ * 규칙 파일 형식은 {@link DetectionRuleCompiler} 참고.
+ */
+@Slf4j
+@Component
+public class DetectionEngine {
+
+    private final DetectionRuleSet ruleSet;
+
+    public DetectionEngine(@Value("${app.detection.rules-location:classpath*:detection-rules/*.yml}") String rulesLocation)
+            throws IOException {
+        this.ruleSet = DetectionRuleCompiler.compile(loadDefinitions(rulesLocation));
+        log.info("Loaded {} detection rules from {}", ruleSet.size(), rulesLocation);
+    }
+
+    public int ruleCount() {
+        return ruleSet.size();
+    }
+
+    public List<DetectionRule> evaluate(Event event) {
+        return ruleSet.evaluate(event);
+    }
+
+    /**
+     * 파일마다 최상위가 규칙 목록이거나 rules: 키 아래 목록
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> loadDefinitions(String location) throws IOException {
+        List<Map<String, Object>> definitions = new ArrayList<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location);
+        for (Resource resource : resources) {
+            try (InputStream in = resource.getInputStream()) {
+                Object root = new Yaml().load(in);
+                Object rules = root instanceof Map<?, ?> map ? map.get("rules") : root;
+                if (!(rules instanceof List<?> list)) {
+                    log.warn("Detection rule file has no rule list: {}", resource.getDescription());
+                    continue;
+                }
+                for (Object rule : list) {
+                    if (rule instanceof Map<?, ?>) {
+                        definitions.add((Map<String, Object>) rule);
+                    }
+                }
+            }
+        }
+        return definitions;
+    }
+}
@@ -0,0 +1,78 @@
+package com.evlo.service;
+
+import com.evlo.entity.Event;
+import com.evlo.entity.EventMinuteCount;
+import com.evlo.entity.EventRollup;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업로드 중 이벤트를 (hour, eventId, level, channel) 및 (UTC epoch minute, eventId) 단위로 메모리 집계.
+ * 시간 단위 집계에는 처음/마지막 events.id 도 기록하므로 persist 로 id 가 정해진 뒤 add 해야 함.
+ * 파일당 한 번만 사용하며 thread-safe 하지 않음.
+ */
+public class EventRollupAccumulator {
+
+    private record RollupKey(LocalDateTime bucketHour, long eventId, EventLevel level, LogChannel channel) {
+    }
+
+    private record MinuteKey(long bucketMinute, long eventId) {
+    }
+
+    private final Map<RollupKey, long[]> counts = new HashMap<>();
+    private final Map<MinuteKey, long[]> minuteCounts = new HashMap<>();
+
+    public void add(Event event) {
+        RollupKey key = new RollupKey(
+                event.getTimeCreated().truncatedTo(ChronoUnit.HOURS),
+                event.getEventId(),
+                event.getLevel(),
+                event.getChannel());
+        // {건수, 처음 id, 마지막 id}
+        long[] rollup = counts.computeIfAbsent(key, k -> new long[]{0, Long.MAX_VALUE, Long.MIN_VALUE});
+        rollup[0]++;
+        if (event.getId() != null) {
+            rollup[1] = Math.min(rollup[1], event.getId());
+            rollup[2] = Math.max(rollup[2], event.getId());
+        }
+
+        // timeCreated는 UTC 기준 LocalDateTime
+        long epochMinute = Math.floorDiv(event.getTimeCreated().toEpochSecond(ZoneOffset.UTC), 60);
+        minuteCounts.computeIfAbsent(new MinuteKey(epochMinute, event.getEventId()), k -> new long[1])[0]++;
+    }
+
+    public List<EventRollup> toRollups(LogFile logFile) {
+        List<EventRollup> rollups = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rollups.add(EventRollup.builder()
+                .logFile(logFile)
+                .bucketHour(key.bucketHour())
+                .eventId(key.eventId())
+                .level(key.level())
+                .channel(key.channel())
+                .eventCount(count[0])
+                .firstEventId(count[1] != Long.MAX_VALUE ? count[1] : null)
+                .lastEventId(count[2] != Long.MIN_VALUE ? count[2] : null)
+                .build()));
+        return rollups;
+    }
+
+    public List<EventMinuteCount> toMinuteCounts(LogFile logFile) {
+        List<EventMinuteCount> result = new ArrayList<>(minuteCounts.size());
+        minuteCounts.forEach((key, count) -> result.add(EventMinuteCount.builder()
+                .logFile(logFile)
+                .bucketMinute(key.bucketMinute())
+                .eventId(key.eventId())
+                .eventCount(count[0])
+                .build()));
+        return result;
+    }
+}
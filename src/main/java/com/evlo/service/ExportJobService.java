@@ -0,0 +1,354 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.ExportFormat;
+import com.evlo.dto.ExportJobResponse;
+import com.evlo.repository.LogFileRepository;
+import com.evlo.support.ParquetWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * 비동기 내보내기 작업 (제출 → 상태 조회 → 다운로드).
+ * 결과물은 (형식, 세션, 세션 데이터 버전, 검색 조건) 해시를 키로 디스크에 저장해 같은 요청끼리 재사용하고,
+ * 같은 키의 진행 중인 작업은 새로 만들지 않고 공유. 작업은 exportJobScheduler(제한된 워커)에서 실행.
+ * 디스크 결과물은 TTL 과 총 용량 한도로 정리 (용량 초과 시 마지막 접근이 오래된 것부터).
+ * 정리는 작업이 끝날 때마다, 그리고 시작 시 한 번과 evict-interval-minutes 주기로 실행 (작업이 없어도 TTL 이 지켜지도록).
+ * 작업 상태는 메모리에만 두므로 재시작 후에는 다시 제출하면 디스크 결과물이 바로 DONE 으로 연결됨.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ExportService exportService;
+    private final LogFileRepository logFileRepository;
+    private final Scheduler exportJobScheduler;
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Duration evictInterval;
+
+    /** 결과물 키 → 작업 */
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private Disposable evictions;
+
+    public ExportJobService(
+            ExportService exportService,
+            LogFileRepository logFileRepository,
+            @Qualifier("exportJobScheduler") Scheduler exportJobScheduler,
+            @Value("${app.export.jobs.dir:./temp/exports}") String directory,
+            @Value("${app.export.jobs.max-size-mb:2048}") long maxSizeMb,
+            @Value("${app.export.jobs.ttl-hours:24}") long ttlHours,
+            @Value("${app.export.jobs.evict-interval-minutes:10}") long evictIntervalMinutes) {
+        this.exportService = exportService;
+        this.logFileRepository = logFileRepository;
+        this.exportJobScheduler = exportJobScheduler;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.evictInterval = Duration.ofMinutes(evictIntervalMinutes);
+    }
+
+    /** 시작 시 한 번 (재시작 전에 남은 결과물·임시 파일) + 주기적으로 정리. 디스크 I/O 이므로 boundedElastic 에서 실행 */
+    @PostConstruct
+    public void startEviction() {
+        if (evictInterval.isZero() || evictInterval.isNegative()) {
+            return;
+        }
+        evictions = Flux.interval(Duration.ZERO, evictInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::evict)
+                        .onErrorResume(e -> {
+                            log.warn("Export artifact eviction failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopEviction() {
+        if (evictions != null) {
+            evictions.dispose();
+        }
+    }
+
+    /**
+     * 작업 제출 (blocking: 세션 데이터 버전 조회). 같은 결과물이 디스크에 있으면 즉시 DONE,
+     * 같은 키의 작업이 대기/진행 중이면 그 작업을 반환. 워커 대기열이 가득 차면 RejectedExecutionException(503)
+     */
+    public ExportJobResponse submit(ExportFormat format, EventSearchRequest request, String sessionId, Integer maxRows) {
+        String key = artifactKey(format, request, sessionId, maxRows);
+        ExportJob[] created = new ExportJob[1];
+        ExportJob job = jobs.compute(key, (k, existing) -> {
+            if (existing != null && existing.status != ExportJobResponse.Status.FAILED
+                    && (existing.status != ExportJobResponse.Status.DONE || Files.exists(artifactPath(existing)))) {
+                return existing;
+            }
+            created[0] = new ExportJob(k, format, sessionId);
+            return created[0];
+        });
+        if (created[0] == null) {
+            return toResponse(job);
+        }
+
+        Path artifact = artifactPath(job);
+        if (Files.exists(artifact)) {
+            touch(artifact);
+            job.finish(null, size(artifact), true);
+            return toResponse(job);
+        }
+        try {
+            exportJobScheduler.schedule(() -> run(job, request, maxRows));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(key, job);
+            throw e;
+        }
+        return toResponse(job);
+    }
+
+    /** 세션이 제출한 작업 조회. 결과물이 정리(evict)된 DONE 작업은 없는 것으로 처리 */
+    public Optional<ExportJobResponse> find(String jobId, String sessionId) {
+        return findJob(jobId, sessionId).map(this::toResponse);
+    }
+
+    /** 완료된 작업의 결과물 경로 (접근 시각 갱신). 없거나 미완료면 empty */
+    public Optional<Path> artifact(String jobId, String sessionId) {
+        return findJob(jobId, sessionId)
+                .filter(job -> job.status == ExportJobResponse.Status.DONE)
+                .map(job -> {
+                    Path artifact = artifactPath(job);
+                    touch(artifact);
+                    return artifact;
+                });
+    }
+
+    private Optional<ExportJob> findJob(String jobId, String sessionId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !Objects.equals(job.sessionId, sessionId)) {
+            return Optional.empty();
+        }
+        if (job.status == ExportJobResponse.Status.DONE && !Files.exists(artifactPath(job))) {
+            jobs.remove(jobId, job);
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    private void run(ExportJob job, EventSearchRequest request, Integer maxRows) {
+        job.status = ExportJobResponse.Status.RUNNING;
+        long started = System.nanoTime();
+        Path target = artifactPath(job);
+        Path temp = directory.resolve(job.id + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                rows = render(job, request, maxRows, out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.finish(rows, size(target), false);
+            log.info("Export job {} ({}) done: {} rows, {} bytes in {} ms",
+                    job.id, job.format, rows, job.bytes, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Export job {} ({}) failed: {}", job.id, job.format, e.getMessage(), e);
+            job.fail(e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 다음 정리 때 TTL 로 삭제
+            }
+        } finally {
+            evict();
+        }
+    }
+
+    private long render(ExportJob job, EventSearchRequest request, Integer maxRows, OutputStream out) throws IOException {
+        return switch (job.format) {
+            case CSV -> exportService.writeCsv(request, job.sessionId, maxRows, out);
+            case JSON -> exportService.writeJson(request, job.sessionId, maxRows, false, out);
+            case NDJSON -> exportService.writeJson(request, job.sessionId, maxRows, true, out);
+            case PDF -> exportService.writePdf(request, job.sessionId, maxRows, out);
+            case PARQUET -> exportService.writeParquet(request, job.sessionId, maxRows, ParquetWriter.Codec.GZIP, out);
+        };
+    }
+
+    /**
+     * TTL 이 지난 결과물과 임시 파일을 지우고, 총 용량이 한도를 넘으면 마지막 접근이 오래된 결과물부터 삭제.
+     * 끝난 지 TTL 이 지난 작업 상태도 함께 정리
+     */
+    synchronized void evict() {
+        LocalDateTime jobExpiry = LocalDateTime.now().minus(ttl);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(jobExpiry));
+        Instant expiry = Instant.now().minus(ttl);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<StoredFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    files.add(new StoredFile(path, attributes.lastModifiedTime().toInstant(), attributes.size()));
+                } catch (IOException e) {
+                    log.debug("Skip export artifact {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to list export directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparing(StoredFile::lastModified));
+        long total = files.stream()
+                .filter(file -> !file.isTemp())
+                .mapToLong(StoredFile::size)
+                .sum();
+        for (StoredFile file : files) {
+            boolean expired = file.lastModified().isBefore(expiry);
+            if (!expired && (file.isTemp() || total <= maxBytes)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file.path());
+                if (!file.isTemp()) {
+                    total -= file.size();
+                }
+                log.debug("Evicted export artifact {} ({} bytes, expired={})", file.path().getFileName(), file.size(), expired);
+            } catch (IOException e) {
+                log.warn("Failed to evict export artifact {}: {}", file.path(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 결과물 키: 형식 + 세션 + 데이터 버전(세션의 파싱 완료 파일 목록, logFileId 지정 시 해당 파일 상태) + 검색 조건
+     */
+    private String artifactKey(ExportFormat format, EventSearchRequest request, String sessionId, Integer maxRows) {
+        String dataVersion = request.getLogFileId() != null
+                ? logFileRepository.findById(request.getLogFileId())
+                        .map(file -> file.getId() + ":" + file.getParsingStatus())
+                        .orElse("missing")
+                : sessionId != null ? logFileRepository.findCompletedIdsBySessionId(sessionId).toString() : "";
+        String source = String.join("|", format.name(), String.valueOf(sessionId), dataVersion,
+                String.valueOf(maxRows), request.toString());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path artifactPath(ExportJob job) {
+        return directory.resolve(job.id + "." + job.format.getExtension());
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Failed to touch export artifact {}: {}", path, e.getMessage());
+        }
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        ExportJobResponse.Status status = job.status;
+        return ExportJobResponse.builder()
+                .jobId(job.id)
+                .format(job.format)
+                .status(status)
+                .cached(job.cached)
+                .rows(job.rows)
+                .bytes(job.bytes)
+                .submittedAt(job.submittedAt)
+                .finishedAt(job.finishedAt)
+                .error(job.error)
+                .downloadUrl(status == ExportJobResponse.Status.DONE ? "/api/export/jobs/" + job.id + "/download" : null)
+                .build();
+    }
+
+    private record StoredFile(Path path, Instant lastModified, long size) {
+        boolean isTemp() {
+            return path.getFileName().toString().endsWith(TEMP_SUFFIX);
+        }
+    }
+
+    /** 작업 상태 (워커 스레드가 갱신, 요청 스레드가 조회) */
+    private static final class ExportJob {
+        private final String id;
+        private final ExportFormat format;
+        private final String sessionId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ExportJobResponse.Status status = ExportJobResponse.Status.QUEUED;
+        private volatile boolean cached;
+        private volatile Long rows;
+        private volatile Long bytes;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private ExportJob(String id, ExportFormat format, String sessionId) {
+            this.id = id;
+            this.format = format;
+            this.sessionId = sessionId;
+        }
+
+        void finish(Long rows, long bytes, boolean cached) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.cached = cached;
+            this.finishedAt = LocalDateTime.now();
+            this.status = ExportJobResponse.Status.DONE;
+        }
+
+        void fail(String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = ExportJobResponse.Status.FAILED;
+        }
+    }
+}
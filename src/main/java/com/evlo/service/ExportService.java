@@ -1,30 +1,39 @@
 package com.evlo.service;
 
 import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.FacetResponse;
 import com.evlo.entity.Event;
 import com.evlo.entity.enums.EventLevel;
 import com.evlo.entity.enums.LogChannel;
 import com.evlo.repository.EventRepository;
+import com.evlo.repository.EventSpecifications;
+import com.evlo.support.ParquetWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.awt.Color;
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,17 +42,39 @@ import java.util.stream.Collectors;
 public class ExportService {
 
     private final EventRepository eventRepository;
+    private final FacetService facetService;
+    private final ObjectMapper objectMapper;
 
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /** 스트리밍 내보내기 청크 크기 (쿼리 1회당 행 수) */
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    /** Parquet 행 그룹 크기 (비압축 컬럼 버퍼 기준) */
+    private static final long PARQUET_ROW_GROUP_BYTES = 32L * 1024 * 1024;
+    private static final List<ParquetWriter.Column> PARQUET_COLUMNS = List.of(
+            ParquetWriter.int64("id", false),
+            ParquetWriter.int64("log_file_id", true),
+            ParquetWriter.int64("event_id", false),
+            ParquetWriter.string("level", false, true),
+            ParquetWriter.string("channel", true, true),
+            ParquetWriter.timestampMicros("time_created", true),
+            ParquetWriter.string("provider", true, true),
+            ParquetWriter.string("computer", true, true),
+            ParquetWriter.string("message", true, false));
+
+    /** PDF 표를 문서에 흘려보내는 단위 (행 수) */
+    private static final int PDF_FRAGMENT_ROWS = 200;
+    private static final int SUMMARY_TOP_N = 10;
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("timeCreated", "eventId", "level", "id");
+
     /**
      * 필터 조건 생성
      */
     public EventSearchRequest buildSearchRequest(Integer size,
                                                  String sortBy,
                                                  String sortDir,
-                                                 java.time.LocalDateTime startTime,
-                                                 java.time.LocalDateTime endTime,
+                                                 LocalDateTime startTime,
+                                                 LocalDateTime endTime,
                                                  String[] levels,
                                                  String[] channels,
                                                  Long[] eventIds,
@@ -69,132 +100,273 @@ public class ExportService {
     }
 
     /**
-     * 필터 여부 확인
+     * 필터 조건에 맞는 이벤트를 (sortBy, id) 키셋으로 청크 단위 스캔.
+     * 구독자가 요청할 때마다 청크 하나를 읽으므로(pull) 메모리에는 청크 몇 개만 남고, 청크마다 짧은 쿼리라
+     * 느린 클라이언트가 DB 커넥션을 붙잡지 않음. JDBC 호출이므로 호출 측에서 jdbcScheduler 에 구독해야 함.
+     * maxRows 가 null 이면 전체.
      */
-    private boolean hasFilters(EventSearchRequest searchRequest) {
-        return searchRequest.getStartTime() != null
-                || searchRequest.getEndTime() != null
-                || (searchRequest.getLevels() != null && !searchRequest.getLevels().isEmpty())
-                || (searchRequest.getChannels() != null && !searchRequest.getChannels().isEmpty())
-                || (searchRequest.getEventIds() != null && !searchRequest.getEventIds().isEmpty())
-                || (searchRequest.getKeyword() != null && !searchRequest.getKeyword().isEmpty());
+    public Flux<List<Event>> scanEvents(EventSearchRequest searchRequest, String sessionId, Integer maxRows) {
+        if (searchRequest.getLogFileId() == null && (sessionId == null || sessionId.isBlank())) {
+            return Flux.empty();
+        }
+        String sortBy = searchRequest.getSortBy();
+        if (!KEYSET_SORT_PROPERTIES.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + sortBy);
+        }
+        boolean ascending = searchRequest.getSortDir().equalsIgnoreCase("ASC");
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = sortBy.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+        Specification<Event> filter = EventSpecifications.matches(searchRequest, sessionId);
+        long limit = maxRows != null ? maxRows : Long.MAX_VALUE;
+
+        return Flux.generate(ScanState::new, (state, sink) -> {
+            int chunkSize = (int) Math.min(EXPORT_CHUNK_SIZE, limit - state.emitted);
+            if (state.done || chunkSize <= 0) {
+                sink.complete();
+                return state;
+            }
+            Specification<Event> spec = state.lastId == null
+                    ? filter
+                    : filter.and(EventSpecifications.after(sortBy, ascending, state.lastValue, state.lastId));
+            List<Event> chunk = eventRepository.findSlice(spec, sort, chunkSize);
+            if (chunk.isEmpty()) {
+                sink.complete();
+                return state;
+            }
+            Event last = chunk.get(chunk.size() - 1);
+            state.lastValue = sortValue(last, sortBy);
+            state.lastId = last.getId();
+            state.emitted += chunk.size();
+            state.done = chunk.size() < chunkSize;
+            sink.next(chunk);
+            return state;
+        });
+    }
+
+    private static Object sortValue(Event event, String sortBy) {
+        return switch (sortBy) {
+            case "eventId" -> event.getEventId();
+            case "level" -> event.getLevel();
+            case "timeCreated" -> event.getTimeCreated();
+            default -> event.getId();
+        };
+    }
+
+    /** 키셋 스캔 진행 상태 */
+    private static final class ScanState {
+        private Object lastValue;
+        private Long lastId;
+        private long emitted;
+        private boolean done;
     }
 
     /**
-     * 필터 조건에 맞는 이벤트 조회 (sessionId 있으면 비회원 세션 범위로만 조회)
+     * CSV 를 out 에 작성 (비동기 내보내기 작업용). blocking 이므로 작업 스케줄러 스레드에서 호출.
+     *
+     * @return 기록한 이벤트 수
      */
-    public List<Event> fetchEvents(EventSearchRequest searchRequest, String sessionId) {
-        Sort sort = searchRequest.getSortDir().equalsIgnoreCase("ASC")
-                ? Sort.by(searchRequest.getSortBy()).ascending()
-                : Sort.by(searchRequest.getSortBy()).descending();
-
-        Pageable pageable = PageRequest.of(searchRequest.getPage(), searchRequest.getSize(), sort);
-
-        Page<Event> eventPage;
-        if (searchRequest.getLogFileId() != null) {
-            eventPage = eventRepository.findByLogFileId(searchRequest.getLogFileId(), pageable);
-        } else if (sessionId == null || sessionId.isBlank()) {
-            eventPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-        } else if (hasFilters(searchRequest)) {
-            eventPage = eventRepository.findByFiltersAndSessionId(
-                    sessionId,
-                    searchRequest.getStartTime(),
-                    searchRequest.getEndTime(),
-                    searchRequest.getLevels(),
-                    searchRequest.getChannels(),
-                    searchRequest.getEventIds(),
-                    searchRequest.getKeyword(),
-                    pageable
-            );
-        } else {
-            eventPage = eventRepository.findByLogFile_SessionId(sessionId, pageable);
+    public long writeCsv(EventSearchRequest searchRequest, String sessionId, Integer maxRows, OutputStream out) throws IOException {
+        CsvEventEncoder encoder = new CsvEventEncoder();
+        DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        copy(encoder.header(bufferFactory), out);
+        long written = 0;
+        for (List<Event> chunk : scanEvents(searchRequest, sessionId, maxRows).toIterable(1)) {
+            copy(encoder.encode(chunk, bufferFactory), out);
+            written += chunk.size();
         }
-
-        return eventPage.getContent();
+        return written;
     }
 
     /**
-     * CSV 생성
+     * JSON 배열 또는 NDJSON 을 out 에 작성 (비동기 내보내기 작업용). blocking 이므로 작업 스케줄러 스레드에서 호출.
+     *
+     * @return 기록한 이벤트 수
      */
-    public byte[] exportCsv(List<Event> events) {
-        String header = "EventID,Level,TimeCreated,Provider,Computer,Message\n";
-        StringBuilder sb = new StringBuilder(header);
-
-        events.forEach(event -> {
-            sb.append(escapeCsv(String.valueOf(event.getEventId()))).append(",");
-            sb.append(escapeCsv(event.getLevel().name())).append(",");
-            sb.append(escapeCsv(event.getTimeCreated() != null ? event.getTimeCreated().format(TIME_FORMAT) : "")).append(",");
-            sb.append(escapeCsv(event.getProvider())).append(",");
-            sb.append(escapeCsv(event.getComputer())).append(",");
-            sb.append(escapeCsv(event.getMessage())).append("\n");
-        });
-
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    public long writeJson(EventSearchRequest searchRequest, String sessionId, Integer maxRows, boolean ndjson,
+                          OutputStream out) throws IOException {
+        JsonEventEncoder encoder = new JsonEventEncoder(objectMapper, ndjson, false);
+        DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        try {
+            copy(encoder.begin(bufferFactory), out);
+            long written = 0;
+            for (List<Event> chunk : scanEvents(searchRequest, sessionId, maxRows).toIterable(1)) {
+                copy(encoder.encode(chunk, bufferFactory), out);
+                written += chunk.size();
+            }
+            copy(encoder.end(bufferFactory), out);
+            return written;
+        } finally {
+            encoder.release();
+        }
     }
 
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
-        }
-        String escaped = value.replace("\"", "\"\"");
-        if (escaped.contains(",") || escaped.contains("\"") || escaped.contains("\n")) {
-            return "\"" + escaped + "\"";
+    private static void copy(DataBuffer buffer, OutputStream out) throws IOException {
+        try (InputStream in = buffer.asInputStream(true)) {
+            in.transferTo(out);
         }
-        return escaped;
     }
 
     /**
-     * JSON 변환은 컨트롤러에서 직접 반환 (Jackson)
+     * Parquet 파일을 out 에 스트리밍으로 작성. level/channel/provider/computer 는 사전 인코딩,
+     * time_created 는 TIMESTAMP(MICROS, UTC) 타입. 키셋 청크를 읽어 행 그룹(PARQUET_ROW_GROUP_BYTES) 단위로 출력하므로
+     * 메모리에는 행 그룹 하나만 남음. blocking 이므로 exportScheduler 스레드에서 호출해야 함.
+     *
+     * @return 기록한 이벤트 수
      */
+    public long writeParquet(EventSearchRequest searchRequest, String sessionId, Integer maxRows,
+                             ParquetWriter.Codec codec, OutputStream out) throws IOException {
+        ParquetWriter writer = new ParquetWriter(out, PARQUET_COLUMNS, codec, PARQUET_ROW_GROUP_BYTES);
+        for (List<Event> chunk : scanEvents(searchRequest, sessionId, maxRows).toIterable(1)) {
+            for (Event event : chunk) {
+                writer.writeLong(0, event.getId());
+                writer.writeLong(1, event.getLogFile() != null ? event.getLogFile().getId() : null);
+                writer.writeLong(2, event.getEventId());
+                writer.writeString(3, event.getLevel().name());
+                writer.writeString(4, event.getChannel() != null ? event.getChannel().name() : null);
+                writer.writeLong(5, event.getTimeCreated() != null ? toEpochMicros(event.getTimeCreated()) : null);
+                writer.writeString(6, event.getProvider());
+                writer.writeString(7, event.getComputer());
+                writer.writeString(8, event.getMessage());
+                writer.endRow();
+            }
+        }
+        writer.finish();
+        return writer.totalRows();
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
 
     /**
-     * PDF 생성
+     * PDF 보고서를 out 에 스트리밍으로 작성.
+     * 이벤트는 키셋 청크로 읽고 PDF_FRAGMENT_ROWS 행마다 미완성 표(setComplete(false)) 조각을 문서에 추가하므로,
+     * 채워진 페이지는 바로 out 으로 나가고 힙에는 표 조각 하나와 청크 하나만 남음.
+     * JDBC 조회와 렌더링 모두 blocking 이므로 exportScheduler 스레드에서 호출해야 함.
+     *
+     * @return 표에 쓴 이벤트 수
      */
-    public byte[] exportPdf(List<Event> events) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            Document document = new Document(PageSize.A4, 36, 36, 54, 36);
-            PdfWriter.getInstance(document, baos);
-            document.open();
-
-            Font titleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
-            Font textFont = new Font(Font.HELVETICA, 10);
-            Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD);
-
-            document.add(new Paragraph("EVLO 분석 보고서", titleFont));
-            document.add(new Paragraph("총 이벤트 개수: " + events.size(), textFont));
-            document.add(new Paragraph(" ", textFont));
-
-            PdfPTable table = new PdfPTable(6);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{2.5f, 2f, 3f, 3f, 3f, 6f});
-
-            addHeaderCell(table, "Event ID", headerFont);
-            addHeaderCell(table, "Level", headerFont);
-            addHeaderCell(table, "Time", headerFont);
-            addHeaderCell(table, "Provider", headerFont);
-            addHeaderCell(table, "Computer", headerFont);
-            addHeaderCell(table, "Message", headerFont);
-
-            for (Event event : events) {
-                table.addCell(new PdfPCell(new Phrase(String.valueOf(event.getEventId()), textFont)));
-                table.addCell(new PdfPCell(new Phrase(event.getLevel().name(), textFont)));
-                table.addCell(new PdfPCell(new Phrase(
-                        event.getTimeCreated() != null ? event.getTimeCreated().format(TIME_FORMAT) : "", textFont)));
-                table.addCell(new PdfPCell(new Phrase(
-                        event.getProvider() != null ? event.getProvider() : "", textFont)));
-                table.addCell(new PdfPCell(new Phrase(
-                        event.getComputer() != null ? event.getComputer() : "", textFont)));
-                table.addCell(new PdfPCell(new Phrase(
-                        event.getMessage() != null ? truncate(event.getMessage(), 500) : "", textFont)));
+    public long writePdf(EventSearchRequest searchRequest, String sessionId, Integer maxRows, OutputStream out) {
+        Document document = new Document(PageSize.A4, 36, 36, 54, 36);
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        Font titleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
+        Font sectionFont = new Font(Font.HELVETICA, 12, Font.BOLD);
+        Font textFont = new Font(Font.HELVETICA, 10);
+        Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD);
+
+        document.add(new Paragraph("EVLO 분석 보고서", titleFont));
+        document.add(new Paragraph(" ", textFont));
+        addSummary(document, searchRequest, sessionId, sectionFont, textFont, headerFont);
+
+        document.add(new Paragraph("이벤트 목록", sectionFont));
+        document.add(new Paragraph(" ", textFont));
+        PdfPTable table = newEventTable(headerFont);
+        long written = 0;
+        int pending = 0;
+        for (List<Event> chunk : scanEvents(searchRequest, sessionId, maxRows).toIterable(1)) {
+            for (Event event : chunk) {
+                addEventRow(table, event, textFont);
+                written++;
+                if (++pending == PDF_FRAGMENT_ROWS) {
+                    // 미완성 표를 추가하면 페이지에 들어간 행은 기록 후 표에서 제거됨
+                    document.add(table);
+                    pending = 0;
+                }
             }
+        }
+        table.setComplete(true);
+        document.add(table);
+        document.add(new Paragraph(" ", textFont));
+        document.add(new Paragraph("출력 이벤트 개수: " + written, textFont));
+        document.close();
+        return written;
+    }
+
+    /**
+     * 요약 섹션: 세션 facet 스냅샷(집계)에서 필터 조건별 레벨/채널/상위 Event ID/Provider 건수.
+     * 비회원 세션이 없으면(logFileId 만 지정) 생략. 스냅샷에는 message 가 없어 keyword 조건은 반영되지 않음
+     */
+    private void addSummary(Document document, EventSearchRequest searchRequest, String sessionId,
+                            Font sectionFont, Font textFont, Font headerFont) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return;
+        }
+        FacetResponse facets = facetService.facets(sessionId, searchRequest);
+        document.add(new Paragraph("요약", sectionFont));
+        document.add(new Paragraph("총 이벤트 개수: " + facets.getTotal()
+                + (searchRequest.getKeyword() != null && !facets.isKeywordApplied() ? " (keyword 조건 제외)" : ""), textFont));
+        document.add(new Paragraph(" ", textFont));
+
+        PdfPTable summary = new PdfPTable(4);
+        summary.setWidthPercentage(100);
+        summary.setWidths(new float[]{3f, 2f, 3f, 2f});
+        addHeaderCell(summary, "Level", headerFont);
+        addHeaderCell(summary, "Count", headerFont);
+        addHeaderCell(summary, "Channel", headerFont);
+        addHeaderCell(summary, "Count", headerFont);
+        List<Map.Entry<String, Long>> levels = List.copyOf(facets.getLevels().entrySet());
+        List<Map.Entry<String, Long>> channels = List.copyOf(facets.getChannels().entrySet());
+        for (int i = 0; i < Math.max(levels.size(), channels.size()); i++) {
+            addCountCells(summary, i < levels.size() ? levels.get(i).getKey() : null, i < levels.size() ? levels.get(i).getValue() : null, textFont);
+            addCountCells(summary, i < channels.size() ? channels.get(i).getKey() : null, i < channels.size() ? channels.get(i).getValue() : null, textFont);
+        }
+        document.add(summary);
+        document.add(new Paragraph(" ", textFont));
 
-            document.add(table);
-            document.close();
-            return baos.toByteArray();
-        } catch (Exception e) {
-            log.error("Error generating PDF: {}", e.getMessage(), e);
-            return new byte[0];
+        PdfPTable top = new PdfPTable(4);
+        top.setWidthPercentage(100);
+        top.setWidths(new float[]{3f, 2f, 3f, 2f});
+        addHeaderCell(top, "Event ID", headerFont);
+        addHeaderCell(top, "Count", headerFont);
+        addHeaderCell(top, "Provider", headerFont);
+        addHeaderCell(top, "Count", headerFont);
+        List<FacetResponse.FacetCount> eventIds = facets.getEventIds();
+        List<FacetResponse.FacetCount> providers = facets.getProviders();
+        int rows = Math.min(SUMMARY_TOP_N, Math.max(eventIds.size(), providers.size()));
+        for (int i = 0; i < rows; i++) {
+            FacetResponse.FacetCount eventId = i < eventIds.size() ? eventIds.get(i) : null;
+            FacetResponse.FacetCount provider = i < providers.size() ? providers.get(i) : null;
+            addCountCells(top, eventId != null ? eventId.getValue() : null, eventId != null ? eventId.getCount() : null, textFont);
+            addCountCells(top, provider != null ? provider.getValue() : null, provider != null ? provider.getCount() : null, textFont);
         }
+        document.add(top);
+        document.add(new Paragraph(" ", textFont));
+    }
+
+    private PdfPTable newEventTable(Font headerFont) {
+        PdfPTable table = new PdfPTable(6);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{2.5f, 2f, 3f, 3f, 3f, 6f});
+        table.setComplete(false);
+        table.setHeaderRows(1);
+
+        addHeaderCell(table, "Event ID", headerFont);
+        addHeaderCell(table, "Level", headerFont);
+        addHeaderCell(table, "Time", headerFont);
+        addHeaderCell(table, "Provider", headerFont);
+        addHeaderCell(table, "Computer", headerFont);
+        addHeaderCell(table, "Message", headerFont);
+        return table;
+    }
+
+    private void addEventRow(PdfPTable table, Event event, Font textFont) {
+        table.addCell(new PdfPCell(new Phrase(String.valueOf(event.getEventId()), textFont)));
+        table.addCell(new PdfPCell(new Phrase(event.getLevel().name(), textFont)));
+        table.addCell(new PdfPCell(new Phrase(
+                event.getTimeCreated() != null ? event.getTimeCreated().format(TIME_FORMAT) : "", textFont)));
+        table.addCell(new PdfPCell(new Phrase(
+                event.getProvider() != null ? event.getProvider() : "", textFont)));
+        table.addCell(new PdfPCell(new Phrase(
+                event.getComputer() != null ? event.getComputer() : "", textFont)));
+        table.addCell(new PdfPCell(new Phrase(
+                event.getMessage() != null ? truncate(event.getMessage(), 500) : "", textFont)));
+    }
+
+    private void addCountCells(PdfPTable table, String label, Long count, Font font) {
+        table.addCell(new PdfPCell(new Phrase(label != null ? label : "", font)));
+        table.addCell(new PdfPCell(new Phrase(count != null ? String.valueOf(count) : "", font)));
     }
 
     private void addHeaderCell(PdfPTable table, String text, Font font) {
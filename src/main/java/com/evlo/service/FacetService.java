@@ -0,0 +1,115 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.FacetResponse;
+import com.evlo.repository.LogFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 컬럼형 스냅샷으로 facet 건수를 계산.
+ * 스냅샷은 메모리 한도 내에서 LRU로 보관하며, 세션의 파싱 완료 파일 목록이 바뀌면(새 업로드 완료) 다시 구성.
+ * 구성 전에 이벤트 수로 크기를 계산해, 한도를 넘는 세션은 배열을 만들지 않고 요청마다 DB GROUP BY 로 계산.
+ */
+@Slf4j
+@Service
+public class FacetService {
+
+    private final LogFileRepository logFileRepository;
+    private final FacetSnapshotLoader facetSnapshotLoader;
+    private final long maxBytes;
+    private final int topN;
+
+    /** access-order LinkedHashMap = LRU. cache/cachedBytes 접근은 cache 모니터로 동기화 */
+    private final LinkedHashMap<String, FacetSnapshot> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /** 같은 세션 스냅샷을 동시에 여러 번 구성하지 않도록 진행 중인 구성 공유 */
+    private final Map<String, CompletableFuture<FacetSnapshot>> inFlight = new ConcurrentHashMap<>();
+
+    public FacetService(
+            LogFileRepository logFileRepository,
+            FacetSnapshotLoader facetSnapshotLoader,
+            @Value("${app.facet.max-memory-mb:256}") long maxMemoryMb,
+            @Value("${app.facet.top-n:50}") int topN) {
+        this.logFileRepository = logFileRepository;
+        this.facetSnapshotLoader = facetSnapshotLoader;
+        this.maxBytes = maxMemoryMb * 1024 * 1024;
+        this.topN = topN;
+    }
+
+    /**
+     * 세션 facet 건수 (blocking: 스냅샷이 없거나 오래되면 DB에서 구성)
+     */
+    public FacetResponse facets(String sessionId, EventSearchRequest request) {
+        List<Long> fileIds = logFileRepository.findCompletedIdsBySessionId(sessionId);
+        FacetSnapshot snapshot = getSnapshot(sessionId, fileIds);
+        if (snapshot != null) {
+            return snapshot.facets(request, topN);
+        }
+        return facetSnapshotLoader.loadGroups(fileIds, request)
+                .facets(FacetSnapshotLoader.withoutScope(request), topN);
+    }
+
+    /**
+     * 캐시된 스냅샷 또는 새로 구성한 스냅샷. 메모리 한도를 넘는 세션이면 null
+     */
+    private FacetSnapshot getSnapshot(String sessionId, List<Long> fileIds) {
+        synchronized (cache) {
+            FacetSnapshot cached = cache.get(sessionId);
+            if (cached != null && cached.getLogFileIds().equals(fileIds)) {
+                return cached;
+            }
+        }
+
+        CompletableFuture<FacetSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<FacetSnapshot> existing = inFlight.putIfAbsent(sessionId, mine);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            long rows = facetSnapshotLoader.countRows(fileIds);
+            if (rows * FacetSnapshot.BYTES_PER_ROW > maxBytes) {
+                log.debug("Facet snapshot would exceed memory limit ({} rows), using GROUP BY", rows);
+                mine.complete(null);
+                return null;
+            }
+            FacetSnapshot snapshot = facetSnapshotLoader.load(fileIds, rows);
+            put(sessionId, snapshot);
+            mine.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(sessionId, mine);
+        }
+    }
+
+    private void put(String sessionId, FacetSnapshot snapshot) {
+        synchronized (cache) {
+            FacetSnapshot previous = cache.remove(sessionId);
+            if (previous != null) {
+                cachedBytes -= previous.estimatedBytes();
+            }
+            cache.put(sessionId, snapshot);
+            cachedBytes += snapshot.estimatedBytes();
+
+            Iterator<Map.Entry<String, FacetSnapshot>> eldest = cache.entrySet().iterator();
+            while (cachedBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, FacetSnapshot> entry = eldest.next();
+                cachedBytes -= entry.getValue().estimatedBytes();
+                eldest.remove();
+                log.debug("Evicted facet snapshot: {}", entry.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.FacetResponse;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * 세션 이벤트의 컬럼형(primitive array) 스냅샷.
+ * eventId/provider/logFileId는 사전(dictionary) 인코딩, level/channel은 enum ordinal로 저장하며
+ * 불변 객체라 여러 요청이 동시에 읽어도 안전.
+ * weights 가 있으면 각 행은 이벤트 한 건이 아니라 GROUP BY 결과 한 줄(건수 weights[i])이며, 시간/파일 조건은 이미 쿼리에서 적용된 상태.
+ */
+public class FacetSnapshot {
+
+    /** 행당 대략적인 바이트 수 (LRU 메모리 한도 계산용) */
+    static final int BYTES_PER_ROW = Long.BYTES + Integer.BYTES * 3 + 2;
+
+    private static final EventLevel[] LEVELS = EventLevel.values();
+    private static final LogChannel[] CHANNELS = LogChannel.values();
+
+    private final List<Long> logFileIds;
+    private final int size;
+    private final long[] epochSeconds;
+    private final int[] eventIdCodes;
+    private final byte[] levelOrdinals;
+    private final byte[] channelOrdinals;
+    private final int[] providerCodes;
+    private final int[] fileCodes;
+    private final long[] eventIdDictionary;
+    private final String[] providerDictionary;
+    private final long[] fileDictionary;
+    /** 행별 건수. null 이면 모두 1 */
+    private final long[] weights;
+
+    FacetSnapshot(List<Long> logFileIds, int size, long[] epochSeconds, int[] eventIdCodes,
+                  byte[] levelOrdinals, byte[] channelOrdinals, int[] providerCodes, int[] fileCodes,
+                  long[] eventIdDictionary, String[] providerDictionary, long[] fileDictionary, long[] weights) {
+        this.logFileIds = List.copyOf(logFileIds);
+        this.size = size;
+        this.epochSeconds = epochSeconds;
+        this.eventIdCodes = eventIdCodes;
+        this.levelOrdinals = levelOrdinals;
+        this.channelOrdinals = channelOrdinals;
+        this.providerCodes = providerCodes;
+        this.fileCodes = fileCodes;
+        this.eventIdDictionary = eventIdDictionary;
+        this.providerDictionary = providerDictionary;
+        this.fileDictionary = fileDictionary;
+        this.weights = weights;
+    }
+
+    public List<Long> getLogFileIds() {
+        return logFileIds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long estimatedBytes() {
+        return (long) size * BYTES_PER_ROW;
+    }
+
+    /**
+     * 검색 조건에 대한 facet 건수를 한 번의 순회로 계산.
+     * 각 facet은 자기 자신의 필터를 제외한 나머지 조건으로 집계 (선택지 간 이동 시 건수 확인용).
+     * keyword는 스냅샷에 message가 없으므로 적용하지 않음
+     */
+    public FacetResponse facets(EventSearchRequest request, int topN) {
+        long from = request.getStartTime() != null ? request.getStartTime().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        long to = request.getEndTime() != null ? request.getEndTime().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        boolean[] levelAllowed = enumMask(request.getLevels(), LEVELS.length);
+        boolean[] channelAllowed = enumMask(request.getChannels(), CHANNELS.length);
+        boolean[] eventIdAllowed = eventIdMask(request.getEventIds());
+        boolean[] fileAllowed = fileMask(request.getLogFileId());
+
+        long total = 0;
+        long[] levelCounts = new long[LEVELS.length];
+        long[] channelCounts = new long[CHANNELS.length];
+        long[] eventIdCounts = new long[eventIdDictionary.length];
+        long[] providerCounts = new long[providerDictionary.length];
+
+        for (int i = 0; i < size; i++) {
+            long t = epochSeconds[i];
+            boolean base = t >= from && t <= to && fileAllowed[fileCodes[i]];
+            boolean levelOk = levelAllowed[levelOrdinals[i]];
+            boolean channelOk = channelAllowed[channelOrdinals[i]];
+            boolean eventIdOk = eventIdAllowed[eventIdCodes[i]];
+            long count = weights != null ? weights[i] : 1;
+
+            if (base && channelOk && eventIdOk) levelCounts[levelOrdinals[i]] += count;
+            if (base && levelOk && eventIdOk) channelCounts[channelOrdinals[i]] += count;
+            if (base && levelOk && channelOk) eventIdCounts[eventIdCodes[i]] += count;
+            if (base && levelOk && channelOk && eventIdOk) {
+                providerCounts[providerCodes[i]] += count;
+                total += count;
+            }
+        }
+
+        Map<String, Long> levels = new LinkedHashMap<>();
+        for (EventLevel level : LEVELS) {
+            levels.put(level.name(), levelCounts[level.ordinal()]);
+        }
+        Map<String, Long> channels = new LinkedHashMap<>();
+        for (LogChannel channel : CHANNELS) {
+            channels.put(channel.name(), channelCounts[channel.ordinal()]);
+        }
+
+        List<FacetResponse.FacetCount> eventIds = new ArrayList<>();
+        for (int code : topCodes(eventIdCounts, topN)) {
+            eventIds.add(new FacetResponse.FacetCount(String.valueOf(eventIdDictionary[code]), eventIdCounts[code]));
+        }
+        List<FacetResponse.FacetCount> providers = new ArrayList<>();
+        for (int code : topCodes(providerCounts, topN)) {
+            String provider = providerDictionary[code];
+            providers.add(new FacetResponse.FacetCount(provider != null ? provider : "", providerCounts[code]));
+        }
+
+        return FacetResponse.builder()
+                .total(total)
+                .levels(levels)
+                .channels(channels)
+                .eventIds(eventIds)
+                .providers(providers)
+                .keywordApplied(false)
+                .build();
+    }
+
+    private static boolean[] enumMask(List<? extends Enum<?>> selected, int length) {
+        boolean[] mask = new boolean[length];
+        if (selected == null || selected.isEmpty()) {
+            Arrays.fill(mask, true);
+            return mask;
+        }
+        for (Enum<?> value : selected) {
+            mask[value.ordinal()] = true;
+        }
+        return mask;
+    }
+
+    private boolean[] eventIdMask(List<Long> selected) {
+        boolean[] mask = new boolean[eventIdDictionary.length];
+        if (selected == null || selected.isEmpty()) {
+            Arrays.fill(mask, true);
+            return mask;
+        }
+        for (int code = 0; code < eventIdDictionary.length; code++) {
+            mask[code] = selected.contains(eventIdDictionary[code]);
+        }
+        return mask;
+    }
+
+    private boolean[] fileMask(Long logFileId) {
+        boolean[] mask = new boolean[fileDictionary.length];
+        for (int code = 0; code < fileDictionary.length; code++) {
+            mask[code] = logFileId == null || fileDictionary[code] == logFileId;
+        }
+        return mask;
+    }
+
+    /** 건수 내림차순 상위 N개 코드 (0건 제외) */
+    private static int[] topCodes(long[] counts, int topN) {
+        return IntStream.range(0, counts.length)
+                .filter(code -> counts[code] > 0)
+                .boxed()
+                .sorted((a, b) -> Long.compare(counts[b], counts[a]))
+                .limit(topN)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,167 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.EventSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 세션 파일 목록의 이벤트를 스트리밍으로 읽어 FacetSnapshot(컬럼형 배열)을 구성.
+ * 메모리 한도를 넘는 세션은 배열을 만들지 않고 GROUP BY 결과로 요청 한 번용 스냅샷을 구성
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FacetSnapshotLoader {
+
+    private final EventRepository eventRepository;
+
+    /** 파일 목록의 이벤트 수 (스냅샷 크기 = 건수 × FacetSnapshot.BYTES_PER_ROW) */
+    @Transactional(readOnly = true)
+    public long countRows(List<Long> logFileIds) {
+        return logFileIds.isEmpty() ? 0 : eventRepository.countByLogFileIds(logFileIds);
+    }
+
+    /**
+     * rowCount(countRows 결과) 크기의 배열로 스냅샷 구성. 호출 전에 메모리 한도를 확인해야 함
+     */
+    @Transactional(readOnly = true)
+    public FacetSnapshot load(List<Long> logFileIds, long rowCount) {
+        long started = System.currentTimeMillis();
+        if (logFileIds.isEmpty() || rowCount == 0) {
+            return build(logFileIds, 0, new long[0], new int[0], new byte[0], new byte[0], new int[0], new int[0],
+                    new Dictionary<>(), new Dictionary<>(), new Dictionary<>(), null);
+        }
+
+        int capacity = Math.toIntExact(rowCount);
+        long[] epochSeconds = new long[capacity];
+        int[] eventIdCodes = new int[capacity];
+        byte[] levelOrdinals = new byte[capacity];
+        byte[] channelOrdinals = new byte[capacity];
+        int[] providerCodes = new int[capacity];
+        int[] fileCodes = new int[capacity];
+        Dictionary<Long> eventIds = new Dictionary<>();
+        Dictionary<String> providers = new Dictionary<>();
+        Dictionary<Long> files = new Dictionary<>();
+
+        int size = 0;
+        try (Stream<Object[]> rows = eventRepository.streamFacetColumnsByLogFileIds(logFileIds)) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext() && size < capacity) {
+                Object[] row = iterator.next();
+                fileCodes[size] = files.encode((Long) row[0]);
+                epochSeconds[size] = ((LocalDateTime) row[1]).toEpochSecond(ZoneOffset.UTC);
+                eventIdCodes[size] = eventIds.encode((Long) row[2]);
+                levelOrdinals[size] = (byte) ((EventLevel) row[3]).ordinal();
+                channelOrdinals[size] = (byte) ((LogChannel) row[4]).ordinal();
+                providerCodes[size] = providers.encode((String) row[5]);
+                size++;
+            }
+        }
+
+        log.debug("Facet snapshot built: {} rows, {} files in {} ms",
+                size, logFileIds.size(), System.currentTimeMillis() - started);
+        return build(logFileIds, size, epochSeconds, eventIdCodes, levelOrdinals, channelOrdinals,
+                providerCodes, fileCodes, eventIds, providers, files, null);
+    }
+
+    /**
+     * 기간/파일 조건을 DB 에서 적용한 (level, channel, eventId, provider) GROUP BY 결과로 스냅샷 구성.
+     * 행 수는 조합 수만큼이므로 이벤트 수와 무관하게 작음. 결과에는 withoutScope(request) 로 facet 계산
+     */
+    @Transactional(readOnly = true)
+    public FacetSnapshot loadGroups(List<Long> logFileIds, EventSearchRequest request) {
+        long started = System.currentTimeMillis();
+        if (logFileIds.isEmpty()) {
+            return build(logFileIds, 0, new long[0], new int[0], new byte[0], new byte[0], new int[0], new int[0],
+                    new Dictionary<>(), new Dictionary<>(), new Dictionary<>(), new long[0]);
+        }
+
+        List<Object[]> groups = eventRepository.findFacetGroups(
+                EventSpecifications.matches(withScopeOnly(request), null)
+                        .and(EventSpecifications.inLogFiles(logFileIds)));
+        int size = groups.size();
+        int[] eventIdCodes = new int[size];
+        byte[] levelOrdinals = new byte[size];
+        byte[] channelOrdinals = new byte[size];
+        int[] providerCodes = new int[size];
+        long[] counts = new long[size];
+        Dictionary<Long> eventIds = new Dictionary<>();
+        Dictionary<String> providers = new Dictionary<>();
+        Dictionary<Long> files = new Dictionary<>();
+        files.encode(0L);
+
+        for (int i = 0; i < size; i++) {
+            Object[] row = groups.get(i);
+            levelOrdinals[i] = (byte) ((EventLevel) row[0]).ordinal();
+            channelOrdinals[i] = (byte) ((LogChannel) row[1]).ordinal();
+            eventIdCodes[i] = eventIds.encode((Long) row[2]);
+            providerCodes[i] = providers.encode((String) row[3]);
+            counts[i] = ((Number) row[4]).longValue();
+        }
+
+        log.debug("Facet groups loaded: {} groups, {} files in {} ms",
+                size, logFileIds.size(), System.currentTimeMillis() - started);
+        return build(logFileIds, size, new long[size], eventIdCodes, levelOrdinals, channelOrdinals,
+                providerCodes, new int[size], eventIds, providers, files, counts);
+    }
+
+    /** GROUP BY 쿼리에 넣을 범위 조건(기간, 파일)만 남긴 요청 */
+    private static EventSearchRequest withScopeOnly(EventSearchRequest request) {
+        return EventSearchRequest.builder()
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .logFileId(request.getLogFileId())
+                .build();
+    }
+
+    /** loadGroups 스냅샷에 적용할 요청 (범위 조건은 쿼리에서 이미 적용) */
+    static EventSearchRequest withoutScope(EventSearchRequest request) {
+        return EventSearchRequest.builder()
+                .levels(request.getLevels())
+                .channels(request.getChannels())
+                .eventIds(request.getEventIds())
+                .build();
+    }
+
+    private static FacetSnapshot build(List<Long> logFileIds, int size, long[] epochSeconds, int[] eventIdCodes,
+                                       byte[] levelOrdinals, byte[] channelOrdinals, int[] providerCodes,
+                                       int[] fileCodes, Dictionary<Long> eventIds, Dictionary<String> providers,
+                                       Dictionary<Long> files, long[] weights) {
+        return new FacetSnapshot(logFileIds, size, epochSeconds, eventIdCodes, levelOrdinals, channelOrdinals,
+                providerCodes, fileCodes,
+                eventIds.values.stream().mapToLong(Long::longValue).toArray(),
+                providers.values.toArray(new String[0]),
+                files.values.stream().mapToLong(Long::longValue).toArray(),
+                weights);
+    }
+
+    /** 값 → 0부터 시작하는 코드 */
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        int encode(T value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+    }
+}
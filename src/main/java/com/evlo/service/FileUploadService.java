@@ -1,6 +1,9 @@
 package com.evlo.service;
 
+import com.evlo.detection.DetectionRule;
+import com.evlo.entity.Detection;
 import com.evlo.entity.Event;
+import com.evlo.entity.EventMinuteCount;
 import com.evlo.entity.LogFile;
 import com.evlo.entity.enums.ParsingStatus;
 import com.evlo.exception.FileValidationException;
@@ -25,6 +28,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -39,6 +43,8 @@ public class FileUploadService {
     private final EventRepository eventRepository;
     private final EvtxParserService evtxParserService;
     private final ProgressTrackingService progressTrackingService;
+    private final MinuteAnomalyDetector minuteAnomalyDetector;
+    private final DetectionEngine detectionEngine;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -49,6 +55,12 @@ public class FileUploadService {
     @Value("${app.batch.size:1000}")
     private int batchSize;
 
+    @Value("${app.sketch.top-k:256}")
+    private int sketchTopK;
+
+    @Value("${app.sample.per-hour:64}")
+    private int samplesPerHour;
+
     /**
      * 파일 검증 (확장자, 크기)
      */
@@ -151,9 +163,35 @@ public class FileUploadService {
         progressTrackingService.saveProgress(logFile.getId(), 0, totalCount)
                 .subscribe();
 
+        // 분석용 시간/분 단위 집계 (이벤트 저장과 같은 루프에서 계산)
+        EventRollupAccumulator rollupAccumulator = new EventRollupAccumulator();
+        LogFileSketchAccumulator sketchAccumulator = new LogFileSketchAccumulator(sketchTopK);
+        StratifiedSampleAccumulator sampleAccumulator = new StratifiedSampleAccumulator(samplesPerHour);
+        List<Detection> detections = new ArrayList<>();
+        long detectionNanos = 0;
+
         // Batch Insert with Progress Tracking
         for (int i = 0; i < events.size(); i++) {
-            entityManager.persist(events.get(i));
+            Event event = events.get(i);
+            entityManager.persist(event);
+            rollupAccumulator.add(event);
+            sketchAccumulator.add(event);
+            sampleAccumulator.add(event);
+
+            // 탐지 규칙 평가 (persist 후 events.id 확정)
+            long detectionStarted = System.nanoTime();
+            for (DetectionRule rule : detectionEngine.evaluate(event)) {
+                detections.add(Detection.builder()
+                        .logFile(logFile)
+                        .eventRowId(event.getId())
+                        .eventId(event.getEventId())
+                        .timeCreated(event.getTimeCreated())
+                        .ruleId(rule.id())
+                        .ruleTitle(rule.title())
+                        .severity(rule.severity())
+                        .build());
+            }
+            detectionNanos += System.nanoTime() - detectionStarted;
 
             // 진행률 업데이트 (100건마다 또는 배치 크기마다)
             if ((i + 1) % 100 == 0 || (i + 1) % batchSize == 0) {
@@ -175,6 +213,17 @@ public class FileUploadService {
             entityManager.clear();
         }
 
+        persistInBatches(rollupAccumulator.toRollups(logFile));
+        List<EventMinuteCount> minuteCounts = rollupAccumulator.toMinuteCounts(logFile);
+        persistInBatches(minuteCounts);
+        persistInBatches(sketchAccumulator.toSketches(logFile));
+        persistInBatches(sampleAccumulator.toSamples(logFile));
+        persistInBatches(minuteAnomalyDetector.detect(logFile, minuteCounts));
+        persistInBatches(detections);
+        log.info("Detection: {} rules, {} events, {} hits, {} ns/event",
+                detectionEngine.ruleCount(), totalCount, detections.size(),
+                totalCount > 0 ? detectionNanos / totalCount : 0);
+
         // 완료 진행률 저장
         progressTrackingService.saveProgress(logFile.getId(), totalCount, totalCount)
                 .subscribe();
@@ -182,6 +231,21 @@ public class FileUploadService {
         return totalCount;
     }
 
+    /**
+     * 집계 엔티티 배치 저장 (배치 크기마다 flush/clear)
+     */
+    private void persistInBatches(List<?> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
     /**
      * Non-blocking 파일 처리 (Reactive)
      */
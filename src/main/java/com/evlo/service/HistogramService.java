@@ -0,0 +1,231 @@
+package com.evlo.service;
+
+import com.evlo.dto.HistogramResponse;
+import com.evlo.dto.TimeGranularity;
+import com.evlo.repository.EventMinuteCountRepository;
+import com.evlo.repository.EventRollupRepository;
+import com.evlo.repository.EventSampleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * 업로드 시 기록한 분/시간 단위 집계를 요청 해상도·time zone 버킷으로 합산하는 히스토그램.
+ * events 테이블을 스캔하지 않으므로 범위/해상도를 바꿔도 응답이 빠름.
+ */
+@Service
+@RequiredArgsConstructor
+public class HistogramService {
+
+    private static final int MAX_BUCKETS = 10_000;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final EventMinuteCountRepository eventMinuteCountRepository;
+    private final EventRollupRepository eventRollupRepository;
+    private final EventSampleRepository eventSampleRepository;
+
+    /**
+     * [from, to) 범위(epoch ms)의 세션 이벤트 히스토그램. 경계 버킷은 전체 구간을 포함하도록 확장
+     */
+    public HistogramResponse histogram(String sessionId, long from, long to,
+                                       TimeGranularity granularity, ZoneId zone, Long eventId) {
+        Map<Long, long[]> buckets = new LinkedHashMap<>();
+        long[] range = bucketSkeleton(from, to, granularity, zone, start -> buckets.put(start, new long[1]));
+        long rangeStart = range[0];
+        long rangeEnd = range[1];
+
+        if (usesHourlyRollups(granularity, zone, rangeStart, rangeEnd)) {
+            LocalDateTime startHour = LocalDateTime.ofEpochSecond(rangeStart / 1000, 0, ZoneOffset.UTC);
+            LocalDateTime endHour = LocalDateTime.ofEpochSecond((rangeEnd - 1) / 1000, 0, ZoneOffset.UTC);
+            List<Object[]> rows = eventId != null
+                    ? eventRollupRepository.findEventCountByHourForEventIdBySessionId(sessionId, eventId, startHour, endHour)
+                    : eventRollupRepository.findEventCountByHourBySessionId(sessionId, startHour, endHour);
+            for (Object[] row : rows) {
+                long epochMillis = ((LocalDateTime) row[0]).toEpochSecond(ZoneOffset.UTC) * 1000;
+                addToBucket(buckets, granularity, zone, epochMillis, ((Number) row[1]).longValue());
+            }
+        } else {
+            long fromMinute = Math.floorDiv(rangeStart, MILLIS_PER_MINUTE);
+            long toMinute = Math.floorDiv(rangeEnd + MILLIS_PER_MINUTE - 1, MILLIS_PER_MINUTE);
+            List<Object[]> rows = eventId != null
+                    ? eventMinuteCountRepository.findCountByMinuteForEventIdBySessionId(sessionId, eventId, fromMinute, toMinute)
+                    : eventMinuteCountRepository.findCountByMinuteBySessionId(sessionId, fromMinute, toMinute);
+            for (Object[] row : rows) {
+                long epochMillis = ((Number) row[0]).longValue() * MILLIS_PER_MINUTE;
+                addToBucket(buckets, granularity, zone, epochMillis, ((Number) row[1]).longValue());
+            }
+        }
+
+        List<HistogramResponse.Bucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((start, count) -> result.add(new HistogramResponse.Bucket(start, count[0], null)));
+
+        return HistogramResponse.builder()
+                .granularity(granularity)
+                .timeZone(zone.getId())
+                .from(rangeStart)
+                .to(rangeEnd)
+                .buckets(result)
+                .build();
+    }
+
+    /**
+     * [startTime, endTime] (UTC, 양 끝 포함) 의 UTC 시간별 건수. 범위 안에 온전히 들어가는 시간은 시간 집계에서,
+     * 정시에 걸치지 않는 앞뒤 경계 시간은 분 집계에서 해당 분만 합산해 경계 시간을 통째로 세지 않음.
+     * 분 집계보다 세밀한 초 단위는 구분할 수 없어 경계 분은 통째로 포함. 시간 순 정렬
+     */
+    public Map<LocalDateTime, Long> hourlyCounts(String sessionId, LocalDateTime startTime, LocalDateTime endTime,
+                                                     Long eventId) {
+        Map<LocalDateTime, Long> counts = new TreeMap<>();
+        LocalDateTime start = startTime.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime end = endTime.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        if (!start.isBefore(end)) {
+            return counts;
+        }
+
+        LocalDateTime firstFullHour = start.truncatedTo(ChronoUnit.HOURS);
+        if (firstFullHour.isBefore(start)) {
+            firstFullHour = firstFullHour.plusHours(1);
+        }
+        LocalDateTime fullHoursEnd = end.truncatedTo(ChronoUnit.HOURS);
+        if (!firstFullHour.isBefore(fullHoursEnd)) {
+            // 온전한 시간이 없음 (두 시간 미만): 분 집계만 사용
+            addMinuteCounts(counts, sessionId, eventId, start, end);
+            return counts;
+        }
+
+        addMinuteCounts(counts, sessionId, eventId, start, firstFullHour);
+        List<Object[]> rows = eventId != null
+                ? eventRollupRepository.findEventCountByHourForEventIdBySessionId(
+                        sessionId, eventId, firstFullHour, fullHoursEnd.minusHours(1))
+                : eventRollupRepository.findEventCountByHourBySessionId(sessionId, firstFullHour, fullHoursEnd.minusHours(1));
+        for (Object[] row : rows) {
+            counts.merge((LocalDateTime) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        addMinuteCounts(counts, sessionId, eventId, fullHoursEnd, end);
+        return counts;
+    }
+
+    /**
+     * [from, to) 의 분 집계를 UTC 시간별로 합산
+     */
+    private void addMinuteCounts(Map<LocalDateTime, Long> counts, String sessionId, Long eventId,
+                                 LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        long fromMinute = Math.floorDiv(from.toEpochSecond(ZoneOffset.UTC), 60);
+        long toMinute = Math.floorDiv(to.toEpochSecond(ZoneOffset.UTC), 60);
+        List<Object[]> rows = eventId != null
+                ? eventMinuteCountRepository.findCountByMinuteForEventIdBySessionId(sessionId, eventId, fromMinute, toMinute)
+                : eventMinuteCountRepository.findCountByMinuteBySessionId(sessionId, fromMinute, toMinute);
+        for (Object[] row : rows) {
+            LocalDateTime hour = LocalDateTime.ofEpochSecond(((Number) row[0]).longValue() * 60, 0, ZoneOffset.UTC)
+                    .truncatedTo(ChronoUnit.HOURS);
+            counts.merge(hour, ((Number) row[1]).longValue(), Long::sum);
+        }
+    }
+
+    /**
+     * 업로드 시 뽑은 층화 표본(파일×시간 층)으로 추정한 히스토그램. 버킷마다 95% 신뢰구간 반폭(error) 포함.
+     * 표본이 없는 파일은 세지 않으므로 호출 측이 SampleAnalysisService.coversSession 으로 먼저 확인
+     */
+    public HistogramResponse approximateHistogram(String sessionId, long from, long to,
+                                                  TimeGranularity granularity, ZoneId zone, Long eventId) {
+        Map<Long, Map<String, long[]>> strataByBucket = new LinkedHashMap<>();
+        long[] range = bucketSkeleton(from, to, granularity, zone, start -> strataByBucket.put(start, new HashMap<>()));
+        long rangeStart = range[0];
+        long rangeEnd = range[1];
+
+        // 층별 (stratumSize, sampleSize, 버킷 내 표본 수)
+        LocalDateTime startHour = LocalDateTime.ofEpochSecond(Math.floorDiv(rangeStart, 3_600_000L) * 3600, 0, ZoneOffset.UTC);
+        LocalDateTime endHour = LocalDateTime.ofEpochSecond(Math.floorDiv(rangeEnd - 1, 3_600_000L) * 3600, 0, ZoneOffset.UTC);
+        List<Object[]> samples = eventId != null
+                ? eventSampleRepository.findSamplesForEventIdBySessionId(sessionId, startHour, endHour, eventId)
+                : eventSampleRepository.findSamplesBySessionId(sessionId, startHour, endHour);
+        for (Object[] row : samples) {
+            long epochMillis = ((LocalDateTime) row[4]).toInstant(ZoneOffset.UTC).toEpochMilli();
+            if (epochMillis < rangeStart || epochMillis >= rangeEnd) {
+                continue;
+            }
+            long bucketStart = granularity.truncate(Instant.ofEpochMilli(epochMillis).atZone(zone)).toInstant().toEpochMilli();
+            Map<String, long[]> strata = strataByBucket.get(bucketStart);
+            if (strata != null) {
+                String stratum = row[0] + "|" + row[1];
+                strata.computeIfAbsent(stratum, k -> new long[]{((Number) row[2]).longValue(), ((Number) row[3]).longValue(), 0})[2]++;
+            }
+        }
+
+        List<HistogramResponse.Bucket> result = new ArrayList<>(strataByBucket.size());
+        strataByBucket.forEach((start, strata) -> {
+            StratifiedEstimate estimate = new StratifiedEstimate();
+            strata.values().forEach(s -> estimate.addStratum(s[0], (int) s[1], s[2]));
+            result.add(new HistogramResponse.Bucket(start, estimate.count(), estimate.error()));
+        });
+
+        return HistogramResponse.builder()
+                .granularity(granularity)
+                .timeZone(zone.getId())
+                .from(rangeStart)
+                .to(rangeEnd)
+                .buckets(result)
+                .approximate(true)
+                .build();
+    }
+
+    /**
+     * 빈 버킷까지 포함한 버킷 시작 시각(epoch ms)을 순서대로 전달하고, 확장된 [rangeStart, rangeEnd) 반환
+     */
+    private static long[] bucketSkeleton(long from, long to, TimeGranularity granularity, ZoneId zone,
+                                         LongConsumer bucketStart) {
+        if (to <= from) {
+            throw new IllegalArgumentException("to는 from보다 커야 합니다.");
+        }
+        ZonedDateTime end = Instant.ofEpochMilli(to).atZone(zone);
+        ZonedDateTime cursor = granularity.truncate(Instant.ofEpochMilli(from).atZone(zone));
+        long rangeStart = cursor.toInstant().toEpochMilli();
+        int count = 0;
+        while (cursor.isBefore(end)) {
+            if (++count > MAX_BUCKETS) {
+                throw new IllegalArgumentException(
+                        "버킷 수가 너무 많습니다. 기간을 줄이거나 더 큰 단위를 선택해 주세요. (최대 " + MAX_BUCKETS + ")");
+            }
+            bucketStart.accept(cursor.toInstant().toEpochMilli());
+            cursor = granularity.next(cursor);
+        }
+        return new long[]{rangeStart, cursor.toInstant().toEpochMilli()};
+    }
+
+    /**
+     * 시간/일 단위이고 time zone 오프셋이 정시 단위면 (분 집계보다 행 수가 적은) 시간 집계를 사용
+     */
+    private static boolean usesHourlyRollups(TimeGranularity granularity, ZoneId zone, long rangeStart, long rangeEnd) {
+        if (granularity != TimeGranularity.HOUR && granularity != TimeGranularity.DAY) {
+            return false;
+        }
+        return zone.getRules().getOffset(Instant.ofEpochMilli(rangeStart)).getTotalSeconds() % 3600 == 0
+                && zone.getRules().getOffset(Instant.ofEpochMilli(rangeEnd)).getTotalSeconds() % 3600 == 0;
+    }
+
+    private static void addToBucket(Map<Long, long[]> buckets, TimeGranularity granularity, ZoneId zone,
+                                    long epochMillis, long count) {
+        long bucketStart = granularity.truncate(Instant.ofEpochMilli(epochMillis).atZone(zone))
+                .toInstant().toEpochMilli();
+        long[] bucket = buckets.get(bucketStart);
+        if (bucket != null) {
+            bucket[0] += count;
+        }
+    }
+}
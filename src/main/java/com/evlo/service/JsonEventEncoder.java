@@ -0,0 +1,176 @@
+package com.evlo.service;
+
+import com.evlo.entity.Event;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 이벤트 청크를 Jackson 스트리밍 generator 로 응답 DataBuffer 에 직접 쓰는 인코더 (JSON 배열 또는 NDJSON).
+ * generator 와 (선택적) gzip 스트림은 내보내기 전체에서 하나를 유지하고, 청크마다 대상 버퍼만 바꿔 flush 한다.
+ * gzip 은 청크 경계에서 SYNC_FLUSH 하므로 클라이언트가 받은 만큼 바로 풀 수 있다.
+ * 내보내기 한 건당 하나씩 생성.
+ */
+public class JsonEventEncoder {
+
+    private final BufferOutputStream sink = new BufferOutputStream();
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final boolean ndjson;
+    private final boolean gzip;
+    private JsonGenerator generator;
+    private long uncompressedBytes;
+    private long writtenBytes;
+    private boolean closed;
+
+    public JsonEventEncoder(ObjectMapper objectMapper, boolean ndjson, boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.ndjson = ndjson;
+        this.gzip = gzip;
+        // 값마다 flush 하면 gzip 압축률이 떨어지므로 청크 단위로만 flush
+        this.writer = objectMapper.writerFor(Event.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /** gzip 헤더와 배열 시작을 첫 버퍼에 씀 */
+    public synchronized DataBuffer begin(DataBufferFactory bufferFactory) {
+        return write(bufferFactory, 64, () -> {
+            OutputStream target = gzip ? new GZIPOutputStream(sink, 8 * 1024, true) : sink;
+            generator = objectMapper.getFactory().createGenerator(new CountingOutputStream(target));
+            if (ndjson) {
+                generator.setRootValueSeparator(new SerializedString(""));
+            } else {
+                generator.writeStartArray();
+            }
+        });
+    }
+
+    public synchronized DataBuffer encode(List<Event> events, DataBufferFactory bufferFactory) {
+        return write(bufferFactory, 16 * 1024, () -> {
+            for (Event event : events) {
+                writer.writeValue(generator, event);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+            }
+        });
+    }
+
+    public synchronized DataBuffer end(DataBufferFactory bufferFactory) {
+        return write(bufferFactory, 64, () -> {
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            closed = true;
+            generator.close();
+        });
+    }
+
+    /** 취소/오류 시 gzip Deflater 등 자원 해제 (출력은 버림) */
+    public synchronized void release() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        sink.target = null;
+        if (generator == null) {
+            return;
+        }
+        try {
+            generator.close();
+        } catch (IOException ignored) {
+            // 버리는 출력이므로 무시
+        }
+    }
+
+    /** 압축 전 JSON 바이트 수 */
+    public synchronized long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    /** 응답으로 쓴 바이트 수 (gzip 이면 압축 후) */
+    public synchronized long writtenBytes() {
+        return writtenBytes;
+    }
+
+    private DataBuffer write(DataBufferFactory bufferFactory, int initialCapacity, Body body) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(initialCapacity);
+        sink.target = buffer;
+        try {
+            body.write();
+            if (!closed && generator != null) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            sink.target = null;
+            throw new UncheckedIOException(e);
+        }
+        sink.target = null;
+        writtenBytes += buffer.readableByteCount();
+        return buffer;
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write() throws IOException;
+    }
+
+    /** 현재 청크의 DataBuffer 로 쓰는 스트림 (대상이 없으면 버림) */
+    private static final class BufferOutputStream extends OutputStream {
+        private DataBuffer target;
+
+        @Override
+        public void write(int b) {
+            if (target != null) {
+                target.write((byte) b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (target != null) {
+                target.write(b, off, len);
+            }
+        }
+    }
+
+    /** 압축 전 바이트 수 집계 */
+    private final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        private CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            uncompressedBytes++;
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            uncompressedBytes += len;
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
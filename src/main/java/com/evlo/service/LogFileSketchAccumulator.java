@@ -0,0 +1,50 @@
+package com.evlo.service;
+
+import com.evlo.entity.Event;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.LogFileSketch;
+import com.evlo.entity.enums.SketchType;
+import com.evlo.support.HyperLogLog;
+import com.evlo.support.SpaceSavingSketch;
+
+import java.util.List;
+
+/**
+ * 업로드 중 파일 단위 스케치(eventId/provider 상위 K, computer/provider 고유값 수)를 갱신.
+ * 파일당 한 번만 사용하며 thread-safe 하지 않음.
+ */
+public class LogFileSketchAccumulator {
+
+    private final SpaceSavingSketch eventIdTopK;
+    private final SpaceSavingSketch providerTopK;
+    private final HyperLogLog computerHll = new HyperLogLog();
+    private final HyperLogLog providerHll = new HyperLogLog();
+
+    public LogFileSketchAccumulator(int topKCapacity) {
+        this.eventIdTopK = new SpaceSavingSketch(topKCapacity);
+        this.providerTopK = new SpaceSavingSketch(topKCapacity);
+    }
+
+    public void add(Event event) {
+        eventIdTopK.add(String.valueOf(event.getEventId()));
+        providerTopK.add(event.getProvider());
+        computerHll.add(event.getComputer());
+        providerHll.add(event.getProvider());
+    }
+
+    public List<LogFileSketch> toSketches(LogFile logFile) {
+        return List.of(
+                sketch(logFile, SketchType.EVENT_ID_TOP_K, eventIdTopK.toBytes()),
+                sketch(logFile, SketchType.PROVIDER_TOP_K, providerTopK.toBytes()),
+                sketch(logFile, SketchType.COMPUTER_HLL, computerHll.toBytes()),
+                sketch(logFile, SketchType.PROVIDER_HLL, providerHll.toBytes()));
+    }
+
+    private static LogFileSketch sketch(LogFile logFile, SketchType type, byte[] data) {
+        return LogFileSketch.builder()
+                .logFile(logFile)
+                .sketchType(type)
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.evlo.service;
+
+import com.evlo.entity.EventMinuteCount;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.LogFileAnomaly;
+import com.evlo.entity.enums.AnomalyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * eventId별 분 단위 건수 시계열을 시간 순으로 한 번 훑으며 EWMA 평균/분산 기준선과 비교해
+ * 버스트(급증)와 침묵(기준선 대비 연속 0건) 구간을 찾는다.
+ * 업로드 중 이미 집계된 분 단위 건수만 사용하므로 이벤트당 추가 비용은 없다.
+ * 버스트 구간의 값은 기준선 갱신 시 임계값으로 잘라(winsorize) 기준선 오염을 막는다.
+ */
+@Component
+public class MinuteAnomalyDetector {
+
+    /** 연속 0건 구간에서 기준선 감쇠를 직접 반복할 최대 횟수 (이후는 0으로 수렴) */
+    private static final int MAX_DECAY_STEPS = 200;
+
+    private final double alpha;
+    private final double threshold;
+    private final int warmupMinutes;
+    private final long minBurstCount;
+    private final int silenceMinutes;
+    private final double minSilenceBaseline;
+
+    public MinuteAnomalyDetector(
+            @Value("${app.anomaly.alpha:0.3}") double alpha,
+            @Value("${app.anomaly.z-threshold:4.0}") double threshold,
+            @Value("${app.anomaly.warmup-minutes:10}") int warmupMinutes,
+            @Value("${app.anomaly.min-burst-count:20}") long minBurstCount,
+            @Value("${app.anomaly.silence-minutes:10}") int silenceMinutes,
+            @Value("${app.anomaly.min-silence-baseline:5.0}") double minSilenceBaseline) {
+        this.alpha = alpha;
+        this.threshold = threshold;
+        this.warmupMinutes = warmupMinutes;
+        this.minBurstCount = minBurstCount;
+        this.silenceMinutes = silenceMinutes;
+        this.minSilenceBaseline = minSilenceBaseline;
+    }
+
+    public List<LogFileAnomaly> detect(LogFile logFile, List<EventMinuteCount> minuteCounts) {
+        Map<Long, TreeMap<Long, Long>> seriesByEventId = minuteCounts.stream()
+                .collect(Collectors.groupingBy(
+                        EventMinuteCount::getEventId,
+                        Collectors.toMap(EventMinuteCount::getBucketMinute, EventMinuteCount::getEventCount, Long::sum, TreeMap::new)));
+
+        List<LogFileAnomaly> anomalies = new ArrayList<>();
+        seriesByEventId.forEach((eventId, series) -> detectSeries(logFile, eventId, series, anomalies));
+        anomalies.sort(Comparator.comparing(LogFileAnomaly::getStartTime).thenComparing(LogFileAnomaly::getEventId));
+        return anomalies;
+    }
+
+    private void detectSeries(LogFile logFile, long eventId, TreeMap<Long, Long> series, List<LogFileAnomaly> out) {
+        double mean = 0;
+        double variance = 0;
+        int observed = 0;
+        long previousMinute = Long.MIN_VALUE;
+
+        // 진행 중인 버스트 구간
+        long burstStart = -1;
+        long burstEnd = -1;
+        long burstObserved = 0;
+        double burstExpected = 0;
+        double burstScore = 0;
+
+        for (Map.Entry<Long, Long> entry : series.entrySet()) {
+            long minute = entry.getKey();
+            long count = entry.getValue();
+
+            if (previousMinute != Long.MIN_VALUE && minute - previousMinute > 1) {
+                long zeroMinutes = minute - previousMinute - 1;
+
+                if (burstStart >= 0) {
+                    out.add(anomaly(logFile, eventId, AnomalyType.BURST, burstStart, burstEnd, burstObserved, burstExpected, burstScore));
+                    burstStart = -1;
+                }
+                if (observed >= warmupMinutes && zeroMinutes >= silenceMinutes && mean >= minSilenceBaseline) {
+                    double expected = mean * expectedDecaySum(zeroMinutes);
+                    double score = -mean / Math.sqrt(Math.max(Math.max(variance, mean), 1.0));
+                    out.add(anomaly(logFile, eventId, AnomalyType.SILENCE,
+                            previousMinute + 1, minute, 0, expected, score));
+                }
+
+                long steps = Math.min(zeroMinutes, MAX_DECAY_STEPS);
+                for (long i = 0; i < steps; i++) {
+                    double diff = -mean;
+                    mean += alpha * diff;
+                    variance = (1 - alpha) * (variance + alpha * diff * diff);
+                }
+                if (zeroMinutes > MAX_DECAY_STEPS) {
+                    mean = 0;
+                    variance = 0;
+                }
+                observed += (int) Math.min(zeroMinutes, Integer.MAX_VALUE - observed);
+            }
+
+            // 분산 하한은 Poisson 가정(평균)과 1 중 큰 값
+            double sd = Math.sqrt(Math.max(Math.max(variance, mean), 1.0));
+            double z = (count - mean) / sd;
+            boolean burst = observed >= warmupMinutes && count >= minBurstCount && z >= threshold;
+
+            if (burst) {
+                if (burstStart < 0) {
+                    burstStart = minute;
+                    burstObserved = 0;
+                    burstExpected = 0;
+                    burstScore = 0;
+                }
+                burstEnd = minute + 1;
+                burstObserved += count;
+                burstExpected += mean;
+                burstScore = Math.max(burstScore, z);
+            } else if (burstStart >= 0) {
+                out.add(anomaly(logFile, eventId, AnomalyType.BURST, burstStart, burstEnd, burstObserved, burstExpected, burstScore));
+                burstStart = -1;
+            }
+
+            double value = burst ? mean + threshold * sd : count;
+            double diff = value - mean;
+            mean += alpha * diff;
+            variance = (1 - alpha) * (variance + alpha * diff * diff);
+            observed++;
+            previousMinute = minute;
+        }
+
+        if (burstStart >= 0) {
+            out.add(anomaly(logFile, eventId, AnomalyType.BURST, burstStart, burstEnd, burstObserved, burstExpected, burstScore));
+        }
+    }
+
+    /** 0건이 n분 이어질 때 감쇠하는 기준선의 합 / mean */
+    private double expectedDecaySum(long minutes) {
+        double decay = 1 - alpha;
+        return (1 - Math.pow(decay, minutes)) / alpha;
+    }
+
+    private static LogFileAnomaly anomaly(LogFile logFile, long eventId, AnomalyType type,
+                                          long startMinute, long endMinute,
+                                          long observedCount, double expectedCount, double score) {
+        return LogFileAnomaly.builder()
+                .logFile(logFile)
+                .eventId(eventId)
+                .anomalyType(type)
+                .startTime(toTime(startMinute))
+                .endTime(toTime(endMinute))
+                .observedCount(observedCount)
+                .expectedCount(expectedCount)
+                .score(score)
+                .build();
+    }
+
+    private static LocalDateTime toTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
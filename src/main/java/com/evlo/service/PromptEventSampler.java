@@ -0,0 +1,176 @@
+package com.evlo.service;
+
+import com.evlo.entity.enums.EventLevel;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+/**
+ * AI 프롬프트용 대표 이벤트 표본 선택.
+ * 후보를 (eventId, level, 시간 구간) 층으로 묶어 라운드마다 층별로 하나씩 고르되, 메시지 템플릿(숫자·GUID·경로 등을 치환한 형태)이
+ * 이미 뽑힌 것과 같으면 건너뜀. 첫 라운드는 Event ID 마다 가장 큰 층부터, 같은 순번에서는 Critical/Error 와 건수가 큰 층을 먼저.
+ * 고른 순서대로 줄을 만들어 토큰 한도가 찰 때까지 채우고(greedy), 안 들어가는 줄은 메시지를 줄여 한 번 더 시도.
+ * 인스턴스는 thread-safe 하지 않음.
+ */
+public class PromptEventSampler {
+
+    /** 메시지를 줄여 다시 시도할 때의 최소 길이 */
+    private static final int MIN_MESSAGE_CHARS = 60;
+    /** 남은 한도가 이보다 작으면 중단 (가장 짧은 줄도 들어가지 않음) */
+    private static final int MIN_LINE_TOKENS = 12;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final Pattern GUID = Pattern.compile("\\{?[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}}?");
+    private static final Pattern HEX = Pattern.compile("0x[0-9a-fA-F]+");
+    private static final Pattern IPV4 = Pattern.compile("\\b\\d{1,3}(?:\\.\\d{1,3}){3}\\b");
+    private static final Pattern WINDOWS_PATH = Pattern.compile("[A-Za-z]:\\\\\\S*");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int TEMPLATE_CHARS = 160;
+
+    /**
+     * 표본 후보. bucket 은 범위를 나눈 시간 구간 번호, stratumCount 는 층 전체 건수
+     */
+    public record Candidate(long eventId, EventLevel level, int bucket, long stratumCount,
+                            LocalDateTime timeCreated, String provider, String message) {
+    }
+
+    private final int messageChars;
+    private final int maxSamples;
+
+    public PromptEventSampler(int messageChars, int maxSamples) {
+        this.messageChars = messageChars;
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * 한도 안에 들어가는 표본 줄 (시간 순)
+     */
+    public List<String> pack(List<Candidate> candidates, int tokenBudget) {
+        List<List<Candidate>> strata = orderStrata(candidates);
+        Set<String> seenTemplates = new HashSet<>();
+        List<Picked> picked = new ArrayList<>();
+        int remaining = tokenBudget;
+        int[] cursor = new int[strata.size()];
+        boolean progressed = true;
+        while (progressed && picked.size() < maxSamples && remaining >= MIN_LINE_TOKENS) {
+            progressed = false;
+            for (int i = 0; i < strata.size() && picked.size() < maxSamples && remaining >= MIN_LINE_TOKENS; i++) {
+                List<Candidate> stratum = strata.get(i);
+                while (cursor[i] < stratum.size()) {
+                    Candidate candidate = stratum.get(cursor[i]++);
+                    if (!seenTemplates.add(template(candidate.eventId(), candidate.message()))) {
+                        continue;
+                    }
+                    String line = line(candidate, messageChars);
+                    int tokens = SummaryDigestService.estimateTokens(line);
+                    if (tokens > remaining && messageChars > MIN_MESSAGE_CHARS) {
+                        line = line(candidate, MIN_MESSAGE_CHARS);
+                        tokens = SummaryDigestService.estimateTokens(line);
+                    }
+                    if (tokens <= remaining) {
+                        picked.add(new Picked(candidate.timeCreated(), line));
+                        remaining -= tokens;
+                        progressed = true;
+                    }
+                    break;
+                }
+            }
+        }
+
+        return picked.stream()
+                .sorted(Comparator.comparing(Picked::timeCreated, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(Picked::line)
+                .toList();
+    }
+
+    private record Picked(LocalDateTime timeCreated, String line) {
+    }
+
+    private static List<List<Candidate>> orderStrata(List<Candidate> candidates) {
+        Map<String, List<Candidate>> byStratum = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            byStratum.computeIfAbsent(candidate.eventId() + "|" + candidate.level() + "|" + candidate.bucket(),
+                    key -> new ArrayList<>()).add(candidate);
+        }
+        return order(byStratum.values(), stratum -> stratum.get(0).eventId(), stratum -> stratum.get(0).level(),
+                stratum -> stratum.get(0).stratumCount());
+    }
+
+    /**
+     * 층 순서: Event ID 안에서의 층 순번(건수 순) → 레벨 가중치 → 층 건수.
+     * 순번을 먼저 보므로 한 Event ID 의 여러 시간 구간이 다른 Event ID 보다 먼저 뽑히지 않음.
+     * 후보 메시지를 조회할 층을 고를 때도 같은 순서 사용
+     */
+    static <T> List<T> order(Collection<T> strata, ToLongFunction<T> eventId, Function<T, EventLevel> level,
+                             ToLongFunction<T> count) {
+        List<T> sorted = new ArrayList<>(strata);
+        sorted.sort(Comparator.comparingLong(count).reversed());
+        Map<Long, Integer> rankInEventId = new HashMap<>();
+        Map<T, Integer> rank = new IdentityHashMap<>();
+        for (T stratum : sorted) {
+            rank.put(stratum, rankInEventId.merge(eventId.applyAsLong(stratum), 1, Integer::sum));
+        }
+        sorted.sort(Comparator.comparingInt((T stratum) -> rank.get(stratum))
+                .thenComparingInt(stratum -> -levelWeight(level.apply(stratum)))
+                .thenComparingLong(stratum -> -count.applyAsLong(stratum)));
+        return sorted;
+    }
+
+    private static int levelWeight(EventLevel level) {
+        if (level == null) {
+            return 0;
+        }
+        return switch (level) {
+            case CRITICAL -> 4;
+            case ERROR -> 3;
+            case WARNING -> 2;
+            default -> 1;
+        };
+    }
+
+    private static String line(Candidate candidate, int maxChars) {
+        return String.format("  %s Event ID %d [%s] %s (구간 내 %d건): %s\n",
+                candidate.timeCreated() != null ? candidate.timeCreated().format(TIME_FORMAT) : "N/A",
+                candidate.eventId(),
+                candidate.level(),
+                candidate.provider() != null ? candidate.provider() : "N/A",
+                candidate.stratumCount(),
+                truncate(candidate.message(), maxChars));
+    }
+
+    /** 메시지 템플릿: 가변 값(GUID, 16진수, IP, 경로, 숫자)을 치환하고 공백을 정규화한 앞부분 */
+    static String template(long eventId, String message) {
+        if (message == null) {
+            return eventId + "|";
+        }
+        String normalized = GUID.matcher(message).replaceAll("<guid>");
+        normalized = HEX.matcher(normalized).replaceAll("<hex>");
+        normalized = IPV4.matcher(normalized).replaceAll("<ip>");
+        normalized = WINDOWS_PATH.matcher(normalized).replaceAll("<path>");
+        normalized = NUMBER.matcher(normalized).replaceAll("<n>");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+        return eventId + "|" + (normalized.length() <= TEMPLATE_CHARS ? normalized : normalized.substring(0, TEMPLATE_CHARS));
+    }
+
+    private static String truncate(String message, int max) {
+        if (message == null) {
+            return "N/A";
+        }
+        String singleLine = WHITESPACE.matcher(message).replaceAll(" ").trim();
+        return singleLine.length() <= max ? singleLine : singleLine.substring(0, max) + "...";
+    }
+}
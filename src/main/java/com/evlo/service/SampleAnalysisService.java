@@ -0,0 +1,48 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventFrequencyResponse;
+import com.evlo.repository.EventSampleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 업로드 시 뽑은 층화 표본(event_samples)으로 답하는 근사 분석 (approximate=true).
+ * 응답의 error 는 95% 신뢰구간 반폭이며, 정확한 값은 같은 API 를 approximate 없이 다시 호출해 얻는다.
+ * 표본이 없는 파일(표본 기록 이전 업로드)이 세션에 있으면 추정이 그만큼 작게 나오므로
+ * 호출 측은 coversSession 이 false 일 때 정확한 집계 경로를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SampleAnalysisService {
+
+    private final EventSampleRepository eventSampleRepository;
+
+    /** 세션에서 이벤트가 있는 파싱 완료 파일이 모두 표본을 가지고 있는지 */
+    public boolean coversSession(String sessionId) {
+        return eventSampleRepository.countUnsampledFilesBySessionId(sessionId) == 0;
+    }
+
+    public List<EventFrequencyResponse> eventFrequency(String sessionId, int limit) {
+        Map<Long, StratifiedEstimate> estimates = new HashMap<>();
+        for (Object[] row : eventSampleRepository.countByEventIdAndStratumBySessionId(sessionId)) {
+            estimates.computeIfAbsent((Long) row[0], k -> new StratifiedEstimate())
+                    .addStratum(((Number) row[1]).longValue(), ((Number) row[2]).intValue(), ((Number) row[3]).longValue());
+        }
+
+        return estimates.entrySet().stream()
+                .map(entry -> EventFrequencyResponse.builder()
+                        .eventId(entry.getKey())
+                        .count(entry.getValue().count())
+                        .error(entry.getValue().error())
+                        .build())
+                .sorted(Comparator.comparingLong(EventFrequencyResponse::getCount).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.evlo.service;
+
+import com.evlo.dto.CardinalityResponse;
+import com.evlo.dto.HeavyHitterResponse;
+import com.evlo.entity.enums.SketchType;
+import com.evlo.repository.LogFileSketchRepository;
+import com.evlo.support.HyperLogLog;
+import com.evlo.support.SpaceSavingSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 세션 내 파일별 스케치를 병합해 상위 K / 고유값 수를 계산 (events 테이블 스캔 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class SketchService {
+
+    private final LogFileSketchRepository logFileSketchRepository;
+
+    /**
+     * 세션 상위 K (type: EVENT_ID_TOP_K | PROVIDER_TOP_K)
+     */
+    public List<HeavyHitterResponse> heavyHitters(String sessionId, SketchType type, int limit) {
+        if (type != SketchType.EVENT_ID_TOP_K && type != SketchType.PROVIDER_TOP_K) {
+            throw new IllegalArgumentException("Not a top-K sketch type: " + type);
+        }
+        return mergeTopK(logFileSketchRepository.findDataBySessionIdAndType(sessionId, type)).top(limit).stream()
+                .map(item -> HeavyHitterResponse.builder()
+                        .value(item.value())
+                        .count(item.count())
+                        .error(item.error())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 세션 고유 computer / provider 수
+     */
+    public CardinalityResponse cardinality(String sessionId) {
+        return CardinalityResponse.builder()
+                .distinctComputers(mergeHll(logFileSketchRepository
+                        .findDataBySessionIdAndType(sessionId, SketchType.COMPUTER_HLL)).estimate())
+                .distinctProviders(mergeHll(logFileSketchRepository
+                        .findDataBySessionIdAndType(sessionId, SketchType.PROVIDER_HLL)).estimate())
+                .build();
+    }
+
+    /**
+     * 파일 하나의 상위 K 전체 (type: EVENT_ID_TOP_K | PROVIDER_TOP_K)
+     */
+    public List<SpaceSavingSketch.Item> fileTopK(Long logFileId, SketchType type) {
+        SpaceSavingSketch sketch = mergeTopK(logFileSketchRepository.findDataByLogFileIdAndType(logFileId, type));
+        return sketch.top(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 파일 하나의 고유값 수 (type: COMPUTER_HLL | PROVIDER_HLL)
+     */
+    public long fileCardinality(Long logFileId, SketchType type) {
+        return mergeHll(logFileSketchRepository.findDataByLogFileIdAndType(logFileId, type)).estimate();
+    }
+
+    static SpaceSavingSketch mergeTopK(List<byte[]> sketches) {
+        SpaceSavingSketch merged = null;
+        for (byte[] data : sketches) {
+            SpaceSavingSketch sketch = SpaceSavingSketch.fromBytes(data);
+            if (merged == null) {
+                merged = sketch;
+            } else {
+                merged.merge(sketch);
+            }
+        }
+        return merged != null ? merged : new SpaceSavingSketch(1);
+    }
+
+    static HyperLogLog mergeHll(List<byte[]> sketches) {
+        HyperLogLog merged = new HyperLogLog();
+        for (byte[] data : sketches) {
+            merged.merge(HyperLogLog.fromBytes(data));
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,36 @@
+package com.evlo.service;
+
+/**
+ * 층화 표본으로 건수를 추정할 때 층마다 누적하는 합계.
+ * 층 h (전체 N, 표본 n, 조건 만족 표본 x) 의 추정 N·x/n, 분산 N²(1-n/N)·p(1-p)/(n-1) (p = x/n).
+ * 조건 만족 표본이 없는 층은 추정과 분산 모두 0 이므로 누적하지 않아도 된다.
+ */
+final class StratifiedEstimate {
+
+    /** 95% 신뢰구간 z 값 */
+    private static final double Z_95 = 1.96;
+
+    private double estimate;
+    private double variance;
+
+    void addStratum(long stratumSize, int sampleSize, long matched) {
+        if (sampleSize <= 0 || matched <= 0) {
+            return;
+        }
+        double p = (double) matched / sampleSize;
+        estimate += stratumSize * p;
+        if (sampleSize > 1 && sampleSize < stratumSize) {
+            double finitePopulation = 1.0 - (double) sampleSize / stratumSize;
+            variance += (double) stratumSize * stratumSize * finitePopulation * p * (1 - p) / (sampleSize - 1);
+        }
+    }
+
+    long count() {
+        return Math.round(estimate);
+    }
+
+    /** 95% 신뢰구간 반폭 (건수) */
+    long error() {
+        return Math.round(Z_95 * Math.sqrt(variance));
+    }
+}
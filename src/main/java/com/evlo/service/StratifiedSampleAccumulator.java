@@ -0,0 +1,64 @@
+package com.evlo.service;
+
+import com.evlo.entity.Event;
+import com.evlo.entity.EventSample;
+import com.evlo.entity.LogFile;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 업로드 중 시간 층(stratum)마다 고정 크기 reservoir 표본을 유지 (Algorithm R).
+ * 파일당 한 번만 사용하며 thread-safe 하지 않음.
+ */
+public class StratifiedSampleAccumulator {
+
+    private final int samplesPerStratum;
+    private final SplittableRandom random = new SplittableRandom();
+    private final Map<LocalDateTime, Stratum> strata = new HashMap<>();
+
+    private static final class Stratum {
+        private final List<Event> reservoir = new ArrayList<>();
+        private long seen;
+    }
+
+    public StratifiedSampleAccumulator(int samplesPerStratum) {
+        this.samplesPerStratum = samplesPerStratum;
+    }
+
+    public void add(Event event) {
+        Stratum stratum = strata.computeIfAbsent(event.getTimeCreated().truncatedTo(ChronoUnit.HOURS), k -> new Stratum());
+        stratum.seen++;
+        if (stratum.reservoir.size() < samplesPerStratum) {
+            stratum.reservoir.add(event);
+        } else {
+            long slot = random.nextLong(stratum.seen);
+            if (slot < samplesPerStratum) {
+                stratum.reservoir.set((int) slot, event);
+            }
+        }
+    }
+
+    public List<EventSample> toSamples(LogFile logFile) {
+        List<EventSample> samples = new ArrayList<>();
+        strata.forEach((hour, stratum) -> {
+            for (Event event : stratum.reservoir) {
+                samples.add(EventSample.builder()
+                        .logFile(logFile)
+                        .bucketHour(hour)
+                        .stratumSize(stratum.seen)
+                        .sampleSize(stratum.reservoir.size())
+                        .timeCreated(event.getTimeCreated())
+                        .eventId(event.getEventId())
+                        .level(event.getLevel())
+                        .build());
+            }
+        });
+        return samples;
+    }
+}
@@ -0,0 +1,326 @@
+package com.evlo.service;
+
+import com.evlo.config.AiSummaryProperties;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.EventRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * AI 요약 입력을 DB 집계(event_rollups)에서 구성하고 토큰 한도에 맞춰 텍스트로 렌더링.
+ * 표본 층과 층별 건수, 대표 이벤트 id 도 event_rollups 에서 고르고, events 는 고른 대표 이벤트 몇십 건만 id 로 조회하므로
+ * 파일 크기와 무관하게 입력 크기와 조회 비용이 일정함.
+ * 표본은 (Event ID, Level, 시간 구간) 층별 후보에서 PromptEventSampler 가 고름.
+ * 모든 메서드는 blocking (jdbcScheduler 에서 호출).
+ */
+@Service
+@RequiredArgsConstructor
+public class SummaryDigestService {
+
+    public static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    public static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final List<EventLevel> ALL_LEVELS = List.of(EventLevel.values());
+    private static final List<EventLevel> ERROR_LEVELS = List.of(EventLevel.ERROR, EventLevel.CRITICAL);
+    /** 고정 부분(건수, Event ID, 시간대)이 쓸 수 있는 한도 비율. 나머지는 표본 몫 */
+    private static final double HEAD_BUDGET_RATIO = 0.6;
+    /** 시간대별 Error 건수를 이보다 많은 줄로 나열해야 하면 일별로 합침 */
+    private static final int MAX_HOUR_LINES = 48;
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+
+    private final EventRollupRepository eventRollupRepository;
+    private final EventRepository eventRepository;
+    private final AiSummaryProperties properties;
+
+    /**
+     * 요약 범위 [start, end). eventIds 가 비어 있으면 전체 Event ID, errorsOnly 면 ERROR/CRITICAL 만
+     */
+    public record Scope(List<Long> logFileIds, List<Long> eventIds, boolean errorsOnly,
+                        LocalDateTime start, LocalDateTime end) {
+
+        public Scope within(LocalDateTime windowStart, LocalDateTime windowEnd) {
+            return new Scope(logFileIds, eventIds, errorsOnly,
+                    windowStart.isAfter(start) ? windowStart : start,
+                    windowEnd.isBefore(end) ? windowEnd : end);
+        }
+
+        List<EventLevel> levels() {
+            return errorsOnly ? ERROR_LEVELS : ALL_LEVELS;
+        }
+    }
+
+    public record HourCount(LocalDateTime hour, Map<EventLevel, Long> levels) {
+        public long total() {
+            return levels.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long errors() {
+            return levels.getOrDefault(EventLevel.ERROR, 0L) + levels.getOrDefault(EventLevel.CRITICAL, 0L);
+        }
+    }
+
+    public record EventIdCount(long eventId, EventLevel level, long count) {
+    }
+
+    public record Digest(LocalDateTime start, LocalDateTime end, Map<EventLevel, Long> levels, List<HourCount> hours,
+                         List<EventIdCount> topEventIds, List<PromptEventSampler.Candidate> samples) {
+        public long total() {
+            return levels.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    /** 범위의 시간대·레벨별 건수 (시간 순) */
+    public List<HourCount> hourlyCounts(Scope scope) {
+        if (scope.logFileIds().isEmpty()) {
+            return List.of();
+        }
+        TreeMap<LocalDateTime, Map<EventLevel, Long>> byHour = new TreeMap<>();
+        for (Object[] row : eventRollupRepository.findHourLevelCountsForSummary(scope.logFileIds(), scope.levels(),
+                scope.eventIds(), scope.start().truncatedTo(ChronoUnit.HOURS), scope.end())) {
+            byHour.computeIfAbsent((LocalDateTime) row[0], hour -> new EnumMap<>(EventLevel.class))
+                    .merge((EventLevel) row[1], ((Number) row[2]).longValue(), Long::sum);
+        }
+        List<HourCount> hours = new ArrayList<>(byHour.size());
+        byHour.forEach((hour, levels) -> hours.add(new HourCount(hour, levels)));
+        return hours;
+    }
+
+    /**
+     * 구간 분할: 범위가 window-hours 이하이면 한 구간, 아니면 최대 max-windows 개로 건수가 비슷하도록 시간 경계에서 나눔
+     */
+    public List<Scope> windows(Scope scope, List<HourCount> hours) {
+        if (hours.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime first = hours.get(0).hour();
+        LocalDateTime last = hours.get(hours.size() - 1).hour().plusHours(1);
+        long spanHours = Duration.between(first, last).toHours();
+        if (spanHours <= properties.getWindowHours()) {
+            return List.of(scope.within(first, last));
+        }
+        int windowCount = (int) Math.min(properties.getMaxWindows(),
+                (spanHours + properties.getWindowHours() - 1) / properties.getWindowHours());
+        long total = hours.stream().mapToLong(HourCount::total).sum();
+        List<Scope> windows = new ArrayList<>(windowCount);
+        LocalDateTime windowStart = first;
+        long cumulative = 0;
+        for (HourCount hour : hours) {
+            cumulative += hour.total();
+            LocalDateTime hourEnd = hour.hour().plusHours(1);
+            if (windows.size() < windowCount - 1 && cumulative * windowCount >= total * (windows.size() + 1)) {
+                windows.add(scope.within(windowStart, hourEnd));
+                windowStart = hourEnd;
+            }
+        }
+        if (windowStart.isBefore(last)) {
+            windows.add(scope.within(windowStart, last));
+        }
+        return windows;
+    }
+
+    /** 범위의 집계 (hours 는 hourlyCounts 결과, 범위 밖 시간은 제외) */
+    public Digest digest(Scope scope, List<HourCount> hours) {
+        List<HourCount> inScope = hours.stream()
+                .filter(hour -> !hour.hour().isBefore(scope.start().truncatedTo(ChronoUnit.HOURS))
+                        && hour.hour().isBefore(scope.end()))
+                .toList();
+        Map<EventLevel, Long> levels = new EnumMap<>(EventLevel.class);
+        inScope.forEach(hour -> hour.levels().forEach((level, count) -> levels.merge(level, count, Long::sum)));
+
+        List<EventIdCount> topEventIds = new ArrayList<>();
+        for (Object[] row : eventRollupRepository.findEventIdLevelCountsForSummary(scope.logFileIds(), scope.levels(),
+                scope.eventIds(), scope.start().truncatedTo(ChronoUnit.HOURS), scope.end(), properties.getTopEventIds())) {
+            topEventIds.add(new EventIdCount(((Number) row[0]).longValue(), (EventLevel) row[1], ((Number) row[2]).longValue()));
+        }
+
+        return new Digest(scope.start(), scope.end(), levels, inScope, topEventIds, sampleCandidates(scope, inScope));
+    }
+
+    /** 표본 층: (eventId, level, 시간 구간 번호) */
+    private static final class Stratum {
+        private final long eventId;
+        private final EventLevel level;
+        private final int bucket;
+        private long count;
+        private long minId = Long.MAX_VALUE;
+        private long maxId = Long.MIN_VALUE;
+
+        private Stratum(long eventId, EventLevel level, int bucket) {
+            this.eventId = eventId;
+            this.level = level;
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * 표본 후보: event_rollups 의 시간별 층 건수를 sample-buckets 개 시간 구간으로 합친 뒤, 표본 순서상 앞쪽 층(최대 samples × 2)의
+     * 처음/마지막 이벤트(롤업에 기록된 events.id) 메시지만 조회. 전체 요약이면 건수 상위 층만으로는 Information 이 대부분이므로 Error/Critical 층을 따로 조회해 섞음
+     */
+    private List<PromptEventSampler.Candidate> sampleCandidates(Scope scope, List<HourCount> inScope) {
+        if (properties.getSamples() <= 0 || inScope.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> rows = new ArrayList<>();
+        int rowLimit = properties.getSampleStrataRows();
+        if (scope.errorsOnly()) {
+            rows.addAll(strataRows(scope, scope.levels(), rowLimit));
+        } else {
+            rows.addAll(strataRows(scope, ERROR_LEVELS, (rowLimit + 1) / 2));
+            rows.addAll(strataRows(scope, ALL_LEVELS, rowLimit));
+        }
+
+        LocalDateTime first = inScope.get(0).hour();
+        long spanHours = Math.max(1, Duration.between(first, inScope.get(inScope.size() - 1).hour()).toHours() + 1);
+        int buckets = (int) Math.max(1, Math.min(properties.getSampleBuckets(), spanHours));
+        Map<String, Stratum> strata = new LinkedHashMap<>();
+        Set<String> seenRows = new HashSet<>();
+        for (Object[] row : rows) {
+            long eventId = ((Number) row[0]).longValue();
+            EventLevel level = (EventLevel) row[1];
+            LocalDateTime hour = (LocalDateTime) row[2];
+            // Error/Critical 조회와 전체 조회에 같은 행이 있을 수 있음
+            if (!seenRows.add(eventId + "|" + level + "|" + hour)) {
+                continue;
+            }
+            long offset = Math.max(0, Duration.between(first, hour).toHours());
+            int bucket = (int) Math.min(buckets - 1, offset * buckets / spanHours);
+            Stratum stratum = strata.computeIfAbsent(eventId + "|" + level + "|" + bucket,
+                    key -> new Stratum(eventId, level, bucket));
+            stratum.count += ((Number) row[3]).longValue();
+            // 대표 id 가 없는 롤업 행은 건수에만 반영
+            if (row[4] != null && row[5] != null) {
+                stratum.minId = Math.min(stratum.minId, ((Number) row[4]).longValue());
+                stratum.maxId = Math.max(stratum.maxId, ((Number) row[5]).longValue());
+            }
+        }
+
+        List<Stratum> withIds = strata.values().stream()
+                .filter(stratum -> stratum.minId != Long.MAX_VALUE)
+                .toList();
+        List<Stratum> chosen = PromptEventSampler.order(withIds, stratum -> stratum.eventId,
+                        stratum -> stratum.level, stratum -> stratum.count).stream()
+                .limit((long) properties.getSamples() * 2)
+                .toList();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Stratum stratum : chosen) {
+            ids.add(stratum.minId);
+            ids.add(stratum.maxId);
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Object[]> columns = new HashMap<>();
+        for (Object[] row : eventRepository.findSampleColumnsByIds(ids)) {
+            columns.put(((Number) row[0]).longValue(), row);
+        }
+        List<PromptEventSampler.Candidate> candidates = new ArrayList<>();
+        for (Stratum stratum : chosen) {
+            for (long id : stratum.minId == stratum.maxId ? List.of(stratum.minId) : List.of(stratum.minId, stratum.maxId)) {
+                Object[] row = columns.get(id);
+                if (row != null) {
+                    candidates.add(new PromptEventSampler.Candidate(stratum.eventId, stratum.level, stratum.bucket,
+                            stratum.count, (LocalDateTime) row[2], (String) row[1], (String) row[3]));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private List<Object[]> strataRows(Scope scope, List<EventLevel> levels, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return eventRollupRepository.findSampleStrataForSummary(scope.logFileIds(), levels, scope.eventIds(),
+                scope.start().truncatedTo(ChronoUnit.HOURS), scope.end(), limit);
+    }
+
+    /**
+     * 집계를 프롬프트용 텍스트로 렌더링. 고정 부분(건수, Event ID, 시간대별 Error)은 한도의 60% 안에 들도록
+     * 시간대 해상도(일별) → 상위 Event ID 수 순으로 줄이고, 남은 한도는 층화 표본으로 채움
+     */
+    public String render(Digest digest, int tokenBudget) {
+        int topEventIds = digest.topEventIds().size();
+        boolean hourly = true;
+        String head = renderHead(digest, topEventIds, hourly);
+        while (estimateTokens(head) > tokenBudget * HEAD_BUDGET_RATIO && (hourly || topEventIds > 3)) {
+            if (hourly) {
+                hourly = false;
+            } else {
+                topEventIds--;
+            }
+            head = renderHead(digest, topEventIds, hourly);
+        }
+        if (digest.samples().isEmpty()) {
+            return head;
+        }
+        String sampleHeader = "\n대표 이벤트 표본 (Event ID·Level·시간 구간별, 서로 다른 메시지 우선):\n";
+        int sampleBudget = tokenBudget - estimateTokens(head) - estimateTokens(sampleHeader);
+        List<String> lines = new PromptEventSampler(properties.getMessageChars(), properties.getSamples())
+                .pack(digest.samples(), sampleBudget);
+        return lines.isEmpty() ? head : head + sampleHeader + String.join("", lines);
+    }
+
+    private String renderHead(Digest digest, int topEventIds, boolean hourly) {
+        StringBuilder text = new StringBuilder();
+        List<HourCount> hours = digest.hours();
+        if (!hours.isEmpty()) {
+            text.append(String.format("기간: %s ~ %s\n", hours.get(0).hour().format(HOUR_FORMAT),
+                    hours.get(hours.size() - 1).hour().plusHours(1).format(HOUR_FORMAT)));
+        }
+        long errors = digest.levels().getOrDefault(EventLevel.ERROR, 0L) + digest.levels().getOrDefault(EventLevel.CRITICAL, 0L);
+        text.append(String.format("총 이벤트 개수: %d (Error/Critical: %d)\n", digest.total(), errors));
+        text.append("Level별 통계:");
+        digest.levels().forEach((level, count) -> text.append(String.format(" %s %d,", level, count)));
+        text.setLength(text.length() - (digest.levels().isEmpty() ? 0 : 1));
+        text.append("\n\nEvent ID별 발생 빈도:\n");
+        digest.topEventIds().stream().limit(topEventIds).forEach(count ->
+                text.append(String.format("  Event ID %d [%s]: %d회\n", count.eventId(), count.level(), count.count())));
+
+        Map<String, Long> errorSeries = new TreeMap<>();
+        for (HourCount hour : hours) {
+            if (hour.errors() > 0) {
+                String key = hourly ? hour.hour().format(HOUR_FORMAT) : LocalDate.from(hour.hour()).toString();
+                errorSeries.merge(key, hour.errors(), Long::sum);
+            }
+        }
+        if (hourly && errorSeries.size() > MAX_HOUR_LINES) {
+            return renderHead(digest, topEventIds, false);
+        }
+        if (!errorSeries.isEmpty()) {
+            text.append(hourly ? "\n시간대별 Error/Critical 건수:\n" : "\n일별 Error/Critical 건수:\n");
+            errorSeries.forEach((time, count) -> text.append(String.format("  %s: %d\n", time, count)));
+        }
+        return text.toString();
+    }
+
+    /** 토큰 수 추정: ASCII 4자당 1토큰, 그 외(한글 등) 1자당 1토큰 */
+    public static int estimateTokens(String text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return ascii / 4 + other + 1;
+    }
+}
@@ -0,0 +1,145 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventRowResponse;
+import com.evlo.dto.TimelineResponse;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.LogFileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 세션의 여러 파일(System/Application/Security, 여러 호스트)을 하나의 시간 순 타임라인으로 병합.
+ * 파일별 (timeCreated, id) 키셋 커서를 필요할 때만 조금씩 읽고 힙으로 k-way 병합하므로
+ * 세션 전체 정렬(filesort) 없이 페이지당 약 size + 파일 수 × 청크 행만 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Comparator<EventRowResponse> TIMELINE_ORDER =
+            Comparator.comparing(EventRowResponse::getTimeCreated).thenComparing(EventRowResponse::getId);
+
+    private final EventRepository eventRepository;
+    private final LogFileRepository logFileRepository;
+
+    /**
+     * cursor 가 없으면 from(없으면 처음)부터, 있으면 cursor 다음부터 size 건
+     */
+    @Transactional(readOnly = true)
+    public TimelineResponse timeline(String sessionId, String cursor, LocalDateTime from, LocalDateTime to, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Long> fileIds = logFileRepository.findCompletedIdsBySessionId(sessionId);
+        if (fileIds.isEmpty()) {
+            return TimelineResponse.builder().events(Collections.emptyList()).build();
+        }
+
+        // 시작 키: cursor 의 마지막 (time, id) 다음, 또는 from 이상 전체 (id > 0)
+        LocalDateTime afterTime = from != null ? from : MIN_TIME;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            Key key = decodeCursor(cursor);
+            afterTime = key.time();
+            afterId = key.id();
+        }
+        LocalDateTime toTime = to != null ? to : MAX_TIME;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / fileIds.size() + 1);
+
+        PriorityQueue<FileCursor> heap = new PriorityQueue<>(fileIds.size(),
+                (a, b) -> TIMELINE_ORDER.compare(a.buffer.peekFirst(), b.buffer.peekFirst()));
+        for (Long fileId : fileIds) {
+            FileCursor fileCursor = new FileCursor(fileId, afterTime, afterId, toTime, chunkSize);
+            if (fileCursor.fill()) {
+                heap.add(fileCursor);
+            }
+        }
+
+        List<EventRowResponse> events = new ArrayList<>(size);
+        while (events.size() < size && !heap.isEmpty()) {
+            FileCursor head = heap.poll();
+            events.add(head.buffer.pollFirst());
+            if (head.fill()) {
+                heap.add(head);
+            }
+        }
+
+        String nextCursor = null;
+        if (!heap.isEmpty() && !events.isEmpty()) {
+            EventRowResponse last = events.get(events.size() - 1);
+            nextCursor = encodeCursor(new Key(last.getTimeCreated(), last.getId()));
+        }
+        return TimelineResponse.builder().events(events).nextCursor(nextCursor).build();
+    }
+
+    /** 파일 하나의 키셋 커서. 버퍼가 비면 다음 청크를 읽음 */
+    private final class FileCursor {
+        private final Long logFileId;
+        private final LocalDateTime toTime;
+        private final int chunkSize;
+        private final ArrayDeque<EventRowResponse> buffer = new ArrayDeque<>();
+        private LocalDateTime afterTime;
+        private long afterId;
+        private boolean exhausted;
+
+        FileCursor(Long logFileId, LocalDateTime afterTime, long afterId, LocalDateTime toTime, int chunkSize) {
+            this.logFileId = logFileId;
+            this.afterTime = afterTime;
+            this.afterId = afterId;
+            this.toTime = toTime;
+            this.chunkSize = chunkSize;
+        }
+
+        /** 버퍼에 남은 행이 있으면 true */
+        boolean fill() {
+            if (buffer.isEmpty() && !exhausted) {
+                List<EventRowResponse> rows = eventRepository.findTimelineRows(
+                        logFileId, afterTime, afterId, toTime, PageRequest.of(0, chunkSize));
+                exhausted = rows.size() < chunkSize;
+                if (!rows.isEmpty()) {
+                    EventRowResponse last = rows.get(rows.size() - 1);
+                    afterTime = last.getTimeCreated();
+                    afterId = last.getId();
+                    buffer.addAll(rows);
+                }
+            }
+            return !buffer.isEmpty();
+        }
+    }
+
+    private record Key(LocalDateTime time, long id) {
+    }
+
+    private static String encodeCursor(Key key) {
+        String raw = key.time() + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Key(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.evlo.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대소문자 무시 다중 문자열 검색 (Aho-Corasick).
+ * 패턴은 생성 시 소문자로 정규화하고, 검색 시 문자 단위로 소문자 변환하므로 입력 문자열을 복사하지 않는다.
+ * 생성 후 불변이므로 여러 스레드에서 동시에 검색 가능.
+ */
+public final class AhoCorasick {
+
+    private static final int ASCII = 128;
+
+    // 노드별 ASCII 전이 (없으면 -1), 비 ASCII 는 (node << 32 | char) 키의 맵
+    private final int[][] asciiNext;
+    private final Map<Long, Integer> otherNext;
+    private final Map<Integer, List<Character>> otherChildren;
+    private final int[] fail;
+    // 노드에서 끝나는 패턴 id 목록, 출력 링크 (패턴이 끝나는 가장 가까운 fail 조상)
+    private final int[][] outputs;
+    private final int[] outputLink;
+    private final int patternCount;
+
+    public AhoCorasick(List<String> patterns) {
+        this.patternCount = patterns.size();
+        List<int[]> next = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        Map<Long, Integer> other = new HashMap<>();
+        Map<Integer, List<Character>> otherChars = new HashMap<>();
+        next.add(newNode());
+        out.add(new ArrayList<>());
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("Empty pattern at index " + id);
+            }
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                int child = child(next, other, node, c);
+                if (child < 0) {
+                    child = next.size();
+                    next.add(newNode());
+                    out.add(new ArrayList<>());
+                    if (c < ASCII) {
+                        next.get(node)[c] = child;
+                    } else {
+                        other.put(key(node, c), child);
+                        otherChars.computeIfAbsent(node, k -> new ArrayList<>()).add(c);
+                    }
+                }
+                node = child;
+            }
+            out.get(node).add(id);
+        }
+
+        int size = next.size();
+        this.asciiNext = next.toArray(new int[0][]);
+        this.otherNext = other;
+        this.otherChildren = otherChars;
+        this.fail = new int[size];
+        this.outputLink = new int[size];
+        this.outputs = new int[size][];
+        for (int i = 0; i < size; i++) {
+            outputs[i] = out.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // BFS 로 fail / 출력 링크 계산
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputLink[0] = -1;
+        forEachChild(0, (c, child) -> {
+            fail[child] = 0;
+            outputLink[child] = -1;
+            queue.add(child);
+        });
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            forEachChild(node, (c, child) -> {
+                int f = fail[node];
+                while (f != 0 && transition(f, c) < 0) {
+                    f = fail[f];
+                }
+                int target = transition(f, c);
+                fail[child] = target >= 0 && target != child ? target : 0;
+                outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            });
+        }
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * text 에 등장한 패턴 id 를 found 에 표시 (found.length >= patternCount)
+     */
+    public void search(CharSequence text, boolean[] found) {
+        if (text == null) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = transition(node, c);
+            while (next < 0 && node != 0) {
+                node = fail[node];
+                next = transition(node, c);
+            }
+            node = next < 0 ? 0 : next;
+            for (int n = outputs[node].length > 0 ? node : outputLink[node]; n > 0; n = outputLink[n]) {
+                for (int id : outputs[n]) {
+                    found[id] = true;
+                }
+            }
+        }
+    }
+
+    private int transition(int node, char c) {
+        if (c < ASCII) {
+            return asciiNext[node][c];
+        }
+        Integer child = otherNext.get(key(node, c));
+        return child != null ? child : -1;
+    }
+
+    private void forEachChild(int node, ChildVisitor visitor) {
+        int[] ascii = asciiNext[node];
+        for (char c = 0; c < ASCII; c++) {
+            if (ascii[c] >= 0) {
+                visitor.visit(c, ascii[c]);
+            }
+        }
+        for (char c : otherChildren.getOrDefault(node, List.of())) {
+            visitor.visit(c, otherNext.get(key(node, c)));
+        }
+    }
+
+    private static int child(List<int[]> next, Map<Long, Integer> other, int node, char c) {
+        if (c < ASCII) {
+            return next.get(node)[c];
+        }
+        Integer child = other.get(key(node, c));
+        return child != null ? child : -1;
+    }
+
+    private static int[] newNode() {
+        int[] node = new int[ASCII];
+        Arrays.fill(node, -1);
+        return node;
+    }
+
+    private static long key(int node, char c) {
+        return ((long) node << 32) | c;
+    }
+
+    @FunctionalInterface
+    private interface ChildVisitor {
+        void visit(char c, int child);
+    }
+}
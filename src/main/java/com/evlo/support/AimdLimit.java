@@ -0,0 +1,69 @@
+package com.evlo.support;
+
+/**
+ * AIMD(additive increase, multiplicative decrease) 동시 실행 한도.
+ * 성공하면 한도를 1/limit 씩 올리고(한도만큼 성공하면 약 +1), 과부하 신호(타임아웃, 5xx 등)가 오면 backoffRatio 를 곱해 줄임.
+ * 진행 중 호출이 한도에 닿으면 대기 없이 거절하므로 과부하 시 빠르게 실패하고, 한도는 상대의 실제 처리 용량 근처로 수렴함.
+ * 한도의 절반도 쓰지 않는 동안에는 늘리지 않음 (부하가 없을 때 한도가 무한정 커지지 않도록).
+ * 줄이기 전에 허가를 받은 호출의 과부하 신호로는 다시 줄이지 않음 (같은 과부하에 대해 한 번만, TCP 의 RTT 당 1회와 같은 취지).
+ * tryAcquire 가 허가(NO_PERMIT 이 아닌 값)를 준 호출은 onSuccess / onDropped / onIgnored 중 하나로 반드시 결과를 알려야 함.
+ */
+public class AimdLimit {
+
+    /** tryAcquire 가 호출을 거절할 때 반환 */
+    public static final long NO_PERMIT = -1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    /** 아래 필드 접근은 this 모니터로 동기화 */
+    private double limit;
+    private int inFlight;
+    /** 발급한 허가 수. 허가 값은 발급 순번 */
+    private long issued;
+    /** 마지막으로 줄인 시점의 issued. 이보다 작은 허가는 줄이기 전에 시작한 호출 */
+    private long backedOffAt;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public synchronized long tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return NO_PERMIT;
+        }
+        inFlight++;
+        return issued++;
+    }
+
+    public synchronized void onSuccess() {
+        if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        inFlight--;
+    }
+
+    public synchronized void onDropped(long permit) {
+        if (permit >= backedOffAt) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            backedOffAt = issued;
+        }
+        inFlight--;
+    }
+
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+}
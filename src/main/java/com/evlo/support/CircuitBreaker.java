@@ -0,0 +1,143 @@
+package com.evlo.support;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 호출 수 기준 sliding window 회로 차단기.
+ * CLOSED 에서 최근 slidingWindowSize 번 중 실패 비율이 failureRateThreshold(%) 이상이면 OPEN,
+ * OPEN 은 waitDurationInOpenState 동안 모든 호출을 거절한 뒤 HALF_OPEN 으로 바뀌어 시험 호출을 permittedCallsInHalfOpenState 번까지 허용.
+ * 시험 호출이 모두 성공하면 CLOSED(창 초기화), 하나라도 실패하면 다시 OPEN.
+ * tryAcquirePermission 이 허가(NO_PERMISSION 이 아닌 값)를 준 호출은 그 허가로 onSuccess / onFailure / onIgnored 중 하나를 반드시 알려야 함.
+ * 허가는 발급 당시 상태 세대라서, 상태가 바뀐 뒤 끝난 이전 세대 호출(예: CLOSED 때 시작해 HALF_OPEN 중에 끝난 호출)의 결과는 반영하지 않음.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /** tryAcquirePermission 이 호출을 거절할 때 반환 */
+    public static final long NO_PERMISSION = -1;
+
+    private final int slidingWindowSize;
+    private final int failureRateThreshold;
+    private final long waitDurationInOpenStateMs;
+    private final int permittedCallsInHalfOpenState;
+    private final LongSupplier clockMs;
+
+    /** 최근 결과 ring buffer (true = 실패). 아래 필드 접근은 this 모니터로 동기화 */
+    private final boolean[] outcomes;
+    private int recorded;
+    private int failures;
+    private int next;
+    private State state = State.CLOSED;
+    /** 상태가 바뀔 때마다 증가. 허가 값으로 사용 */
+    private long generation;
+    private long openedAtMs;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int slidingWindowSize, int failureRateThreshold, long waitDurationInOpenStateMs,
+                          int permittedCallsInHalfOpenState, LongSupplier clockMs) {
+        this.slidingWindowSize = Math.max(1, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.waitDurationInOpenStateMs = waitDurationInOpenStateMs;
+        this.permittedCallsInHalfOpenState = Math.max(1, permittedCallsInHalfOpenState);
+        this.clockMs = clockMs;
+        this.outcomes = new boolean[this.slidingWindowSize];
+    }
+
+    public synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clockMs.getAsLong() - openedAtMs < waitDurationInOpenStateMs) {
+                return NO_PERMISSION;
+            }
+            transition(State.HALF_OPEN);
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenSuccesses >= permittedCallsInHalfOpenState) {
+                return NO_PERMISSION;
+            }
+            halfOpenInFlight++;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permission) {
+        if (permission != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+            if (++halfOpenSuccesses >= permittedCallsInHalfOpenState) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long permission) {
+        if (permission != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= slidingWindowSize && failures * 100L >= (long) failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    /** 서비스 상태와 무관하게 끝난 호출 (취소 등). 허가만 반환 */
+    public synchronized void onIgnored(long permission) {
+        if (permission == generation && state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** 최근 창의 실패 비율 (%). 창이 다 차지 않았으면 -1 */
+    public synchronized float failureRate() {
+        return recorded < slidingWindowSize ? -1 : failures * 100f / recorded;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == slidingWindowSize) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % slidingWindowSize;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAtMs = clockMs.getAsLong();
+    }
+
+    private void close() {
+        transition(State.CLOSED);
+        recorded = 0;
+        failures = 0;
+        next = 0;
+    }
+
+    private void transition(State to) {
+        state = to;
+        generation++;
+    }
+}
@@ -0,0 +1,96 @@
+package com.evlo.support;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 스레드를 점유하지 않는 동시 실행 제한. 허용 수를 넘으면 대기열에서 순서대로 기다리고,
+ * 대기열이 가득 찼거나 대기 시간이 지나면 RejectedExecutionException.
+ * 허가는 작업 Flux 가 완료/실패/취소될 때 반환.
+ * 대기 시간 초과와 취소는 대기열에서 빠진 대기자만 거절하고, release 가 이미 꺼낸 대기자는 허가를 넘겨받은 것으로 보고 반환.
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    /** active/waiters 접근은 this 모니터로 동기화 */
+    private final ArrayDeque<MonoSink<Void>> waiters = new ArrayDeque<>();
+    private int active;
+
+    public ConcurrencyLimiter(String name, int maxConcurrent, int maxQueued, Duration queueTimeout) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+    }
+
+    public <T> Flux<T> limit(Supplier<Flux<T>> work) {
+        return acquire().thenMany(Flux.defer(work).doFinally(signal -> release()));
+    }
+
+    public synchronized int active() {
+        return active;
+    }
+
+    public synchronized int queued() {
+        return waiters.size();
+    }
+
+    private Mono<Void> acquire() {
+        return Mono.create(sink -> {
+            synchronized (this) {
+                if (active < maxConcurrent) {
+                    active++;
+                } else if (waiters.size() >= maxQueued) {
+                    sink.error(new RejectedExecutionException(name + " queue is full (" + maxQueued + ")"));
+                    return;
+                } else {
+                    waiters.add(sink);
+                    // 대기 중 시간이 지나면 대기열에서 빼고 거절. release 가 먼저 꺼냈으면 허가를 받은 것이므로 그대로 둠
+                    sink.onDispose(Schedulers.parallel().schedule(() -> {
+                        if (dequeue(sink)) {
+                            sink.error(new RejectedExecutionException(
+                                    name + " queue wait exceeded " + queueTimeout.toSeconds() + "s"));
+                        }
+                    }, queueTimeout.toNanos(), TimeUnit.NANOSECONDS));
+                    // 대기 중 취소되면 대기열에서 빼고, 이미 허가를 넘겨받은 뒤라면 반환
+                    sink.onCancel(() -> {
+                        if (!dequeue(sink)) {
+                            release();
+                        }
+                    });
+                    return;
+                }
+            }
+            sink.success();
+        });
+    }
+
+    private synchronized boolean dequeue(MonoSink<Void> sink) {
+        return waiters.remove(sink);
+    }
+
+    private void release() {
+        MonoSink<Void> next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        // 허가를 그대로 다음 대기자에게 넘김 (active 유지)
+        next.success();
+    }
+}
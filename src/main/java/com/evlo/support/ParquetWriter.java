@@ -0,0 +1,561 @@
+package com.evlo.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 외부 의존성 없는 최소 Parquet 파일 writer (data page v1, 평탄한 스키마).
+ * INT64, TIMESTAMP(MICROS, UTC), UTF8 문자열 컬럼만 지원하며 문자열은 행 그룹별 사전(dictionary) 인코딩을 선택할 수 있음.
+ * 행을 컬럼 버퍼에 모았다가 행 그룹 크기에 도달하면 컬럼 청크로 바로 출력하므로 메모리는 행 그룹 하나로 제한되고,
+ * footer(FileMetaData)는 finish 에서 기록. thread-safe 하지 않음.
+ */
+public class ParquetWriter {
+
+    public enum Codec {
+        UNCOMPRESSED(0), GZIP(2);
+
+        private final int thriftId;
+
+        Codec(int thriftId) {
+            this.thriftId = thriftId;
+        }
+    }
+
+    private static final byte[] MAGIC = {'P', 'A', 'R', '1'};
+    private static final int MAX_ROW_GROUP_ROWS = 1 << 20;
+
+    // parquet.thrift 열거값
+    private static final int TYPE_INT64 = 2;
+    private static final int TYPE_BYTE_ARRAY = 6;
+    private static final int REPETITION_REQUIRED = 0;
+    private static final int REPETITION_OPTIONAL = 1;
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_TIMESTAMP_MICROS = 10;
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_RLE = 3;
+    private static final int ENCODING_RLE_DICTIONARY = 8;
+    private static final int PAGE_DATA = 0;
+    private static final int PAGE_DICTIONARY = 2;
+
+    private final OutputStream out;
+    private final List<Column> columns;
+    private final ColumnBuffer[] buffers;
+    private final Codec codec;
+    private final long rowGroupBytes;
+    private final List<RowGroupMeta> rowGroups = new ArrayList<>();
+    private long position;
+    private int rowGroupRows;
+    private long totalRows;
+
+    public ParquetWriter(OutputStream out, List<Column> columns, Codec codec, long rowGroupBytes) throws IOException {
+        this.out = out;
+        this.columns = List.copyOf(columns);
+        this.codec = codec;
+        this.rowGroupBytes = rowGroupBytes;
+        this.buffers = new ColumnBuffer[columns.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ColumnBuffer(this.columns.get(i));
+        }
+        write(MAGIC);
+    }
+
+    public static Column int64(String name, boolean optional) {
+        return new Column(name, TYPE_INT64, optional, false, false);
+    }
+
+    /** epoch 기준 마이크로초 (UTC) */
+    public static Column timestampMicros(String name, boolean optional) {
+        return new Column(name, TYPE_INT64, optional, false, true);
+    }
+
+    public static Column string(String name, boolean optional, boolean dictionary) {
+        return new Column(name, TYPE_BYTE_ARRAY, optional, dictionary, false);
+    }
+
+    public void writeLong(int column, Long value) {
+        ColumnBuffer buffer = buffers[column];
+        if (buffer.column.type != TYPE_INT64) {
+            throw new IllegalArgumentException("Not an INT64 column: " + buffer.column.name);
+        }
+        if (value == null) {
+            buffer.addNull();
+        } else {
+            buffer.addLong(value);
+        }
+    }
+
+    public void writeString(int column, String value) {
+        ColumnBuffer buffer = buffers[column];
+        if (buffer.column.type != TYPE_BYTE_ARRAY) {
+            throw new IllegalArgumentException("Not a string column: " + buffer.column.name);
+        }
+        if (value == null) {
+            buffer.addNull();
+        } else {
+            buffer.addString(value);
+        }
+    }
+
+    /** 현재 행 종료. 모든 컬럼에 값(또는 null)을 하나씩 쓴 뒤 호출 */
+    public void endRow() throws IOException {
+        rowGroupRows++;
+        totalRows++;
+        long buffered = 0;
+        for (ColumnBuffer buffer : buffers) {
+            buffered += buffer.bytes;
+        }
+        if (buffered >= rowGroupBytes || rowGroupRows >= MAX_ROW_GROUP_ROWS) {
+            flushRowGroup();
+        }
+    }
+
+    /** 남은 행 그룹과 footer 를 기록. 하위 스트림은 닫지 않음 */
+    public void finish() throws IOException {
+        if (rowGroupRows > 0) {
+            flushRowGroup();
+        }
+        byte[] footer = fileMetaData();
+        write(footer);
+        write(new byte[]{(byte) footer.length, (byte) (footer.length >>> 8), (byte) (footer.length >>> 16), (byte) (footer.length >>> 24)});
+        write(MAGIC);
+        out.flush();
+    }
+
+    public long totalRows() {
+        return totalRows;
+    }
+
+    private void flushRowGroup() throws IOException {
+        long groupStart = position;
+        long groupUncompressed = 0;
+        List<ChunkMeta> chunks = new ArrayList<>(buffers.length);
+        for (ColumnBuffer buffer : buffers) {
+            if (buffer.rows != rowGroupRows) {
+                throw new IllegalStateException("Column " + buffer.column.name + " has " + buffer.rows + " values, expected " + rowGroupRows);
+            }
+            long chunkStart = position;
+            long dictionaryOffset = -1;
+            long[] sizes = new long[2];
+            if (buffer.column.dictionary) {
+                dictionaryOffset = position;
+                writePage(PAGE_DICTIONARY, buffer.dictionaryValues.toByteArray(), buffer.dictionary.size(), ENCODING_PLAIN, sizes);
+            }
+            long dataOffset = position;
+            writePage(PAGE_DATA, buffer.dataPageBody(), rowGroupRows,
+                    buffer.column.dictionary ? ENCODING_RLE_DICTIONARY : ENCODING_PLAIN, sizes);
+            chunks.add(new ChunkMeta(buffer.column, chunkStart, dictionaryOffset, dataOffset, rowGroupRows, sizes[0], sizes[1]));
+            groupUncompressed += sizes[0];
+            buffer.reset();
+        }
+        rowGroups.add(new RowGroupMeta(chunks, groupStart, position - groupStart, groupUncompressed, rowGroupRows));
+        rowGroupRows = 0;
+    }
+
+    /** 페이지 헤더 + (압축된) 본문 기록. sizes 에 [비압축, 압축] 크기(헤더 포함) 누적 */
+    private void writePage(int pageType, byte[] body, int numValues, int encoding, long[] sizes) throws IOException {
+        byte[] stored = compress(body);
+        ThriftCompactWriter header = new ThriftCompactWriter();
+        header.fieldI32(1, pageType);
+        header.fieldI32(2, body.length);
+        header.fieldI32(3, stored.length);
+        if (pageType == PAGE_DATA) {
+            header.beginStruct(5);
+            header.fieldI32(1, numValues);
+            header.fieldI32(2, encoding);
+            header.fieldI32(3, ENCODING_RLE);
+            header.fieldI32(4, ENCODING_RLE);
+        } else {
+            header.beginStruct(7);
+            header.fieldI32(1, numValues);
+            header.fieldI32(2, encoding);
+        }
+        header.endStruct();
+        byte[] headerBytes = header.finish();
+        write(headerBytes);
+        write(stored);
+        sizes[0] += headerBytes.length + body.length;
+        sizes[1] += headerBytes.length + stored.length;
+    }
+
+    private byte[] compress(byte[] body) throws IOException {
+        if (codec == Codec.UNCOMPRESSED) {
+            return body;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8 * 1024)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private byte[] fileMetaData() {
+        ThriftCompactWriter meta = new ThriftCompactWriter();
+        meta.fieldI32(1, 1);
+        meta.listHeader(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+        meta.beginListStruct();
+        meta.fieldString(4, "schema");
+        meta.fieldI32(5, columns.size());
+        meta.endStruct();
+        for (Column column : columns) {
+            meta.beginListStruct();
+            meta.fieldI32(1, column.type);
+            meta.fieldI32(3, column.optional ? REPETITION_OPTIONAL : REPETITION_REQUIRED);
+            meta.fieldString(4, column.name);
+            if (column.type == TYPE_BYTE_ARRAY) {
+                meta.fieldI32(6, CONVERTED_UTF8);
+                meta.beginStruct(10);
+                meta.beginStruct(1);
+                meta.endStruct();
+                meta.endStruct();
+            } else if (column.timestamp) {
+                meta.fieldI32(6, CONVERTED_TIMESTAMP_MICROS);
+                meta.beginStruct(10);
+                meta.beginStruct(8);
+                meta.fieldBool(1, true);
+                meta.beginStruct(2);
+                meta.beginStruct(2);
+                meta.endStruct();
+                meta.endStruct();
+                meta.endStruct();
+                meta.endStruct();
+            }
+            meta.endStruct();
+        }
+        meta.fieldI64(3, totalRows);
+        meta.listHeader(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroupMeta rowGroup : rowGroups) {
+            meta.beginListStruct();
+            meta.listHeader(1, ThriftCompactWriter.TYPE_STRUCT, rowGroup.chunks.size());
+            for (ChunkMeta chunk : rowGroup.chunks) {
+                meta.beginListStruct();
+                meta.fieldI64(2, chunk.start);
+                meta.beginStruct(3);
+                meta.fieldI32(1, chunk.column.type);
+                int[] encodings = chunk.column.dictionary
+                        ? new int[]{ENCODING_PLAIN, ENCODING_RLE, ENCODING_RLE_DICTIONARY}
+                        : new int[]{ENCODING_PLAIN, ENCODING_RLE};
+                meta.listHeader(2, ThriftCompactWriter.TYPE_I32, encodings.length);
+                for (int encoding : encodings) {
+                    meta.i32(encoding);
+                }
+                meta.listHeader(3, ThriftCompactWriter.TYPE_BINARY, 1);
+                meta.string(chunk.column.name);
+                meta.fieldI32(4, codec.thriftId);
+                meta.fieldI64(5, chunk.numValues);
+                meta.fieldI64(6, chunk.uncompressedSize);
+                meta.fieldI64(7, chunk.compressedSize);
+                meta.fieldI64(9, chunk.dataOffset);
+                if (chunk.dictionaryOffset >= 0) {
+                    meta.fieldI64(11, chunk.dictionaryOffset);
+                }
+                meta.endStruct();
+                meta.endStruct();
+            }
+            meta.fieldI64(2, rowGroup.uncompressedSize);
+            meta.fieldI64(3, rowGroup.numRows);
+            meta.fieldI64(5, rowGroup.start);
+            meta.fieldI64(6, rowGroup.compressedSize);
+            meta.endStruct();
+        }
+        meta.fieldString(6, "evlo");
+        return meta.finish();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    /** RLE / bit-packing 혼합 인코딩. 8개 이상 반복되는 값은 RLE run, 나머지는 8개 단위 bit-packed run */
+    static void encodeHybrid(IntList values, int bitWidth, ByteArrayOutputStream out) {
+        int count = values.size;
+        int[] v = values.values;
+        int packedStart = 0;
+        int i = 0;
+        while (i < count) {
+            int run = 1;
+            while (i + run < count && v[i + run] == v[i]) {
+                run++;
+            }
+            if (run < 8) {
+                i += run;
+                continue;
+            }
+            // bit-packed run 은 중간에 패딩할 수 없으므로 8의 배수가 되도록 반복 구간 앞부분을 포함
+            int pad = (8 - (i - packedStart) % 8) % 8;
+            i += pad;
+            run -= pad;
+            writeBitPacked(v, packedStart, i, bitWidth, out);
+            writeVarint(out, (long) run << 1);
+            int value = v[i];
+            for (int b = 0; b < (bitWidth + 7) / 8; b++) {
+                out.write(value >>> (8 * b));
+            }
+            i += run;
+            packedStart = i;
+        }
+        writeBitPacked(v, packedStart, count, bitWidth, out);
+    }
+
+    private static void writeBitPacked(int[] v, int from, int to, int bitWidth, ByteArrayOutputStream out) {
+        if (from >= to) {
+            return;
+        }
+        int groups = (to - from + 7) / 8;
+        writeVarint(out, ((long) groups << 1) | 1);
+        long bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < from + groups * 8; i++) {
+            long value = i < to ? v[i] : 0;
+            bits |= value << bitCount;
+            bitCount += bitWidth;
+            while (bitCount >= 8) {
+                out.write((int) bits);
+                bits >>>= 8;
+                bitCount -= 8;
+            }
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    /** 스키마 컬럼 정의 (최상위 필드만) */
+    public static final class Column {
+        private final String name;
+        private final int type;
+        private final boolean optional;
+        private final boolean dictionary;
+        private final boolean timestamp;
+
+        private Column(String name, int type, boolean optional, boolean dictionary, boolean timestamp) {
+            this.name = name;
+            this.type = type;
+            this.optional = optional;
+            this.dictionary = dictionary;
+            this.timestamp = timestamp;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /** 현재 행 그룹의 컬럼 값 (PLAIN 값 또는 사전 인덱스, definition level) */
+    private static final class ColumnBuffer {
+        private final Column column;
+        private final IntList definitionLevels = new IntList();
+        private final ByteArrayOutputStream plainValues = new ByteArrayOutputStream();
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final ByteArrayOutputStream dictionaryValues = new ByteArrayOutputStream();
+        private final IntList dictionaryIndexes = new IntList();
+        private final byte[] scratch = new byte[8];
+        private int rows;
+        private long bytes;
+
+        private ColumnBuffer(Column column) {
+            this.column = column;
+        }
+
+        void addNull() {
+            if (!column.optional) {
+                throw new IllegalArgumentException("Null value for required column: " + column.name);
+            }
+            definitionLevels.add(0);
+            rows++;
+        }
+
+        void addLong(long value) {
+            defined();
+            for (int b = 0; b < 8; b++) {
+                scratch[b] = (byte) (value >>> (8 * b));
+            }
+            plainValues.write(scratch, 0, 8);
+            bytes += 8;
+        }
+
+        void addString(String value) {
+            defined();
+            if (column.dictionary) {
+                Integer index = dictionary.get(value);
+                if (index == null) {
+                    index = dictionary.size();
+                    dictionary.put(value, index);
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    writeIntLE(dictionaryValues, encoded.length);
+                    dictionaryValues.write(encoded, 0, encoded.length);
+                    bytes += encoded.length + 4;
+                }
+                dictionaryIndexes.add(index);
+                bytes += 4;
+            } else {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                writeIntLE(plainValues, encoded.length);
+                plainValues.write(encoded, 0, encoded.length);
+                bytes += encoded.length + 4;
+            }
+        }
+
+        private void defined() {
+            if (column.optional) {
+                definitionLevels.add(1);
+            }
+            rows++;
+        }
+
+        byte[] dataPageBody() throws IOException {
+            ByteArrayOutputStream page = new ByteArrayOutputStream(plainValues.size() + dictionaryIndexes.size + 64);
+            if (column.optional) {
+                ByteArrayOutputStream levels = new ByteArrayOutputStream(definitionLevels.size / 8 + 16);
+                encodeHybrid(definitionLevels, 1, levels);
+                writeIntLE(page, levels.size());
+                levels.writeTo(page);
+            }
+            if (column.dictionary) {
+                int bitWidth = dictionary.size() <= 1 ? 1 : 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1);
+                page.write(bitWidth);
+                encodeHybrid(dictionaryIndexes, bitWidth, page);
+            } else {
+                plainValues.writeTo(page);
+            }
+            return page.toByteArray();
+        }
+
+        void reset() {
+            definitionLevels.size = 0;
+            plainValues.reset();
+            dictionary.clear();
+            dictionaryValues.reset();
+            dictionaryIndexes.size = 0;
+            rows = 0;
+            bytes = 0;
+        }
+    }
+
+    static final class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private record ChunkMeta(Column column, long start, long dictionaryOffset, long dataOffset, long numValues,
+                             long uncompressedSize, long compressedSize) {
+    }
+
+    private record RowGroupMeta(List<ChunkMeta> chunks, long start, long compressedSize, long uncompressedSize, long numRows) {
+    }
+
+    /** footer / 페이지 헤더용 Thrift compact protocol 인코더 (쓰기 전용) */
+    private static final class ThriftCompactWriter {
+        static final int TYPE_BOOLEAN_TRUE = 1;
+        static final int TYPE_BOOLEAN_FALSE = 2;
+        static final int TYPE_I32 = 5;
+        static final int TYPE_I64 = 6;
+        static final int TYPE_BINARY = 8;
+        static final int TYPE_LIST = 9;
+        static final int TYPE_STRUCT = 12;
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        private final Deque<Integer> lastFieldIds = new ArrayDeque<>();
+        private int lastFieldId;
+
+        void fieldI32(int id, int value) {
+            fieldHeader(id, TYPE_I32);
+            i32(value);
+        }
+
+        void fieldI64(int id, long value) {
+            fieldHeader(id, TYPE_I64);
+            writeVarint(out, (value << 1) ^ (value >> 63));
+        }
+
+        void fieldBool(int id, boolean value) {
+            fieldHeader(id, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+        }
+
+        void fieldString(int id, String value) {
+            fieldHeader(id, TYPE_BINARY);
+            string(value);
+        }
+
+        void beginStruct(int id) {
+            fieldHeader(id, TYPE_STRUCT);
+            beginListStruct();
+        }
+
+        /** 리스트 원소로서의 struct 시작 (필드 헤더 없음) */
+        void beginListStruct() {
+            lastFieldIds.push(lastFieldId);
+            lastFieldId = 0;
+        }
+
+        void endStruct() {
+            out.write(0);
+            lastFieldId = lastFieldIds.pop();
+        }
+
+        void listHeader(int id, int elementType, int size) {
+            fieldHeader(id, TYPE_LIST);
+            if (size < 15) {
+                out.write((size << 4) | elementType);
+            } else {
+                out.write(0xF0 | elementType);
+                writeVarint(out, size);
+            }
+        }
+
+        void i32(int value) {
+            writeVarint(out, Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+        }
+
+        void string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        byte[] finish() {
+            out.write(0);
+            return out.toByteArray();
+        }
+
+        private void fieldHeader(int id, int type) {
+            int delta = id - lastFieldId;
+            if (delta > 0 && delta <= 15) {
+                out.write((delta << 4) | type);
+            } else {
+                out.write(type);
+                i32(id);
+            }
+            lastFieldId = id;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.evlo.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 상위 K(heavy hitter) 스케치.
+ * 최대 capacity개 항목만 유지하고, 가득 찬 상태에서 새 항목이 들어오면 최소 건수 항목을 대체한다.
+ * 각 항목의 실제 건수는 [count - error, count] 범위에 있음.
+ * 항목은 건수 기준 최소 힙(배열)에 두고 각 항목이 자기 힙 위치를 기억하므로, 증가와 최소 항목 대체 모두 O(log k).
+ */
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    /** 건수 최소 힙. heap[0] 이 최소 항목 */
+    private final Counter[] heap;
+    private int size;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Space-Saving capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public record Item(String value, long count, long error) {
+    }
+
+    private static final class Counter {
+        private String value;
+        private long count;
+        private long error;
+        private int index;
+
+        private Counter(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.index);
+            return;
+        }
+        if (size < capacity) {
+            insert(new Counter(value, 1, 0));
+            return;
+        }
+        // 최소 항목 대체: 새 항목의 오차는 대체된 항목의 건수
+        Counter min = heap[0];
+        counters.remove(min.value);
+        min.value = value;
+        min.error = min.count;
+        min.count++;
+        counters.put(value, min);
+        siftDown(0);
+    }
+
+    /**
+     * 다른 스케치 병합 (Agarwal et al. mergeable summaries).
+     * 한쪽에 없는 항목은 그쪽이 가득 차 있었다면 그쪽 최소 건수만큼 과대 추정될 수 있어 오차에 더함
+     */
+    public void merge(SpaceSavingSketch other) {
+        long thisMin = size < capacity ? 0 : minCount();
+        long otherMin = other.size < other.capacity ? 0 : other.minCount();
+
+        List<Counter> merged = new ArrayList<>(size + other.size);
+        counters.forEach((key, c) -> {
+            Counter o = other.counters.get(key);
+            merged.add(o != null
+                    ? new Counter(key, c.count + o.count, c.error + o.error)
+                    : new Counter(key, c.count + otherMin, c.error + otherMin));
+        });
+        other.counters.forEach((key, o) -> {
+            if (!counters.containsKey(key)) {
+                merged.add(new Counter(key, o.count + thisMin, o.error + thisMin));
+            }
+        });
+
+        counters.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        merged.sort(Comparator.comparingLong((Counter c) -> c.count).reversed());
+        for (int i = 0; i < merged.size() && i < capacity; i++) {
+            insert(merged.get(i));
+        }
+    }
+
+    public List<Item> top(int limit) {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(heap[i].value, heap[i].count, heap[i].error));
+        }
+        items.sort(Comparator.comparingLong(Item::count).reversed());
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    private long minCount() {
+        return size == 0 ? 0 : heap[0].count;
+    }
+
+    private void insert(Counter counter) {
+        counter.index = size;
+        heap[size++] = counter;
+        counters.put(counter.value, counter);
+        siftUp(counter.index);
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /** [capacity][size]([value UTF][count][error])* */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(capacity);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeUTF(heap[i].value);
+                out.writeLong(heap[i].count);
+                out.writeLong(heap[i].error);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SpaceSavingSketch fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            SpaceSavingSketch sketch = new SpaceSavingSketch(in.readInt());
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                sketch.insert(new Counter(in.readUTF(), in.readLong(), in.readLong()));
+            }
+            return sketch;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.evlo.support;
+
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 부하 테스트용 로컬 stub 모델. 실제 호출 없이 첫 토큰 지연과 초당 토큰 수를 흉내 내며 고정 응답을 스트리밍.
+ * 응답에 프롬프트 길이를 넣어 입력별로 다른 결과가 나오도록 함 (응답 캐시 키 검증용)
+ */
+public class StubChatClient implements ChatClient, StreamingChatClient {
+
+    private final Duration firstTokenDelay;
+    private final Duration tokenInterval;
+    private final int tokens;
+
+    public StubChatClient(long firstTokenMs, int tokensPerSecond, int tokens) {
+        this.firstTokenDelay = Duration.ofMillis(firstTokenMs);
+        this.tokenInterval = Duration.ofMillis(Math.max(1, 1000L / Math.max(1, tokensPerSecond)));
+        this.tokens = tokens;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        String content = stream(prompt)
+                .map(response -> response.getResult().getOutput().getContent())
+                .collect(Collectors.joining())
+                .block();
+        return new ChatResponse(List.of(new Generation(content)));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        int promptChars = prompt.getContents().length();
+        return Flux.range(0, tokens)
+                .delayElements(tokenInterval)
+                .delaySubscription(firstTokenDelay)
+                .map(i -> i == 0 ? "[stub] 입력 " + promptChars + "자에 대한 모의 응답입니다." : " 토큰" + i)
+                .map(text -> new ChatResponse(List.of(new Generation(text))));
+    }
+}
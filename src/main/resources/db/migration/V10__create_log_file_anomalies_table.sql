@@ -0,0 +1,14 @@
+-- 업로드 시 탐지한 eventId별 버스트/침묵 구간 (이상 탐지 API용)
+CREATE TABLE IF NOT EXISTS log_file_anomalies (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_file_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    anomaly_type ENUM('BURST', 'SILENCE') NOT NULL,
+    start_time DATETIME NOT NULL,
+    end_time DATETIME NOT NULL,
+    observed_count BIGINT NOT NULL,
+    expected_count DOUBLE NOT NULL,
+    score DOUBLE NOT NULL,
+    CONSTRAINT fk_log_file_anomalies_log_file FOREIGN KEY (log_file_id) REFERENCES log_files(id) ON DELETE CASCADE,
+    INDEX idx_log_file_anomalies_log_file_start (log_file_id, start_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,14 @@
+-- 업로드 시 탐지 규칙(detection-rules/*.yml)에 일치한 이벤트
+CREATE TABLE IF NOT EXISTS detections (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_file_id BIGINT NOT NULL,
+    event_row_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    time_created DATETIME(6) NOT NULL,
+    rule_id VARCHAR(100) NOT NULL,
+    rule_title VARCHAR(255) NOT NULL,
+    severity ENUM('INFORMATIONAL', 'LOW', 'MEDIUM', 'HIGH', 'CRITICAL') NOT NULL,
+    CONSTRAINT fk_detections_log_file FOREIGN KEY (log_file_id) REFERENCES log_files(id) ON DELETE CASCADE,
+    INDEX idx_detections_log_file_time (log_file_id, time_created),
+    INDEX idx_detections_log_file_rule (log_file_id, rule_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,13 @@
+-- 파일×시간 층별 reservoir 표본 (approximate=true 분석용). 기존 파일은 backfill 하지 않음
+CREATE TABLE IF NOT EXISTS event_samples (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_file_id BIGINT NOT NULL,
+    bucket_hour DATETIME(6) NOT NULL,
+    stratum_size BIGINT NOT NULL,
+    sample_size INT NOT NULL,
+    time_created DATETIME(6) NOT NULL,
+    event_id BIGINT NOT NULL,
+    level ENUM('INFORMATION','WARNING','ERROR','CRITICAL') NOT NULL,
+    CONSTRAINT fk_event_samples_log_file FOREIGN KEY (log_file_id) REFERENCES log_files(id) ON DELETE CASCADE,
+    INDEX idx_event_samples_log_file_hour (log_file_id, bucket_hour)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,24 @@
+-- 롤업 행(파일×시간×eventId×level×channel)의 처음/마지막 events.id. AI 요약 표본 층을 events GROUP BY 없이 고르기 위함
+ALTER TABLE event_rollups
+    ADD COLUMN first_event_id BIGINT NULL,
+    ADD COLUMN last_event_id BIGINT NULL;
+
+-- 기존 업로드 파일 backfill
+UPDATE event_rollups r
+JOIN (
+    SELECT log_file_id,
+           DATE_FORMAT(time_created, '%Y-%m-%d %H:00:00') AS bucket_hour,
+           event_id,
+           level,
+           channel,
+           MIN(id) AS first_event_id,
+           MAX(id) AS last_event_id
+    FROM events
+    GROUP BY log_file_id, DATE_FORMAT(time_created, '%Y-%m-%d %H:00:00'), event_id, level, channel
+) e ON e.log_file_id = r.log_file_id
+   AND e.bucket_hour = r.bucket_hour
+   AND e.event_id = r.event_id
+   AND e.level = r.level
+   AND e.channel = r.channel
+SET r.first_event_id = e.first_event_id,
+    r.last_event_id = e.last_event_id;
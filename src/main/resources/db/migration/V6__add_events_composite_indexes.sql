@@ -0,0 +1,5 @@
+-- 동적 검색 쿼리(EventSpecifications)용 복합 인덱스
+-- 파일/세션 범위 + 기간 정렬, 파일 범위 + Event ID 필터를 filesort 없이 처리
+CREATE INDEX idx_events_log_file_time ON events (log_file_id, time_created);
+CREATE INDEX idx_events_log_file_event_id ON events (log_file_id, event_id, time_created);
+CREATE INDEX idx_events_log_file_level ON events (log_file_id, level, time_created);
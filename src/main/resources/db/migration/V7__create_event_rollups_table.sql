@@ -0,0 +1,24 @@
+-- 파일별 시간 단위 집계 (hour, event_id, level, channel). 업로드 시 메모리에서 계산해 한 번만 기록
+CREATE TABLE IF NOT EXISTS event_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_file_id BIGINT NOT NULL,
+    bucket_hour DATETIME(6) NOT NULL,
+    event_id BIGINT NOT NULL,
+    level ENUM('INFORMATION','WARNING','ERROR','CRITICAL') NOT NULL,
+    channel ENUM('SYSTEM','APPLICATION','SECURITY','SETUP','FORWARDED_EVENTS') NOT NULL,
+    event_count BIGINT NOT NULL,
+    CONSTRAINT fk_event_rollups_log_file FOREIGN KEY (log_file_id) REFERENCES log_files(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_event_rollups (log_file_id, bucket_hour, event_id, level, channel),
+    INDEX idx_event_rollups_log_file_event_id (log_file_id, event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 기존 업로드 파일 backfill
+INSERT INTO event_rollups (log_file_id, bucket_hour, event_id, level, channel, event_count)
+SELECT log_file_id,
+       DATE_FORMAT(time_created, '%Y-%m-%d %H:00:00'),
+       event_id,
+       level,
+       channel,
+       COUNT(*)
+FROM events
+GROUP BY log_file_id, DATE_FORMAT(time_created, '%Y-%m-%d %H:00:00'), event_id, level, channel;
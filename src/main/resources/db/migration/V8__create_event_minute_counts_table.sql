@@ -0,0 +1,19 @@
+-- 파일별 분 단위 이벤트 건수 (UTC epoch minute, event_id). 다중 해상도 히스토그램 API용
+CREATE TABLE IF NOT EXISTS event_minute_counts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_file_id BIGINT NOT NULL,
+    bucket_minute BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    event_count BIGINT NOT NULL,
+    CONSTRAINT fk_event_minute_counts_log_file FOREIGN KEY (log_file_id) REFERENCES log_files(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_event_minute_counts (log_file_id, bucket_minute, event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 기존 업로드 파일 backfill (time_created는 UTC 기준, 세션 time_zone 영향 없도록 TIMESTAMPDIFF 사용)
+INSERT INTO event_minute_counts (log_file_id, bucket_minute, event_id, event_count)
+SELECT log_file_id,
+       TIMESTAMPDIFF(MINUTE, '1970-01-01 00:00:00', time_created),
+       event_id,
+       COUNT(*)
+FROM events
+GROUP BY log_file_id, TIMESTAMPDIFF(MINUTE, '1970-01-01 00:00:00', time_created), event_id;
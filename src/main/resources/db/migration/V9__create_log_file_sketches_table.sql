@@ -0,0 +1,9 @@
+-- 파일별 스트리밍 스케치 (Space-Saving 상위 K, HyperLogLog). 업로드 시 한 번 기록, 세션 단위로 병합해 조회
+CREATE TABLE IF NOT EXISTS log_file_sketches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_file_id BIGINT NOT NULL,
+    sketch_type ENUM('EVENT_ID_TOP_K','PROVIDER_TOP_K','COMPUTER_HLL','PROVIDER_HLL') NOT NULL,
+    data LONGBLOB NOT NULL,
+    CONSTRAINT fk_log_file_sketches_log_file FOREIGN KEY (log_file_id) REFERENCES log_files(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_log_file_sketches (log_file_id, sketch_type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,34 @@
+package com.evlo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulerConfigTest {
+
+    @Test
+    void connectionPoolCoversEveryJdbcScheduler() throws Exception {
+        List<PropertySource<?>> documents = new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yml"));
+        PropertySource<?> defaults = documents.get(0);
+
+        int pool = intProperty(defaults, "spring.datasource.hikari.maximum-pool-size");
+        int schedulerThreads = intProperty(defaults, "app.jdbc.scheduler.thread-cap")
+                + intProperty(defaults, "app.export.scheduler.thread-cap")
+                + intProperty(defaults, "app.export.jobs.workers");
+
+        // 업로드/진행률 조회(boundedElastic)용 여유분이 남아야 내보내기가 분석 조회 커넥션을 빼앗지 않음
+        assertThat(pool).isGreaterThan(schedulerThreads);
+    }
+
+    private static int intProperty(PropertySource<?> source, String name) {
+        Object value = source.getProperty(name);
+        assertThat(value).as(name).isNotNull();
+        return Integer.parseInt(value.toString());
+    }
+}
@@ -0,0 +1,259 @@
+package com.evlo.controller;
+
+import com.evlo.config.SchedulerConfig;
+import com.evlo.repository.DetectionRepository;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.EventRollupRepository;
+import com.evlo.repository.LogFileAnomalyRepository;
+import com.evlo.service.CompareService;
+import com.evlo.service.CorrelationService;
+import com.evlo.service.FacetService;
+import com.evlo.service.HistogramService;
+import com.evlo.service.SampleAnalysisService;
+import com.evlo.service.SketchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.blockhound.BlockHound;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+
+/**
+ * 분석 API 핸들러가 Repository/서비스(blocking JDBC)를 이벤트 루프가 아닌 jdbcScheduler 에서 호출하는지 BlockHound 로 검증.
+ * 모든 Repository/서비스 mock 은 호출 시 Thread.sleep 으로 blocking JDBC 를 흉내 냄.
+ * 실제 Reactor Netty 서버로 요청하므로 핸들러는 이벤트 루프(non-blocking) 스레드에서 시작됨.
+ * jdbcScheduler 는 스레드 1개, 대기열 1개로 줄여 초과 요청이 503 으로 거절되는지도 확인.
+ */
+@WebFluxTest(controllers = AnalysisController.class)
+@Import({SchedulerConfig.class, AnalysisControllerBlockingTest.BlockingMocks.class})
+@TestPropertySource(properties = {
+        "app.jdbc.scheduler.thread-cap=1",
+        "app.jdbc.scheduler.queue-cap=1"
+})
+class AnalysisControllerBlockingTest {
+
+    private static final String SESSION_COOKIE = "EVLO_SESSION";
+
+    /** BlockHound 가 이벤트 루프 등 non-blocking 스레드에서 감지한 blocking 호출 */
+    private static final Queue<String> violations = new ConcurrentLinkedQueue<>();
+    /** mock 이 호출된 스레드 이름 */
+    private static final Queue<String> callThreads = new ConcurrentLinkedQueue<>();
+    /** null 이 아니면 mock 호출이 이 latch 가 열릴 때까지 대기 (jdbcScheduler 점유용) */
+    private static volatile CountDownLatch gate;
+
+    private static final Answer<Object> BLOCKING_JDBC = invocation -> {
+        callThreads.add(Thread.currentThread().getName());
+        CountDownLatch current = gate;
+        if (current != null) {
+            current.await(10, TimeUnit.SECONDS);
+        }
+        Thread.sleep(1);
+        return RETURNS_DEFAULTS.answer(invocation);
+    };
+
+    @TestConfiguration
+    static class BlockingMocks {
+
+        private static <T> T blocking(Class<T> type) {
+            return Mockito.mock(type, BLOCKING_JDBC);
+        }
+
+        @Bean
+        EventRepository eventRepository() {
+            return blocking(EventRepository.class);
+        }
+
+        @Bean
+        EventRollupRepository eventRollupRepository() {
+            return blocking(EventRollupRepository.class);
+        }
+
+        @Bean
+        LogFileAnomalyRepository logFileAnomalyRepository() {
+            return blocking(LogFileAnomalyRepository.class);
+        }
+
+        @Bean
+        DetectionRepository detectionRepository() {
+            return blocking(DetectionRepository.class);
+        }
+
+        @Bean
+        HistogramService histogramService() {
+            return blocking(HistogramService.class);
+        }
+
+        @Bean
+        FacetService facetService() {
+            return blocking(FacetService.class);
+        }
+
+        @Bean
+        SketchService sketchService() {
+            return blocking(SketchService.class);
+        }
+
+        @Bean
+        CorrelationService correlationService() {
+            return blocking(CorrelationService.class);
+        }
+
+        @Bean
+        CompareService compareService() {
+            return blocking(CompareService.class);
+        }
+
+        @Bean
+        SampleAnalysisService sampleAnalysisService() {
+            return blocking(SampleAnalysisService.class);
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private DisposableServer server;
+    private WebClient client;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.builder()
+                .loadIntegrations()
+                .blockingMethodCallback(method -> violations.add(method + " on " + Thread.currentThread().getName()))
+                .install();
+    }
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.applicationContext(applicationContext).build()))
+                .bindNow();
+        client = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.port())
+                .defaultCookie(SESSION_COOKIE, "test-session")
+                .build();
+        violations.clear();
+        callThreads.clear();
+        gate = null;
+    }
+
+    @AfterEach
+    void stopServer() {
+        gate = null;
+        server.disposeNow();
+    }
+
+    @Test
+    void blockHoundDetectsBlockingCallOnNonBlockingThread() {
+        EventRepository repository = applicationContext.getBean(EventRepository.class);
+
+        Mono.fromRunnable(() -> repository.findById(1L))
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+
+        assertThat(violations).as("BlockHound 가 설치되어 parallel 스레드의 Thread.sleep 을 감지해야 함").isNotEmpty();
+    }
+
+    @Test
+    void handlersRunRepositoryCallsOnJdbcScheduler() {
+        List<String> uris = List.of(
+                "/api/analysis/event-frequency",
+                "/api/analysis/event-frequency?approximate=true",
+                "/api/analysis/errors-top",
+                "/api/analysis/time-based?startTime=2024-01-01T00:00:00&endTime=2024-01-02T00:00:00",
+                "/api/analysis/time-based/4625?startTime=2024-01-01T00:00:00&endTime=2024-01-02T00:00:00",
+                "/api/analysis/histogram?from=0&to=3600000",
+                "/api/analysis/histogram?from=0&to=3600000&approximate=true",
+                "/api/analysis/facets",
+                "/api/analysis/heavy-hitters",
+                "/api/analysis/cardinality",
+                "/api/analysis/anomalies",
+                "/api/analysis/correlations",
+                "/api/analysis/detections",
+                "/api/analysis/detections/summary",
+                "/api/analysis/compare?leftFileId=1&rightFileId=2");
+
+        for (String uri : uris) {
+            callThreads.clear();
+
+            HttpStatus status = get(uri);
+
+            assertThat(status).as(uri).isEqualTo(HttpStatus.OK);
+            assertThat(callThreads).as(uri + " 에서 Repository/서비스 호출").isNotEmpty();
+            assertThat(callThreads).as(uri + " 의 호출 스레드").allMatch(name -> name.startsWith("jdbc-"));
+        }
+        assertThat(violations).as("이벤트 루프에서의 blocking 호출").isEmpty();
+    }
+
+    @Test
+    void jdbcSchedulerOverflowReturns503() throws Exception {
+        gate = new CountDownLatch(1);
+        try {
+            // 첫 요청은 유일한 jdbc 스레드를 점유, 둘째 요청은 대기열(1개)에 들어감
+            Mono<HttpStatus> running = Mono.fromCallable(() -> get("/api/analysis/errors-top"))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .cache();
+            running.subscribe();
+            waitUntil(() -> !callThreads.isEmpty());
+            Mono<HttpStatus> queued = Mono.fromCallable(() -> get("/api/analysis/errors-top"))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .cache();
+            queued.subscribe();
+            Thread.sleep(300);
+
+            assertThat(get("/api/analysis/errors-top")).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+            gate.countDown();
+            assertThat(Flux.merge(running, queued).collectList().block(Duration.ofSeconds(10)))
+                    .containsOnly(HttpStatus.OK);
+        } finally {
+            gate.countDown();
+        }
+        assertThat(violations).isEmpty();
+    }
+
+    private HttpStatus get(String uri) {
+        return client.get()
+                .uri(uri)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(HttpStatus.valueOf(response.statusCode().value())))
+                .block(Duration.ofSeconds(10));
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,129 @@
+package com.evlo.controller;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.ExportFormat;
+import com.evlo.dto.ExportJobResponse;
+import com.evlo.repository.LogFileRepository;
+import com.evlo.service.ExportJobService;
+import com.evlo.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 비동기 내보내기 결과물 다운로드: 없는 작업·다른 세션 404, 미완료 409, 완료 200 과 Range 요청 206
+ */
+class ExportControllerDownloadTest {
+
+    private static final String SESSION_COOKIE = "EVLO_SESSION";
+    private static final byte[] CSV = "id,eventId\n1,4624\n2,4625\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private final ExportService exportService = mock(ExportService.class);
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(1, 10, "test-export-job");
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private ExportJobService exportJobService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(invocation -> {
+            assertThat(gate.await(10, TimeUnit.SECONDS)).isTrue();
+            invocation.getArgument(3, OutputStream.class).write(CSV);
+            return 2L;
+        }).when(exportService).writeCsv(any(), any(), any(), any());
+        exportJobService = new ExportJobService(exportService, mock(LogFileRepository.class), scheduler,
+                directory.toString(), 2048, 24, 0);
+        ExportController controller = new ExportController(exportService, exportJobService, new ObjectMapper(),
+                Schedulers.boundedElastic(), Schedulers.boundedElastic());
+        client = WebTestClient.bindToController(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        scheduler.dispose();
+    }
+
+    @Test
+    void unknownJobOrOtherSessionIsNotFound() throws Exception {
+        String jobId = submit();
+        gate.countDown();
+        awaitDone(jobId);
+
+        download("0".repeat(64), "s1").exchange().expectStatus().isNotFound();
+        download(jobId, "s2").exchange().expectStatus().isNotFound();
+        client.get().uri("/api/export/jobs/{jobId}/download", jobId).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void unfinishedJobIsConflict() throws Exception {
+        String jobId = submit();
+
+        download(jobId, "s1").exchange().expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        gate.countDown();
+        awaitDone(jobId);
+        download(jobId, "s1").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void finishedJobIsDownloadedWholeOrByRange() throws Exception {
+        String jobId = submit();
+        gate.countDown();
+        awaitDone(jobId);
+
+        byte[] whole = download(jobId, "s1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectHeader().valueMatches(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"evlo_events_.*\\.csv\"")
+                .expectHeader().valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .expectBody().returnResult().getResponseBody();
+        assertThat(whole).isEqualTo(CSV);
+
+        // 중단된 다운로드 이어받기
+        byte[] rest = download(jobId, "s1").header(HttpHeaders.RANGE, "bytes=11-").exchange()
+                .expectStatus().isEqualTo(HttpStatus.PARTIAL_CONTENT)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 11-" + (CSV.length - 1) + "/" + CSV.length)
+                .expectBody().returnResult().getResponseBody();
+        assertThat(rest).isEqualTo(Arrays.copyOfRange(CSV, 11, CSV.length));
+    }
+
+    private String submit() {
+        ExportJobResponse job = exportJobService.submit(ExportFormat.CSV, EventSearchRequest.builder().build(), "s1", null);
+        return job.getJobId();
+    }
+
+    private void awaitDone(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (exportJobService.find(jobId, "s1").orElseThrow().getStatus() != ExportJobResponse.Status.DONE) {
+            assertThat(System.nanoTime()).as("export job " + jobId + " did not finish").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private WebTestClient.RequestHeadersSpec<?> download(String jobId, String sessionId) {
+        return client.get().uri("/api/export/jobs/{jobId}/download", jobId).cookie(SESSION_COOKIE, sessionId);
+    }
+}
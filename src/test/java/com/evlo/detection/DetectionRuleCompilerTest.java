@@ -0,0 +1,68 @@
+package com.evlo.detection;
+
+import com.evlo.entity.Event;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DetectionRuleCompilerTest {
+
+    @Test
+    void levelsOnlyRuleIsCompiledAndMatchesByLevel() {
+        DetectionRuleSet ruleSet = DetectionRuleCompiler.compile(List.of(
+                Map.of("id", "critical-anything", "levels", List.of("CRITICAL"))));
+
+        assertThat(ruleSet.size()).isEqualTo(1);
+        assertThat(ruleSet.evaluate(event(41L, EventLevel.CRITICAL, "DC01", "x")))
+                .extracting(DetectionRule::id).containsExactly("critical-anything");
+        assertThat(ruleSet.evaluate(event(41L, EventLevel.ERROR, "DC01", "x"))).isEmpty();
+    }
+
+    @Test
+    void computersOnlyRuleIsCompiledAndMatchesIgnoringCase() {
+        DetectionRuleSet ruleSet = DetectionRuleCompiler.compile(List.of(
+                Map.of("id", "watch-dc", "computers", List.of("DC01"))));
+
+        assertThat(ruleSet.size()).isEqualTo(1);
+        assertThat(ruleSet.evaluate(event(4624L, EventLevel.INFORMATION, "dc01", "x"))).hasSize(1);
+        assertThat(ruleSet.evaluate(event(4624L, EventLevel.INFORMATION, "WS01", "x"))).isEmpty();
+    }
+
+    @Test
+    void ruleWithoutAnyConditionIsSkipped() {
+        DetectionRuleSet ruleSet = DetectionRuleCompiler.compile(List.of(
+                Map.of("id", "empty", "title", "no conditions"),
+                Map.of("id", "empty-message", "message", Map.of())));
+
+        assertThat(ruleSet.size()).isZero();
+    }
+
+    @Test
+    void invalidAndDuplicateRulesAreSkipped() {
+        DetectionRuleSet ruleSet = DetectionRuleCompiler.compile(List.of(
+                Map.of("id", "a", "eventIds", List.of(1102)),
+                Map.of("id", "a", "eventIds", List.of(104)),
+                Map.of("id", "bad-level", "levels", List.of("LOUD")),
+                Map.of("id", "bad-regex", "message", Map.of("regex", "("))));
+
+        assertThat(ruleSet.size()).isEqualTo(1);
+        assertThat(ruleSet.evaluate(event(1102L, EventLevel.INFORMATION, "DC01", "x"))).hasSize(1);
+        assertThat(ruleSet.evaluate(event(104L, EventLevel.INFORMATION, "DC01", "x"))).isEmpty();
+    }
+
+    private static Event event(long eventId, EventLevel level, String computer, String message) {
+        return Event.builder()
+                .eventId(eventId)
+                .level(level)
+                .channel(LogChannel.SECURITY)
+                .provider("Microsoft-Windows-Security-Auditing")
+                .computer(computer)
+                .message(message)
+                .build();
+    }
+}
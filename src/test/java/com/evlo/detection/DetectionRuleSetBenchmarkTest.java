@@ -0,0 +1,189 @@
+package com.evlo.detection;
+
+import com.evlo.entity.Event;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 고정 시드로 생성한 규칙 500개로 약 300자 메시지 20만 건을 평가해 이벤트당 평가 시간을 TestReporter 로 남김.
+ * JIT 워밍업 3회 후 5회 측정 중 최솟값. 시간은 환경마다 달라 검증하지 않고 규칙 수와 탐지 결과만 확인.
+ * ./gradlew benchmark 로 실행 (기본 test 에서는 제외)
+ */
+@Tag("benchmark")
+class DetectionRuleSetBenchmarkTest {
+
+    private static final int RULES = 500;
+    private static final int EVENTS = 200_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final long[] EVENT_IDS = {4624, 4625, 4634, 4648, 4672, 4688, 4697, 4698, 4720, 4728,
+            4732, 4738, 4768, 4769, 4776, 5140, 5145, 7036, 7045, 4104, 1102, 4663, 4656, 5156};
+    private static final String[] SUSPICIOUS = {"powershell.exe -nop -w hidden -encodedcommand", "certutil -urlcache",
+            "rundll32.exe comsvcs.dll minidump", "mimikatz sekurlsa", "vssadmin delete shadows", "\\\\fs01\\admin$"};
+    private static final String MESSAGE = "An account was successfully logged on. Subject: Security ID: S-1-5-18 "
+            + "Account Name: WIN-7F3K2$ Logon Type: 3 New Logon: Security ID: CORP\\user%d Account Name: user%d "
+            + "Process Name: C:\\Windows\\System32\\svchost.exe Workstation Name: WS%02d "
+            + "Source Network Address: 10.0.%d.%d %s";
+
+    // 규칙 생성용 (기본 규칙 windows-builtin.yml 과 같은 구성)
+    private static final long[] RULE_EVENT_IDS = {104, 1102, 1116, 1117, 4104, 4624, 4625, 4634, 4648, 4657, 4672,
+            4688, 4697, 4698, 4720, 4722, 4724, 4728, 4732, 4738, 4740, 4756, 4768, 4769, 4771, 4776, 5140, 5145,
+            7036, 7045};
+    private static final String[] KEYWORDS = {"-encodedcommand", "-nop", "-w hidden", ".hta", ".js ", ".vbs",
+            "\\admin$", "\\c$", "adfind", "appdata\\local\\temp", "bitsadmin", "bloodhound", "bypass", "certutil",
+            "cmd.exe", "comsvcs.dll", "dcsync", "delete shadows", "downloadstring", "frombase64string", "iex(",
+            "invoke-expression", "kerberoast", "lsass.exe", "mimikatz", "minidump", "mshta.exe", "net group",
+            "net user", "nltest", "ntds.dit", "powershell.exe", "procdump", "programdata", "psexec",
+            "public\\downloads", "reg save", "regsvr32.exe", "rubeus", "rundll32.exe", "sam hive", "schtasks",
+            "sekurlsa", "shadowcopy", "urlcache", "vssadmin", "webclient", "wevtutil", "whoami", "wmic"};
+    private static final String[] EXCLUSIONS = {"backup exec", "ccmexec", "defender", "msiexec.exe", "sccm",
+            "svchost.exe", "trustedinstaller", "windows update"};
+    private static final String[][] CHANNEL_SETS = {{"SECURITY"}, {"SYSTEM"}, {"SECURITY", "SYSTEM"},
+            {"APPLICATION"}, {"APPLICATION", "SECURITY"}};
+    private static final int[] CHANNEL_WEIGHTS = {73, 12, 9, 3, 3};
+    private static final String[] SEVERITIES = {"critical", "high", "medium", "low"};
+    private static final int[] SEVERITY_WEIGHTS = {17, 21, 40, 22};
+
+    @Test
+    void evaluate500RulesOver200kEvents(TestReporter reporter) {
+        DetectionRuleSet ruleSet = DetectionRuleCompiler.compile(rules(new Random(500)));
+        assertThat(ruleSet.size()).isEqualTo(RULES);
+
+        List<Event> events = events(new Random(35));
+        long hits = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            hits = evaluateAll(ruleSet, events);
+        }
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long started = System.nanoTime();
+            assertThat(evaluateAll(ruleSet, events)).isEqualTo(hits);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - started);
+        }
+
+        double averageLength = events.stream().mapToInt(e -> e.getMessage().length()).average().orElse(0);
+        reporter.publishEntry("detection", String.format("%d rules, %d events (avg message %.0f chars), %.2f µs/event, %d hits",
+                ruleSet.size(), events.size(), averageLength, bestNanos / 1_000.0 / events.size(), hits));
+        assertThat(hits).isPositive();
+    }
+
+    private static long evaluateAll(DetectionRuleSet ruleSet, List<Event> events) {
+        long hits = 0;
+        for (Event event : events) {
+            hits += ruleSet.evaluate(event).size();
+        }
+        return hits;
+    }
+
+    /**
+     * 기본 규칙과 같은 구성의 규칙 정의: 90% 는 eventId + channel + 메시지 부분 문자열,
+     * 10% 는 eventId 미지정(provider 조건), 5% 는 정규식, 일부 level / computer 조건
+     */
+    private static List<Map<String, Object>> rules(Random random) {
+        List<Map<String, Object>> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            Map<String, Object> rule = new LinkedHashMap<>();
+            rule.put("id", String.format("bench-%03d", i));
+            rule.put("title", "Benchmark rule " + i);
+            rule.put("severity", SEVERITIES[weighted(random, SEVERITY_WEIGHTS)]);
+            if (random.nextInt(10) == 0) {
+                rule.put("providers", List.of("Microsoft-Windows-Security-Auditing", "Microsoft-Windows-PowerShell"));
+            } else {
+                List<Long> eventIds = new ArrayList<>();
+                for (int n = 1 + random.nextInt(3); eventIds.size() < n; ) {
+                    long eventId = RULE_EVENT_IDS[random.nextInt(RULE_EVENT_IDS.length)];
+                    if (!eventIds.contains(eventId)) {
+                        eventIds.add(eventId);
+                    }
+                }
+                rule.put("eventIds", eventIds);
+                rule.put("channels", List.of(CHANNEL_SETS[weighted(random, CHANNEL_WEIGHTS)]));
+            }
+            if (random.nextInt(25) == 0) {
+                rule.put("levels", List.of("WARNING", "ERROR", "CRITICAL"));
+            }
+            if (random.nextInt(50) == 0) {
+                rule.put("computers", List.of("DC0" + (1 + random.nextInt(8)), "FS0" + (1 + random.nextInt(8))));
+            }
+
+            Map<String, Object> message = new LinkedHashMap<>();
+            if (random.nextInt(20) == 0) {
+                message.put("regex", "(?i)" + Pattern.quote(keyword(random)) + ".{0,40}" + Pattern.quote(keyword(random)));
+            } else {
+                message.put("containsAny", keywords(random, 1 + random.nextInt(4), KEYWORDS));
+                if (random.nextInt(10) < 3) {
+                    message.put("containsAll", List.of(keyword(random)));
+                }
+                if (random.nextInt(20) < 9) {
+                    message.put("excludes", keywords(random, 1 + random.nextInt(2), EXCLUSIONS));
+                }
+            }
+            rule.put("message", message);
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    private static String keyword(Random random) {
+        return KEYWORDS[random.nextInt(KEYWORDS.length)];
+    }
+
+    private static List<String> keywords(Random random, int count, String[] pool) {
+        List<String> picked = new ArrayList<>(count);
+        while (picked.size() < count) {
+            String value = pool[random.nextInt(pool.length)];
+            if (!picked.contains(value)) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+
+    private static int weighted(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /** 2% 는 의심 문자열 포함, 나머지는 일반 로그온 메시지 */
+    private static List<Event> events(Random random) {
+        List<Event> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            long eventId = EVENT_IDS[random.nextInt(EVENT_IDS.length)];
+            String tail = random.nextInt(50) == 0 ? SUSPICIOUS[random.nextInt(SUSPICIOUS.length)] : "";
+            int user = random.nextInt(500);
+            events.add(Event.builder()
+                    .eventId(eventId)
+                    .level(random.nextInt(10) == 0 ? EventLevel.WARNING : EventLevel.INFORMATION)
+                    .channel(eventId == 7036 || eventId == 7045 ? LogChannel.SYSTEM : LogChannel.SECURITY)
+                    .provider("Microsoft-Windows-Security-Auditing")
+                    .computer("WS" + random.nextInt(40))
+                    .message(String.format(MESSAGE, user, user, random.nextInt(99),
+                            random.nextInt(255), random.nextInt(255), tail))
+                    .build());
+        }
+        return events;
+    }
+}
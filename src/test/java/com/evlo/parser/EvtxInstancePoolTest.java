@@ -0,0 +1,189 @@
+package com.evlo.parser;
+
+import com.evlo.config.EvtxServiceProperties;
+import com.evlo.exception.EvtxServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 인스턴스 선택 순서(진행 중 요청 수, 큰 파일 분산, 실패 인스턴스 회피)와 헬스 체크 ejection/복귀 검증.
+ * WebClient 는 인스턴스별 헬스 체크 응답 상태를 돌려주는 ExchangeFunction 으로 대체
+ */
+class EvtxInstancePoolTest {
+
+    private static final String A = "http://evtx-a:8081";
+    private static final String B = "http://evtx-b:8081";
+    private static final String C = "http://evtx-c:8081";
+    private static final long LARGE = 100;
+
+    /** 인스턴스 → 헬스 체크 응답 상태 (기본 200) */
+    private final Map<String, HttpStatus> healthStatus = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> healthChecks = new ConcurrentHashMap<>();
+    private final List<EvtxInstancePool> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(EvtxInstancePool::stopHealthChecks);
+    }
+
+    @Test
+    void picksInstanceWithFewestOutstandingRequests() {
+        EvtxInstancePool pool = pool(props(A, B, C));
+
+        EvtxInstancePool.Lease first = pool.acquire(1, Set.of());
+        EvtxInstancePool.Lease second = pool.acquire(1, Set.of());
+        EvtxInstancePool.Lease third = pool.acquire(1, Set.of());
+        assertThat(List.of(first.url(), second.url(), third.url())).containsExactly(A, B, C);
+
+        second.complete(EvtxInstancePool.Outcome.SUCCESS);
+        assertThat(pool.acquire(1, Set.of()).url()).isEqualTo(B);
+
+        // 진행 중 요청 수가 같으면 진행 중 바이트가 적은 쪽
+        EvtxInstancePool bytesPool = pool(props(A, B));
+        bytesPool.acquire(50, Set.of());
+        bytesPool.acquire(10, Set.of());
+        assertThat(bytesPool.acquire(1, Set.of()).url()).isEqualTo(B);
+    }
+
+    @Test
+    void largeFilesAvoidInstancesAlreadyProcessingLargeFiles() {
+        EvtxInstancePool pool = pool(props(A, B, C));
+
+        assertThat(pool.acquire(LARGE, Set.of()).url()).isEqualTo(A);
+        assertThat(pool.acquire(1, Set.of()).url()).isEqualTo(B);
+        assertThat(pool.acquire(1, Set.of()).url()).isEqualTo(C);
+        assertThat(pool.acquire(1, Set.of()).url()).isEqualTo(B);
+        assertThat(pool.acquire(1, Set.of()).url()).isEqualTo(C);
+        // A 는 진행 중 요청이 가장 적지만(1 vs 2) 큰 파일을 처리 중이라 다음 큰 파일은 B, 그다음은 C
+        assertThat(pool.acquire(LARGE, Set.of()).url()).isEqualTo(B);
+        assertThat(pool.acquire(LARGE, Set.of()).url()).isEqualTo(C);
+        // 작은 파일은 진행 중 요청 수만 봄
+        assertThat(pool.acquire(1, Set.of()).url()).isEqualTo(A);
+    }
+
+    @Test
+    void instancesThatFailedThisRequestAreUsedOnlyAsLastResort() {
+        EvtxInstancePool pool = pool(props(A, B));
+        pool.acquire(1, Set.of(B));
+
+        // B 가 더 바빠도 실패한 A 보다 먼저
+        assertThat(pool.acquire(1, Set.of(A)).url()).isEqualTo(B);
+        assertThat(pool.acquire(1, Set.of(A)).url()).isEqualTo(B);
+        // 모두 실패했으면 그중 덜 바쁜 곳
+        assertThat(pool.acquire(1, Set.of(A, B)).url()).isEqualTo(A);
+    }
+
+    @Test
+    void instanceIsEjectedAfterConsecutiveHealthFailuresAndReturnsOnSuccess() throws Exception {
+        EvtxServiceProperties props = props(A, B);
+        props.getBalancer().setUnhealthyThreshold(3);
+        props.getBalancer().setHealthCheckIntervalMs(10);
+        EvtxInstancePool pool = pool(props);
+        healthStatus.put(A, HttpStatus.SERVICE_UNAVAILABLE);
+        pool.startHealthChecks();
+
+        // 부하가 같으면 목록 순서상 A 가 먼저이므로, B 가 골라지면 A 가 빠진 것
+        awaitPicked(pool, B);
+        assertThat(healthChecks.get(A).get()).isGreaterThanOrEqualTo(3);
+
+        healthStatus.put(A, HttpStatus.OK);
+        awaitPicked(pool, A);
+    }
+
+    @Test
+    void allUnhealthyAndAllAtLimitAreReportedDifferently() throws Exception {
+        EvtxServiceProperties limited = props(A, B);
+        limited.getConcurrency().setEnabled(true);
+        limited.getConcurrency().setInitialLimit(1);
+        limited.getConcurrency().setMinLimit(1);
+        limited.getConcurrency().setMaxLimit(1);
+        EvtxInstancePool limitedPool = pool(limited);
+        limitedPool.acquire(1, Set.of());
+        limitedPool.acquire(1, Set.of());
+
+        assertThatThrownBy(() -> limitedPool.acquire(1, Set.of()))
+                .isInstanceOf(EvtxServiceUnavailableException.class)
+                .hasMessageContaining("동시 요청 한도");
+
+        EvtxServiceProperties checked = props(A, B);
+        checked.getBalancer().setUnhealthyThreshold(1);
+        checked.getBalancer().setHealthCheckIntervalMs(10);
+        EvtxInstancePool unhealthyPool = pool(checked);
+        healthStatus.put(A, HttpStatus.SERVICE_UNAVAILABLE);
+        healthStatus.put(B, HttpStatus.SERVICE_UNAVAILABLE);
+        unhealthyPool.startHealthChecks();
+
+        awaitTrue(() -> {
+            try {
+                unhealthyPool.acquire(1, Set.of()).complete(EvtxInstancePool.Outcome.IGNORED);
+                return false;
+            } catch (EvtxServiceUnavailableException e) {
+                return true;
+            }
+        });
+        assertThatThrownBy(() -> unhealthyPool.acquire(1, Set.of()))
+                .isInstanceOf(EvtxServiceUnavailableException.class)
+                .hasMessageContaining("헬스 체크");
+    }
+
+    /** 회로 차단기·동시 요청 한도는 끄고 선택 순서만 보도록 */
+    private static EvtxServiceProperties props(String... urls) {
+        EvtxServiceProperties props = new EvtxServiceProperties();
+        props.setUrls(List.of(urls));
+        props.getCircuitBreaker().setEnabled(false);
+        props.getConcurrency().setEnabled(false);
+        props.getBalancer().setLargeFileBytes(LARGE);
+        props.getBalancer().setHealthCheckIntervalMs(0);
+        return props;
+    }
+
+    private EvtxInstancePool pool(EvtxServiceProperties props) {
+        EvtxInstancePool pool = new EvtxInstancePool(props, this::webClient, new SimpleMeterRegistry());
+        pools.add(pool);
+        return pool;
+    }
+
+    private WebClient webClient(String url) {
+        return WebClient.builder()
+                .baseUrl(url)
+                .exchangeFunction(request -> {
+                    healthChecks.computeIfAbsent(url, u -> new AtomicInteger()).incrementAndGet();
+                    return Mono.just(ClientResponse.create(healthStatus.getOrDefault(url, HttpStatus.OK)).build());
+                })
+                .build();
+    }
+
+    /** 선택 결과가 url 이 될 때까지 반복 (사용권은 바로 반납) */
+    private static void awaitPicked(EvtxInstancePool pool, String url) throws InterruptedException {
+        awaitTrue(() -> {
+            EvtxInstancePool.Lease lease = pool.acquire(1, Set.of());
+            lease.complete(EvtxInstancePool.Outcome.IGNORED);
+            return lease.url().equals(url);
+        });
+    }
+
+    private static void awaitTrue(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.get()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.evlo.parser;
+
+import com.evlo.dto.evtx.EvtxParseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Random;
+
+import static com.evlo.parser.EvtxResponseCodecTest.CBOR;
+import static com.evlo.parser.EvtxResponseCodecTest.SMILE;
+import static com.evlo.parser.EvtxResponseCodecTest.codec;
+import static com.evlo.parser.EvtxResponseCodecTest.fixture;
+import static com.evlo.parser.EvtxResponseCodecTest.response;
+import static com.evlo.parser.EvtxResponseCodecTest.smileEncoder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대표 evtx-service 응답(이벤트 2만 건, rawXml 포함)을 JSON / Smile(shared names + shared string values) / CBOR 로 인코딩해
+ * EvtxResponseCodec 으로 디코딩하고 형식별 크기와 디코딩 시간을 TestReporter 로 남김.
+ * JIT 워밍업 3회 후 5회 측정 중 최솟값. 시간은 환경마다 달라 검증하지 않음 (왕복·크기 검증은 EvtxResponseCodecTest).
+ * ./gradlew benchmark 로 실행 (기본 test 에서는 제외)
+ */
+@Tag("benchmark")
+class EvtxResponseCodecBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Test
+    void compareJsonSmileAndCbor(TestReporter reporter) throws Exception {
+        EvtxParseResponse fixture = fixture(new Random(50), EVENTS);
+        byte[] json = new ObjectMapper().writeValueAsBytes(fixture);
+        byte[] smile = smileEncoder().writeValueAsBytes(fixture);
+        byte[] cbor = new CBORMapper().writeValueAsBytes(fixture);
+
+        EvtxResponseCodec smileCodec = codec("smile");
+        EvtxResponseCodec cborCodec = codec("cbor");
+        ResponseEntity<byte[]> jsonResponse = response(MediaType.APPLICATION_JSON, json);
+        ResponseEntity<byte[]> smileResponse = response(SMILE, smile);
+        ResponseEntity<byte[]> cborResponse = response(CBOR, cbor);
+
+        long jsonNanos = bestDecodeNanos(smileCodec, jsonResponse);
+        long smileNanos = bestDecodeNanos(smileCodec, smileResponse);
+        long cborNanos = bestDecodeNanos(cborCodec, cborResponse);
+
+        reporter.publishEntry("events", String.valueOf(EVENTS));
+        report(reporter, "json", json.length, json.length, jsonNanos);
+        report(reporter, "smile", smile.length, json.length, smileNanos);
+        report(reporter, "cbor", cbor.length, json.length, cborNanos);
+    }
+
+    private static long bestDecodeNanos(EvtxResponseCodec codec, ResponseEntity<byte[]> response) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            codec.decode(response, EvtxParseResponse.class);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long started = System.nanoTime();
+            EvtxParseResponse decoded = codec.decode(response, EvtxParseResponse.class);
+            best = Math.min(best, System.nanoTime() - started);
+            assertThat(decoded.getEvents()).hasSize(EVENTS);
+        }
+        return best;
+    }
+
+    private static void report(TestReporter reporter, String format, int bytes, int jsonBytes, long nanos) {
+        reporter.publishEntry(format, String.format("%,d bytes (%.1f%% of json), decode %.2f ms",
+                bytes, bytes * 100.0 / jsonBytes, nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,140 @@
+package com.evlo.parser;
+
+import com.evlo.config.EvtxServiceProperties;
+import com.evlo.dto.evtx.EvtxEventDto;
+import com.evlo.dto.evtx.EvtxParseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 대표 evtx-service 응답(rawXml 포함)을 JSON / Smile / CBOR 로 인코딩해 EvtxResponseCodec 으로 왕복하고
+ * Smile(shared names + shared string values)이 JSON 보다 작은지 확인. 디코딩 시간 비교는 EvtxResponseCodecBenchmarkTest
+ */
+class EvtxResponseCodecTest {
+
+    private static final int EVENTS = 500;
+
+    private static final int[] EVENT_IDS = {4624, 4625, 4634, 4648, 4672, 4688, 4768, 4769, 4776, 5140, 7036, 7045};
+    private static final String[] LEVELS = {"Information", "Information", "Information", "Warning", "Error", "Critical"};
+    private static final String[] PROVIDERS = {"Microsoft-Windows-Security-Auditing", "Service Control Manager",
+            "Microsoft-Windows-Kernel-General", "Microsoft-Windows-GroupPolicy", "Microsoft-Windows-WindowsUpdateClient"};
+    private static final String[] CHANNELS = {"Security", "System", "Application"};
+    private static final String[] COMPUTERS = {"DC01.corp.example.com", "WS042.corp.example.com", "SQL01.corp.example.com"};
+    private static final String MESSAGE = "An account was successfully logged on. Subject: Security ID: S-1-5-18 "
+            + "Account Name: WIN-7F3K2$ Logon Type: %d New Logon: Security ID: CORP\\user%d Account Name: user%d "
+            + "Process Name: C:\\Windows\\System32\\svchost.exe Source Network Address: 10.0.%d.%d";
+    private static final String RAW_XML = "<Event xmlns=\"http://schemas.microsoft.com/win/2004/08/events/event\">"
+            + "<System><Provider Name=\"%s\"/><EventID>%d</EventID><Level>%d</Level>"
+            + "<TimeCreated SystemTime=\"%s\"/><EventRecordID>%d</EventRecordID><Channel>%s</Channel>"
+            + "<Computer>%s</Computer></System><EventData><Data Name=\"TargetUserName\">user%d</Data>"
+            + "<Data Name=\"LogonType\">%d</Data><Data Name=\"IpAddress\">10.0.%d.%d</Data></EventData></Event>";
+
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Test
+    void eachWireFormatRoundTrips() throws Exception {
+        EvtxParseResponse fixture = fixture(new Random(50), EVENTS);
+        byte[] json = new ObjectMapper().writeValueAsBytes(fixture);
+        byte[] smile = smileEncoder().writeValueAsBytes(fixture);
+        byte[] cbor = new CBORMapper().writeValueAsBytes(fixture);
+
+        EvtxResponseCodec smileCodec = codec("smile");
+        EvtxResponseCodec cborCodec = codec("cbor");
+
+        assertThat(smileCodec.decode(response(MediaType.APPLICATION_JSON, json), EvtxParseResponse.class)).isEqualTo(fixture);
+        assertThat(smileCodec.decode(response(SMILE, smile), EvtxParseResponse.class)).isEqualTo(fixture);
+        assertThat(cborCodec.decode(response(CBOR, cbor), EvtxParseResponse.class)).isEqualTo(fixture);
+        // 바이너리 형식을 선호해도 JSON 응답은 항상 읽음
+        assertThat(cborCodec.decode(response(MediaType.APPLICATION_JSON, json), EvtxParseResponse.class)).isEqualTo(fixture);
+    }
+
+    @Test
+    void smileWithSharedValuesIsSmallerThanJson() throws Exception {
+        EvtxParseResponse fixture = fixture(new Random(50), EVENTS);
+
+        int json = new ObjectMapper().writeValueAsBytes(fixture).length;
+        int smile = smileEncoder().writeValueAsBytes(fixture).length;
+
+        assertThat(smile).isLessThan(json);
+    }
+
+    @Test
+    void acceptHeaderPrefersConfiguredFormatWithJsonFallback() {
+        assertThat(codec("smile").acceptHeader()).isEqualTo("application/x-jackson-smile, application/json;q=0.5");
+        assertThat(codec("cbor").acceptHeader()).isEqualTo("application/cbor, application/json;q=0.5");
+        assertThat(codec("json").acceptHeader()).isEqualTo("application/json");
+        assertThat(codec("protobuf").acceptHeader()).isEqualTo("application/json");
+    }
+
+    @Test
+    void missingContentTypeIsJsonAndUnnegotiatedTypeIsRejected() throws Exception {
+        EvtxParseResponse fixture = fixture(new Random(50), 3);
+        EvtxResponseCodec smileCodec = codec("smile");
+
+        assertThat(smileCodec.decode(ResponseEntity.ok(new ObjectMapper().writeValueAsBytes(fixture)), EvtxParseResponse.class))
+                .isEqualTo(fixture);
+        assertThat(smileCodec.decode(response(SMILE, new byte[0]), EvtxParseResponse.class)).isNull();
+        assertThatThrownBy(() -> smileCodec.decode(response(CBOR, new CBORMapper().writeValueAsBytes(fixture)),
+                EvtxParseResponse.class))
+                .isInstanceOf(EvtxParsingException.class)
+                .hasMessageContaining("application/cbor");
+    }
+
+    static EvtxResponseCodec codec(String wireFormat) {
+        EvtxServiceProperties props = new EvtxServiceProperties();
+        props.setWireFormat(wireFormat);
+        return new EvtxResponseCodec(props, new SimpleMeterRegistry());
+    }
+
+    /** evtx-service 인코더 설정: Smile 은 반복되는 필드 이름과 짧은 문자열 값을 앞선 값의 참조로 보냄 */
+    static ObjectMapper smileEncoder() {
+        return new ObjectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+    }
+
+    static ResponseEntity<byte[]> response(MediaType contentType, byte[] body) {
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    /** 이벤트 count 건의 대표 응답 (Security 로그온 메시지와 rawXml, 3초 간격) */
+    static EvtxParseResponse fixture(Random random, int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<EvtxEventDto> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int eventId = EVENT_IDS[random.nextInt(EVENT_IDS.length)];
+            int levelIndex = random.nextInt(LEVELS.length);
+            String provider = PROVIDERS[random.nextInt(PROVIDERS.length)];
+            String channel = CHANNELS[random.nextInt(CHANNELS.length)];
+            String computer = COMPUTERS[random.nextInt(COMPUTERS.length)];
+            String timeCreated = start.plusSeconds(i * 3L + random.nextInt(3))
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "." + String.format("%07dZ", random.nextInt(10_000_000));
+            int user = random.nextInt(500);
+            int logonType = 2 + random.nextInt(9);
+            int subnet = random.nextInt(256);
+            int host = random.nextInt(256);
+            events.add(new EvtxEventDto(eventId, LEVELS[levelIndex], timeCreated, provider, computer, channel,
+                    String.format(MESSAGE, logonType, user, user, subnet, host),
+                    String.format(RAW_XML, provider, eventId, levelIndex, timeCreated, 100_000 + i, channel, computer,
+                            user, logonType, subnet, host)));
+        }
+        return new EvtxParseResponse(events, count, count);
+    }
+}
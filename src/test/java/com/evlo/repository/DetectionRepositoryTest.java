@@ -0,0 +1,87 @@
+package com.evlo.repository;
+
+import com.evlo.entity.Detection;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.DetectionSeverity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 탐지 목록이 지정된 필터만 WHERE 절에 넣고, count 쿼리 없이 최신 limit 건을 가져오는지 검증
+ */
+@RepositoryTest
+class DetectionRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private DetectionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        LogFile mine = em.persist(logFile("s1"));
+        LogFile other = em.persist(logFile("s2"));
+        em.persist(detection(mine, "brute-force", DetectionSeverity.HIGH, 1));
+        em.persist(detection(mine, "brute-force", DetectionSeverity.HIGH, 3));
+        em.persist(detection(mine, "log-cleared", DetectionSeverity.CRITICAL, 2));
+        em.persist(detection(other, "brute-force", DetectionSeverity.HIGH, 4));
+        em.flush();
+        em.clear();
+        SqlCapture.clear();
+    }
+
+    @Test
+    void noFiltersReturnsLatestFirstWithLimitAndNoCountQuery() {
+        List<Detection> result = find("s1", null, null, 2);
+
+        assertThat(result).extracting(d -> d.getTimeCreated().getMinute()).containsExactly(3, 2);
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql -> {
+            assertThat(sql).doesNotContain("is null", "count(");
+            assertThat(sql).doesNotContain("rule_id=?", "severity=?");
+        });
+    }
+
+    @Test
+    void onlyGivenFiltersAppearInWhereClause() {
+        assertThat(find("s1", "brute-force", null, 100))
+                .extracting(d -> d.getTimeCreated().getMinute()).containsExactly(3, 1);
+        assertThat(find("s1", null, DetectionSeverity.CRITICAL, 100))
+                .extracting(Detection::getRuleId).containsExactly("log-cleared");
+        assertThat(find("s1", "brute-force", DetectionSeverity.CRITICAL, 100)).isEmpty();
+
+        List<String> selects = SqlCapture.selects();
+        assertThat(selects).hasSize(3).noneMatch(sql -> sql.contains("is null"));
+        assertThat(selects.get(0)).contains("rule_id=?").doesNotContain("severity=?");
+        assertThat(selects.get(1)).contains("severity=?").doesNotContain("rule_id=?");
+    }
+
+    private List<Detection> find(String sessionId, String ruleId, DetectionSeverity severity, int limit) {
+        return repository.findLatest(DetectionSpecifications.matches(sessionId, ruleId, severity), limit);
+    }
+
+    private static LogFile logFile(String sessionId) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId).build();
+    }
+
+    private static Detection detection(LogFile logFile, String ruleId, DetectionSeverity severity, int minute) {
+        return Detection.builder()
+                .logFile(logFile)
+                .eventRowId((long) minute)
+                .eventId(4625L)
+                .timeCreated(T0.plusMinutes(minute))
+                .ruleId(ruleId)
+                .ruleTitle(ruleId)
+                .severity(severity)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.evlo.repository;
+
+import com.evlo.entity.EventRollup;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요약 입력 집계(시간대, 상위 Event ID, 표본 층)가 Event ID 조건을 지정된 경우에만 IN 으로 넣는지와 결과 검증
+ */
+@RepositoryTest
+class EventRollupRepositoryTest {
+
+    private static final LocalDateTime H0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final List<EventLevel> ALL_LEVELS = List.of(EventLevel.values());
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EventRollupRepository repository;
+
+    private List<Long> fileIds;
+
+    @BeforeEach
+    void setUp() {
+        LogFile mine = em.persist(logFile("s1"));
+        LogFile other = em.persist(logFile("s2"));
+        em.persist(rollup(mine, 0, 4624L, EventLevel.INFORMATION, LogChannel.SECURITY, 100));
+        em.persist(rollup(mine, 0, 4625L, EventLevel.ERROR, LogChannel.SECURITY, 30));
+        em.persist(rollup(mine, 0, 4625L, EventLevel.ERROR, LogChannel.SYSTEM, 3));
+        em.persist(rollup(mine, 1, 4625L, EventLevel.ERROR, LogChannel.SECURITY, 20));
+        em.persist(rollup(mine, 1, 7036L, EventLevel.INFORMATION, LogChannel.SYSTEM, 5));
+        em.persist(rollup(mine, 5, 4625L, EventLevel.ERROR, LogChannel.SECURITY, 1));
+        em.persist(rollup(other, 0, 4625L, EventLevel.ERROR, LogChannel.SECURITY, 1_000));
+        em.flush();
+        em.clear();
+        fileIds = List.of(mine.getId());
+        SqlCapture.clear();
+    }
+
+    @Test
+    void hourLevelCountsWithoutEventIdsHaveNoEventIdCondition() {
+        List<Object[]> rows = repository.findHourLevelCountsForSummary(fileIds, ALL_LEVELS, List.of(), H0, H0.plusHours(2));
+
+        assertThat(rows).extracting(row -> row[0] + " " + row[1] + " " + row[2]).containsExactlyInAnyOrder(
+                H0 + " INFORMATION 100", H0 + " ERROR 33",
+                H0.plusHours(1) + " ERROR 20", H0.plusHours(1) + " INFORMATION 5");
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql ->
+                assertThat(sql).doesNotContain("event_id", "=true", "is null"));
+    }
+
+    @Test
+    void hourLevelCountsWithEventIdsUseInClause() {
+        List<Object[]> rows = repository.findHourLevelCountsForSummary(fileIds, List.of(EventLevel.ERROR),
+                List.of(4625L), H0, H0.plusHours(6));
+
+        assertThat(rows).extracting(row -> ((Number) row[2]).longValue()).containsExactly(33L, 20L, 1L);
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql ->
+                assertThat(sql).contains("event_id in").doesNotContain("=true"));
+    }
+
+    @Test
+    void eventIdLevelCountsAreTopNByTotal() {
+        List<Object[]> rows = repository.findEventIdLevelCountsForSummary(fileIds, ALL_LEVELS, null,
+                H0, H0.plusHours(6), 2);
+
+        assertThat(rows).extracting(row -> row[0] + " " + row[1] + " " + row[2])
+                .containsExactly("4624 INFORMATION 100", "4625 ERROR 54");
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql ->
+                assertThat(sql).doesNotContain("event_id in"));
+    }
+
+    @Test
+    void sampleStrataComeFromRollupsWithRepresentativeIds() {
+        List<Object[]> rows = repository.findSampleStrataForSummary(fileIds, List.of(EventLevel.ERROR), List.of(),
+                H0, H0.plusHours(6), 2);
+
+        // (eventId, level, bucketHour, count, firstEventId, lastEventId), 채널이 다른 행은 합쳐짐
+        assertThat(rows).extracting(row -> row[0] + " " + row[2] + " " + row[3] + " " + row[4] + " " + row[5])
+                .containsExactly("4625 " + H0 + " 33 0 89", "4625 " + H0.plusHours(1) + " 20 1060 1079");
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql ->
+                assertThat(sql).contains("event_rollups").doesNotContain("from events", "event_id in", "=true"));
+    }
+
+    private static LogFile logFile(String sessionId) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId).build();
+    }
+
+    private static EventRollup rollup(LogFile logFile, int hour, long eventId, EventLevel level, LogChannel channel,
+                                      long count) {
+        return EventRollup.builder()
+                .logFile(logFile)
+                .bucketHour(H0.plusHours(hour))
+                .eventId(eventId)
+                .level(level)
+                .channel(channel)
+                .eventCount(count)
+                // 대표 id: 시간 × 1000 + 채널별 구간
+                .firstEventId(hour * 1000L + channel.ordinal() * 30L)
+                .lastEventId(hour * 1000L + channel.ordinal() * 30L + count - 1)
+                .build();
+    }
+}
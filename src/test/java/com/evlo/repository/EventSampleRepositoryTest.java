@@ -0,0 +1,120 @@
+package com.evlo.repository;
+
+import com.evlo.entity.EventRollup;
+import com.evlo.entity.EventSample;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.entity.enums.ParsingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 표본 조회가 eventId 유무에 따라 별도 쿼리를 쓰는지 (catch-all "IS NULL OR" 없음) 와 결과,
+ * 표본이 없는 파일 수 검증
+ */
+@RepositoryTest
+class EventSampleRepositoryTest {
+
+    private static final LocalDateTime H0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EventSampleRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        LogFile mine = em.persist(logFile("s1"));
+        LogFile other = em.persist(logFile("s2"));
+        em.persist(sample(mine, 0, 4624L));
+        em.persist(sample(mine, 0, 4625L));
+        em.persist(sample(mine, 1, 4625L));
+        em.persist(sample(mine, 5, 4625L));
+        em.persist(sample(other, 0, 4625L));
+        em.flush();
+        em.clear();
+        SqlCapture.clear();
+    }
+
+    @Test
+    void samplesInRangeWithoutEventIdFilter() {
+        List<Object[]> rows = repository.findSamplesBySessionId("s1", H0, H0.plusHours(1));
+
+        assertThat(rows).hasSize(3);
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql ->
+                assertThat(sql).doesNotContain("is null", "event_id"));
+    }
+
+    @Test
+    void samplesInRangeForEventId() {
+        List<Object[]> rows = repository.findSamplesForEventIdBySessionId("s1", H0, H0.plusHours(1), 4625L);
+
+        assertThat(rows).extracting(row -> row[1]).containsExactlyInAnyOrder(H0, H0.plusHours(1));
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql ->
+                assertThat(sql).contains("event_id=?").doesNotContain("is null"));
+    }
+
+    @Test
+    void unsampledFilesAreCompletedFilesWithEventsButNoSamples() {
+        LogFile sampled = em.persist(completed("s3"));
+        em.persist(rollup(sampled));
+        em.persist(sample(sampled, 0, 4624L));
+        // 이벤트가 없는 파일은 표본이 없어도 추정에 빠지는 건수가 없음
+        em.persist(completed("s3"));
+        LogFile inProgress = em.persist(logFile("s3"));
+        em.persist(rollup(inProgress));
+        em.flush();
+
+        assertThat(repository.countUnsampledFilesBySessionId("s3")).isZero();
+
+        // 표본 기록 이전에 업로드된 파일: 집계는 있지만 표본이 없음
+        LogFile legacy = em.persist(completed("s3"));
+        em.persist(rollup(legacy));
+        em.flush();
+
+        assertThat(repository.countUnsampledFilesBySessionId("s3")).isEqualTo(1);
+        assertThat(repository.countUnsampledFilesBySessionId("s4")).isZero();
+    }
+
+    private static LogFile completed(String sessionId) {
+        LogFile logFile = logFile(sessionId);
+        logFile.setParsingStatus(ParsingStatus.COMPLETED);
+        return logFile;
+    }
+
+    private static EventRollup rollup(LogFile logFile) {
+        return EventRollup.builder()
+                .logFile(logFile)
+                .bucketHour(H0)
+                .eventId(4624L)
+                .level(EventLevel.INFORMATION)
+                .channel(LogChannel.SECURITY)
+                .eventCount(100L)
+                .build();
+    }
+
+    private static LogFile logFile(String sessionId) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId).build();
+    }
+
+    private static EventSample sample(LogFile logFile, int hour, long eventId) {
+        return EventSample.builder()
+                .logFile(logFile)
+                .bucketHour(H0.plusHours(hour))
+                .stratumSize(100L)
+                .sampleSize(10)
+                .timeCreated(H0.plusHours(hour).plusMinutes(30))
+                .eventId(eventId)
+                .level(EventLevel.INFORMATION)
+                .build();
+    }
+}
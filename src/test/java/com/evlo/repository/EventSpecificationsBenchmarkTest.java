@@ -0,0 +1,185 @@
+package com.evlo.repository;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.entity.Event;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 필터 조합별로 Specification 동적 쿼리와 예전 catch-all JPQL("(:x IS NULL OR ...)")의 첫 페이지(100건, 최신순) 조회 시간을 비교.
+ * 내장 H2 에 이벤트 20만 건(세션 2개, 파일 4개)을 넣고 조합마다 워밍업 3회 후 5회 측정 중 최솟값을 TestReporter 로 남김.
+ * 절대 시간은 H2 기준이라 MariaDB 와 다르고 환경마다 달라 검증하지 않으며, 두 쿼리의 결과가 같은지만 확인.
+ * ./gradlew benchmark 로 실행 (기본 test 에서는 제외)
+ */
+@Tag("benchmark")
+@RepositoryTest
+class EventSpecificationsBenchmarkTest {
+
+    private static final int EVENTS = 200_000;
+    private static final int PAGE = 100;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long[] EVENT_IDS = {4624, 4624, 4624, 4634, 4625, 4672, 4688, 5140, 7036, 7045};
+
+    /**
+     * EventSpecifications 도입 전 고정 쿼리 (scope 절만 바꿔 끼움).
+     * Hibernate 6 은 목록 파라미터에 IS NULL 을 쓸 수 없어 목록 조건은 ":allX = true OR" 형태 (같은 catch-all)
+     */
+    private static final String CATCH_ALL = "SELECT e FROM Event e JOIN e.logFile lf WHERE %s AND "
+            + "(:startTime IS NULL OR e.timeCreated >= :startTime) AND "
+            + "(:endTime IS NULL OR e.timeCreated <= :endTime) AND "
+            + "(:allLevels = true OR e.level IN :levels) AND "
+            + "(:allChannels = true OR e.channel IN :channels) AND "
+            + "(:allEventIds = true OR e.eventId IN :eventIds) AND "
+            + "(:keyword IS NULL OR LOWER(e.message) LIKE LOWER(CONCAT('%%', :keyword, '%%'))) "
+            + "ORDER BY e.timeCreated DESC, e.id DESC";
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EventRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void filterCombinationMatrix(TestReporter reporter) {
+        List<Long> files = insertEvents(new Random(27));
+        Map<String, EventSearchRequest> matrix = matrix(files.get(0));
+        Sort latestFirst = Sort.by(Sort.Direction.DESC, "timeCreated", "id");
+
+        for (Map.Entry<String, EventSearchRequest> row : matrix.entrySet()) {
+            EventSearchRequest request = row.getValue();
+            List<Event> dynamic = repository.findSlice(EventSpecifications.matches(request, "s1"), latestFirst, PAGE);
+            List<Event> catchAll = catchAll(request, "s1");
+            assertThat(dynamic).as(row.getKey()).extracting(Event::getId)
+                    .containsExactlyElementsOf(catchAll.stream().map(Event::getId).toList());
+
+            double dynamicMs = bestMillis(() -> repository.findSlice(EventSpecifications.matches(request, "s1"),
+                    latestFirst, PAGE));
+            double catchAllMs = bestMillis(() -> catchAll(request, "s1"));
+            reporter.publishEntry(row.getKey(), String.format("specification %.2f ms, catch-all %.2f ms, %d rows",
+                    dynamicMs, catchAllMs, dynamic.size()));
+        }
+    }
+
+    private Map<String, EventSearchRequest> matrix(Long logFileId) {
+        List<Long> single = List.of(4625L);
+        List<Long> multiple = List.of(4625L, 4672L, 7045L);
+        List<EventLevel> errors = List.of(EventLevel.ERROR, EventLevel.CRITICAL);
+        Map<String, EventSearchRequest> matrix = new LinkedHashMap<>();
+        for (boolean byFile : new boolean[]{false, true}) {
+            String scope = byFile ? "file" : "session";
+            Long file = byFile ? logFileId : null;
+            matrix.put(scope, request(file).build());
+            matrix.put(scope + "+time", request(file).startTime(T0.plusHours(10)).endTime(T0.plusHours(12)).build());
+            matrix.put(scope + "+eventId", request(file).eventIds(single).build());
+            matrix.put(scope + "+eventIds", request(file).eventIds(multiple).build());
+            matrix.put(scope + "+levels", request(file).levels(errors).build());
+            matrix.put(scope + "+channels", request(file).channels(List.of(LogChannel.SYSTEM)).build());
+            matrix.put(scope + "+keyword", request(file).keyword("failed").build());
+            matrix.put(scope + "+time+eventId+levels", request(file).startTime(T0.plusHours(10))
+                    .endTime(T0.plusHours(40)).eventIds(single).levels(errors).build());
+            matrix.put(scope + "+all", request(file).startTime(T0.plusHours(10)).endTime(T0.plusHours(40))
+                    .eventIds(multiple).levels(errors).channels(List.of(LogChannel.SECURITY)).keyword("admin").build());
+        }
+        return matrix;
+    }
+
+    private static EventSearchRequest.EventSearchRequestBuilder request(Long logFileId) {
+        return EventSearchRequest.builder().logFileId(logFileId);
+    }
+
+    private List<Event> catchAll(EventSearchRequest request, String sessionId) {
+        EntityManager entityManager = em.getEntityManager();
+        boolean byFile = request.getLogFileId() != null;
+        TypedQuery<Event> query = entityManager.createQuery(
+                String.format(CATCH_ALL, byFile ? "lf.id = :scope" : "lf.sessionId = :scope"), Event.class);
+        query.setParameter("scope", byFile ? request.getLogFileId() : sessionId);
+        query.setParameter("startTime", request.getStartTime());
+        query.setParameter("endTime", request.getEndTime());
+        query.setParameter("allLevels", request.getLevels() == null);
+        query.setParameter("levels", request.getLevels() == null ? List.of(EventLevel.INFORMATION) : request.getLevels());
+        query.setParameter("allChannels", request.getChannels() == null);
+        query.setParameter("channels", request.getChannels() == null ? List.of(LogChannel.SYSTEM) : request.getChannels());
+        query.setParameter("allEventIds", request.getEventIds() == null);
+        query.setParameter("eventIds", request.getEventIds() == null ? List.of(0L) : request.getEventIds());
+        query.setParameter("keyword", request.getKeyword());
+        List<Event> result = query.setMaxResults(PAGE).getResultList();
+        entityManager.clear();
+        return result;
+    }
+
+    private double bestMillis(Supplier<List<Event>> query) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            query.get();
+            em.clear();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long started = System.nanoTime();
+            query.get();
+            best = Math.min(best, System.nanoTime() - started);
+            em.clear();
+        }
+        return best / 1_000_000.0;
+    }
+
+    /** 세션 s1 파일 3개 + s2 파일 1개에 이벤트를 나눠 넣고 s1 파일 id 목록을 반환 */
+    private List<Long> insertEvents(Random random) {
+        List<Long> sessionFiles = new ArrayList<>();
+        List<Long> files = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String sessionId = i < 3 ? "s1" : "s2";
+            LogFile file = em.persist(LogFile.builder().filename("bench-" + i + ".evtx").fileSize(1L)
+                    .sessionId(sessionId).build());
+            files.add(file.getId());
+            if (i < 3) {
+                sessionFiles.add(file.getId());
+            }
+        }
+        em.flush();
+
+        LogChannel[] channels = {LogChannel.SECURITY, LogChannel.SECURITY, LogChannel.SYSTEM, LogChannel.APPLICATION};
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            int roll = random.nextInt(100);
+            EventLevel level = roll < 85 ? EventLevel.INFORMATION : roll < 93 ? EventLevel.WARNING
+                    : roll < 99 ? EventLevel.ERROR : EventLevel.CRITICAL;
+            String message = random.nextInt(20) == 0
+                    ? "An account failed to log on. Account Name: admin" + random.nextInt(50)
+                    : "An account was successfully logged on. Account Name: user" + random.nextInt(5_000);
+            rows.add(new Object[]{EVENT_IDS[random.nextInt(EVENT_IDS.length)], level.name(),
+                    Timestamp.valueOf(T0.plusSeconds(i)), "Microsoft-Windows-Security-Auditing", "WS01", message,
+                    channels[random.nextInt(channels.length)].name(), files.get(random.nextInt(files.size())), now});
+        }
+        new JdbcTemplate(dataSource).batchUpdate("INSERT INTO events (event_id, level, time_created, provider, computer, "
+                + "message, channel, log_file_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return sessionFiles;
+    }
+}
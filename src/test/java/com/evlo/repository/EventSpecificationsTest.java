@@ -0,0 +1,207 @@
+package com.evlo.repository;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.entity.Event;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이벤트 검색 조건이 요청에 있는 조건만 WHERE 절에 넣는지 (catch-all "IS NULL OR" 없음) 필터 조합 전체에 대해 확인하고,
+ * 키셋 다음 행 조건(after)이 정렬 키/방향마다 같은 값이 여럿인 경우에도 이어서 정확히 한 번씩 돌려주는지 확인
+ */
+@RepositoryTest
+class EventSpecificationsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long[] EVENT_IDS = {4624, 4625, 4625, 7036};
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EventRepository repository;
+
+    private LogFile fileA;
+    private LogFile fileB;
+    /** 세션 s1 의 이벤트 (파일 A, B) */
+    private final List<Event> session = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fileA = em.persist(logFile("s1"));
+        fileB = em.persist(logFile("s1"));
+        LogFile other = em.persist(logFile("s2"));
+        for (int i = 0; i < 24; i++) {
+            session.add(em.persist(event(i % 2 == 0 ? fileA : fileB, i)));
+        }
+        for (int i = 0; i < 4; i++) {
+            em.persist(event(other, i));
+        }
+        em.flush();
+        em.clear();
+        SqlCapture.clear();
+    }
+
+    @Test
+    void everyFilterCombinationAddsOnlyGivenPredicates() {
+        int combinations = 0;
+        for (boolean byLogFile : new boolean[]{false, true}) {
+            for (int eventIdMode = 0; eventIdMode < 3; eventIdMode++) {
+                for (int mask = 0; mask < 16; mask++) {
+                    EventSearchRequest request = request(byLogFile, eventIdMode, mask);
+                    SqlCapture.clear();
+
+                    List<Event> result = repository.findAll(EventSpecifications.matches(request, "s1"));
+
+                    String where = where(SqlCapture.selects());
+                    String label = "logFile=" + byLogFile + " eventIds=" + eventIdMode + " mask=" + mask + ": " + where;
+                    assertThat(where).as(label).doesNotContain("is null");
+                    assertPredicate(where, byLogFile, "log_file_id=?", label);
+                    assertPredicate(where, !byLogFile, "session_id=?", label);
+                    assertPredicate(where, (mask & 1) != 0, "time_created>=?", label);
+                    assertPredicate(where, (mask & 1) != 0, "time_created<=?", label);
+                    assertPredicate(where, eventIdMode == 1, "event_id=?", label);
+                    assertPredicate(where, eventIdMode == 2, "event_id in", label);
+                    assertPredicate(where, (mask & 2) != 0, "level in", label);
+                    assertPredicate(where, (mask & 4) != 0, "channel in", label);
+                    assertPredicate(where, (mask & 8) != 0, " like ", label);
+                    assertThat(ids(result)).as(label).isEqualTo(ids(session.stream()
+                            .filter(expected(request)).toList()));
+                    combinations++;
+                }
+            }
+        }
+        assertThat(combinations).isEqualTo(96);
+    }
+
+    @Test
+    void blankSessionWithoutLogFileHasNoScopePredicate() {
+        repository.findAll(EventSpecifications.matches(EventSearchRequest.builder().build(), " "));
+
+        assertThat(SqlCapture.selects()).singleElement()
+                .satisfies(sql -> assertThat(sql).doesNotContain("session_id", "log_file_id=?", "is null"));
+    }
+
+    @Test
+    void keysetContinuesAfterEveryRowForEachSortKeyAndDirection() {
+        List<Function<Event, Comparable<?>>> keys = List.of(Event::getId, Event::getEventId, Event::getTimeCreated,
+                event -> event.getLevel().ordinal());
+        List<String> properties = List.of("id", "eventId", "timeCreated", "level");
+        for (int k = 0; k < properties.size(); k++) {
+            String sortBy = properties.get(k);
+            for (boolean ascending : new boolean[]{true, false}) {
+                List<Event> ordered = sorted(session, keys.get(k), ascending);
+                if (!sortBy.equals("id")) {
+                    assertThat(ordered.stream().map(keys.get(k)).distinct().count())
+                            .as(sortBy + " 값이 겹치는 행이 있어야 함").isLessThan(ordered.size());
+                }
+                for (int i = 0; i < ordered.size(); i++) {
+                    Event last = ordered.get(i);
+                    Specification<Event> spec = EventSpecifications.matches(EventSearchRequest.builder().build(), "s1")
+                            .and(EventSpecifications.after(sortBy, ascending, sortValue(last, sortBy), last.getId()));
+
+                    assertThat(ids(repository.findAll(spec)))
+                            .as(sortBy + (ascending ? " ASC" : " DESC") + " after #" + i)
+                            .isEqualTo(ids(ordered.subList(i + 1, ordered.size())));
+                }
+            }
+        }
+    }
+
+    private static void assertPredicate(String where, boolean present, String fragment, String label) {
+        if (present) {
+            assertThat(where).as(label).contains(fragment);
+        } else {
+            assertThat(where).as(label).doesNotContain(fragment);
+        }
+    }
+
+    /** mask: 1 = 기간, 2 = level, 4 = channel, 8 = 키워드. eventIdMode: 0 = 없음, 1 = 하나, 2 = 여럿 */
+    private EventSearchRequest request(boolean byLogFile, int eventIdMode, int mask) {
+        return EventSearchRequest.builder()
+                .logFileId(byLogFile ? fileA.getId() : null)
+                .eventIds(switch (eventIdMode) {
+                    case 1 -> List.of(4625L);
+                    case 2 -> List.of(4624L, 7036L);
+                    default -> null;
+                })
+                .startTime((mask & 1) != 0 ? T0.plusMinutes(2) : null)
+                .endTime((mask & 1) != 0 ? T0.plusMinutes(6) : null)
+                .levels((mask & 2) != 0 ? List.of(EventLevel.ERROR, EventLevel.CRITICAL) : null)
+                .channels((mask & 4) != 0 ? List.of(LogChannel.SECURITY) : null)
+                .keyword((mask & 8) != 0 ? "FAILED" : null)
+                .build();
+    }
+
+    private Predicate<Event> expected(EventSearchRequest request) {
+        return event -> (request.getLogFileId() == null || event.getLogFile().getId().equals(request.getLogFileId()))
+                && (request.getStartTime() == null || !event.getTimeCreated().isBefore(request.getStartTime()))
+                && (request.getEndTime() == null || !event.getTimeCreated().isAfter(request.getEndTime()))
+                && (request.getEventIds() == null || request.getEventIds().contains(event.getEventId()))
+                && (request.getLevels() == null || request.getLevels().contains(event.getLevel()))
+                && (request.getChannels() == null || request.getChannels().contains(event.getChannel()))
+                && (request.getKeyword() == null || event.getMessage().toLowerCase().contains(request.getKeyword().toLowerCase()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Event> sorted(List<Event> events, Function<Event, Comparable<?>> key, boolean ascending) {
+        Comparator<Event> byKey = Comparator.comparing(event -> (Comparable) key.apply(event));
+        Comparator<Event> order = byKey.thenComparing(Event::getId);
+        return events.stream().sorted(ascending ? order : order.reversed()).toList();
+    }
+
+    private static Object sortValue(Event event, String sortBy) {
+        return switch (sortBy) {
+            case "eventId" -> event.getEventId();
+            case "level" -> event.getLevel();
+            case "timeCreated" -> event.getTimeCreated();
+            default -> event.getId();
+        };
+    }
+
+    private static String where(List<String> selects) {
+        assertThat(selects).hasSize(1);
+        String sql = selects.get(0);
+        int where = sql.indexOf(" where ");
+        return where < 0 ? "" : sql.substring(where);
+    }
+
+    private static Set<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toSet());
+    }
+
+    private static LogFile logFile(String sessionId) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId).build();
+    }
+
+    /** 3건마다 같은 시각, eventId/level/channel 도 반복되어 정렬 키마다 값이 겹침 */
+    private static Event event(LogFile logFile, int i) {
+        return Event.builder()
+                .logFile(logFile)
+                .eventId(EVENT_IDS[i % EVENT_IDS.length])
+                .level(EventLevel.values()[(i / 2) % EventLevel.values().length])
+                .channel(LogChannel.values()[i % 3])
+                .timeCreated(T0.plusMinutes(i / 3))
+                .provider("Microsoft-Windows-Security-Auditing")
+                .computer("WS01")
+                .message(i % 5 == 0 ? "Logon FAILED for admin " + i : "An account was logged on " + i)
+                .build();
+    }
+}
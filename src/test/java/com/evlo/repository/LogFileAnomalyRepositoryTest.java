@@ -0,0 +1,90 @@
+package com.evlo.repository;
+
+import com.evlo.entity.LogFile;
+import com.evlo.entity.LogFileAnomaly;
+import com.evlo.entity.enums.AnomalyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이상 구간 조회가 지정된 필터만 WHERE 절에 넣는지 (catch-all "IS NULL OR" 없음) 와 결과 검증
+ */
+@RepositoryTest
+class LogFileAnomalyRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private LogFileAnomalyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        LogFile mine = em.persist(logFile("s1"));
+        LogFile other = em.persist(logFile("s2"));
+        em.persist(anomaly(mine, 4625L, AnomalyType.BURST, 30));
+        em.persist(anomaly(mine, 4625L, AnomalyType.SILENCE, 10));
+        em.persist(anomaly(mine, 4624L, AnomalyType.BURST, 20));
+        em.persist(anomaly(other, 4625L, AnomalyType.BURST, 0));
+        em.flush();
+        em.clear();
+        SqlCapture.clear();
+    }
+
+    @Test
+    void noFiltersReturnsSessionAnomaliesInStartOrderWithoutCatchAll() {
+        List<LogFileAnomaly> result = find("s1", null, null);
+
+        assertThat(result).extracting(a -> a.getStartTime().getMinute()).containsExactly(10, 20, 30);
+        assertThat(SqlCapture.selects()).singleElement().satisfies(sql -> {
+            assertThat(sql).doesNotContain("is null");
+            assertThat(sql).doesNotContain("anomaly_type=", "anomaly_type =");
+            assertThat(sql).doesNotContain("event_id=", "event_id =");
+        });
+    }
+
+    @Test
+    void onlyGivenFiltersAppearInWhereClause() {
+        assertThat(find("s1", AnomalyType.BURST, null))
+                .extracting(LogFileAnomaly::getEventId).containsExactly(4624L, 4625L);
+        assertThat(find("s1", null, 4625L))
+                .extracting(LogFileAnomaly::getAnomalyType).containsExactly(AnomalyType.SILENCE, AnomalyType.BURST);
+        assertThat(find("s1", AnomalyType.BURST, 4625L)).hasSize(1);
+
+        List<String> selects = SqlCapture.selects();
+        assertThat(selects).hasSize(3).noneMatch(sql -> sql.contains("is null"));
+        assertThat(selects.get(0)).contains("anomaly_type").doesNotContain("event_id=?");
+        assertThat(selects.get(1)).doesNotContain("anomaly_type=?");
+    }
+
+    private List<LogFileAnomaly> find(String sessionId, AnomalyType type, Long eventId) {
+        return repository.findAll(LogFileAnomalySpecifications.matches(sessionId, type, eventId),
+                LogFileAnomalySpecifications.ORDER);
+    }
+
+    private static LogFile logFile(String sessionId) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId).build();
+    }
+
+    private static LogFileAnomaly anomaly(LogFile logFile, long eventId, AnomalyType type, int startMinute) {
+        return LogFileAnomaly.builder()
+                .logFile(logFile)
+                .eventId(eventId)
+                .anomalyType(type)
+                .startTime(T0.plusMinutes(startMinute))
+                .endTime(T0.plusMinutes(startMinute + 5))
+                .observedCount(100L)
+                .expectedCount(10.0)
+                .score(5.0)
+                .build();
+    }
+}
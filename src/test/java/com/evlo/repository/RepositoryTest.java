@@ -0,0 +1,25 @@
+package com.evlo.repository;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 내장 H2 에 엔티티로 스키마를 만들어 Repository 쿼리를 실행 (Flyway 마이그레이션은 MariaDB 전용이라 끔).
+ * 실행된 SQL 은 SqlCapture 로 확인
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.evlo.repository.SqlCapture"
+})
+public @interface RepositoryTest {
+}
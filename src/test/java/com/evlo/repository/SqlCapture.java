@@ -0,0 +1,33 @@
+package com.evlo.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate 가 실행한 SQL 기록 (동적 조건이 실제 WHERE 절에 어떻게 들어가는지 검증용).
+ * hibernate.session_factory.statement_inspector 로 등록
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    /** 기록된 SELECT 문 (소문자) */
+    public static List<String> selects() {
+        return statements.stream()
+                .map(String::toLowerCase)
+                .filter(sql -> sql.startsWith("select") || sql.startsWith("with"))
+                .toList();
+    }
+}
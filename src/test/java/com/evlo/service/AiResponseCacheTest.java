@@ -0,0 +1,42 @@
+package com.evlo.service;
+
+import com.evlo.config.AiCacheProperties;
+import com.evlo.config.AiClientProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AiResponseCacheTest {
+
+    @Test
+    void keyIgnoresWhitespaceButNotModel() {
+        AiResponseCache cache = cache("gpt-4o", false);
+
+        assertThat(cache.key("v1", new Prompt("hello   world\n")))
+                .isEqualTo(cache.key("v1", new Prompt(" hello world")))
+                .isNotEqualTo(cache.key("v2", new Prompt("hello world")))
+                .isNotEqualTo(cache("gpt-4o-mini", false).key("v1", new Prompt("hello world")));
+    }
+
+    @Test
+    void stubModelAnswersDoNotShareKeysWithRealModel() {
+        Prompt prompt = new Prompt("summarize these events");
+
+        assertThat(cache("gpt-4o", true).key("v1", prompt))
+                .isNotEqualTo(cache("gpt-4o", false).key("v1", prompt))
+                .isEqualTo(cache("gpt-4o", true).key("v1", prompt));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AiResponseCache cache(String model, boolean stub) {
+        AiClientProperties clientProperties = new AiClientProperties();
+        clientProperties.getStub().setEnabled(stub);
+        return new AiResponseCache(mock(ReactiveRedisTemplate.class), new ObjectMapper(), new AiCacheProperties(),
+                clientProperties, new SimpleMeterRegistry(), model);
+    }
+}
@@ -0,0 +1,88 @@
+package com.evlo.service;
+
+import com.evlo.config.CorrelationProperties;
+import com.evlo.dto.CorrelationResponse;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.LogFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CorrelationServiceTest {
+
+    private static final String SESSION = "session";
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /** (id, eventId, timeCreated, computer, provider) */
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private LogFileRepository logFileRepository;
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 4625 한 건마다 두 규칙이 동시에 매치
+        for (long i = 1; i <= 3; i++) {
+            rows.add(new Object[]{i, 4625L, T0.plusMinutes(i), "host-" + i, "Security-Auditing"});
+        }
+        logFileRepository = mock(LogFileRepository.class);
+        eventRepository = mock(EventRepository.class);
+        when(logFileRepository.findCompletedIdsBySessionId(SESSION)).thenReturn(List.of(1L));
+        when(eventRepository.streamSequenceColumns(anyList(), anyCollection(), any(), any()))
+                .thenAnswer(invocation -> rows.stream());
+    }
+
+    @Test
+    void capIsEnforcedWithinRowWhenSeveralRulesMatch() {
+        CorrelationResponse response = service(3).correlate(SESSION, null, null, null);
+
+        assertThat(response.getMatches()).hasSize(3);
+        assertThat(response.isTruncated()).isTrue();
+        assertThat(response.getMaxMatches()).isEqualTo(3);
+        assertThat(response.getScannedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    void exactlyMaxMatchesIsNotTruncated() {
+        CorrelationResponse response = service(6).correlate(SESSION, null, null, null);
+
+        assertThat(response.getMatches()).hasSize(6);
+        assertThat(response.isTruncated()).isFalse();
+        assertThat(response.getScannedEvents()).isEqualTo(3);
+    }
+
+    @Test
+    void noCompletedFilesReturnsEmptyResult() {
+        when(logFileRepository.findCompletedIdsBySessionId(SESSION)).thenReturn(List.of());
+
+        CorrelationResponse response = service(3).correlate(SESSION, null, null, null);
+
+        assertThat(response.getMatches()).isEmpty();
+        assertThat(response.isTruncated()).isFalse();
+    }
+
+    private CorrelationService service(int maxMatches) {
+        CorrelationProperties properties = new CorrelationProperties();
+        properties.setMaxMatches(maxMatches);
+        properties.setRules(List.of(rule("by-computer", "4625 within 1m by computer"),
+                rule("any-host", "4625 within 1m by none")));
+        return new CorrelationService(eventRepository, logFileRepository, properties);
+    }
+
+    private static CorrelationProperties.Rule rule(String name, String expression) {
+        CorrelationProperties.Rule rule = new CorrelationProperties.Rule();
+        rule.setName(name);
+        rule.setExpression(expression);
+        return rule;
+    }
+}
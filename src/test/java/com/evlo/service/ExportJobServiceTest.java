@@ -0,0 +1,278 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.ExportFormat;
+import com.evlo.dto.ExportJobResponse;
+import com.evlo.repository.LogFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 비동기 내보내기 작업의 중복 제거, 디스크 결과물 재사용, 실패 후 재제출, TTL/용량(LRU) 정리 검증.
+ * ExportService 는 mock 으로 고정된 CSV 를 쓰며, latch 로 작업을 진행 중 상태에 붙잡아 둘 수 있음
+ */
+class ExportJobServiceTest {
+
+    private static final byte[] CSV = "id,eventId\n1,4624\n2,4625\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private final ExportService exportService = mock(ExportService.class);
+    private final LogFileRepository logFileRepository = mock(LogFileRepository.class);
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(2, 10, "test-export-job");
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void sameKeyWhileInFlightSharesOneJob() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        stubCsv(gate, null);
+        ExportJobService service = service(24, 2048);
+
+        ExportJobResponse first = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        ExportJobResponse second = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        ExportJobResponse otherKeyword = service.submit(ExportFormat.CSV, request("logoff"), "s1", null);
+        ExportJobResponse otherSession = service.submit(ExportFormat.CSV, request("logon"), "s2", null);
+
+        assertThat(second.getJobId()).isEqualTo(first.getJobId());
+        assertThat(second.getStatus()).isIn(ExportJobResponse.Status.QUEUED, ExportJobResponse.Status.RUNNING);
+        assertThat(otherKeyword.getJobId()).isNotEqualTo(first.getJobId());
+        assertThat(otherSession.getJobId()).isNotEqualTo(first.getJobId());
+
+        gate.countDown();
+        ExportJobResponse done = awaitFinished(service, first.getJobId(), "s1");
+        awaitFinished(service, otherKeyword.getJobId(), "s1");
+        awaitFinished(service, otherSession.getJobId(), "s2");
+
+        assertThat(done.getStatus()).isEqualTo(ExportJobResponse.Status.DONE);
+        assertThat(done.isCached()).isFalse();
+        assertThat(done.getRows()).isEqualTo(2L);
+        assertThat(done.getBytes()).isEqualTo(CSV.length);
+        assertThat(done.getDownloadUrl()).isEqualTo("/api/export/jobs/" + first.getJobId() + "/download");
+        assertThat(renders).hasValue(3);
+        // 완료 후 같은 키로 다시 제출해도 새로 렌더링하지 않음
+        assertThat(service.submit(ExportFormat.CSV, request("logon"), "s1", null).getJobId()).isEqualTo(first.getJobId());
+        assertThat(renders).hasValue(3);
+    }
+
+    @Test
+    void artifactOnDiskIsDoneAfterRestart() throws Exception {
+        stubCsv(null, null);
+        ExportJobService before = service(24, 2048);
+        ExportJobResponse submitted = before.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        awaitFinished(before, submitted.getJobId(), "s1");
+
+        // 작업 상태는 메모리에만 있으므로 새 인스턴스는 모름
+        ExportJobService restarted = service(24, 2048);
+        assertThat(restarted.find(submitted.getJobId(), "s1")).isEmpty();
+
+        ExportJobResponse resubmitted = restarted.submit(ExportFormat.CSV, request("logon"), "s1", null);
+
+        assertThat(resubmitted.getJobId()).isEqualTo(submitted.getJobId());
+        assertThat(resubmitted.getStatus()).isEqualTo(ExportJobResponse.Status.DONE);
+        assertThat(resubmitted.isCached()).isTrue();
+        assertThat(resubmitted.getBytes()).isEqualTo(CSV.length);
+        assertThat(restarted.artifact(submitted.getJobId(), "s1")).hasValueSatisfying(path ->
+                assertThat(path).hasBinaryContent(CSV));
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void failedJobIsRenderedAgainOnResubmit() throws Exception {
+        stubCsv(null, new IOException("disk full"));
+        ExportJobService service = service(24, 2048);
+
+        ExportJobResponse submitted = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        ExportJobResponse failed = awaitFinished(service, submitted.getJobId(), "s1");
+
+        assertThat(failed.getStatus()).isEqualTo(ExportJobResponse.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("disk full");
+        assertThat(failed.getDownloadUrl()).isNull();
+        assertThat(service.artifact(submitted.getJobId(), "s1")).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).as("임시 파일 정리").isEmpty();
+        }
+
+        ExportJobResponse resubmitted = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        ExportJobResponse done = awaitFinished(service, resubmitted.getJobId(), "s1");
+
+        assertThat(resubmitted.getJobId()).isEqualTo(submitted.getJobId());
+        assertThat(done.getStatus()).isEqualTo(ExportJobResponse.Status.DONE);
+        assertThat(done.getError()).isNull();
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void jobsAreVisibleOnlyToTheSubmittingSession() throws Exception {
+        stubCsv(null, null);
+        ExportJobService service = service(24, 2048);
+        ExportJobResponse submitted = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        awaitFinished(service, submitted.getJobId(), "s1");
+
+        assertThat(service.find(submitted.getJobId(), "s2")).isEmpty();
+        assertThat(service.artifact(submitted.getJobId(), "s2")).isEmpty();
+        assertThat(service.find(submitted.getJobId(), null)).isEmpty();
+    }
+
+    @Test
+    void evictRemovesExpiredArtifactsAndStaleTempFiles() throws Exception {
+        Path expired = file("expired.csv", 10, Duration.ofHours(25));
+        Path fresh = file("fresh.csv", 10, Duration.ofHours(23));
+        Path staleTemp = file("stale.tmp", 10, Duration.ofHours(25));
+        Path writingTemp = file("writing.tmp", 10, Duration.ZERO);
+
+        service(24, 2048).evict();
+
+        assertThat(expired).doesNotExist();
+        assertThat(staleTemp).doesNotExist();
+        assertThat(fresh).exists();
+        assertThat(writingTemp).exists();
+    }
+
+    @Test
+    void evictOverCapacityRemovesLeastRecentlyAccessedFirst() throws Exception {
+        stubCsv(null, null);
+        ExportJobService service = service(24, 1);
+        int size = 400 * 1024;
+        Path oldest = file("a.csv", size, Duration.ofHours(3));
+        Path older = file("b.csv", size, Duration.ofHours(2));
+        Path recent = file("c.csv", size, Duration.ofHours(1));
+        // 진행 중 임시 파일은 용량 계산과 삭제 대상에서 제외
+        Path writingTemp = file("writing.tmp", size, Duration.ofHours(4));
+
+        service.evict();
+
+        assertThat(oldest).doesNotExist();
+        assertThat(older).exists();
+        assertThat(recent).exists();
+        assertThat(writingTemp).exists();
+
+        // 다운로드(artifact 조회)로 접근 시각이 갱신된 결과물은 남고 그다음으로 오래된 것이 삭제됨
+        ExportJobResponse job = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        awaitFinished(service, job.getJobId(), "s1");
+        Path downloaded = service.artifact(job.getJobId(), "s1").orElseThrow();
+        Files.setLastModifiedTime(downloaded, FileTime.from(Instant.now().minus(Duration.ofHours(5))));
+        service.artifact(job.getJobId(), "s1");
+        file("d.csv", size, Duration.ZERO);
+
+        service.evict();
+
+        assertThat(downloaded).exists();
+        assertThat(older).doesNotExist();
+        assertThat(recent).exists();
+    }
+
+    @Test
+    void doneJobWhoseArtifactWasEvictedIsGone() throws Exception {
+        stubCsv(null, null);
+        ExportJobService service = service(24, 2048);
+        ExportJobResponse submitted = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        Path artifact = awaitArtifact(service, submitted.getJobId());
+        Files.setLastModifiedTime(artifact, FileTime.from(Instant.now().minus(Duration.ofHours(25))));
+
+        service.evict();
+
+        assertThat(artifact).doesNotExist();
+        assertThat(service.find(submitted.getJobId(), "s1")).isEmpty();
+        // 다시 제출하면 새로 렌더링
+        ExportJobResponse resubmitted = service.submit(ExportFormat.CSV, request("logon"), "s1", null);
+        assertThat(awaitFinished(service, resubmitted.getJobId(), "s1").isCached()).isFalse();
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void evictionRunsAtStartupWithoutAnyJob() throws Exception {
+        Path expired = file("expired.csv", 10, Duration.ofHours(25));
+        Path staleTemp = file("crashed.tmp", 10, Duration.ofHours(25));
+        ExportJobService service = new ExportJobService(exportService, logFileRepository, scheduler,
+                directory.toString(), 2048, 24, 60);
+
+        service.startEviction();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((Files.exists(expired) || Files.exists(staleTemp)) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            service.stopEviction();
+        }
+
+        assertThat(expired).doesNotExist();
+        assertThat(staleTemp).doesNotExist();
+    }
+
+    /** 주기 정리는 끄고 작업 완료 시 / evict() 직접 호출로만 정리 */
+    private ExportJobService service(long ttlHours, long maxSizeMb) {
+        return new ExportJobService(exportService, logFileRepository, scheduler, directory.toString(),
+                maxSizeMb, ttlHours, 0);
+    }
+
+    /** writeCsv 가 gate 가 열릴 때까지 기다린 뒤 CSV 를 씀. firstFailure 가 있으면 첫 호출만 그 예외로 실패 */
+    private void stubCsv(CountDownLatch gate, IOException firstFailure) throws IOException {
+        doAnswer(invocation -> {
+            int render = renders.incrementAndGet();
+            if (gate != null) {
+                assertThat(gate.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            if (firstFailure != null && render == 1) {
+                invocation.getArgument(3, OutputStream.class).write(CSV, 0, 5);
+                throw firstFailure;
+            }
+            invocation.getArgument(3, OutputStream.class).write(CSV);
+            return 2L;
+        }).when(exportService).writeCsv(any(), any(), any(), any());
+    }
+
+    private static EventSearchRequest request(String keyword) {
+        return EventSearchRequest.builder().keyword(keyword).build();
+    }
+
+    private Path file(String name, int size, Duration age) throws IOException {
+        Path path = Files.write(directory.resolve(name), new byte[size]);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+        return path;
+    }
+
+    private static ExportJobResponse awaitFinished(ExportJobService service, String jobId, String sessionId)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ExportJobResponse job = service.find(jobId, sessionId).orElseThrow();
+            if (job.getStatus() == ExportJobResponse.Status.DONE || job.getStatus() == ExportJobResponse.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("export job " + jobId + " did not finish");
+    }
+
+    private static Path awaitArtifact(ExportJobService service, String jobId) throws InterruptedException {
+        awaitFinished(service, jobId, "s1");
+        return service.artifact(jobId, "s1").orElseThrow();
+    }
+}
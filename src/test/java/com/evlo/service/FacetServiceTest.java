@@ -0,0 +1,116 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventSearchRequest;
+import com.evlo.dto.FacetResponse;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.LogFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FacetServiceTest {
+
+    private static final String SESSION = "session";
+    private static final List<Long> FILE_IDS = List.of(1L, 2L);
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /** (logFileId, timeCreated, eventId, level, channel, provider) */
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private LogFileRepository logFileRepository;
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void setUp() {
+        rows.add(new Object[]{1L, T0, 4624L, EventLevel.INFORMATION, LogChannel.SECURITY, "Security-Auditing"});
+        rows.add(new Object[]{1L, T0.plusMinutes(5), 4625L, EventLevel.ERROR, LogChannel.SECURITY, "Security-Auditing"});
+        rows.add(new Object[]{1L, T0.plusMinutes(10), 4625L, EventLevel.ERROR, LogChannel.SECURITY, "Security-Auditing"});
+        rows.add(new Object[]{2L, T0.plusHours(1), 7036L, EventLevel.INFORMATION, LogChannel.SYSTEM, "Service Control Manager"});
+        rows.add(new Object[]{2L, T0.plusHours(2), 41L, EventLevel.CRITICAL, LogChannel.SYSTEM, "Kernel-Power"});
+        rows.add(new Object[]{2L, T0.plusHours(3), 4625L, EventLevel.WARNING, LogChannel.SECURITY, "Security-Auditing"});
+
+        logFileRepository = mock(LogFileRepository.class);
+        eventRepository = mock(EventRepository.class);
+        when(logFileRepository.findCompletedIdsBySessionId(SESSION)).thenReturn(FILE_IDS);
+        when(eventRepository.countByLogFileIds(FILE_IDS)).thenReturn((long) rows.size());
+        when(eventRepository.streamFacetColumnsByLogFileIds(FILE_IDS)).thenAnswer(invocation -> rows.stream());
+    }
+
+    @Test
+    void snapshotIsBuiltOnceAndReused() {
+        FacetService service = service(256);
+
+        FacetResponse first = service.facets(SESSION, EventSearchRequest.builder().build());
+        FacetResponse second = service.facets(SESSION, EventSearchRequest.builder().levels(List.of(EventLevel.ERROR)).build());
+
+        assertThat(first.getTotal()).isEqualTo(6);
+        assertThat(second.getTotal()).isEqualTo(2);
+        assertThat(second.getLevels()).containsEntry("ERROR", 2L).containsEntry("INFORMATION", 2L);
+        verify(eventRepository, times(1)).streamFacetColumnsByLogFileIds(FILE_IDS);
+        verify(eventRepository, never()).findFacetGroups(any());
+    }
+
+    @Test
+    void sessionOverMemoryLimitUsesGroupByWithoutBuildingSnapshot() {
+        EventSearchRequest request = EventSearchRequest.builder()
+                .startTime(T0.plusMinutes(1))
+                .levels(List.of(EventLevel.ERROR, EventLevel.WARNING))
+                .channels(List.of(LogChannel.SECURITY))
+                .build();
+        // DB 가 기간 조건을 적용한 GROUP BY 결과
+        when(eventRepository.findFacetGroups(any())).thenReturn(groupBy(rows.subList(1, rows.size())));
+
+        FacetResponse grouped = service(0).facets(SESSION, request);
+        FacetResponse expected = service(256).facets(SESSION, request);
+
+        assertThat(grouped).isEqualTo(expected);
+        assertThat(grouped.getTotal()).isEqualTo(3);
+        assertThat(grouped.getEventIds()).containsExactly(new FacetResponse.FacetCount("4625", 3L));
+        verify(eventRepository, times(1)).streamFacetColumnsByLogFileIds(anyList());
+        verify(eventRepository, times(1)).findFacetGroups(any());
+    }
+
+    @Test
+    void oversizedSessionIsNotCachedAndFallsBackEveryTime() {
+        when(eventRepository.findFacetGroups(any())).thenReturn(groupBy(rows));
+        FacetService service = service(0);
+
+        service.facets(SESSION, EventSearchRequest.builder().build());
+        FacetResponse response = service.facets(SESSION, EventSearchRequest.builder().build());
+
+        assertThat(response.getTotal()).isEqualTo(6);
+        verify(eventRepository, never()).streamFacetColumnsByLogFileIds(anyList());
+        verify(eventRepository, times(2)).findFacetGroups(any());
+    }
+
+    private FacetService service(long maxMemoryMb) {
+        return new FacetService(logFileRepository, new FacetSnapshotLoader(eventRepository), maxMemoryMb, 50);
+    }
+
+    /** (level, channel, eventId, provider, count) */
+    private static List<Object[]> groupBy(List<Object[]> source) {
+        Map<List<Object>, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : source) {
+            counts.merge(List.of(row[3], row[4], row[2], row[5]), 1L, Long::sum);
+        }
+        List<Object[]> groups = new ArrayList<>();
+        counts.forEach((key, count) -> groups.add(new Object[]{key.get(0), key.get(1), key.get(2), key.get(3), count}));
+        return groups;
+    }
+}
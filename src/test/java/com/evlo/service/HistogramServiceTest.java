@@ -0,0 +1,319 @@
+package com.evlo.service;
+
+import com.evlo.dto.HistogramResponse;
+import com.evlo.dto.TimeGranularity;
+import com.evlo.entity.Event;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.repository.EventMinuteCountRepository;
+import com.evlo.repository.EventRollupRepository;
+import com.evlo.repository.EventSampleRepository;
+import com.evlo.repository.RepositoryTest;
+import com.evlo.repository.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * 업로드 때 기록하는 시간/분 집계(EventRollupAccumulator)를 내장 H2 에 넣고 히스토그램/시간대별 건수가
+ * 원본 이벤트를 직접 센 값과 같은지 확인
+ */
+@RepositoryTest
+class HistogramServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EventMinuteCountRepository eventMinuteCountRepository;
+
+    @Autowired
+    private EventRollupRepository eventRollupRepository;
+
+    @Autowired
+    private EventSampleRepository eventSampleRepository;
+
+    private HistogramService service;
+
+    /** s2 를 뺀 세션(s1, dst)의 이벤트 시각 (분 단위 집계 전 원본). 두 세션의 기간은 겹치지 않음 */
+    private final List<LocalDateTime> times = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new HistogramService(eventMinuteCountRepository, eventRollupRepository, eventSampleRepository);
+        // 2023-12-31 12:00 ~ 2024-01-01 05:59 (UTC) 에 7분 37초 간격으로 (정시, 경계 분, 여러 time zone 의 날짜 경계 모두 걸치도록)
+        record("s1", T0.minusHours(12), T0.plusHours(6), 7 * 60 + 37);
+        record("s2", T0.plusMinutes(90), T0.plusMinutes(91), 60);
+        SqlCapture.clear();
+    }
+
+    @Test
+    void partialEdgeHoursCountOnlyMinutesInsideRange() {
+        LocalDateTime start = T0.plusHours(1).plusMinutes(30);
+        LocalDateTime end = T0.plusHours(3).plusMinutes(15);
+
+        Map<LocalDateTime, Long> counts = service.hourlyCounts("s1", start, end, null);
+
+        // 01:30 ~ 03:15 는 01시 뒤 절반, 02시 전체, 03시 앞 16분만
+        assertThat(counts).containsExactly(
+                entry(T0.plusHours(1), countBetween(start, T0.plusHours(2), null)),
+                entry(T0.plusHours(2), countBetween(T0.plusHours(2), T0.plusHours(3), null)),
+                entry(T0.plusHours(3), countBetween(T0.plusHours(3), T0.plusHours(3).plusMinutes(16), null)));
+        assertThat(counts.get(T0.plusHours(1))).isLessThan(countBetween(T0.plusHours(1), T0.plusHours(2), null));
+    }
+
+    @Test
+    void hourlyCountsMatchRawEventsForAnyMinuteRange() {
+        for (int startMinute = 0; startMinute < 6 * 60; startMinute += 23) {
+            for (int length = 0; length < 4 * 60; length += 41) {
+                LocalDateTime start = T0.plusMinutes(startMinute).plusSeconds(startMinute % 60);
+                LocalDateTime end = start.plusMinutes(length).plusSeconds(length % 60);
+                for (Long eventId : new Long[]{null, 4625L}) {
+                    assertThat(service.hourlyCounts("s1", start, end, eventId))
+                            .as(start + " ~ " + end + " eventId=" + eventId)
+                            .isEqualTo(expectedHourly(start, end, eventId));
+                }
+            }
+        }
+    }
+
+    @Test
+    void hourAlignedRangeUsesRollupsForInteriorHours() {
+        Map<LocalDateTime, Long> counts = service.hourlyCounts("s1", T0.plusHours(1), T0.plusHours(3).minusSeconds(1), null);
+
+        assertThat(counts).containsOnlyKeys(T0.plusHours(1), T0.plusHours(2));
+        assertThat(counts).isEqualTo(expectedHourly(T0.plusHours(1), T0.plusHours(3).minusSeconds(1), null));
+    }
+
+    @Test
+    void reversedRangeIsEmpty() {
+        assertThat(service.hourlyCounts("s1", T0.plusHours(2), T0.plusHours(1), null)).isEmpty();
+    }
+
+    @Test
+    void hourAndDayInWholeHourZonesUseRollups() {
+        for (ZoneId zone : new ZoneId[]{UTC, SEOUL}) {
+            for (TimeGranularity granularity : new TimeGranularity[]{TimeGranularity.HOUR, TimeGranularity.DAY}) {
+                SqlCapture.clear();
+                long from = epochMillis(T0.minusHours(10).plusMinutes(20));
+                long to = epochMillis(T0.plusHours(5).plusMinutes(40));
+
+                HistogramResponse response = service.histogram("s1", from, to, granularity, zone, null);
+
+                assertBuckets(response, from, to, granularity, zone, null);
+                assertThat(SqlCapture.selects()).as(zone + " " + granularity).singleElement()
+                        .satisfies(sql -> assertThat(sql).contains("event_rollups").doesNotContain("event_minute_counts"));
+            }
+        }
+    }
+
+    @Test
+    void minuteGranularitiesUseMinuteCountsAndAgreeWithRollups() {
+        long from = epochMillis(T0.minusHours(3));
+        long to = epochMillis(T0.plusHours(3));
+        HistogramResponse hourly = service.histogram("s1", from, to, TimeGranularity.HOUR, UTC, 4625L);
+        for (TimeGranularity granularity : new TimeGranularity[]{TimeGranularity.MINUTE, TimeGranularity.FIVE_MINUTES}) {
+            SqlCapture.clear();
+
+            HistogramResponse response = service.histogram("s1", from, to, granularity, UTC, 4625L);
+
+            assertBuckets(response, from, to, granularity, UTC, 4625L);
+            assertThat(SqlCapture.selects()).singleElement()
+                    .satisfies(sql -> assertThat(sql).contains("event_minute_counts"));
+            // 분 집계를 시간으로 다시 합치면 시간 집계 결과와 같음
+            assertThat(sumByHour(response)).isEqualTo(sumByHour(hourly));
+        }
+    }
+
+    @Test
+    void halfHourOffsetZoneUsesMinuteCountsWithShiftedBuckets() {
+        for (TimeGranularity granularity : new TimeGranularity[]{TimeGranularity.HOUR, TimeGranularity.DAY}) {
+            SqlCapture.clear();
+            long from = epochMillis(T0.minusHours(11));
+            long to = epochMillis(T0.plusHours(5));
+
+            HistogramResponse response = service.histogram("s1", from, to, granularity, KOLKATA, null);
+
+            assertBuckets(response, from, to, granularity, KOLKATA, null);
+            // UTC+05:30 이라 버킷 시작은 UTC 기준 매시 30분 (시간 집계로는 나눌 수 없음)
+            assertThat(response.getBuckets()).allSatisfy(bucket ->
+                    assertThat(Math.floorMod(bucket.getStart(), 3_600_000L)).isEqualTo(1_800_000L));
+            assertThat(SqlCapture.selects()).singleElement()
+                    .satisfies(sql -> assertThat(sql).contains("event_minute_counts").doesNotContain("event_rollups"));
+        }
+    }
+
+    @Test
+    void dayBucketsFollowDstTransitions() {
+        // America/New_York: 2024-03-10 02:00 EST -> 03:00 EDT (23시간), 2024-11-03 02:00 EDT -> 01:00 EST (25시간)
+        for (LocalDate dayBefore : new LocalDate[]{LocalDate.of(2024, 3, 9), LocalDate.of(2024, 11, 2)}) {
+            ZonedDateTime midnight = dayBefore.atStartOfDay(NEW_YORK);
+            LocalDateTime midnightUtc = midnight.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            record("dst", midnightUtc, midnightUtc.plusDays(3), 13 * 60);
+            long from = midnight.plusHours(1).toInstant().toEpochMilli();
+            long to = midnight.plusDays(2).toInstant().toEpochMilli();
+
+            HistogramResponse days = service.histogram("dst", from, to, TimeGranularity.DAY, NEW_YORK, null);
+            HistogramResponse hours = service.histogram("dst", from, to, TimeGranularity.HOUR, NEW_YORK, null);
+
+            assertBuckets(days, from, to, TimeGranularity.DAY, NEW_YORK, null);
+            assertBuckets(hours, from, to, TimeGranularity.HOUR, NEW_YORK, null);
+            long transitionDayHours = dayBefore.getMonthValue() == 3 ? 23 : 25;
+            assertThat(days.getBuckets()).extracting(HistogramResponse.Bucket::getStart).containsExactly(
+                    midnight.toInstant().toEpochMilli(), midnight.toInstant().toEpochMilli() + 24 * 3_600_000L);
+            assertThat(days.getTo() - days.getBuckets().get(1).getStart()).isEqualTo(transitionDayHours * 3_600_000L);
+            // 시간 버킷은 DST 와 무관하게 항상 1시간 (중복/누락 없음)
+            assertThat(hours.getBuckets()).hasSize((int) (24 + transitionDayHours - 1));
+        }
+    }
+
+    @Test
+    void edgeBucketsAreExtendedToWholeBuckets() {
+        long from = epochMillis(T0.plusMinutes(10).plusSeconds(5));
+        long to = epochMillis(T0.plusHours(2).plusMinutes(1));
+
+        HistogramResponse response = service.histogram("s1", from, to, TimeGranularity.HOUR, UTC, null);
+
+        assertThat(response.getFrom()).isEqualTo(epochMillis(T0));
+        assertThat(response.getTo()).isEqualTo(epochMillis(T0.plusHours(3)));
+        assertThat(response.getBuckets()).extracting(HistogramResponse.Bucket::getCount).containsExactly(
+                countBetween(T0, T0.plusHours(1), null),
+                countBetween(T0.plusHours(1), T0.plusHours(2), null),
+                countBetween(T0.plusHours(2), T0.plusHours(3), null));
+    }
+
+    @Test
+    void rejectsRangesWithTooManyBucketsBeforeQuerying() {
+        long from = epochMillis(T0);
+
+        assertThat(service.histogram("s1", from, from + 10_000 * 60_000L, TimeGranularity.MINUTE, UTC, null)
+                .getBuckets()).hasSize(10_000);
+        SqlCapture.clear();
+        assertThatThrownBy(() -> service.histogram("s1", from, from + 10_001 * 60_000L, TimeGranularity.MINUTE, UTC, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("10000");
+        assertThatThrownBy(() -> service.histogram("s1", from, from, TimeGranularity.HOUR, UTC, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SqlCapture.selects()).isEmpty();
+    }
+
+    /**
+     * 버킷이 [truncate(from), to 를 포함하는 마지막 버킷 끝) 을 빈틈없이 덮고, 각 건수가 원본 이벤트를 그 time zone 으로 직접 센 값과 같은지
+     */
+    private void assertBuckets(HistogramResponse response, long from, long to, TimeGranularity granularity,
+                               ZoneId zone, Long eventId) {
+        String label = zone + " " + granularity;
+        ZonedDateTime cursor = granularity.truncate(Instant.ofEpochMilli(from).atZone(zone));
+        assertThat(response.getFrom()).as(label).isEqualTo(cursor.toInstant().toEpochMilli());
+        Map<Long, Long> expected = new TreeMap<>();
+        for (int i = 0; i < times.size(); i++) {
+            long time = epochMillis(times.get(i));
+            if (time >= response.getFrom() && time < response.getTo()
+                    && (eventId == null || eventIds.get(i).equals(eventId))) {
+                long bucket = granularity.truncate(Instant.ofEpochMilli(time).atZone(zone)).toInstant().toEpochMilli();
+                expected.merge(bucket, 1L, Long::sum);
+            }
+        }
+        for (HistogramResponse.Bucket bucket : response.getBuckets()) {
+            assertThat(bucket.getStart()).as(label).isEqualTo(cursor.toInstant().toEpochMilli());
+            assertThat(bucket.getCount()).as(label + " " + cursor).isEqualTo(expected.getOrDefault(bucket.getStart(), 0L));
+            cursor = granularity.next(cursor);
+        }
+        assertThat(response.getTo()).as(label).isEqualTo(cursor.toInstant().toEpochMilli()).isGreaterThanOrEqualTo(to);
+        assertThat(granularity.next(granularity.truncate(Instant.ofEpochMilli(to - 1).atZone(zone))))
+                .as(label).isEqualTo(cursor);
+    }
+
+    private static Map<Long, Long> sumByHour(HistogramResponse response) {
+        Map<Long, Long> hours = new TreeMap<>();
+        response.getBuckets().forEach(bucket ->
+                hours.merge(Math.floorDiv(bucket.getStart(), 3_600_000L), bucket.getCount(), Long::sum));
+        return hours;
+    }
+
+    /** [from, to) 에 interval 초 간격으로 이벤트를 두고 업로드 때처럼 시간/분 집계를 기록 (세션마다 새 파일) */
+    private void record(String sessionId, LocalDateTime from, LocalDateTime to, int intervalSeconds) {
+        LogFile file = em.persist(logFile(sessionId));
+        EventRollupAccumulator accumulator = new EventRollupAccumulator();
+        for (LocalDateTime time = from; time.isBefore(to); time = time.plusSeconds(intervalSeconds)) {
+            long eventId = times.size() % 3 == 0 ? 4625L : 4624L;
+            if (!sessionId.equals("s2")) {
+                times.add(time);
+                eventIds.add(eventId);
+            }
+            accumulator.add(event(eventId, time));
+        }
+        accumulator.toRollups(file).forEach(em::persist);
+        accumulator.toMinuteCounts(file).forEach(em::persist);
+        em.flush();
+        em.clear();
+    }
+
+    private static long epochMillis(LocalDateTime utc) {
+        return utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /** [startTime, endTime] 를 분 단위로 넓힌 범위의 원본 이벤트를 UTC 시간별로 직접 셈 */
+    private Map<LocalDateTime, Long> expectedHourly(LocalDateTime startTime, LocalDateTime endTime, Long eventId) {
+        LocalDateTime from = startTime.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime to = endTime.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        Map<LocalDateTime, Long> expected = new TreeMap<>();
+        for (int i = 0; i < times.size(); i++) {
+            LocalDateTime time = times.get(i);
+            if (!time.isBefore(from) && time.isBefore(to) && (eventId == null || eventIds.get(i).equals(eventId))) {
+                expected.merge(time.truncatedTo(ChronoUnit.HOURS), 1L, Long::sum);
+            }
+        }
+        return expected;
+    }
+
+    /** [from, to) 의 원본 이벤트 수 */
+    private long countBetween(LocalDateTime from, LocalDateTime to, Long eventId) {
+        long count = 0;
+        for (int i = 0; i < times.size(); i++) {
+            LocalDateTime time = times.get(i);
+            if (!time.isBefore(from) && time.isBefore(to) && (eventId == null || eventIds.get(i).equals(eventId))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Event event(long eventId, LocalDateTime time) {
+        return Event.builder()
+                .eventId(eventId)
+                .level(EventLevel.INFORMATION)
+                .channel(LogChannel.SECURITY)
+                .timeCreated(time)
+                .build();
+    }
+
+    private static LogFile logFile(String sessionId) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId).build();
+    }
+}
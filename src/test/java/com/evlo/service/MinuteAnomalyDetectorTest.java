@@ -0,0 +1,156 @@
+package com.evlo.service;
+
+import com.evlo.entity.EventMinuteCount;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.LogFileAnomaly;
+import com.evlo.entity.enums.AnomalyType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class MinuteAnomalyDetectorTest {
+
+    /** 2024-01-01 00:00 UTC 의 epoch minute */
+    private static final long M0 = 28_401_120L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long EVENT_ID = 4625L;
+
+    /** application.yml 기본값: alpha 0.3, z 4.0, warm-up 10분, 버스트 최소 20건, 침묵 10분, 침묵 기준선 5.0 */
+    private final MinuteAnomalyDetector detector = new MinuteAnomalyDetector(0.3, 4.0, 10, 20, 10, 5.0);
+    private final LogFile logFile = LogFile.builder().id(1L).filename("a.evtx").fileSize(1L).sessionId("s1").build();
+
+    @Test
+    void burstAfterWarmupIsFlagged() {
+        Series series = new Series().repeat(10, 30).repeat(200, 3).repeat(10, 10);
+
+        List<LogFileAnomaly> anomalies = detector.detect(logFile, series.counts);
+
+        assertThat(anomalies).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.getAnomalyType()).isEqualTo(AnomalyType.BURST);
+            assertThat(anomaly.getEventId()).isEqualTo(EVENT_ID);
+            assertThat(anomaly.getStartTime()).isEqualTo(T0.plusMinutes(30));
+            assertThat(anomaly.getEndTime()).isEqualTo(T0.plusMinutes(33));
+            assertThat(anomaly.getObservedCount()).isEqualTo(600L);
+            assertThat(anomaly.getScore()).isGreaterThanOrEqualTo(4.0);
+        });
+    }
+
+    @Test
+    void winsorizedBaselineStillFlagsBurstRightAfterAnother() {
+        // 버스트 값을 그대로 반영하면 3분 뒤 기준선이 ~135 가 되어 두 번째 버스트(z ~ 1.5)를 놓침
+        Series series = new Series().repeat(10, 30).repeat(200, 3).repeat(10, 2).repeat(200, 1).repeat(10, 10);
+
+        List<LogFileAnomaly> anomalies = detector.detect(logFile, series.counts);
+
+        assertThat(anomalies).extracting(LogFileAnomaly::getAnomalyType)
+                .containsExactly(AnomalyType.BURST, AnomalyType.BURST);
+        LogFileAnomaly second = anomalies.get(1);
+        assertThat(second.getStartTime()).isEqualTo(T0.plusMinutes(35));
+        assertThat(second.getEndTime()).isEqualTo(T0.plusMinutes(36));
+        // 기준선은 첫 버스트 동안 임계값까지만 올라가 평소 건수 근처로 돌아와 있음
+        assertThat(second.getExpectedCount()).isLessThan(30.0);
+        assertThat(second.getScore()).isGreaterThanOrEqualTo(4.0);
+    }
+
+    @Test
+    void silenceGapAfterSteadyBaselineIsFlagged() {
+        Series series = new Series().repeat(10, 20).gap(12).repeat(10, 5);
+
+        List<LogFileAnomaly> anomalies = detector.detect(logFile, series.counts);
+
+        assertThat(anomalies).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.getAnomalyType()).isEqualTo(AnomalyType.SILENCE);
+            assertThat(anomaly.getStartTime()).isEqualTo(T0.plusMinutes(20));
+            assertThat(anomaly.getEndTime()).isEqualTo(T0.plusMinutes(32));
+            assertThat(anomaly.getObservedCount()).isZero();
+            // 0건 동안 감쇠하는 기준선의 합: 10 * (1 - 0.7^12) / 0.3
+            assertThat(anomaly.getExpectedCount()).isCloseTo(10 * (1 - Math.pow(0.7, 12)) / 0.3, offset(0.5));
+            assertThat(anomaly.getScore()).isNegative();
+        });
+    }
+
+    @Test
+    void shortGapsAndLowBaselinesAreNotSilence() {
+        Series shortGap = new Series().repeat(10, 20).gap(9).repeat(10, 5);
+        // 기준선이 min-silence-baseline(5) 미만
+        Series lowBaseline = new Series().repeat(3, 20).gap(30).repeat(3, 5);
+
+        assertThat(detector.detect(logFile, shortGap.counts)).isEmpty();
+        assertThat(detector.detect(logFile, lowBaseline.counts)).isEmpty();
+    }
+
+    @Test
+    void gapClosesOpenBurst() {
+        Series series = new Series().repeat(10, 30).repeat(200, 2).gap(3).repeat(200, 1).repeat(10, 5);
+
+        List<LogFileAnomaly> anomalies = detector.detect(logFile, series.counts);
+
+        // 빈 분이 끼면 버스트는 마지막 버스트 분에서 끝나고, 빈 분 뒤의 급증은 별도 구간
+        assertThat(anomalies).extracting(LogFileAnomaly::getAnomalyType)
+                .containsExactly(AnomalyType.BURST, AnomalyType.BURST);
+        assertThat(anomalies.get(0).getStartTime()).isEqualTo(T0.plusMinutes(30));
+        assertThat(anomalies.get(0).getEndTime()).isEqualTo(T0.plusMinutes(32));
+        assertThat(anomalies.get(0).getObservedCount()).isEqualTo(400L);
+        assertThat(anomalies.get(1).getStartTime()).isEqualTo(T0.plusMinutes(35));
+        assertThat(anomalies.get(1).getEndTime()).isEqualTo(T0.plusMinutes(36));
+    }
+
+    @Test
+    void burstAtEndOfSeriesIsClosed() {
+        Series series = new Series().repeat(10, 30).repeat(200, 2);
+
+        assertThat(detector.detect(logFile, series.counts)).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.getAnomalyType()).isEqualTo(AnomalyType.BURST);
+            assertThat(anomaly.getEndTime()).isEqualTo(T0.plusMinutes(32));
+        });
+    }
+
+    @Test
+    void nothingIsFlaggedDuringWarmup() {
+        // warm-up 10분 안의 급증과 긴 공백
+        Series burstInWarmup = new Series().repeat(10, 5).repeat(500, 2).repeat(10, 2);
+        Series silenceInWarmup = new Series().repeat(50, 5).gap(30).repeat(1, 2);
+
+        assertThat(detector.detect(logFile, burstInWarmup.counts)).isEmpty();
+        assertThat(detector.detect(logFile, silenceInWarmup.counts)).isEmpty();
+    }
+
+    @Test
+    void eachEventIdHasItsOwnBaseline() {
+        // 7036 은 평소 200건이라 같은 분의 200건이 이상치가 아님
+        Series series = new Series().repeat(10, 30).repeat(200, 1);
+        for (int minute = 0; minute < 31; minute++) {
+            series.counts.add(count(minute, 7036L, 200));
+        }
+
+        assertThat(detector.detect(logFile, series.counts)).singleElement()
+                .satisfies(anomaly -> assertThat(anomaly.getEventId()).isEqualTo(EVENT_ID));
+    }
+
+    private static EventMinuteCount count(long minute, long eventId, long count) {
+        return EventMinuteCount.builder().bucketMinute(M0 + minute).eventId(eventId).eventCount(count).build();
+    }
+
+    /** T0 부터 분 단위로 이어지는 EVENT_ID 건수 (gap 은 행이 없는 0건 분) */
+    private static class Series {
+        private final List<EventMinuteCount> counts = new ArrayList<>();
+        private long next;
+
+        Series repeat(long count, int minutes) {
+            for (int i = 0; i < minutes; i++) {
+                counts.add(count(next++, EVENT_ID, count));
+            }
+            return this;
+        }
+
+        Series gap(int minutes) {
+            next += minutes;
+            return this;
+        }
+    }
+}
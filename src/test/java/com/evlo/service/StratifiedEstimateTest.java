@@ -0,0 +1,83 @@
+package com.evlo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StratifiedEstimateTest {
+
+    @Test
+    void estimateAndErrorFollowStratifiedFormulas() {
+        StratifiedEstimate estimate = new StratifiedEstimate();
+        estimate.addStratum(1_000, 100, 10);
+        estimate.addStratum(500, 50, 25);
+        // 전수 표본 층은 분산 0
+        estimate.addStratum(20, 20, 5);
+
+        // 1000·10/100 + 500·25/50 + 20·5/20
+        assertThat(estimate.count()).isEqualTo(355);
+        double variance = 1_000.0 * 1_000 * 0.9 * 0.1 * 0.9 / 99 + 500.0 * 500 * 0.9 * 0.5 * 0.5 / 49;
+        assertThat(estimate.error()).isEqualTo(Math.round(1.96 * Math.sqrt(variance)));
+    }
+
+    @Test
+    void strataWithoutMatchesOrSamplesAddNothing() {
+        StratifiedEstimate estimate = new StratifiedEstimate();
+        estimate.addStratum(1_000, 100, 0);
+        estimate.addStratum(1_000, 0, 0);
+
+        assertThat(estimate.count()).isZero();
+        assertThat(estimate.error()).isZero();
+    }
+
+    @Test
+    void unbiasedWithNominalCoverageOnKnownPopulation() {
+        // 층 크기와 층별 조건 만족 건수를 알고 있는 모집단에서 층마다 비복원 표본 200건을 반복 추출.
+        // 정규 근사 신뢰구간이므로 층마다 기대 표본 건수가 10 이상인 구성 (그보다 드물면 포함률이 명목값보다 낮아짐)
+        long[] stratumSizes = {5_000, 800, 50};
+        long[] matching = {250, 240, 25};
+        long truth = 515;
+        int sampleSize = 200;
+        int trials = 2_000;
+
+        Random random = new Random(38);
+        double sum = 0;
+        int covered = 0;
+        for (int trial = 0; trial < trials; trial++) {
+            StratifiedEstimate estimate = new StratifiedEstimate();
+            for (int h = 0; h < stratumSizes.length; h++) {
+                int n = (int) Math.min(sampleSize, stratumSizes[h]);
+                estimate.addStratum(stratumSizes[h], n, sampleMatches(random, (int) stratumSizes[h], (int) matching[h], n));
+            }
+            sum += estimate.count();
+            if (Math.abs(estimate.count() - truth) <= estimate.error()) {
+                covered++;
+            }
+        }
+
+        assertThat(sum / trials).isCloseTo(truth, within(truth * 0.01));
+        assertThat((double) covered / trials).isBetween(0.92, 0.98);
+    }
+
+    /** 크기 size (앞의 matching 개가 조건 만족) 모집단에서 n 개를 비복원 추출했을 때 조건 만족 수 */
+    private static long sampleMatches(Random random, int size, int matching, int n) {
+        int[] population = new int[size];
+        for (int i = 0; i < size; i++) {
+            population[i] = i;
+        }
+        long matched = 0;
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(size - i);
+            int picked = population[j];
+            population[j] = population[i];
+            population[i] = picked;
+            if (picked < matching) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
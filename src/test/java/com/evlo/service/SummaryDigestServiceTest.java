@@ -0,0 +1,86 @@
+package com.evlo.service;
+
+import com.evlo.config.AiSummaryProperties;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.EventRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class SummaryDigestServiceTest {
+
+    private static final LocalDateTime H0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final List<Long> FILE_IDS = List.of(1L);
+
+    private EventRollupRepository eventRollupRepository;
+    private EventRepository eventRepository;
+    private SummaryDigestService service;
+
+    @BeforeEach
+    void setUp() {
+        eventRollupRepository = mock(EventRollupRepository.class);
+        eventRepository = mock(EventRepository.class);
+        AiSummaryProperties properties = new AiSummaryProperties();
+        properties.setSamples(2);
+        service = new SummaryDigestService(eventRollupRepository, eventRepository, properties);
+
+        // (eventId, level, bucketHour, count, firstEventId, lastEventId)
+        List<Object[]> errorStrata = List.<Object[]>of(
+                new Object[]{4625L, EventLevel.ERROR, H0, 30L, 11L, 40L});
+        List<Object[]> allStrata = List.<Object[]>of(
+                new Object[]{4624L, EventLevel.INFORMATION, H0, 500L, 1L, 900L},
+                new Object[]{4625L, EventLevel.ERROR, H0, 30L, 11L, 40L},
+                new Object[]{7036L, EventLevel.INFORMATION, H0.plusHours(1), 5L, null, null});
+        when(eventRollupRepository.findSampleStrataForSummary(anyList(), eq(List.of(EventLevel.ERROR, EventLevel.CRITICAL)),
+                anyCollection(), any(), any(), anyInt())).thenReturn(errorStrata);
+        when(eventRollupRepository.findSampleStrataForSummary(anyList(), eq(List.of(EventLevel.values())),
+                anyCollection(), any(), any(), anyInt())).thenReturn(allStrata);
+        when(eventRepository.findSampleColumnsByIds(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                rows.add(new Object[]{id, "Security-Auditing", H0.plusMinutes(id % 60), "message " + id});
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void samplesUseRollupStrataAndReadOnlyRepresentativeEvents() {
+        SummaryDigestService.Scope scope = new SummaryDigestService.Scope(FILE_IDS, List.of(), false,
+                SummaryDigestService.MIN_TIME, SummaryDigestService.MAX_TIME);
+        List<SummaryDigestService.HourCount> hours = List.of(
+                new SummaryDigestService.HourCount(H0, new EnumMap<>(Map.of(
+                        EventLevel.INFORMATION, 500L, EventLevel.ERROR, 30L))),
+                new SummaryDigestService.HourCount(H0.plusHours(1), new EnumMap<>(Map.of(
+                        EventLevel.INFORMATION, 5L))));
+
+        SummaryDigestService.Digest digest = service.digest(scope, hours);
+
+        assertThat(digest.samples()).extracting(PromptEventSampler.Candidate::eventId)
+                .containsOnly(4624L, 4625L);
+        assertThat(digest.samples()).filteredOn(candidate -> candidate.eventId() == 4625L)
+                .extracting(PromptEventSampler.Candidate::stratumCount).containsOnly(30L);
+        // events 는 고른 층의 대표 id 로만 조회 (층 GROUP BY 없음), 대표 id 가 없는 층은 건너뜀
+        verify(eventRepository).findSampleColumnsByIds(Set.of(11L, 40L, 1L, 900L));
+        verifyNoMoreInteractions(eventRepository);
+    }
+}
@@ -0,0 +1,206 @@
+package com.evlo.service;
+
+import com.evlo.dto.EventRowResponse;
+import com.evlo.dto.TimelineResponse;
+import com.evlo.entity.Event;
+import com.evlo.entity.LogFile;
+import com.evlo.entity.enums.EventLevel;
+import com.evlo.entity.enums.LogChannel;
+import com.evlo.entity.enums.ParsingStatus;
+import com.evlo.repository.EventRepository;
+import com.evlo.repository.LogFileRepository;
+import com.evlo.repository.RepositoryTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 여러 파일에 같은 timeCreated 가 섞여 있을 때 k-way 병합 + 불투명 커서 페이지가 전체를 (time, id) 순으로
+ * 정확히 한 번씩 돌려주는지와 페이지당 조회량이 페이지 크기 기준으로 제한되는지 확인
+ */
+@RepositoryTest
+class TimelineServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int FILES = 4;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private LogFileRepository logFileRepository;
+
+    private TimelineService service;
+    /** 페이지 하나를 만드는 동안의 findTimelineRows 호출 수와 읽은 행 수 */
+    private int timelineQueries;
+    private int timelineRows;
+
+    /** 세션 s1 의 완료된 파일 이벤트를 (time, id) 순으로 */
+    private final List<Event> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        EventRepository counting = mock(EventRepository.class, invocation -> {
+            Object result;
+            try {
+                result = invocation.getMethod().invoke(eventRepository, invocation.getArguments());
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (invocation.getMethod().getName().equals("findTimelineRows")) {
+                timelineQueries++;
+                timelineRows += ((List<?>) result).size();
+            }
+            return result;
+        });
+        service = new TimelineService(counting, logFileRepository);
+
+        List<LogFile> files = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            files.add(em.persist(logFile("s1", ParsingStatus.COMPLETED)));
+        }
+        LogFile inProgress = em.persist(logFile("s1", ParsingStatus.IN_PROGRESS));
+        LogFile otherSession = em.persist(logFile("s2", ParsingStatus.COMPLETED));
+
+        // 파일을 번갈아 가며 저장해 id 가 파일 사이에 섞이고, 20초 안에 몰아 같은 시각이 파일 안팎으로 겹치게
+        Random random = new Random(36);
+        for (int i = 0; i < 240; i++) {
+            LogFile file = files.get(random.nextInt(FILES));
+            expected.add(em.persist(event(file, T0.plusSeconds(random.nextInt(20)))));
+        }
+        for (int i = 0; i < 10; i++) {
+            em.persist(event(inProgress, T0.plusSeconds(i)));
+            em.persist(event(otherSession, T0.plusSeconds(i)));
+        }
+        em.flush();
+        em.clear();
+        expected.sort(Comparator.comparing(Event::getTimeCreated).thenComparing(Event::getId));
+        assertThat(expected.stream().map(Event::getTimeCreated).distinct().count()).isLessThan(expected.size() / 4);
+    }
+
+    @Test
+    void pagingWithCursorReturnsEveryRowOnceInTimeIdOrder() {
+        for (int size : new int[]{1, 7, 16, 60, 240, 1000}) {
+            List<Long> ids = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                TimelineResponse page = service.timeline("s1", cursor, null, null, size);
+                ids.addAll(page.getEvents().stream().map(EventRowResponse::getId).toList());
+                cursor = page.getNextCursor();
+                if (cursor != null) {
+                    assertThat(page.getEvents()).as("size " + size + " page " + pages).hasSize(size);
+                }
+                pages++;
+            } while (cursor != null);
+
+            assertThat(ids).as("size " + size).containsExactlyElementsOf(expected.stream().map(Event::getId).toList());
+            assertThat(pages).as("size " + size).isEqualTo((expected.size() + size - 1) / size);
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        TimelineResponse all = service.timeline("s1", null, null, null, expected.size());
+        TimelineResponse beforeLast = service.timeline("s1", null, null, null, expected.size() - 1);
+        TimelineResponse last = service.timeline("s1", beforeLast.getNextCursor(), null, null, 10);
+
+        assertThat(all.getEvents()).hasSize(expected.size());
+        assertThat(all.getNextCursor()).isNull();
+        assertThat(beforeLast.getNextCursor()).isNotNull();
+        assertThat(last.getEvents()).singleElement()
+                .satisfies(row -> assertThat(row.getId()).isEqualTo(expected.get(expected.size() - 1).getId()));
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void eachPageReadsBoundedRows() {
+        for (int size : new int[]{1, 10, 100}) {
+            int chunk = Math.max(16, size / FILES + 1);
+            String cursor = null;
+            do {
+                timelineQueries = 0;
+                timelineRows = 0;
+                TimelineResponse page = service.timeline("s1", cursor, null, null, size);
+                cursor = page.getNextCursor();
+
+                // 파일마다 첫 청크 + 소비한 만큼의 추가 청크 + 소진 확인, 버퍼에 남는 건 파일당 한 청크 이하
+                assertThat(timelineQueries).as("size " + size).isLessThanOrEqualTo(2 * FILES + size / chunk + 1);
+                assertThat(timelineRows).as("size " + size).isLessThanOrEqualTo(size + FILES * chunk);
+            } while (cursor != null);
+        }
+    }
+
+    @Test
+    void fromAndToBoundTheTimelineInclusively() {
+        LocalDateTime from = T0.plusSeconds(5);
+        LocalDateTime to = T0.plusSeconds(12);
+        List<Long> inRange = expected.stream()
+                .filter(e -> !e.getTimeCreated().isBefore(from) && !e.getTimeCreated().isAfter(to))
+                .map(Event::getId)
+                .toList();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TimelineResponse page = service.timeline("s1", cursor, from, to, 9);
+            ids.addAll(page.getEvents().stream().map(EventRowResponse::getId).toList());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactlyElementsOf(inRange);
+    }
+
+    @Test
+    void rejectsInvalidCursorAndSize() {
+        assertThatThrownBy(() -> service.timeline("s1", "not-a-cursor", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cursor");
+        assertThatThrownBy(() -> service.timeline("s1", null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.timeline("s1", null, null, null, TimelineService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sessionWithoutCompletedFilesIsEmpty() {
+        TimelineResponse page = service.timeline("none", null, null, null, 10);
+
+        assertThat(page.getEvents()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(timelineQueries).isZero();
+    }
+
+    private static LogFile logFile(String sessionId, ParsingStatus status) {
+        return LogFile.builder().filename(sessionId + ".evtx").fileSize(1L).sessionId(sessionId)
+                .parsingStatus(status).build();
+    }
+
+    private static Event event(LogFile logFile, LocalDateTime time) {
+        return Event.builder()
+                .logFile(logFile)
+                .eventId(4624L)
+                .level(EventLevel.INFORMATION)
+                .channel(LogChannel.SECURITY)
+                .timeCreated(time)
+                .provider("Microsoft-Windows-Security-Auditing")
+                .computer("WS01")
+                .message("An account was successfully logged on")
+                .build();
+    }
+}
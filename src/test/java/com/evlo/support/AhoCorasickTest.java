@@ -0,0 +1,114 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickTest {
+
+    @Test
+    void overlappingPatternsAreAllFound() {
+        List<String> patterns = List.of("he", "she", "his", "hers");
+
+        assertThat(found(patterns, "ushers")).containsExactly("he", "she", "hers");
+    }
+
+    @Test
+    void failureLinkContinuesFromLongestSuffix() {
+        // "abc" 까지 간 뒤 'e' 에서 실패하면 접미사 "bc" 노드로 넘어가 "bce" 를 이어서 찾음
+        List<String> patterns = List.of("abcd", "bce", "cex");
+
+        assertThat(found(patterns, "xxabcexx")).containsExactly("bce", "cex");
+        assertThat(found(patterns, "abcd")).containsExactly("abcd");
+    }
+
+    @Test
+    void patternsEndingInsideAnotherAreReportedThroughOutputLinks() {
+        List<String> patterns = List.of("abc", "bc", "c", "aa", "aaa");
+
+        assertThat(found(patterns, "xabcx")).containsExactly("abc", "bc", "c");
+        assertThat(found(patterns, "aa")).containsExactly("aa");
+    }
+
+    @Test
+    void nonAsciiPatternsUseFailureLinksToo() {
+        List<String> patterns = List.of("로그온 실패", "가나다", "나라", "\\\\fs01\\admin$", "données");
+
+        assertThat(found(patterns, "계정 로그온 실패 (0xC000006D)")).containsExactly("로그온 실패");
+        assertThat(found(patterns, "가나라")).containsExactly("나라");
+        assertThat(found(patterns, "net use \\\\FS01\\ADMIN$ /user:x")).containsExactly("\\\\fs01\\admin$");
+        assertThat(found(patterns, "Les DONNÉES ont été")).containsExactly("données");
+    }
+
+    @Test
+    void matchingIgnoresCaseOnBothSides() {
+        List<String> patterns = List.of("PowerShell.EXE", "-encodedcommand", "ÉCOLE", "ΣΟΦΙΑ");
+
+        assertThat(found(patterns, "C:\\WINDOWS\\powershell.exe -EncodedCommand SQBFAFgA"))
+                .containsExactly("PowerShell.EXE", "-encodedcommand");
+        assertThat(found(patterns, "une école")).containsExactly("ÉCOLE");
+        assertThat(found(patterns, "σοφια")).containsExactly("ΣΟΦΙΑ");
+    }
+
+    @Test
+    void duplicatePatternsAreEachReported() {
+        AhoCorasick automaton = new AhoCorasick(List.of("mimikatz", "MIMIKATZ"));
+        boolean[] found = new boolean[automaton.patternCount()];
+
+        automaton.search("invoke-mimikatz", found);
+
+        assertThat(found).containsExactly(true, true);
+    }
+
+    @Test
+    void emptyPatternIsRejectedAndNullTextIsIgnored() {
+        assertThatThrownBy(() -> new AhoCorasick(List.of("a", "")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("index 1");
+
+        AhoCorasick automaton = new AhoCorasick(List.of("a"));
+        boolean[] found = new boolean[1];
+        automaton.search(null, found);
+        assertThat(found).containsExactly(false);
+    }
+
+    @Test
+    void agreesWithNaiveSearchOnRandomInputs() {
+        Random random = new Random(35);
+        char[] alphabet = {'a', 'b', 'A', 'B', '가', '나'};
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(8); i++) {
+                patterns.add(randomString(random, alphabet, 1 + random.nextInt(4)));
+            }
+            String text = randomString(random, alphabet, random.nextInt(40));
+
+            List<String> expected = patterns.stream()
+                    .filter(pattern -> text.toLowerCase().contains(pattern.toLowerCase()))
+                    .toList();
+            assertThat(found(patterns, text)).as(patterns + " in " + text).containsExactlyElementsOf(expected);
+        }
+    }
+
+    /** 찾은 패턴을 patterns 순서대로 */
+    private static List<String> found(List<String> patterns, String text) {
+        AhoCorasick automaton = new AhoCorasick(patterns);
+        boolean[] found = new boolean[automaton.patternCount()];
+        automaton.search(text, found);
+        return IntStream.range(0, patterns.size()).filter(i -> found[i]).mapToObj(patterns::get).toList();
+    }
+
+    private static String randomString(Random random, char[] alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimitTest {
+
+    @Test
+    void rejectsAtLimitAndIgnoredCallReturnsPermit() {
+        AimdLimit limit = new AimdLimit(3, 1, 10, 0.5);
+        List<Long> permits = acquire(limit, 3);
+
+        assertThat(limit.tryAcquire()).isEqualTo(AimdLimit.NO_PERMIT);
+
+        limit.onIgnored();
+        assertThat(limit.limit()).isEqualTo(3);
+        assertThat(limit.tryAcquire()).isNotEqualTo(AimdLimit.NO_PERMIT);
+        assertThat(permits).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void growsByAboutOnePerLimitSuccessesWhileBusy() {
+        AimdLimit limit = new AimdLimit(4, 1, 32, 0.5);
+        acquire(limit, 3);
+
+        // 진행 중 4개(한도 가득)인 채로 성공: 4 → 4.25 → 4.49 → 4.71 → 4.92 → 5.12
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+            limit.onSuccess();
+        }
+        assertThat(limit.limit()).isEqualTo(4);
+        limit.tryAcquire();
+        limit.onSuccess();
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AimdLimit limit = new AimdLimit(10, 1, 32, 0.5);
+        for (int i = 0; i < 1_000; i++) {
+            limit.tryAcquire();
+            limit.onSuccess();
+        }
+        assertThat(limit.limit()).isEqualTo(10);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    void backsOffOncePerOverload() {
+        AimdLimit limit = new AimdLimit(10, 1, 32, 0.5);
+        List<Long> before = acquire(limit, 10);
+
+        for (long permit : before) {
+            limit.onDropped(permit);
+        }
+        assertThat(limit.limit()).as("같은 과부하로 실패한 10개 호출에 한 번만 줄임").isEqualTo(5);
+
+        limit.onDropped(limit.tryAcquire());
+        assertThat(limit.limit()).as("줄인 뒤 시작한 호출의 실패는 새 과부하").isEqualTo(2);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    void callsStartedAfterBackoffDoNotEndRecoveryEarly() {
+        AimdLimit limit = new AimdLimit(4, 1, 32, 0.5);
+        List<Long> before = acquire(limit, 4);
+        limit.onDropped(before.get(0));
+        assertThat(limit.limit()).isEqualTo(2);
+
+        limit.onSuccess();
+        limit.onIgnored();
+        // 줄인 뒤 시작해 먼저 끝난 호출이 있어도, 줄이기 전에 시작한 호출의 실패는 이미 반영된 과부하
+        long after = limit.tryAcquire();
+        limit.onSuccess();
+        limit.onDropped(before.get(3));
+
+        assertThat(after).isNotEqualTo(AimdLimit.NO_PERMIT);
+        assertThat(limit.limit()).isEqualTo(2);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    void staysWithinMinAndMax() {
+        AimdLimit limit = new AimdLimit(100, 2, 8, 0.1);
+        assertThat(limit.limit()).isEqualTo(8);
+
+        limit.onDropped(limit.tryAcquire());
+        limit.onDropped(limit.tryAcquire());
+        assertThat(limit.limit()).isEqualTo(2);
+
+        for (int i = 0; i < 1_000; i++) {
+            while (limit.tryAcquire() != AimdLimit.NO_PERMIT) {
+                // 한도까지 채움
+            }
+            limit.onSuccess();
+        }
+        assertThat(limit.limit()).isEqualTo(8);
+    }
+
+    private static List<Long> acquire(AimdLimit limit, int count) {
+        List<Long> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long permit = limit.tryAcquire();
+            assertThat(permit).isNotEqualTo(AimdLimit.NO_PERMIT);
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,170 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+
+    @Test
+    void opensOnlyWhenFullWindowReachesFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 50, 1_000, 2, clock::get);
+        for (int i = 0; i < 5; i++) {
+            succeed(breaker);
+        }
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertThat(breaker.failureRate()).isEqualTo(-1f);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(breaker);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+    }
+
+    @Test
+    void ringBufferRollsOldestOutcomeOut() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 50, 1_000, 1, clock::get);
+        fail(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        assertThat(breaker.failureRate()).isEqualTo(25f);
+
+        // 첫 실패가 창에서 밀려남
+        succeed(breaker);
+        assertThat(breaker.failureRate()).isZero();
+
+        fail(breaker);
+        assertThat(breaker.failureRate()).isEqualTo(25f);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void openWaitsThenHalfOpenAdmitsOnlyPermittedTrials() {
+        CircuitBreaker breaker = opened(2);
+
+        clock.addAndGet(999);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.addAndGet(1);
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(first).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(second).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        // 성공한 시험 호출도 자리를 계속 차지 (시험 호출은 합쳐서 permitted 번까지)
+        breaker.onSuccess(first);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        breaker.onSuccess(second);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).as("닫히면 창 초기화").isEqualTo(-1f);
+    }
+
+    @Test
+    void halfOpenFailureReopensAndRestartsWait() {
+        CircuitBreaker breaker = opened(2);
+        clock.addAndGet(1_000);
+        long trial = breaker.tryAcquirePermission();
+        long other = breaker.tryAcquirePermission();
+
+        clock.addAndGet(300);
+        breaker.onFailure(trial);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        // 다시 열린 시점부터 대기
+        clock.addAndGet(999);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+        // 앞선 HALF_OPEN 의 남은 시험 호출 결과는 새 세대에 반영하지 않음
+        breaker.onSuccess(other);
+        clock.addAndGet(1);
+        assertThat(breaker.tryAcquirePermission()).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void ignoredTrialReturnsHalfOpenPermit() {
+        CircuitBreaker breaker = opened(2);
+        clock.addAndGet(1_000);
+        long cancelled = breaker.tryAcquirePermission();
+        long trial = breaker.tryAcquirePermission();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        breaker.onIgnored(cancelled);
+
+        long retry = breaker.tryAcquirePermission();
+        assertThat(retry).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+        breaker.onSuccess(trial);
+        breaker.onSuccess(retry);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void ignoredCallIsNotRecordedInWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 50, 1_000, 1, clock::get);
+        breaker.onIgnored(breaker.tryAcquirePermission());
+        succeed(breaker);
+        assertThat(breaker.failureRate()).isEqualTo(-1f);
+        succeed(breaker);
+        assertThat(breaker.failureRate()).isZero();
+    }
+
+    @Test
+    void callsStartedBeforeOpeningDoNotCountAsTrials() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 50, 1_000, 1, clock::get);
+        long slowSuccess = breaker.tryAcquirePermission();
+        long slowFailure = breaker.tryAcquirePermission();
+        long slowIgnored = breaker.tryAcquirePermission();
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        clock.addAndGet(1_000);
+        long trial = breaker.tryAcquirePermission();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        // CLOSED 때 시작해 HALF_OPEN 중에 끝난 호출: 시험 호출 자리를 비우거나 결과로 세지 않음
+        breaker.onSuccess(slowSuccess);
+        breaker.onIgnored(slowIgnored);
+        breaker.onFailure(slowFailure);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        breaker.onSuccess(trial);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    /** 창 2, 실패율 50% 인 차단기를 현재 시각에 연 상태로 */
+    private CircuitBreaker opened(int permittedCallsInHalfOpenState) {
+        CircuitBreaker breaker = new CircuitBreaker(2, 50, 1_000, permittedCallsInHalfOpenState, clock::get);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        long permission = breaker.tryAcquirePermission();
+        assertThat(permission).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        breaker.onSuccess(permission);
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        long permission = breaker.tryAcquirePermission();
+        assertThat(permission).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        breaker.onFailure(permission);
+    }
+}
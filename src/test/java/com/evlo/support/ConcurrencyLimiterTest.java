@@ -0,0 +1,186 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.test.util.RaceTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    private static final Duration QUEUE_TIMEOUT = Duration.ofSeconds(30);
+
+    @AfterEach
+    void resetVirtualTime() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void queuedWorkRunsAfterPermitIsReleased() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, QUEUE_TIMEOUT);
+        Sinks.Empty<String> holder = Sinks.empty();
+        Disposable running = limiter.limit(() -> holder.asMono().flux()).subscribe();
+
+        StepVerifier.create(limiter.limit(() -> Flux.just("queued")))
+                .then(() -> {
+                    assertThat(limiter.active()).isEqualTo(1);
+                    assertThat(limiter.queued()).isEqualTo(1);
+                    holder.tryEmitEmpty();
+                })
+                .expectNext("queued")
+                .verifyComplete();
+
+        assertThat(running.isDisposed()).isTrue();
+        assertPermitsReturned(limiter);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, QUEUE_TIMEOUT);
+        Disposable running = limiter.limit(Flux::never).subscribe();
+        Disposable queued = limiter.limit(Flux::never).subscribe();
+
+        StepVerifier.create(limiter.limit(() -> Flux.just("rejected")))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+
+        assertThat(limiter.active()).isEqualTo(1);
+        assertThat(limiter.queued()).isEqualTo(1);
+        queued.dispose();
+        running.dispose();
+        assertPermitsReturned(limiter);
+    }
+
+    @Test
+    void cancelWhileQueuedLeavesQueueWithoutTakingPermit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, QUEUE_TIMEOUT);
+        Sinks.Empty<String> holder = Sinks.empty();
+        limiter.limit(() -> holder.asMono().flux()).subscribe();
+        AtomicInteger started = new AtomicInteger();
+
+        StepVerifier.create(limiter.limit(() -> {
+                    started.incrementAndGet();
+                    return Flux.just("never");
+                }))
+                .then(() -> assertThat(limiter.queued()).isEqualTo(1))
+                .thenCancel()
+                .verify();
+
+        assertThat(limiter.queued()).isZero();
+        assertThat(limiter.active()).isEqualTo(1);
+        holder.tryEmitEmpty();
+        assertThat(started).hasValue(0);
+        assertPermitsReturned(limiter);
+    }
+
+    @Test
+    void queueTimeoutRejectsAndLeavesPermitsIntact() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, QUEUE_TIMEOUT);
+        Sinks.Empty<String> holder = Sinks.empty();
+
+        StepVerifier.withVirtualTime(() -> {
+                    limiter.limit(() -> holder.asMono().flux()).subscribe();
+                    return limiter.limit(() -> Flux.just("late"));
+                })
+                .expectSubscription()
+                .then(() -> assertThat(limiter.queued()).isEqualTo(1))
+                .expectNoEvent(QUEUE_TIMEOUT.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(RejectedExecutionException.class)
+                        .hasMessageContaining("queue wait exceeded"))
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(limiter.queued()).isZero();
+        assertThat(limiter.active()).isEqualTo(1);
+        holder.tryEmitEmpty();
+        assertPermitsReturned(limiter);
+    }
+
+    @Test
+    void cancelRacingReleaseNeverLeaksOrDoubleReleases() {
+        for (int round = 0; round < 1_000; round++) {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, QUEUE_TIMEOUT);
+            Sinks.Empty<String> holder = Sinks.empty();
+            limiter.limit(() -> holder.asMono().flux()).subscribe();
+            // 대기자의 작업은 끝나지 않으므로 허가는 취소로만 반환됨
+            Disposable waiter = limiter.limit(Flux::never).subscribe();
+
+            // release 가 대기자를 꺼낸 뒤 허가를 넘기기 전후 어느 시점에든 취소가 끼어들 수 있음
+            RaceTestUtils.race(holder::tryEmitEmpty, waiter::dispose);
+
+            assertPermitsReturned(limiter);
+        }
+    }
+
+    @Test
+    void timeoutRacingReleaseNeverLeaksOrDoubleReleases() throws Exception {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+        // 가상 시간 중에는 Reactor 스케줄러가 모두 가상 시간이므로 (RaceTestUtils 포함) 경합 스레드는 별도 executor 로
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 5_000; round++) {
+                ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, QUEUE_TIMEOUT);
+                Sinks.Empty<String> holder = Sinks.empty();
+                limiter.limit(() -> holder.asMono().flux()).subscribe();
+                AtomicInteger outcomes = new AtomicInteger();
+                limiter.limit(() -> Flux.just("ran"))
+                        .subscribe(value -> outcomes.incrementAndGet(), error -> outcomes.incrementAndGet());
+
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> timeout = executor.submit(() -> {
+                    start.await();
+                    scheduler.advanceTimeBy(QUEUE_TIMEOUT);
+                    return null;
+                });
+                start.await();
+                holder.tryEmitEmpty();
+                timeout.get(5, TimeUnit.SECONDS);
+
+                // 허가를 넘겨받아 실행되거나 시간 초과로 거절되거나 둘 중 하나만
+                assertThat(outcomes).hasValue(1);
+                assertPermitsReturned(limiter);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentWorkNeverExceedsLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2, 100, QUEUE_TIMEOUT);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        StepVerifier.create(Flux.range(0, 50)
+                        .flatMap(i -> limiter.limit(() -> Flux.just(i)
+                                .doOnNext(value -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                                .delayElements(Duration.ofMillis(1))
+                                .doOnNext(value -> inFlight.decrementAndGet()))))
+                .expectNextCount(50)
+                .verifyComplete();
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        assertPermitsReturned(limiter);
+    }
+
+    /** 모든 작업이 끝난 뒤 허가가 정확히 원래 수로 돌아왔는지 (누수면 active > 0, 이중 반환이면 active < 0) */
+    private static void assertPermitsReturned(ConcurrencyLimiter limiter) {
+        assertThat(limiter.active()).isZero();
+        assertThat(limiter.queued()).isZero();
+    }
+}
@@ -0,0 +1,79 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    /** precision 12 의 표준 오차는 1.04 / sqrt(4096) ≈ 1.6%, 약 4σ */
+    private static final double TOLERANCE = 0.065;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000, 10_000, 100_000, 1_000_000})
+    void estimatesKnownCardinality(int cardinality) {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < cardinality; i++) {
+            hll.add("computer-" + i);
+        }
+
+        assertThat((double) hll.estimate()).isCloseTo(cardinality, within(Math.max(1.0, cardinality * TOLERANCE)));
+    }
+
+    @Test
+    void duplicatesDoNotChangeEstimate() {
+        HyperLogLog once = new HyperLogLog();
+        HyperLogLog repeated = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            once.add("provider-" + i);
+            for (int r = 0; r < 3; r++) {
+                repeated.add("provider-" + i);
+            }
+        }
+
+        assertThat(repeated.estimate()).isEqualTo(once.estimate());
+    }
+
+    @Test
+    void mergeEstimatesUnionOfOverlappingSets() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            left.add("host-" + i);
+            union.add("host-" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            right.add("host-" + i);
+            union.add("host-" + i);
+        }
+
+        left.merge(right);
+
+        assertThat(left.estimate()).isEqualTo(union.estimate());
+        assertThat((double) left.estimate()).isCloseTo(100_000, within(100_000 * TOLERANCE));
+    }
+
+    @Test
+    void serializationRoundTrip() {
+        HyperLogLog hll = new HyperLogLog(10);
+        for (int i = 0; i < 20_000; i++) {
+            hll.add("value-" + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(hll.toBytes());
+
+        assertThat(restored.estimate()).isEqualTo(hll.estimate());
+        assertThat(restored.toBytes()).isEqualTo(hll.toBytes());
+    }
+
+    @Test
+    void rejectsMergeWithDifferentPrecision() {
+        assertThatThrownBy(() -> new HyperLogLog(10).merge(new HyperLogLog(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,310 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ParquetWriter 로 쓴 파일을 독립 구현인 DuckDB(read_parquet) 로 다시 읽어 값과 메타데이터를 비교.
+ * encodeHybrid 는 Parquet 명세의 RLE / bit-packing 혼합 형식 디코더(테스트 내 구현)와 바이트 단위 기대값으로 검증.
+ */
+class ParquetWriterTest {
+
+    private static final List<ParquetWriter.Column> COLUMNS = List.of(
+            ParquetWriter.int64("id", false),
+            ParquetWriter.int64("log_file_id", true),
+            ParquetWriter.string("level", false, true),
+            ParquetWriter.string("provider", true, true),
+            ParquetWriter.timestampMicros("time_created", true),
+            ParquetWriter.string("message", true, false));
+
+    private static final String[] LEVELS = {"INFORMATION", "WARNING", "ERROR", "CRITICAL"};
+    private static final long BASE_MICROS = 1_704_067_200_000_000L;
+
+    @TempDir
+    Path dir;
+
+    /** (id, log_file_id, level, provider, time_created(µs), message) */
+    private record Row(long id, Long logFileId, String level, String provider, Long timeMicros, String message) {
+    }
+
+    @ParameterizedTest
+    @EnumSource(ParquetWriter.Codec.class)
+    void roundTripsThroughDuckDbAcrossRowGroups(ParquetWriter.Codec codec) throws Exception {
+        // 5,003행: 행 그룹 여러 개, 마지막 행 그룹은 8의 배수가 아닌 행 수
+        List<Row> rows = rows(5_003, new Random(42));
+        Path file = write(rows, codec, 32 * 1024);
+
+        try (Connection connection = duckDb()) {
+            assertThat(readBack(connection, file)).containsExactlyElementsOf(rows);
+
+            List<Long> rowGroupRows = longs(connection, "SELECT row_group_num_rows FROM parquet_metadata('" + file
+                    + "') WHERE column_id = 0 ORDER BY row_group_id");
+            assertThat(rowGroupRows).hasSizeGreaterThan(2);
+            assertThat(rowGroupRows.stream().mapToLong(Long::longValue).sum()).isEqualTo(rows.size());
+            assertThat(rowGroupRows.get(rowGroupRows.size() - 1) % 8).isNotZero();
+
+            assertThat(strings(connection, "SELECT DISTINCT compression FROM parquet_metadata('" + file + "')"))
+                    .containsExactly(codec.name());
+            assertThat(strings(connection, "SELECT encodings FROM parquet_metadata('" + file
+                    + "') WHERE path_in_schema = 'provider'"))
+                    .allSatisfy(encodings -> assertThat(encodings).contains("RLE_DICTIONARY"));
+            assertThat(strings(connection, "SELECT encodings FROM parquet_metadata('" + file
+                    + "') WHERE path_in_schema = 'message'"))
+                    .allSatisfy(encodings -> assertThat(encodings).doesNotContain("DICTIONARY"));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ParquetWriter.Codec.class)
+    void rowGroupShorterThanOneBitPackedGroup(ParquetWriter.Codec codec) throws Exception {
+        List<Row> rows = List.of(
+                new Row(1, null, "ERROR", null, null, null),
+                new Row(2, 7L, "ERROR", "Kernel-Power", BASE_MICROS, "전원 손실"),
+                new Row(3, null, "WARNING", null, BASE_MICROS + 1, ""),
+                new Row(4, 7L, "ERROR", "Kernel-Power", null, "x"),
+                new Row(5, 8L, "CRITICAL", "Disk", BASE_MICROS + 3, null));
+        Path file = write(rows, codec, 1 << 20);
+
+        try (Connection connection = duckDb()) {
+            assertThat(readBack(connection, file)).containsExactlyElementsOf(rows);
+        }
+    }
+
+    @Test
+    void dictionaryBitWidthBoundaries() throws Exception {
+        // 사전 크기 1(폭 1), 2(폭 1), 256(폭 8), 257(폭 9)
+        for (int distinct : new int[]{1, 2, 256, 257}) {
+            List<Row> rows = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                rows.add(new Row(i, 1L, LEVELS[0], "provider-" + (i * 7 % distinct), BASE_MICROS, "m"));
+            }
+            Path file = write(rows, ParquetWriter.Codec.UNCOMPRESSED, 1 << 20);
+
+            try (Connection connection = duckDb()) {
+                assertThat(readBack(connection, file)).as("distinct=" + distinct).containsExactlyElementsOf(rows);
+            }
+        }
+    }
+
+    @Test
+    void emptyFileHasSchemaAndNoRows() throws Exception {
+        Path file = write(List.of(), ParquetWriter.Codec.GZIP, 1 << 20);
+
+        try (Connection connection = duckDb()) {
+            assertThat(longs(connection, "SELECT count(*) FROM read_parquet('" + file + "')")).containsExactly(0L);
+            assertThat(strings(connection, "SELECT name FROM parquet_schema('" + file + "') WHERE name <> 'schema'"))
+                    .containsExactly("id", "log_file_id", "level", "provider", "time_created", "message");
+        }
+    }
+
+    @Test
+    void hybridRleRunOfEightZeros() {
+        assertThat(encode(1, 0, 0, 0, 0, 0, 0, 0, 0)).containsExactly(0x10, 0x00);
+    }
+
+    @Test
+    void hybridBitPackedTailShorterThanEightIsPadded() {
+        // header (1 group << 1 | 1), 값 1,0,1 을 LSB 부터 채우고 나머지 5개는 0
+        assertThat(encode(1, 1, 0, 1)).containsExactly(0x03, 0b101);
+        // 폭 3: 5,2,7 → 101 010 111 (LSB 우선) + 0 패딩 → 3 바이트
+        assertThat(encode(3, 5, 2, 7)).containsExactly(0x03, 0b11_010_101, 0b0000_0001, 0x00);
+    }
+
+    @Test
+    void hybridPadsBitPackedPrefixWithStartOfRepeatedRun() {
+        // 1,2,3 다음 10개의 4: 앞 3개 + 반복 구간 앞 5개를 bit-packed 8개로, 나머지 5개를 RLE
+        int[] values = {1, 2, 3, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4};
+        int[] encoded = encode(3, values);
+
+        assertThat(encoded[0]).isEqualTo(0x03);
+        assertThat(Arrays.copyOfRange(encoded, 4, encoded.length)).containsExactly(5 << 1, 4);
+        assertThat(decode(encoded, 3, values.length)).containsExactly(values);
+    }
+
+    @Test
+    void hybridRoundTripsRandomRunsAtSeveralWidths() {
+        Random random = new Random(7);
+        for (int bitWidth : new int[]{1, 2, 5, 8, 9, 13, 20}) {
+            for (int trial = 0; trial < 50; trial++) {
+                int[] values = runs(random, bitWidth, random.nextInt(300));
+                assertThat(decode(encode(bitWidth, values), bitWidth, values.length))
+                        .as("width=" + bitWidth + " values=" + Arrays.toString(values))
+                        .containsExactly(values);
+            }
+        }
+    }
+
+    private Path write(List<Row> rows, ParquetWriter.Codec codec, long rowGroupBytes) throws Exception {
+        Path file = dir.resolve("events-" + codec + "-" + rows.size() + "-" + System.nanoTime() + ".parquet");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ParquetWriter writer = new ParquetWriter(out, COLUMNS, codec, rowGroupBytes);
+            for (Row row : rows) {
+                writer.writeLong(0, row.id());
+                writer.writeLong(1, row.logFileId());
+                writer.writeString(2, row.level());
+                writer.writeString(3, row.provider());
+                writer.writeLong(4, row.timeMicros());
+                writer.writeString(5, row.message());
+                writer.endRow();
+            }
+            writer.finish();
+            assertThat(writer.totalRows()).isEqualTo(rows.size());
+        }
+        return file;
+    }
+
+    /** null 구간, 긴 반복(RLE), 반복 없는 구간(bit-packed)이 섞이도록 생성 */
+    private static List<Row> rows(int count, Random random) {
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean quiet = i < 1_000;
+            rows.add(new Row(
+                    i,
+                    i % 9 == 0 ? null : (long) (i / 700),
+                    quiet ? LEVELS[0] : LEVELS[random.nextInt(LEVELS.length)],
+                    i >= 1_500 && i < 2_200 ? null : quiet ? "Security-Auditing" : "provider-" + random.nextInt(300),
+                    i % 7 == 0 ? null : BASE_MICROS + i * 1_000_003L,
+                    random.nextInt(5) == 0 ? null : "메시지 " + i + " " + "x".repeat(random.nextInt(40))));
+        }
+        return rows;
+    }
+
+    private static Connection duckDb() throws SQLException {
+        return DriverManager.getConnection("jdbc:duckdb:");
+    }
+
+    private static List<Row> readBack(Connection connection, Path file) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, log_file_id, level, provider, epoch_us(time_created), message "
+                     + "FROM read_parquet('" + file + "')")) {
+            while (rs.next()) {
+                rows.add(new Row(rs.getLong(1), nullableLong(rs, 2), rs.getString(3), rs.getString(4),
+                        nullableLong(rs, 5), rs.getString(6)));
+            }
+        }
+        return rows;
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static List<Long> longs(Connection connection, String sql) throws SQLException {
+        List<Long> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getLong(1));
+            }
+        }
+        return values;
+    }
+
+    private static List<String> strings(Connection connection, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(Objects.toString(rs.getObject(1)));
+            }
+        }
+        return values;
+    }
+
+    private static int[] runs(Random random, int bitWidth, int count) {
+        int max = 1 << bitWidth;
+        int[] values = new int[count];
+        int i = 0;
+        while (i < count) {
+            int value = random.nextInt(max);
+            int length = random.nextBoolean() ? 1 + random.nextInt(3) : 1 + random.nextInt(30);
+            for (int r = 0; r < length && i < count; r++) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    private static int[] encode(int bitWidth, int... values) {
+        ParquetWriter.IntList list = new ParquetWriter.IntList();
+        for (int value : values) {
+            list.add(value);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ParquetWriter.encodeHybrid(list, bitWidth, out);
+        byte[] bytes = out.toByteArray();
+        int[] unsigned = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            unsigned[i] = bytes[i] & 0xFF;
+        }
+        return unsigned;
+    }
+
+    /** Parquet 명세의 RLE / bit-packing 혼합 형식 디코더 (ULEB128 헤더, LSB 우선 bit-packing) */
+    private static int[] decode(int[] bytes, int bitWidth, int count) {
+        int[] values = new int[count];
+        int n = 0;
+        int p = 0;
+        Set<Integer> seenPositions = new HashSet<>();
+        while (n < count) {
+            assertThat(seenPositions.add(p)).isTrue();
+            long header = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = bytes[p++];
+                header |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if ((header & 1) == 0) {
+                int run = (int) (header >>> 1);
+                int value = 0;
+                for (int i = 0; i < (bitWidth + 7) / 8; i++) {
+                    value |= bytes[p++] << (8 * i);
+                }
+                for (int i = 0; i < run; i++) {
+                    values[n++] = value;
+                }
+            } else {
+                int total = (int) (header >>> 1) * 8;
+                long bits = 0;
+                int available = 0;
+                for (int i = 0; i < total; i++) {
+                    while (available < bitWidth) {
+                        bits |= (long) bytes[p++] << available;
+                        available += 8;
+                    }
+                    int value = (int) (bits & ((1L << bitWidth) - 1));
+                    bits >>>= bitWidth;
+                    available -= bitWidth;
+                    if (n < count) {
+                        values[n++] = value;
+                    }
+                }
+            }
+        }
+        assertThat(p).as("남는 바이트 없음").isEqualTo(bytes.length);
+        return values;
+    }
+}
@@ -0,0 +1,144 @@
+package com.evlo.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void exactWhenDistinctValuesFitCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(8);
+        Map<String, Long> truth = new HashMap<>();
+        for (String value : zipfStream(5, 10_000, 1)) {
+            sketch.add(value);
+            truth.merge(value, 1L, Long::sum);
+        }
+
+        assertThat(sketch.top(10)).hasSize(5).allSatisfy(item -> {
+            assertThat(item.error()).isZero();
+            assertThat(item.count()).isEqualTo(truth.get(item.value()));
+        });
+    }
+
+    @Test
+    void boundsHoldAndHeavyHittersAreKept() {
+        int capacity = 64;
+        List<String> stream = zipfStream(5_000, 200_000, 2);
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        Map<String, Long> truth = new HashMap<>();
+        for (String value : stream) {
+            sketch.add(value);
+            truth.merge(value, 1L, Long::sum);
+        }
+
+        assertBounds(sketch, truth, stream.size(), capacity);
+        assertThat(sketch.top(5)).extracting(SpaceSavingSketch.Item::value).containsExactlyElementsOf(trueTop(truth, 5));
+    }
+
+    @Test
+    void mergeKeepsBoundsOfCombinedStream() {
+        int capacity = 64;
+        List<String> first = zipfStream(3_000, 100_000, 3);
+        List<String> second = zipfStream(3_000, 100_000, 4);
+        SpaceSavingSketch left = new SpaceSavingSketch(capacity);
+        SpaceSavingSketch right = new SpaceSavingSketch(capacity);
+        Map<String, Long> truth = new HashMap<>();
+        first.forEach(value -> {
+            left.add(value);
+            truth.merge(value, 1L, Long::sum);
+        });
+        second.forEach(value -> {
+            right.add(value);
+            truth.merge(value, 1L, Long::sum);
+        });
+
+        left.merge(right);
+
+        assertBounds(left, truth, first.size() + second.size(), capacity);
+        assertThat(left.top(3)).extracting(SpaceSavingSketch.Item::value).containsExactlyElementsOf(trueTop(truth, 3));
+    }
+
+    @Test
+    void serializationRoundTripKeepsCountsAndUpdates() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(16);
+        zipfStream(100, 5_000, 5).forEach(sketch::add);
+
+        SpaceSavingSketch restored = SpaceSavingSketch.fromBytes(sketch.toBytes());
+        assertThat(restored.top(16)).containsExactlyInAnyOrderElementsOf(sketch.top(16));
+
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("new");
+            restored.add("new");
+        }
+        assertThat(restored.top(16)).containsExactlyInAnyOrderElementsOf(sketch.top(16));
+    }
+
+    @Test
+    void replacementTakesMinimumCounterAndInheritsItsCountAsError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        for (int i = 0; i < 5; i++) sketch.add("a");
+        for (int i = 0; i < 3; i++) sketch.add("b");
+        sketch.add("c");
+
+        sketch.add("d");
+
+        assertThat(sketch.top(3)).containsExactly(
+                new SpaceSavingSketch.Item("a", 5, 0),
+                new SpaceSavingSketch.Item("b", 3, 0),
+                new SpaceSavingSketch.Item("d", 2, 1));
+    }
+
+    /**
+     * Space-Saving 보장: 기록된 항목은 count - error <= 실제 <= count,
+     * 실제 건수가 N / capacity 를 넘는 항목은 반드시 남아 있음
+     */
+    private static void assertBounds(SpaceSavingSketch sketch, Map<String, Long> truth, long total, int capacity) {
+        List<SpaceSavingSketch.Item> items = sketch.top(capacity);
+        assertThat(items).hasSizeLessThanOrEqualTo(capacity);
+        for (SpaceSavingSketch.Item item : items) {
+            long actual = truth.getOrDefault(item.value(), 0L);
+            assertThat(actual).as(item.value()).isBetween(item.count() - item.error(), item.count());
+        }
+        List<String> kept = items.stream().map(SpaceSavingSketch.Item::value).toList();
+        truth.forEach((value, count) -> {
+            if (count > total / capacity) {
+                assertThat(kept).as("heavy hitter " + value + " (" + count + ")").contains(value);
+            }
+        });
+    }
+
+    private static List<String> trueTop(Map<String, Long> truth, int n) {
+        return truth.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Zipf(s=1.1) 분포의 이벤트 ID 스트림 (섞은 순서) */
+    private static List<String> zipfStream(int distinct, int length, long seed) {
+        double[] cumulative = new double[distinct];
+        double sum = 0;
+        for (int rank = 1; rank <= distinct; rank++) {
+            sum += 1.0 / Math.pow(rank, 1.1);
+            cumulative[rank - 1] = sum;
+        }
+        Random random = new Random(seed);
+        List<String> stream = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            double u = random.nextDouble() * sum;
+            int index = java.util.Arrays.binarySearch(cumulative, u);
+            stream.add(String.valueOf(1000 + (index >= 0 ? index : -index - 1)));
+        }
+        Collections.shuffle(stream, random);
+        return stream;
+    }
+}